@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.export.ExceptionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ *
+ * Column lookup by label: label index of column plan, which OraForwardResultSet uses,
+ * compared with findColumn of MariaDB Connector/J result set, which getters used before.
+ * Time and allocation are per label
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OraForwardColumnPlanBenchmark {
+
+	private static final String[] COLUMNS = {
+			"empno", "ename", "job", "mgr", "hiredate", "sal", "comm", "deptno"};
+	private static final DataType[] TYPES = {
+			DataType.BIGINT, DataType.VARSTRING, DataType.VARSTRING, DataType.BIGINT,
+			DataType.DATETIME, DataType.DECIMAL, DataType.DECIMAL, DataType.BIGINT};
+
+	/** Case of labels passed to getters, Oracle applications use upper case */
+	@Param({"upper", "lower"})
+	public String labelCase;
+
+	private String[] labels;
+	private ResultSet backend;
+	private OraForwardColumnPlan plan;
+	private OraForwardResultSet resultSet;
+
+	@Setup
+	public void setup() throws SQLException {
+		labels = new String[COLUMNS.length];
+		for (int column = 0; column < COLUMNS.length; column++) {
+			labels[column] = "upper".equals(labelCase) ? COLUMNS[column].toUpperCase(Locale.ROOT) : COLUMNS[column];
+		}
+		backend = CompleteResult.createResultSet(COLUMNS, TYPES,
+				new String[][] {{"7839", "KING", "PRESIDENT", null, "1981-11-17 00:00:00", "5000", null, "10"}},
+				context(), 0);
+		backend.next();
+		plan = OraForwardColumnPlan.of(backend, null, null);
+		resultSet = new OraForwardResultSet(null, backend, null);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void columnPlan(final Blackhole blackhole) {
+		for (final String label : labels) {
+			blackhole.consume(plan.column(label));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void backendFindColumn(final Blackhole blackhole) throws SQLException {
+		for (final String label : labels) {
+			blackhole.consume(backend.findColumn(label));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void resultSetGetString(final Blackhole blackhole) throws SQLException {
+		for (final String label : labels) {
+			blackhole.consume(resultSet.getString(label));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void backendGetString(final Blackhole blackhole) throws SQLException {
+		for (final String label : labels) {
+			blackhole.consume(backend.getString(label));
+		}
+	}
+
+	/**
+	 * Returns connection context which is sufficient for in-memory result set
+	 */
+	private static Context context() throws SQLException {
+		final Configuration conf = Configuration.parse("jdbc:mariadb://localhost:3306/scott");
+		final ExceptionFactory exceptionFactory = new ExceptionFactory(conf, null);
+		return (Context) Proxy.newProxyInstance(
+				OraForwardColumnPlanBenchmark.class.getClassLoader(),
+				new Class<?>[] {Context.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getConf":
+						return conf;
+					case "getExceptionFactory":
+						return exceptionFactory;
+					default:
+						final Class<?> type = method.getReturnType();
+						return type == boolean.class ? (Object) false :
+							type == int.class ? (Object) 0 :
+							type == long.class ? (Object) 0L : null;
+					}
+				});
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import oracle.sql.CHAR;
+import oracle.sql.CharacterSet;
+import oracle.sql.DATE;
+import oracle.sql.NUMBER;
+import oracle.sql.TIMESTAMP;
+
+/**
+ *
+ * Per cell cost of getNUMBER, getDATE, getTIMESTAMP and getCHAR conversions. Methods
+ * named *Codec encode values directly to Oracle bytes as OraForwardResultSet does,
+ * methods named *Jdbc convert them through BigDecimal and java.sql.Timestamp, and
+ * charMake creates CharacterSet on every call, as previous implementation did.
+ * Compare gc.alloc.rate.norm
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OraForwardDatumCodecBenchmark {
+
+	private long longValue = 1_234_567_890_123L;
+	private BigDecimal decimalValue = new BigDecimal("-98765.4321");
+	private LocalDateTime dateTimeValue = LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_456_789);
+	private String stringValue = "MigDevOps";
+
+	@Benchmark
+	public NUMBER numberLongCodec() {
+		return new NUMBER(OraForwardDatumCodec.number(longValue, 0));
+	}
+
+	@Benchmark
+	public NUMBER numberLongJdbc() throws SQLException {
+		return new NUMBER(BigDecimal.valueOf(longValue));
+	}
+
+	@Benchmark
+	public NUMBER numberDecimalCodec() throws SQLException {
+		return new NUMBER(OraForwardDatumCodec.number(decimalValue));
+	}
+
+	@Benchmark
+	public NUMBER numberDecimalJdbc() throws SQLException {
+		return new NUMBER(decimalValue);
+	}
+
+	@Benchmark
+	public DATE dateCodec() throws SQLException {
+		return new DATE(OraForwardDatumCodec.date(dateTimeValue));
+	}
+
+	/**
+	 * DATE(java.sql.Date) loads oracle.jdbc.driver.OracleDriver, which this project replaces,
+	 * and fails with sealing violation, so DATE(java.sql.Timestamp) is measured instead
+	 */
+	@Benchmark
+	public DATE dateJdbc() {
+		return new DATE(Timestamp.valueOf(dateTimeValue));
+	}
+
+	@Benchmark
+	public TIMESTAMP timestampCodec() throws SQLException {
+		return new TIMESTAMP(OraForwardDatumCodec.timestamp(dateTimeValue));
+	}
+
+	@Benchmark
+	public TIMESTAMP timestampJdbc() {
+		return new TIMESTAMP(Timestamp.valueOf(dateTimeValue));
+	}
+
+	@Benchmark
+	public CHAR charCached() throws SQLException {
+		return new CHAR(stringValue, OraForwardDatumCodec.AL32UTF8);
+	}
+
+	@Benchmark
+	public CHAR charMake() throws SQLException {
+		return new CHAR(stringValue, CharacterSet.make(CharacterSet.AL32UTF8_CHARSET));
+	}
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.postgresql.util.PGInterval;
+
+import oracle.sql.INTERVALDS;
+import oracle.sql.INTERVALYM;
+
+/**
+ *
+ * INTERVALDS and INTERVALYM conversions. *Codec methods encode and decode Oracle bytes
+ * with integer arithmetic, *OracleString methods go through text representation of
+ * Oracle JDBC, *MariaDb methods through text which MariaDB returns and accepts, and
+ * *ToPg/*FromPg methods convert to and from PGInterval of pgjdbc
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OraForwardIntervalBenchmark {
+
+	// -3 04:05:06.123456789
+	private long seconds = -3L * 86_400 - 4 * 3600 - 5 * 60 - 7;
+	private int nanos = 876_543_211;
+	// -12-7
+	private long months = -12L * 12 - 7;
+
+	private byte[] intervalDS;
+	private byte[] intervalYM;
+	private PGInterval pgIntervalDS;
+	private PGInterval pgIntervalYM;
+
+	@Setup
+	public void setup() throws SQLException {
+		intervalDS = OraForwardDatumCodec.intervalDS(seconds, nanos);
+		intervalYM = OraForwardDatumCodec.intervalYM(months);
+		pgIntervalDS = OraForwardPgUtils.pgInterval(new INTERVALDS(intervalDS));
+		pgIntervalYM = OraForwardPgUtils.pgInterval(new INTERVALYM(intervalYM));
+	}
+
+	@Benchmark
+	public void intervalDSCodec(final Blackhole blackhole) throws SQLException {
+		final byte[] bytes = OraForwardDatumCodec.intervalDS(seconds, nanos);
+		blackhole.consume(OraForwardDatumCodec.intervalSeconds(bytes));
+		blackhole.consume(OraForwardDatumCodec.intervalNanos(bytes));
+	}
+
+	@Benchmark
+	public INTERVALDS intervalDSOracleString() {
+		return new INTERVALDS(new INTERVALDS(intervalDS).toString());
+	}
+
+	@Benchmark
+	public byte[] intervalDSMariaDb() throws SQLException {
+		return OraForwardDatumCodec.intervalDS(OraForwardDatumCodec.intervalDSString(intervalDS));
+	}
+
+	@Benchmark
+	public PGInterval intervalDSToPg() {
+		return OraForwardPgUtils.pgInterval(new INTERVALDS(intervalDS));
+	}
+
+	@Benchmark
+	public INTERVALDS intervalDSFromPg() throws SQLException {
+		return OraForwardPgUtils.intervalDS(pgIntervalDS);
+	}
+
+	@Benchmark
+	public long intervalYMCodec() throws SQLException {
+		return OraForwardDatumCodec.intervalMonths(OraForwardDatumCodec.intervalYM(months));
+	}
+
+	@Benchmark
+	public INTERVALYM intervalYMOracleString() {
+		return new INTERVALYM(new INTERVALYM(intervalYM).toString());
+	}
+
+	@Benchmark
+	public byte[] intervalYMMariaDb() throws SQLException {
+		return OraForwardDatumCodec.intervalYM(OraForwardDatumCodec.intervalYMString(intervalYM));
+	}
+
+	@Benchmark
+	public PGInterval intervalYMToPg() {
+		return OraForwardPgUtils.pgInterval(new INTERVALYM(intervalYM));
+	}
+
+	@Benchmark
+	public INTERVALYM intervalYMFromPg() throws SQLException {
+		return OraForwardPgUtils.intervalYM(pgIntervalYM);
+	}
+
+}
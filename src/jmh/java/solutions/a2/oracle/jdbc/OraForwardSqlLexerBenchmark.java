@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ *
+ * Lexing of SQL statements with literals, quoted identifiers, comments and casts
+ * which contain ':' and '?', time and allocation are per statement
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OraForwardSqlLexerBenchmark {
+
+	private static final String[] CORPUS = {
+			"select EMPNO, ENAME, JOB from SCOTT.EMP where EMPNO = :EMPNO",
+			"SELECT /*+ INDEX(o ORDERS_PK) */ o.ORDER_ID, o.STATUS\n" +
+			"  FROM OE.ORDERS o -- status 'N:ew' is not used\n" +
+			" WHERE o.CUSTOMER_ID = :customerId AND o.ORDER_DATE >= :fromDate AND o.STATUS <> 'X:1'",
+			"insert into AUDIT_LOG (ID, CREATED, MESSAGE, \"User:Name\") values (:id, current_timestamp, " +
+			"q'[it's 12:00, isn't it?]', :userName)",
+			"update INVOICE set TOTAL = TOTAL + :amount, NOTE = 'paid at 10:30 :not_a_bind' " +
+			"where INVOICE_ID = :invoiceId and TENANT_ID = :tenantId",
+			"select t.id::text, to_char(t.created, 'HH24:MI:SS') as created " +
+			"from app.task t where t.owner = :owner and t.state = ? /* :state is bound by index */",
+			"SELECT a.ACCOUNT_ID, SUM(e.AMOUNT) FROM GL.ACCOUNT a JOIN GL.ENTRY e ON e.ACCOUNT_ID = a.ACCOUNT_ID " +
+			"WHERE a.LEDGER = :ledger AND e.PERIOD BETWEEN :periodFrom AND :periodTo AND e.SOURCE IN (:src, :src) " +
+			"GROUP BY a.ACCOUNT_ID HAVING SUM(e.AMOUNT) <> 0 ORDER BY 1",
+			"delete from SESSION_ATTR where SESSION_ID = :sid and NAME not like 'sys:%'",
+			"select 1 from dual"
+	};
+
+	@Param({"postgresql", "mariadb"})
+	public String dialect;
+
+	private int dbType;
+
+	@Setup
+	public void setup() {
+		dbType = "mariadb".equals(dialect) ? OraForwardUtils.MARIADB : OraForwardUtils.POSTGRESQL;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void lex(final Blackhole blackhole) {
+		for (final String sql : CORPUS) {
+			blackhole.consume(OraForwardSqlLexer.lex(sql, dbType));
+		}
+	}
+
+	/**
+	 * Statement which is not in parsed statement cache yet: lexing and batch insert template
+	 */
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void parse(final Blackhole blackhole) {
+		for (final String sql : CORPUS) {
+			blackhole.consume(OraForwardParsedStatement.parse(sql, sql, dbType));
+		}
+	}
+
+}
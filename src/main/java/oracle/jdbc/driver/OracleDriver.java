@@ -98,12 +98,24 @@ public class OracleDriver implements Driver, Monitor  {
 				final OraForwardTranslateOrRecord translator;
 				if (OraForwardUrlParser.A2_DRIVER_MODE_PROBE.equals(urlParser.getDriverMode())) {
 					translator = OraForwardWarehouse.getInstance(
-							urlParser.getProbeFileName());
+							urlParser.getProbeFileName(),
+							urlParser.getTranslationCacheSize(),
+							urlParser.getTranslationCacheMaxLength(),
+							urlParser.getProbeQueueSize(),
+							urlParser.getProbeBatchSize(),
+							urlParser.getProbeBatchWait(),
+							urlParser.getProbeMaxStatements());
 				} else {
 					//A2_DRIVER_MODE_PROXY
 					translator =  OraForwardTranslator.getInstance(
-							urlParser.isYamlStore(),
-							urlParser.getMappingUrl());
+							urlParser.getMappingFileType(),
+							urlParser.getMappingUrl(),
+							urlParser.getTranslationCacheSize(),
+							urlParser.getTranslationCacheMaxLength(),
+							urlParser.getMappingReloadInterval(),
+							urlParser.getChronicleEntries(),
+							urlParser.getChronicleAverageValueSize(),
+							urlParser.isChronicleRecover());
 				}
 				//Design is only for Type IV drivers.
 				final OracleDriverExtension driverExtension = new T4CDriverExtension();
@@ -115,11 +127,20 @@ public class OracleDriver implements Driver, Monitor  {
 				return new OraWrappedConnection(connection, translator);
 			} else {
 				final OraForwardTranslator translator =  OraForwardTranslator.getInstance(
-						urlParser.isYamlStore(),
-						urlParser.getMappingUrl());
+						urlParser.getMappingFileType(),
+						urlParser.getMappingUrl(),
+						urlParser.getTranslationCacheSize(),
+						urlParser.getTranslationCacheMaxLength(),
+						urlParser.getMappingReloadInterval(),
+						urlParser.getChronicleEntries(),
+						urlParser.getChronicleAverageValueSize(),
+						urlParser.isChronicleRecover());
 				final Driver oraDriver = DriverManager.getDriver(urlParser.getUrl());
 				return new OraForwardConnection(oraDriver.connect(urlParser.getUrl(), info),
-						info, translator, urlParser.getDbType());
+						info, translator, urlParser.getDbType(), urlParser.getBatchRewriteMaxRows(),
+						urlParser.getCopyMinRows(), urlParser.getCopySqlIds(), urlParser.getStreamMinPrefetch(),
+						urlParser.getMetaDataCacheTtl(), urlParser.getScrollWindowRows(),
+						urlParser.getScrollSpillDir());
 			}
 		}
 		return null;
@@ -0,0 +1,491 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ *
+ * Batch rewriting for single row INSERT ... VALUES (...) statements. Wraps backend
+ * PreparedStatement, records bind calls of each batch row and executes batch as
+ * multi-row INSERT ... VALUES (...), (...) statements. Rows are sent in chunks of
+ * power of two rows, chunk size is limited by configured maximum number of rows and
+ * by maximum number of bind variables of database, and adapted to measured time per row.
+ * With PostgreSQL large batches of INSERT INTO table(columns) VALUES (?, ...) can be
+ * streamed with COPY instead, see {@link OraForwardPgCopy}
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public final class OraForwardBatchRewriter implements InvocationHandler {
+
+	private static final Logger LOGGER = Logger.getLogger(OraForwardBatchRewriter.class.getName());
+	static final int DEFAULT_MAX_ROWS = 256;
+	/** pgjdbc sends number of bind variables as 16 bit signed value */
+	private static final int POSTGRESQL_MAX_BINDS = 32767;
+	private static final int MARIADB_MAX_BINDS = 65535;
+	private static final int INITIAL_LEVEL = 4;
+	private static final Pattern COPY_TARGET = Pattern.compile(
+			"\\s*INSERT\\s+INTO\\s+((?:\"[^\"]*\"|[\\w$#]+)(?:\\s*\\.\\s*(?:\"[^\"]*\"|[\\w$#]+))*" +
+			"\\s*\\((?:\"[^\"]*\"|[^()'\"])+\\))\\s*VALUES\\s*",
+			Pattern.CASE_INSENSITIVE);
+	private static final Pattern COPY_ROW = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+	private static final LongAdder BATCHES = new LongAdder();
+	private static final LongAdder ROWS = new LongAdder();
+	private static final LongAdder STATEMENTS = new LongAdder();
+	private static final LongAdder COPY_BATCHES = new LongAdder();
+	private static final LongAdder COPY_ROWS = new LongAdder();
+
+	private final PreparedStatement target;
+	private final Template template;
+	private final int bindsPerRow;
+	private final int maxLevel;
+	private final int copyMinRows;
+	private final Method[] methods;
+	private final Object[][] arguments;
+	private final List<Row> rows = new ArrayList<>();
+	private final PreparedStatement[] chunks;
+	private final long[] nanosPerRow;
+	private int level;
+
+	private OraForwardBatchRewriter(final PreparedStatement target, final Template template,
+			final int maxLevel, final int copyMinRows) {
+		this.target = target;
+		this.template = template;
+		this.bindsPerRow = template.bindsPerRow;
+		this.maxLevel = maxLevel;
+		this.copyMinRows = copyMinRows;
+		this.methods = new Method[bindsPerRow];
+		this.arguments = new Object[bindsPerRow][];
+		this.chunks = new PreparedStatement[maxLevel + 1];
+		this.nanosPerRow = new long[maxLevel + 1];
+		this.level = Math.min(INITIAL_LEVEL, maxLevel);
+	}
+
+	/**
+	 * Wraps backend statement with batch rewriting when SQL statement is rewritable
+	 *
+	 * @param target   backend statement
+	 * @param template INSERT statement template or null if statement is not rewritable
+	 * @param dbType   OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB
+	 * @param maxRows  maximum number of rows in one statement, less than 2 disables rewriting
+	 * @param copyMinRows minimum number of rows in batch sent with PostgreSQL COPY, 0 disables COPY
+	 * @return wrapped or source backend statement
+	 */
+	static PreparedStatement wrap(final PreparedStatement target, final Template template,
+			final int dbType, final int maxRows, int copyMinRows) {
+		if (template == null) {
+			return target;
+		}
+		if (dbType != OraForwardUtils.POSTGRESQL || template.copySql == null) {
+			copyMinRows = 0;
+		}
+		final int maxBinds = dbType == OraForwardUtils.MARIADB ? MARIADB_MAX_BINDS : POSTGRESQL_MAX_BINDS;
+		final int limit = Math.min(maxRows, maxBinds / template.bindsPerRow);
+		if (limit < 2 && copyMinRows == 0) {
+			return target;
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(
+				OraForwardBatchRewriter.class.getClassLoader(),
+				new Class<?>[] {PreparedStatement.class},
+				new OraForwardBatchRewriter(target, template,
+						limit < 2 ? 0 : 31 - Integer.numberOfLeadingZeros(limit), copyMinRows));
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		final Class<?> declaringClass = method.getDeclaringClass();
+		final String name = method.getName();
+		if (declaringClass == PreparedStatement.class) {
+			if (args != null && args.length > 1 && args[0] instanceof Integer && name.startsWith("set")) {
+				final int parameterIndex = (Integer) args[0];
+				if (parameterIndex > 0 && parameterIndex <= bindsPerRow) {
+					methods[parameterIndex - 1] = method;
+					arguments[parameterIndex - 1] = args;
+				}
+			} else if (args == null && "addBatch".equals(name)) {
+				rows.add(new Row(methods.clone(), arguments.clone()));
+				return null;
+			} else if (args == null && "clearParameters".equals(name)) {
+				Arrays.fill(methods, null);
+				Arrays.fill(arguments, null);
+			}
+		} else if (declaringClass == Statement.class && args == null) {
+			switch (name) {
+			case "executeBatch":
+				return executeBatch();
+			case "executeLargeBatch":
+				return Arrays.stream(executeBatch()).asLongStream().toArray();
+			case "clearBatch":
+				rows.clear();
+				break;
+			case "close":
+				rows.clear();
+				closeChunks();
+				break;
+			}
+		}
+		return invokeTarget(target, method, args);
+	}
+
+	private int[] executeBatch() throws SQLException {
+		final int rowCount = rows.size();
+		final int[] updateCounts = new int[rowCount];
+		int done = 0;
+		try {
+			if (copyMinRows > 0 && rowCount >= copyMinRows &&
+					OraForwardPgCopy.supported(rows, bindsPerRow)) {
+				final long copied = OraForwardPgCopy.copy(target, template.copySql, rows, bindsPerRow);
+				Arrays.fill(updateCounts, copied == rowCount ? 1 : Statement.SUCCESS_NO_INFO);
+				done = rowCount;
+				COPY_BATCHES.increment();
+				COPY_ROWS.add(rowCount);
+				return updateCounts;
+			}
+			if (maxLevel == 0) {
+				// Multi-row INSERT is disabled, batch is replayed to backend statement
+				for (final Row row : rows) {
+					bind(target, row, 0);
+					target.addBatch();
+				}
+				return target.executeBatch();
+			}
+			while (rowCount - done > 1) {
+				// Tail is sent in power of two chunks, so number of prepared statements is limited
+				final int chunkLevel = Math.min(level, 31 - Integer.numberOfLeadingZeros(rowCount - done));
+				final int chunkRows = 1 << chunkLevel;
+				final PreparedStatement chunk = chunk(chunkLevel);
+				for (int row = 0; row < chunkRows; row++) {
+					bind(chunk, rows.get(done + row), row * bindsPerRow);
+				}
+				final long started = System.nanoTime();
+				final int updated = chunk.executeUpdate();
+				if (chunkLevel == level) {
+					adapt(System.nanoTime() - started, chunkRows);
+				}
+				Arrays.fill(updateCounts, done, done + chunkRows,
+						updated == chunkRows ? 1 : Statement.SUCCESS_NO_INFO);
+				done += chunkRows;
+				ROWS.add(chunkRows);
+				STATEMENTS.increment();
+			}
+			if (done < rowCount) {
+				bind(target, rows.get(done), 0);
+				updateCounts[done] = target.executeUpdate();
+				done++;
+				STATEMENTS.increment();
+			}
+			BATCHES.increment();
+			return updateCounts;
+		} catch (BatchUpdateException bue) {
+			throw bue;
+		} catch (SQLException sqle) {
+			throw new BatchUpdateException(sqle.getMessage(), sqle.getSQLState(), sqle.getErrorCode(),
+					Arrays.copyOf(updateCounts, done), sqle);
+		} finally {
+			rows.clear();
+		}
+	}
+
+	/**
+	 * Moves chunk size to neighbour power of two with lower time per row, larger
+	 * chunk is tried while its time per row is not known
+	 */
+	private void adapt(final long nanos, final int chunkRows) {
+		final long perRow = nanos / chunkRows;
+		nanosPerRow[level] = nanosPerRow[level] == 0 ? perRow : (nanosPerRow[level] * 3 + perRow) >> 2;
+		if (level < maxLevel &&
+				(nanosPerRow[level + 1] == 0 || nanosPerRow[level + 1] < nanosPerRow[level])) {
+			level++;
+		} else if (level > 1 && nanosPerRow[level - 1] != 0 && nanosPerRow[level - 1] < nanosPerRow[level]) {
+			level--;
+		}
+	}
+
+	private PreparedStatement chunk(final int chunkLevel) throws SQLException {
+		if (chunks[chunkLevel] == null) {
+			chunks[chunkLevel] = target.getConnection().prepareStatement(template.sql(1 << chunkLevel));
+		}
+		return chunks[chunkLevel];
+	}
+
+	private void bind(final PreparedStatement statement, final Row row, final int offset) throws SQLException {
+		for (int i = 0; i < bindsPerRow; i++) {
+			if (row.methods[i] != null) {
+				final Object[] args = row.arguments[i].clone();
+				args[0] = offset + i + 1;
+				try {
+					invokeTarget(statement, row.methods[i], args);
+				} catch (SQLException | RuntimeException e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new SQLException(t);
+				}
+			}
+		}
+	}
+
+	private void closeChunks() {
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] != null) {
+				try {
+					chunks[i].close();
+				} catch (SQLException sqle) {
+					LOGGER.log(Level.WARNING, "Unable to close multi-row INSERT statement!", sqle);
+				}
+				chunks[i] = null;
+			}
+		}
+	}
+
+	private static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause();
+		}
+	}
+
+	/**
+	 * Returns number of batches executed with multi-row INSERT statements
+	 *
+	 * @return number of rewritten batches
+	 */
+	public static long getBatches() {
+		return BATCHES.sum();
+	}
+
+	/**
+	 * Returns number of rows sent by multi-row INSERT statements
+	 *
+	 * @return number of rewritten rows
+	 */
+	public static long getRows() {
+		return ROWS.sum();
+	}
+
+	/**
+	 * Returns number of statements executed for rewritten batches
+	 *
+	 * @return number of executed statements
+	 */
+	public static long getStatements() {
+		return STATEMENTS.sum();
+	}
+
+	/**
+	 * Returns number of batches sent with PostgreSQL COPY
+	 *
+	 * @return number of COPY batches
+	 */
+	public static long getCopyBatches() {
+		return COPY_BATCHES.sum();
+	}
+
+	/**
+	 * Returns number of rows sent with PostgreSQL COPY
+	 *
+	 * @return number of COPY rows
+	 */
+	public static long getCopyRows() {
+		return COPY_ROWS.sum();
+	}
+
+	/**
+	 * Checks that SQL statement is single row INSERT ... VALUES (...) with all bind
+	 * variables in VALUES list and nothing after it
+	 *
+	 * @param sql       SQL statement with '?' bind markers
+	 * @param bindCount number of bind markers
+	 * @param dbType    OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB
+	 * @return template for multi-row statements or null if statement is not rewritable
+	 */
+	static Template template(final String sql, final int bindCount, final int dbType) {
+		final int length = sql.length();
+		int pos = skipSpace(sql, 0);
+		if (bindCount == 0 || !isKeyword(sql, pos, "INSERT")) {
+			return null;
+		}
+		final boolean mariadb = dbType == OraForwardUtils.MARIADB;
+		int open = -1;
+		for (pos += 6; pos < length && open < 0; pos++) {
+			final char ch = sql.charAt(pos);
+			if (ch == '\'' || ch == '"' || (mariadb && ch == '`')) {
+				pos = skipQuoted(sql, pos, mariadb);
+				if (pos < 0) {
+					return null;
+				}
+			} else if (ch == '?' || isCommentOrDollarQuote(sql, pos, mariadb)) {
+				// Bind variable outside VALUES list
+				return null;
+			} else if ((ch == 'V' || ch == 'v') && isKeyword(sql, pos, "VALUES")) {
+				final int paren = skipSpace(sql, pos + 6);
+				if (paren < length && sql.charAt(paren) == '(') {
+					open = paren;
+				} else {
+					return null;
+				}
+			}
+		}
+		if (open < 0) {
+			return null;
+		}
+		int depth = 0;
+		int binds = 0;
+		int close = -1;
+		for (pos = open; pos < length && close < 0; pos++) {
+			final char ch = sql.charAt(pos);
+			if (ch == '\'' || ch == '"' || (mariadb && ch == '`')) {
+				pos = skipQuoted(sql, pos, mariadb);
+				if (pos < 0) {
+					return null;
+				}
+			} else if (ch == '(') {
+				depth++;
+			} else if (ch == ')') {
+				if (--depth == 0) {
+					close = pos;
+				}
+			} else if (ch == '?') {
+				binds++;
+			} else if (isCommentOrDollarQuote(sql, pos, mariadb)) {
+				return null;
+			}
+		}
+		if (close < 0 || binds != bindCount || skipSpace(sql, close + 1) != length) {
+			return null;
+		}
+		return new Template(sql.substring(0, open), sql.substring(open, close + 1), bindCount, mariadb);
+	}
+
+	private static boolean isKeyword(final String sql, final int pos, final String keyword) {
+		final int end = pos + keyword.length();
+		return sql.regionMatches(true, pos, keyword, 0, keyword.length()) &&
+				(pos == 0 || !isNamePart(sql.charAt(pos - 1))) &&
+				(end == sql.length() || !isNamePart(sql.charAt(end)));
+	}
+
+	private static boolean isCommentOrDollarQuote(final String sql, final int pos, final boolean mariadb) {
+		final char ch = sql.charAt(pos);
+		final char next = pos + 1 < sql.length() ? sql.charAt(pos + 1) : ' ';
+		return (ch == '-' && next == '-') || (ch == '/' && next == '*') ||
+				(mariadb && ch == '#') || (!mariadb && ch == '$');
+	}
+
+	private static boolean isNamePart(final char ch) {
+		return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '#';
+	}
+
+	private static int skipSpace(final String sql, int pos) {
+		while (pos < sql.length() && Character.isWhitespace(sql.charAt(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Returns position of closing quote or -1 if literal is not terminated
+	 */
+	private static int skipQuoted(final String sql, final int from, final boolean backslashEscapes) {
+		final char quote = sql.charAt(from);
+		for (int pos = from + 1; pos < sql.length(); pos++) {
+			final char ch = sql.charAt(pos);
+			if (backslashEscapes && ch == '\\') {
+				pos++;
+			} else if (ch == quote) {
+				if (pos + 1 < sql.length() && sql.charAt(pos + 1) == quote) {
+					pos++;
+				} else {
+					return pos;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * INSERT statement split to text before VALUES list and VALUES row
+	 */
+	static final class Template {
+		private final String prefix;
+		private final String row;
+		private final int bindsPerRow;
+		/** COPY statement or null if statement has no column list or VALUES row is not only bind variables */
+		private final String copySql;
+		private final String[] statements = new String[32];
+
+		private Template(final String prefix, final String row, final int bindsPerRow, final boolean mariadb) {
+			this.prefix = prefix;
+			this.row = row;
+			this.bindsPerRow = bindsPerRow;
+			if (!mariadb && COPY_ROW.matcher(row).matches()) {
+				final Matcher matcher = COPY_TARGET.matcher(prefix);
+				copySql = matcher.matches() ? "COPY " + matcher.group(1) + " FROM STDIN" : null;
+			} else {
+				copySql = null;
+			}
+		}
+
+		/**
+		 * Returns multi-row INSERT statement
+		 *
+		 * @param rowCount number of rows, power of two
+		 * @return SQL statement
+		 */
+		String sql(final int rowCount) {
+			final int index = 31 - Integer.numberOfLeadingZeros(rowCount);
+			String sql = statements[index];
+			if (sql == null) {
+				final StringBuilder sb = new StringBuilder(prefix.length() + rowCount * (row.length() + 2));
+				sb.append(prefix).append(row);
+				for (int i = 1; i < rowCount; i++) {
+					sb.append(", ").append(row);
+				}
+				sql = sb.toString();
+				// Benign race, String is immutable
+				statements[index] = sql;
+			}
+			return sql;
+		}
+	}
+
+	/**
+	 * Bind calls recorded for one batch row
+	 */
+	static final class Row {
+		final Method[] methods;
+		final Object[][] arguments;
+
+		Row(final Method[] methods, final Object[][] arguments) {
+			this.methods = methods;
+			this.arguments = arguments;
+		}
+	}
+
+}
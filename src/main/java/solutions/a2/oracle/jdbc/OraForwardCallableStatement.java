@@ -26,6 +26,7 @@ import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.Date;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.Ref;
 import java.sql.ResultSet;
 import java.sql.RowId;
@@ -33,6 +34,8 @@ import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Map;
 
@@ -46,7 +49,6 @@ import oracle.sql.BINARY_FLOAT;
 import oracle.sql.BLOB;
 import oracle.sql.CHAR;
 import oracle.sql.CLOB;
-import oracle.sql.CharacterSet;
 import oracle.sql.CustomDatum;
 import oracle.sql.CustomDatumFactory;
 import oracle.sql.DATE;
@@ -75,8 +77,13 @@ import oracle.sql.TIMESTAMPTZ;
 public class OraForwardCallableStatement extends OraForwardPreparedStatement implements OracleCallableStatement  {
 
 	OraForwardCallableStatement(OracleConnection proxy, CallableStatement statement, OraForwardTranslator translator,
-			int dbType, OraForwardTranslator.Holder holder) throws SQLException {
-		super(proxy, statement, translator, dbType, holder);
+			int dbType, OraForwardParsedStatement parsed) throws SQLException {
+		super(proxy, statement, translator, dbType, parsed);
+	}
+
+	@Override
+	OraForwardPreparedStatement newStatement(final PreparedStatement backend) throws SQLException {
+		return new OraForwardCallableStatement(proxy, (CallableStatement) backend, translator, dbType, parsed);
 	}
 
 	@Override
@@ -722,43 +729,42 @@ public class OraForwardCallableStatement extends OraForwardPreparedStatement imp
 
 	@Override
 	public CHAR getCHAR(int parameterIndex) throws SQLException {
-		return new CHAR(getString(parameterIndex), CharacterSet.make(CharacterSet.AL32UTF8_CHARSET));
+		final String value = getString(parameterIndex);
+		return value == null ? null : new CHAR(value, OraForwardDatumCodec.AL32UTF8);
 	}
 
 	@Override
 	public DATE getDATE(int parameterIndex) throws SQLException {
-		return new DATE(getDate(parameterIndex));
+		final Timestamp value = getTimestamp(parameterIndex);
+		return value == null ? null : new DATE(OraForwardDatumCodec.date(value.toLocalDateTime()));
 	}
 
 	@Override
 	public INTERVALDS getINTERVALDS(int parameterIndex) throws SQLException {
 		if (dbType == OraForwardUtils.POSTGRESQL) {
-			//TODO
-			//TODO
-			//TODO
-			throw OraForwardUtils.sqlFeatureNotSupportedException("getINTERVALDS");
+			return OraForwardPgUtils.intervalDS(getObject(parameterIndex));
 		} else {
 			// OraRedirectUtils.MARIADB
-			return new INTERVALDS(getString(parameterIndex));
+			final String value = getString(parameterIndex);
+			return value == null ? null : new INTERVALDS(OraForwardDatumCodec.intervalDS(value));
 		}
 	}
 
 	@Override
 	public INTERVALYM getINTERVALYM(int parameterIndex) throws SQLException {
 		if (dbType == OraForwardUtils.POSTGRESQL) {
-			//TODO
-			//TODO
-			//TODO
-			throw OraForwardUtils.sqlFeatureNotSupportedException("getINTERVALYM");
+			return OraForwardPgUtils.intervalYM(getObject(parameterIndex));
 		} else {
 			// OraRedirectUtils.MARIADB
-			return new INTERVALYM(getString(parameterIndex));
+			final String value = getString(parameterIndex);
+			return value == null ? null : new INTERVALYM(OraForwardDatumCodec.intervalYM(value));
 		}
 	}
 
 	@Override
 	public NUMBER getNUMBER(int parameterIndex) throws SQLException {
-		return new NUMBER(getBigDecimal(parameterIndex));
+		final BigDecimal value = getBigDecimal(parameterIndex);
+		return value == null ? null : new NUMBER(OraForwardDatumCodec.number(value));
 	}
 
 	@Override
@@ -818,32 +824,48 @@ public class OraForwardCallableStatement extends OraForwardPreparedStatement imp
 
 	@Override
 	public TIMESTAMP getTIMESTAMP(int parameterIndex) throws SQLException {
-		return new TIMESTAMP(getTimestamp(parameterIndex));
+		final Timestamp value = getTimestamp(parameterIndex);
+		return value == null ? null : new TIMESTAMP(OraForwardDatumCodec.timestamp(value.toLocalDateTime()));
 	}
 
 	@Override
 	public TIMESTAMPLTZ getTIMESTAMPLTZ(int parameterIndex) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO We need server timezone here........
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPLTZ");
+		final long epochSecond;
+		final int nanos;
+		if (dbType == OraForwardUtils.POSTGRESQL) {
+			// pgjdbc returns timestamptz as instant
+			final Timestamp value = getTimestamp(parameterIndex);
+			if (value == null) {
+				return null;
+			}
+			epochSecond = Math.floorDiv(value.getTime(), 1000L);
+			nanos = value.getNanos();
+		} else {
+			// OraRedirectUtils.MARIADB, date and time is in session time zone
+			final LocalDateTime value = getObject(parameterIndex, LocalDateTime.class);
+			if (value == null) {
+				return null;
+			}
+			epochSecond = OraForwardDatumCodec.epochSecond(value, sessionTimeZone());
+			nanos = value.getNano();
+		}
+		return new TIMESTAMPLTZ(OraForwardDatumCodec.timestampLTZ(epochSecond, nanos));
 	}
 
 	@Override
 	public TIMESTAMPTZ getTIMESTAMPTZ(int parameterIndex) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO More work here is required........
-		//TODO For PostgreSQL we can read java.time.OffsetDateTime.class
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPTZ");
+		final ZoneId zone = sessionTimeZone();
+		if (dbType == OraForwardUtils.POSTGRESQL) {
+			// pgjdbc returns timestamptz as instant
+			final Timestamp value = getTimestamp(parameterIndex);
+			return value == null ? null : new TIMESTAMPTZ(OraForwardDatumCodec.timestampTZ(
+					Math.floorDiv(value.getTime(), 1000L), value.getNanos(), zone));
+		} else {
+			// OraRedirectUtils.MARIADB, date and time is in session time zone
+			final LocalDateTime value = getObject(parameterIndex, LocalDateTime.class);
+			return value == null ? null : new TIMESTAMPTZ(OraForwardDatumCodec.timestampTZ(
+					OraForwardDatumCodec.epochSecond(value, zone), value.getNano(), zone));
+		}
 	}
 
 	@Override
@@ -865,10 +887,11 @@ public class OraForwardCallableStatement extends OraForwardPreparedStatement imp
 
 	@Override
 	public InputStream getUnicodeStream(String parameterName) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			return getUnicodeStream(params.get(parameterName).get(0));
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			return getUnicodeStream(positions[0]);
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1071,34 +1094,37 @@ public class OraForwardCallableStatement extends OraForwardPreparedStatement imp
 
 	@Override
 	public void registerOutParameterAtName(String parameterMarkerName, int sqlType) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterMarkerName)) {
-			for (int parameterIndex : params.get(parameterMarkerName)) {
+		final int[] positions = parsed.positions(parameterMarkerName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				registerOutParameter(parameterIndex, sqlType);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void registerOutParameterAtName(String parameterMarkerName, int sqlType, int scale) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterMarkerName)) {
-			for (int parameterIndex : params.get(parameterMarkerName)) {
+		final int[] positions = parsed.positions(parameterMarkerName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				registerOutParameter(parameterIndex, sqlType, scale);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void registerOutParameterAtName(String parameterMarkerName, int sqlType, String typeName) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterMarkerName)) {
-			for (int parameterIndex : params.get(parameterMarkerName)) {
+		final int[] positions = parsed.positions(parameterMarkerName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				registerOutParameter(parameterIndex, sqlType, typeName);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterMarkerName, parsed.original(), parsed.translated());
 		}
 	}
 
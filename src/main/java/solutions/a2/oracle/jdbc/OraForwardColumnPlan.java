@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import oracle.jdbc.OracleTypes;
+
+/**
+ *
+ * Column codec plan of result set: backend column types and readers of getObject()
+ * and getOracleObject() values, built once from backend ResultSetMetaData and types
+ * defined by OracleStatement.defineColumnType(). Plan is shared by executions of
+ * the same SQL statement with the same defined types while result set has the same
+ * column labels and types, e.g. after DDL or change of search_path plan is built
+ * again. Plan also indexes column labels for findColumn() and getters by column label
+ * <pre>
+ * NUMBER, integer and decimal columns: BigDecimal and NUMBER
+ * DATE and TIMESTAMP columns:          java.sql.Timestamp and DATE or TIMESTAMP
+ * timestamptz columns:                 TIMESTAMPTZ
+ * character columns:                   String and CHAR
+ * binary columns:                      byte[] and RAW
+ * </pre>
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardColumnPlan {
+
+	/**
+	 * Reads value of column
+	 */
+	@FunctionalInterface
+	interface Codec {
+		Object get(OraForwardResultSet resultSet, int columnIndex) throws SQLException;
+	}
+
+	private static final Codec OBJECT = (resultSet, column) -> resultSet.proxy.getObject(column);
+	private static final Codec STRING = (resultSet, column) -> resultSet.proxy.getString(column);
+	private static final Codec BIG_DECIMAL = (resultSet, column) -> resultSet.proxy.getBigDecimal(column);
+	private static final Codec TIMESTAMP = (resultSet, column) -> resultSet.proxy.getTimestamp(column);
+	private static final Codec BYTES = (resultSet, column) -> resultSet.proxy.getBytes(column);
+	private static final Codec FLOAT = (resultSet, column) -> {
+		final float value = resultSet.proxy.getFloat(column);
+		return resultSet.proxy.wasNull() ? null : value;
+	};
+	private static final Codec DOUBLE = (resultSet, column) -> {
+		final double value = resultSet.proxy.getDouble(column);
+		return resultSet.proxy.wasNull() ? null : value;
+	};
+	private static final Codec CHAR_DATUM = (resultSet, column) -> resultSet.getCHAR(column);
+	private static final Codec NUMBER_DATUM = (resultSet, column) -> resultSet.getNUMBER(column);
+	private static final Codec DATE_DATUM = (resultSet, column) -> resultSet.getDATE(column);
+	private static final Codec TIMESTAMP_DATUM = (resultSet, column) -> resultSet.getTIMESTAMP(column);
+	private static final Codec TIMESTAMPTZ_DATUM = (resultSet, column) -> resultSet.getTIMESTAMPTZ(column);
+	private static final Codec TIMESTAMPLTZ_DATUM = (resultSet, column) -> resultSet.getTIMESTAMPLTZ(column);
+	private static final Codec INTERVALDS_DATUM = (resultSet, column) -> resultSet.getINTERVALDS(column);
+	private static final Codec INTERVALYM_DATUM = (resultSet, column) -> resultSet.getINTERVALYM(column);
+	private static final Codec RAW_DATUM = (resultSet, column) -> resultSet.getRAW(column);
+	private static final Codec UNSUPPORTED_DATUM = (resultSet, column) -> {
+		throw OraForwardUtils.sqlFeatureNotSupportedException("getOracleObject");
+	};
+
+	private final int[] defines;
+	private final String[] columnLabels;
+	private final int[] types;
+	private final Codec[] objects;
+	private final Codec[] datums;
+	/** Column labels as returned by backend and in upper case, first column wins for duplicate labels */
+	private final Map<String, Integer> labels;
+
+	private OraForwardColumnPlan(final int[] defines, final int columnCount) {
+		this.defines = defines;
+		this.columnLabels = new String[columnCount + 1];
+		this.types = new int[columnCount + 1];
+		this.objects = new Codec[columnCount + 1];
+		this.datums = new Codec[columnCount + 1];
+		this.labels = new HashMap<>(columnCount * 4);
+	}
+
+	/**
+	 * Returns plan of result set: plan of parsed statement when it was built with
+	 * the same defined types for the same column labels and types, or new plan which
+	 * replaces it
+	 *
+	 * @param resultSet backend result set
+	 * @param parsed    parsed statement or null if result set is not a query result
+	 * @param defines   types defined by defineColumnType indexed by column or null
+	 * @return column codec plan
+	 * @throws SQLException
+	 */
+	static OraForwardColumnPlan of(final ResultSet resultSet, final OraForwardParsedStatement parsed,
+			final int[] defines) throws SQLException {
+		final ResultSetMetaData metaData = resultSet.getMetaData();
+		final OraForwardColumnPlan cached = parsed == null ? null : parsed.columnPlan();
+		if (cached != null && Arrays.equals(cached.defines, defines) && cached.matches(metaData)) {
+			return cached;
+		}
+		final OraForwardColumnPlan plan = build(metaData, defines);
+		if (parsed != null) {
+			parsed.columnPlan(plan);
+		}
+		return plan;
+	}
+
+	private static OraForwardColumnPlan build(final ResultSetMetaData metaData, final int[] defines)
+			throws SQLException {
+		final int columnCount = metaData.getColumnCount();
+		final OraForwardColumnPlan plan = new OraForwardColumnPlan(
+				defines == null ? null : defines.clone(), columnCount);
+		for (int column = 1; column <= columnCount; column++) {
+			final String label = metaData.getColumnLabel(column);
+			plan.columnLabels[column] = label;
+			if (label != null) {
+				plan.labels.putIfAbsent(label, column);
+				plan.labels.putIfAbsent(label.toUpperCase(Locale.ROOT), column);
+			}
+			plan.types[column] = type(metaData, column);
+			switch (defines != null && column < defines.length && defines[column] != 0 ?
+					defines[column] : plan.types[column]) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+				plan.objects[column] = STRING;
+				plan.datums[column] = CHAR_DATUM;
+				break;
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+			case Types.BIGINT:
+				plan.objects[column] = BIG_DECIMAL;
+				plan.datums[column] = NUMBER_DATUM;
+				break;
+			case Types.REAL:
+			case OracleTypes.BINARY_FLOAT:
+				plan.objects[column] = FLOAT;
+				plan.datums[column] = NUMBER_DATUM;
+				break;
+			case Types.FLOAT:
+			case Types.DOUBLE:
+			case OracleTypes.BINARY_DOUBLE:
+				plan.objects[column] = DOUBLE;
+				plan.datums[column] = NUMBER_DATUM;
+				break;
+			case Types.DATE:
+				plan.objects[column] = TIMESTAMP;
+				plan.datums[column] = DATE_DATUM;
+				break;
+			case Types.TIMESTAMP:
+				plan.objects[column] = TIMESTAMP;
+				plan.datums[column] = TIMESTAMP_DATUM;
+				break;
+			case Types.TIMESTAMP_WITH_TIMEZONE:
+			case OracleTypes.TIMESTAMPTZ:
+				plan.objects[column] = TIMESTAMPTZ_DATUM;
+				plan.datums[column] = TIMESTAMPTZ_DATUM;
+				break;
+			case OracleTypes.TIMESTAMPLTZ:
+				plan.objects[column] = TIMESTAMPLTZ_DATUM;
+				plan.datums[column] = TIMESTAMPLTZ_DATUM;
+				break;
+			case OracleTypes.INTERVALDS:
+				plan.objects[column] = INTERVALDS_DATUM;
+				plan.datums[column] = INTERVALDS_DATUM;
+				break;
+			case OracleTypes.INTERVALYM:
+				plan.objects[column] = INTERVALYM_DATUM;
+				plan.datums[column] = INTERVALYM_DATUM;
+				break;
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+				plan.objects[column] = BYTES;
+				plan.datums[column] = RAW_DATUM;
+				break;
+			default:
+				plan.objects[column] = OBJECT;
+				plan.datums[column] = UNSUPPORTED_DATUM;
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Returns java.sql.Types of backend column, pgjdbc reports timestamptz as Types.TIMESTAMP
+	 */
+	private static int type(final ResultSetMetaData metaData, final int column) throws SQLException {
+		final int backendType = metaData.getColumnType(column);
+		return backendType == Types.TIMESTAMP &&
+				"timestamptz".equals(metaData.getColumnTypeName(column)) ?
+						Types.TIMESTAMP_WITH_TIMEZONE : backendType;
+	}
+
+	/**
+	 * Checks that plan was built for result set with the same column labels and types
+	 *
+	 * @param metaData backend metadata of result set
+	 * @return true when plan can be used for result set
+	 * @throws SQLException
+	 */
+	private boolean matches(final ResultSetMetaData metaData) throws SQLException {
+		final int columnCount = metaData.getColumnCount();
+		if (columnCount != types.length - 1) {
+			return false;
+		}
+		for (int column = 1; column <= columnCount; column++) {
+			if (types[column] != type(metaData, column) ||
+					!Objects.equals(columnLabels[column], metaData.getColumnLabel(column))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds column by label case-insensitively as Oracle JDBC does. Labels in backend
+	 * case or in upper case, the case of Oracle identifiers, are found with one lookup
+	 *
+	 * @param columnLabel column label
+	 * @return column index or 0 when column is not found
+	 */
+	int column(final String columnLabel) {
+		Integer columnIndex = labels.get(columnLabel);
+		if (columnIndex == null && columnLabel != null) {
+			columnIndex = labels.get(columnLabel.toUpperCase(Locale.ROOT));
+		}
+		return columnIndex == null ? 0 : columnIndex;
+	}
+
+	/**
+	 * Returns java.sql.Types of backend column, getters use it to choose backend getter
+	 *
+	 * @param columnIndex column index
+	 * @return type of column or Types.OTHER when column index is out of range
+	 */
+	int type(final int columnIndex) {
+		return columnIndex > 0 && columnIndex < types.length ? types[columnIndex] : Types.OTHER;
+	}
+
+	/**
+	 * Returns reader of column value as Oracle JDBC getObject() returns it
+	 *
+	 * @param columnIndex column index
+	 * @return codec, backend getObject() when column index is out of range
+	 */
+	Codec object(final int columnIndex) {
+		return columnIndex > 0 && columnIndex < objects.length ? objects[columnIndex] : OBJECT;
+	}
+
+	/**
+	 * Returns reader of column value as Oracle Datum
+	 *
+	 * @param columnIndex column index
+	 * @return codec, backend getObject() when column index is out of range
+	 */
+	Codec datum(final int columnIndex) {
+		return columnIndex > 0 && columnIndex < datums.length ? datums[columnIndex] : OBJECT;
+	}
+
+}
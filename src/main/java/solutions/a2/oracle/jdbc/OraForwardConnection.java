@@ -17,6 +17,7 @@ import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.SocketException;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.sql.Array;
@@ -39,13 +40,20 @@ import java.sql.Statement;
 import java.sql.Struct;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.Executor;
 
@@ -121,12 +129,39 @@ import oracle.sql.TypeDescriptor;
  */
 public class OraForwardConnection extends OraForwardWrapper implements OracleConnection {
 
+	/** Oracle JDBC default of defaultRowPrefetch */
+	private static final int DEFAULT_ROW_PREFETCH = 10;
+	/** Default of a2.stream.min.prefetch */
+	static final int DEFAULT_STREAM_MIN_PREFETCH = 100;
+	/** Default of a2.metadata.cache.ttl */
+	static final int DEFAULT_METADATA_CACHE_TTL = 300000;
+	/** Default of a2.scroll.window.rows, scrollable result sets of backend are used */
+	static final int DEFAULT_SCROLL_WINDOW_ROWS = 0;
+
 	private final Connection shadow;
 	private final OraForwardTranslator translator;
 	private final int dbType;
-
-	private int dummyRowPrefetchSize = 10;
+	private final int batchRewriteMaxRows;
+	private final int copyMinRows;
+	private final long[] copySqlIds;
+	private final int streamMinPrefetch;
+	private final int metaDataCacheTtl;
+	private final int scrollWindowRows;
+	private final Path scrollSpillDir;
+	private DatabaseMetaData metaData;
+
+	private int defaultRowPrefetch = DEFAULT_ROW_PREFETCH;
+	/** True when defaultRowPrefetch is set by connection property or setDefaultRowPrefetch */
+	private boolean defaultRowPrefetchSet = false;
+	/** Schemas changed by DDL statements, null element for all schemas */
+	private Set<String> ddlSchemas;
+	/** Statement which result set is fetched with cursor while auto-commit is suspended */
+	private OraForwardStatement streamingStatement;
 	private TimeZone defaultTimeZone;
+	/** Oracle JDBC sets session time zone to JVM time zone on logon */
+	private ZoneId sessionTimeZone = ZoneId.systemDefault();
+	/** Backend URL and user, read on first use */
+	private String backendKey;
 	private boolean includeSynonyms;
 	private boolean remarksReporting;
 	private boolean restrictGetTables;
@@ -134,26 +169,60 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 	private boolean xaErrorFlag;
 	//TODO
 	private boolean logging;
-	private boolean explicitCachingEnabled;
 	private boolean implicitCachingEnabled;
+	private final OraForwardStatementCache statementCache = new OraForwardStatementCache();
+	/** Reload count of mapping parked statements are translated with */
+	private long mappingGeneration;
+	private int defaultExecuteBatch = 1;
+	private final Set<OraForwardPreparedStatement> pendingBatches =
+			Collections.newSetFromMap(new IdentityHashMap<>());
 	private String userName;
 	private String currentSchema;
 	private Object aCProxy;
 
 	public OraForwardConnection(
-			Connection connection, Properties info, OraForwardTranslator translator, int dbType)
-					throws SQLException {
+			Connection connection, Properties info, OraForwardTranslator translator, int dbType,
+			int batchRewriteMaxRows, int copyMinRows, long[] copySqlIds, int streamMinPrefetch,
+			int metaDataCacheTtl, int scrollWindowRows, Path scrollSpillDir) throws SQLException {
 		super(connection);
 		this.shadow = connection;
 		this.translator = translator;
 		this.dbType = dbType;
+		this.batchRewriteMaxRows = batchRewriteMaxRows;
+		this.copyMinRows = copyMinRows;
+		this.copySqlIds = copySqlIds;
+		this.streamMinPrefetch = streamMinPrefetch;
+		this.metaDataCacheTtl = metaDataCacheTtl;
+		this.scrollWindowRows = scrollWindowRows;
+		this.scrollSpillDir = scrollSpillDir;
+		this.mappingGeneration = translator.getReloadCount();
 		// Parse some Oracle specific properties....
 		if (info.containsKey(OracleConnection.CONNECTION_PROPERTY_AUTOCOMMIT) && 
 				"false".equalsIgnoreCase(info.getProperty(OracleConnection.CONNECTION_PROPERTY_AUTOCOMMIT))) {
 			shadow.setAutoCommit(false);
 		}
+		if (info.containsKey(OracleConnection.CONNECTION_PROPERTY_IMPLICIT_STATEMENT_CACHE_SIZE)) {
+			final String cacheSize = info.getProperty(OracleConnection.CONNECTION_PROPERTY_IMPLICIT_STATEMENT_CACHE_SIZE);
+			try {
+				setStatementCacheSize(Integer.parseInt(cacheSize.trim()));
+			} catch (NumberFormatException nfe) {
+				throw new SQLException(
+						String.format("Unable to parse '%s' property! Value '%s' is not a number!",
+								OracleConnection.CONNECTION_PROPERTY_IMPLICIT_STATEMENT_CACHE_SIZE, cacheSize), nfe);
+			}
+			implicitCachingEnabled = statementCache.getSize() > 0;
+		}
+		if (info.containsKey(OracleConnection.CONNECTION_PROPERTY_DEFAULT_ROW_PREFETCH)) {
+			final String rowPrefetch = info.getProperty(OracleConnection.CONNECTION_PROPERTY_DEFAULT_ROW_PREFETCH);
+			try {
+				setDefaultRowPrefetch(Integer.parseInt(rowPrefetch.trim()));
+			} catch (NumberFormatException nfe) {
+				throw new SQLException(
+						String.format("Unable to parse '%s' property! Value '%s' is not a number!",
+								OracleConnection.CONNECTION_PROPERTY_DEFAULT_ROW_PREFETCH, rowPrefetch), nfe);
+			}
+		}
 		//oracle.jdbc.commitSelectOnAutocommit - ?
-		//defaultRowPrefetch - ?
 	}
 
 	@Override
@@ -164,90 +233,175 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-		return new OraForwardStatement(this,
-				shadow.createStatement(resultSetType, resultSetConcurrency),
-				translator, dbType);
+		return scrollable(new OraForwardStatement(this,
+				shadow.createStatement(backendType(resultSetType, resultSetConcurrency), resultSetConcurrency),
+				translator, dbType), resultSetType, resultSetConcurrency);
 	}
 
 	@Override
 	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
 			throws SQLException {
-		return new OraForwardStatement(this,
-				shadow.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability),
-				translator, dbType);
+		return scrollable(new OraForwardStatement(this,
+				shadow.createStatement(backendType(resultSetType, resultSetConcurrency),
+						resultSetConcurrency, resultSetHoldability),
+				translator, dbType), resultSetType, resultSetConcurrency);
+	}
+
+	/**
+	 * Read only scrollable result sets are emulated over forward only backend result sets,
+	 * because backend drivers load the whole scrollable result set into memory
+	 */
+	private boolean scrollEmulated(final int resultSetType, final int resultSetConcurrency) {
+		return scrollWindowRows > 0 && resultSetType != ResultSet.TYPE_FORWARD_ONLY &&
+				resultSetConcurrency == ResultSet.CONCUR_READ_ONLY;
+	}
+
+	private int backendType(final int resultSetType, final int resultSetConcurrency) {
+		return scrollEmulated(resultSetType, resultSetConcurrency) ? ResultSet.TYPE_FORWARD_ONLY : resultSetType;
+	}
+
+	private <T extends OraForwardStatement> T scrollable(final T statement,
+			final int resultSetType, final int resultSetConcurrency) throws SQLException {
+		if (scrollEmulated(resultSetType, resultSetConcurrency)) {
+			statement.scroll(resultSetType, scrollWindowRows, scrollSpillDir);
+		}
+		return statement;
 	}
 
 	@Override
 	public CallableStatement prepareCall(String sql) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardCallableStatement(this, shadow.prepareCall(holder.translated),
-				translator, dbType, holder);
+		return (CallableStatement) prepare(sql, true,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, OraForwardStatementCache.DEFAULT_HOLDABILITY);
 	}
 
 	@Override
 	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardCallableStatement(this,
-				shadow.prepareCall(holder.translated, resultSetType, resultSetConcurrency),
-				translator, dbType, holder);
+		return (CallableStatement) prepare(sql, true,
+				resultSetType, resultSetConcurrency, OraForwardStatementCache.DEFAULT_HOLDABILITY);
 	}
 
 	@Override
 	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
 			int resultSetHoldability) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardCallableStatement(this,
-				shadow.prepareCall(holder.translated, resultSetType, resultSetConcurrency, resultSetHoldability),
-				translator, dbType, holder);
+		return (CallableStatement) prepare(sql, true,
+				resultSetType, resultSetConcurrency, resultSetHoldability);
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this, shadow.prepareStatement(holder.translated),
-				translator, dbType, holder);
+		return prepare(sql, false,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, OraForwardStatementCache.DEFAULT_HOLDABILITY);
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
 			throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this,
-				shadow.prepareStatement(holder.translated, resultSetType, resultSetConcurrency),
-				translator, dbType, holder);
+		return prepare(sql, false,
+				resultSetType, resultSetConcurrency, OraForwardStatementCache.DEFAULT_HOLDABILITY);
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
 			int resultSetHoldability) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this,
-				shadow.prepareStatement(holder.translated, resultSetType, resultSetConcurrency, resultSetHoldability),
-				translator, dbType, holder);
+		return prepare(sql, false,
+				resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	/**
+	 * Returns statement from implicit statement cache when caching is enabled,
+	 * otherwise translates SQL statement and prepares it with backend driver
+	 */
+	private OraForwardPreparedStatement prepare(final String sql, final boolean callable,
+			final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) throws SQLException {
+		final long generation = mappingGeneration();
+		final OraForwardStatementCache.Key key;
+		if (implicitCachingEnabled && statementCache.getSize() > 0) {
+			key = new OraForwardStatementCache.Key(
+					sql, callable, resultSetType, resultSetConcurrency, resultSetHoldability);
+			final OraForwardPreparedStatement cached = statementCache.take(key, generation);
+			if (cached != null) {
+				return scrollable(cached.reopen(true), resultSetType, resultSetConcurrency);
+			}
+		} else {
+			key = null;
+		}
+		final OraForwardParsedStatement parsed = translator.translateAndConvertParams(sql, dbType);
+		final int backendType = backendType(resultSetType, resultSetConcurrency);
+		final OraForwardPreparedStatement prepared;
+		if (callable) {
+			prepared = new OraForwardCallableStatement(this,
+					resultSetHoldability == OraForwardStatementCache.DEFAULT_HOLDABILITY ?
+							shadow.prepareCall(parsed.translated(), backendType, resultSetConcurrency) :
+							shadow.prepareCall(parsed.translated(), backendType, resultSetConcurrency, resultSetHoldability),
+					translator, dbType, parsed);
+		} else {
+			prepared = new OraForwardPreparedStatement(this,
+					OraForwardBatchRewriter.wrap(
+							resultSetHoldability == OraForwardStatementCache.DEFAULT_HOLDABILITY ?
+									shadow.prepareStatement(parsed.translated(), backendType, resultSetConcurrency) :
+									shadow.prepareStatement(parsed.translated(), backendType, resultSetConcurrency, resultSetHoldability),
+							parsed.insertTemplate(), dbType, batchRewriteMaxRows, copyMinRows(parsed)),
+					translator, dbType, parsed);
+		}
+		return withCache(scrollable(prepared, resultSetType, resultSetConcurrency), key, generation);
+	}
+
+	/**
+	 * Returns reload count of mapping. Parked statements keep translation of mapping
+	 * they were prepared with, so they are closed when mapping is reloaded
+	 */
+	private long mappingGeneration() {
+		final long generation = translator.getReloadCount();
+		if (generation != mappingGeneration) {
+			statementCache.purge();
+			mappingGeneration = generation;
+		}
+		return generation;
+	}
+
+	/**
+	 * Batches of SQL statements listed in a2.copy.sql.ids are always sent with COPY
+	 */
+	private int copyMinRows(final OraForwardParsedStatement parsed) throws SQLException {
+		if (copySqlIds.length > 0 && parsed.insertTemplate() != null &&
+				Arrays.binarySearch(copySqlIds, OraForwardUtils.sql_id_long(parsed.original())) >= 0) {
+			return 1;
+		} else {
+			return copyMinRows;
+		}
+	}
+
+	private OraForwardPreparedStatement withCache(final OraForwardPreparedStatement prepared,
+			final Object key, final long generation) {
+		prepared.setCache(statementCache, key, generation);
+		return prepared;
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this,
-				shadow.prepareStatement(holder.translated, autoGeneratedKeys),
-				translator, dbType, holder);
+		final long generation = mappingGeneration();
+		final OraForwardParsedStatement parsed = translator.translateAndConvertParams(sql, dbType);
+		return withCache(new OraForwardPreparedStatement(this,
+				shadow.prepareStatement(parsed.translated(), autoGeneratedKeys),
+				translator, dbType, parsed), null, generation);
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this,
-				shadow.prepareStatement(holder.translated, columnIndexes),
-				translator, dbType, holder);
+		final long generation = mappingGeneration();
+		final OraForwardParsedStatement parsed = translator.translateAndConvertParams(sql, dbType);
+		return withCache(new OraForwardPreparedStatement(this,
+				shadow.prepareStatement(parsed.translated(), columnIndexes),
+				translator, dbType, parsed), null, generation);
 	}
 
 	@Override
 	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
-		final OraForwardTranslator.Holder holder = translator.translateAndConvertParams(sql);
-		return new OraForwardPreparedStatement(this,
-				shadow.prepareStatement(holder.translated, columnNames),
-				translator, dbType, holder);
+		final long generation = mappingGeneration();
+		final OraForwardParsedStatement parsed = translator.translateAndConvertParams(sql, dbType);
+		return withCache(new OraForwardPreparedStatement(this,
+				shadow.prepareStatement(parsed.translated(), columnNames),
+				translator, dbType, parsed), null, generation);
 	}
 
 	@Override
@@ -257,27 +411,117 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		detachStreaming();
 		shadow.setAutoCommit(autoCommit);
-		
+		clearDdlSnapshots(false);
 	}
 
 	@Override
 	public boolean getAutoCommit() throws SQLException {
-		return shadow.getAutoCommit();
+		return streamingStatement != null || shadow.getAutoCommit();
 	}
 
 	@Override
 	public void commit() throws SQLException {
+		if (!pendingBatches.isEmpty()) {
+			for (final OraForwardPreparedStatement statement : new ArrayList<>(pendingBatches)) {
+				statement.sendPendingBatch();
+			}
+		}
+		detachStreaming();
 		shadow.commit();
+		clearDdlSnapshots(true);
 	}
 
 	@Override
 	public void rollback() throws SQLException {
+		if (!pendingBatches.isEmpty()) {
+			for (final OraForwardPreparedStatement statement : pendingBatches) {
+				statement.clearPendingBatch();
+			}
+			pendingBatches.clear();
+		}
+		detachStreaming();
 		shadow.rollback();
+		clearDdlSnapshots(true);
+	}
+
+	/**
+	 * Called before statement executes query which may be streamed. PostgreSQL fetches
+	 * result set with cursor only inside transaction, when connection is in auto-commit
+	 * mode and row prefetch is not less than a2.stream.min.prefetch, or result set is
+	 * emulated scrollable result set which is always streamed to keep memory bounded,
+	 * auto-commit of backend connection is suspended until result set is closed or
+	 * fully read. Backend transaction contains only this query: before any other statement
+	 * is executed or transaction state is changed, {@link #detachStreaming()} reads the rest
+	 * of result set and restores auto-commit
+	 *
+	 * @param owner       statement which executes query
+	 * @param statement   backend statement
+	 * @param rowPrefetch row prefetch of statement
+	 * @param scroll      true when result set is emulated scrollable result set
+	 * @return true if streaming is started and {@link #endStreaming(OraForwardStatement)} must be called
+	 * @throws SQLException
+	 */
+	boolean beginStreaming(final OraForwardStatement owner, final Statement statement,
+			final int rowPrefetch, final boolean scroll) throws SQLException {
+		if (dbType != OraForwardUtils.POSTGRESQL ||
+				(!scroll && (streamMinPrefetch == 0 || rowPrefetch < streamMinPrefetch)) ||
+				statement.getResultSetType() != ResultSet.TYPE_FORWARD_ONLY) {
+			return false;
+		}
+		detachStreaming();
+		if (!shadow.getAutoCommit()) {
+			// pgjdbc uses cursor without help inside transaction
+			return false;
+		}
+		shadow.setAutoCommit(false);
+		streamingStatement = owner;
+		return true;
+	}
+
+	/**
+	 * Called when streamed result set is closed or fully read, restores auto-commit
+	 *
+	 * @param owner statement which executed query
+	 * @throws SQLException
+	 */
+	void endStreaming(final OraForwardStatement owner) throws SQLException {
+		if (streamingStatement == owner) {
+			streamingStatement = null;
+			shadow.setAutoCommit(true);
+		}
+	}
+
+	/**
+	 * Reads rest of result set streamed while auto-commit is suspended into memory
+	 * and restores auto-commit, so each statement executed in auto-commit
+	 * mode is committed and cannot abort backend transaction of streamed result set
+	 *
+	 * @throws SQLException
+	 */
+	void detachStreaming() throws SQLException {
+		if (streamingStatement != null) {
+			streamingStatement.detachStreaming();
+		}
+	}
+
+	/**
+	 * Registers statement with rows pending in Oracle update batch, they are sent before commit
+	 */
+	void batchPending(final OraForwardPreparedStatement statement) {
+		pendingBatches.add(statement);
+	}
+
+	void batchSent(final OraForwardPreparedStatement statement) {
+		pendingBatches.remove(statement);
 	}
 
 	@Override
 	public void close() throws SQLException {
+		statementCache.purge();
+		// Backend transaction of streamed result set contains only query
+		streamingStatement = null;
 		shadow.close();
 	}
 
@@ -288,11 +532,77 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public DatabaseMetaData getMetaData() throws SQLException {
-		return shadow.getMetaData();
+		if (metaDataCacheTtl <= 0) {
+			return shadow.getMetaData();
+		}
+		if (metaData == null) {
+			metaData = OraForwardDatabaseMetaData.wrap(this, shadow.getMetaData(), dbType, metaDataCacheTtl);
+		}
+		return metaData;
+	}
+
+	/**
+	 * Drops catalog snapshots of DatabaseMetaData, e.g. after DDL statements,
+	 * snapshots are shared by all connections with the same database URL and user
+	 *
+	 * @throws SQLException
+	 */
+	public void clearMetaDataCache() throws SQLException {
+		OraForwardDatabaseMetaData.clear(shadow.getMetaData(), null);
+	}
+
+	/**
+	 * Drops catalog snapshot of schema of DatabaseMetaData
+	 *
+	 * @param schema schema name as DatabaseMetaData returns it, in upper case for not quoted names
+	 * @throws SQLException
+	 */
+	public void clearMetaDataCache(final String schema) throws SQLException {
+		OraForwardDatabaseMetaData.clear(shadow.getMetaData(), schema);
+	}
+
+	/**
+	 * Called before statement is executed. When statement is DDL statement, drops catalog
+	 * snapshots of its schema, or of all schemas when schema is not known
+	 *
+	 * @param sql translated SQL statement or null
+	 * @throws SQLException
+	 */
+	void beginDdl(final String sql) throws SQLException {
+		clearDdlSnapshots(false);
+		if (metaDataCacheTtl > 0 && sql != null && OraForwardDatabaseMetaData.isDdl(sql)) {
+			final String schema = OraForwardDatabaseMetaData.ddlSchema(sql);
+			if (ddlSchemas == null) {
+				ddlSchemas = new HashSet<>();
+			}
+			ddlSchemas.add(schema);
+			OraForwardDatabaseMetaData.clear(shadow.getMetaData(), schema);
+		}
+	}
+
+	/**
+	 * Drops catalog snapshots changed by DDL statements again, because other connection may
+	 * read them while DDL statement is executed or is not committed. Called before next
+	 * statement or DatabaseMetaData call, and after transaction ends
+	 *
+	 * @param transactionEnd true after commit or rollback
+	 * @throws SQLException
+	 */
+	void clearDdlSnapshots(final boolean transactionEnd) throws SQLException {
+		if (ddlSchemas != null) {
+			final DatabaseMetaData backend = shadow.getMetaData();
+			for (final String schema : ddlSchemas) {
+				OraForwardDatabaseMetaData.clear(backend, schema);
+			}
+			if (transactionEnd || shadow.getAutoCommit()) {
+				ddlSchemas = null;
+			}
+		}
 	}
 
 	@Override
 	public void setReadOnly(boolean readOnly) throws SQLException {
+		detachStreaming();
 		shadow.setReadOnly(readOnly);
 	}
 
@@ -313,6 +623,7 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public void setTransactionIsolation(int level) throws SQLException {
+		detachStreaming();
 		shadow.setTransactionIsolation(level);
 	}
 
@@ -353,21 +664,25 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public Savepoint setSavepoint() throws SQLException {
+		detachStreaming();
 		return shadow.setSavepoint();
 	}
 
 	@Override
 	public Savepoint setSavepoint(String name) throws SQLException {
+		detachStreaming();
 		return shadow.setSavepoint(name);
 	}
 
 	@Override
 	public void rollback(Savepoint savepoint) throws SQLException {
+		detachStreaming();
 		shadow.rollback(savepoint);
 	}
 
 	@Override
 	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		detachStreaming();
 		shadow.releaseSavepoint(savepoint);
 	}
 
@@ -462,12 +777,27 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public int getDefaultRowPrefetch() {
-		return dummyRowPrefetchSize;
+		return defaultRowPrefetch;
 	}
 
+	/**
+	 * Sets row prefetch of new statements, it is used as fetch size of backend statements
+	 */
 	@Override
 	public void setDefaultRowPrefetch(int size) throws SQLException {
-		dummyRowPrefetchSize = size;
+		if (size <= 0) {
+			throw new SQLException(String.format("Invalid row prefetch size %d!", size));
+		}
+		defaultRowPrefetch = size;
+		defaultRowPrefetchSet = true;
+	}
+
+	/**
+	 * Returns true when row prefetch of new statements is set explicitly and is passed to
+	 * backend statements, otherwise backend statements keep fetch size of backend driver
+	 */
+	boolean isDefaultRowPrefetchSet() {
+		return defaultRowPrefetchSet;
 	}
 
 	@Override
@@ -547,13 +877,13 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 	@Deprecated
 	@Override
 	public CallableStatement prepareCallWithKey(String key) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("prepareCallWithKey");
+		return getCallWithKey(key);
 	}
 
 	@Deprecated
 	@Override
 	public PreparedStatement prepareStatementWithKey(String key) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("prepareStatementWithKey");
+		return getStatementWithKey(key);
 	}
 
 	@Override
@@ -563,7 +893,7 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public PreparedStatement getStatementWithKey(String key) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getStatementWithKey");
+		return reopen(statementCache.takeExplicit(key, OraForwardPreparedStatement.class, mappingGeneration()));
 	}
 
 	@Override
@@ -617,12 +947,12 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public boolean getExplicitCachingEnabled() throws SQLException {
-		return explicitCachingEnabled;
+		return statementCache.isExplicitEnabled();
 	}
 
 	@Override
 	public void setExplicitCachingEnabled(boolean explicitCachingEnabled) throws SQLException {
-		this.explicitCachingEnabled = explicitCachingEnabled;
+		statementCache.setExplicitEnabled(explicitCachingEnabled);
 	}
 
 	@Override
@@ -633,6 +963,9 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 	@Override
 	public void setImplicitCachingEnabled(boolean implicitCachingEnabled) throws SQLException {
 		this.implicitCachingEnabled = implicitCachingEnabled;
+		if (!implicitCachingEnabled) {
+			statementCache.purge(false);
+		}
 	}
 
 	@Override
@@ -1011,7 +1344,13 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public CallableStatement getCallWithKey(String key) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getCallWithKey");
+		return (CallableStatement) reopen(
+				statementCache.takeExplicit(key, OraForwardCallableStatement.class, mappingGeneration()));
+	}
+
+	private static OraForwardPreparedStatement reopen(final OraForwardPreparedStatement cached)
+			throws SQLException {
+		return cached == null ? null : cached.reopen(false);
 	}
 
 	@Deprecated
@@ -1039,8 +1378,7 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 	@Deprecated
 	@Override
 	public int getDefaultExecuteBatch() {
-		//TODO
-		return -1;
+		return defaultExecuteBatch;
 	}
 
 	@Override
@@ -1086,48 +1424,95 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public String getSessionTimeZone() {
-		//TODO
-		return null;
+		return sessionTimeZone.getId();
 	}
 
 	@Override
 	public void setSessionTimeZone(String regionName) throws SQLException {
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setSessionTimeZone");
+		final ZoneId zone = OraForwardDatumCodec.zoneId(regionName);
+		final String name = zone instanceof ZoneOffset ?
+				OraForwardDatumCodec.offsetString((ZoneOffset) zone) : zone.getId();
+		try (Statement statement = shadow.createStatement()) {
+			if (dbType == OraForwardUtils.POSTGRESQL) {
+				// Text offset in SET TIME ZONE is POSIX offset with inverted sign
+				statement.execute(zone instanceof ZoneOffset ?
+						"SET TIME ZONE INTERVAL '" + name + "' HOUR TO MINUTE" :
+						"SET TIME ZONE '" + name + "'");
+			} else {
+				// OraRedirectUtils.MARIADB, region names require loaded time zone tables
+				statement.execute("SET time_zone = '" + name + "'");
+			}
+		}
+		sessionTimeZone = zone;
 	}
 
 	@Override
 	public String getSessionTimeZoneOffset() throws SQLException {
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getSessionTimeZoneOffset");
+		return OraForwardDatumCodec.offsetString(sessionTimeZone.getRules().getOffset(Instant.now()));
+	}
+
+	/**
+	 * Returns session time zone used to convert TIMESTAMPTZ and TIMESTAMPLTZ from and to
+	 * backend values without time zone
+	 *
+	 * @return session time zone
+	 */
+	ZoneId sessionTimeZone() {
+		return sessionTimeZone;
+	}
+
+	/**
+	 * Returns backend URL and user, which identify database and its catalog as seen by connection
+	 *
+	 * @return backend URL and user
+	 * @throws SQLException
+	 */
+	String backendKey() throws SQLException {
+		if (backendKey == null) {
+			backendKey = OraForwardDatabaseMetaData.key(shadow.getMetaData());
+		}
+		return backendKey;
 	}
 
 	@Override
 	public int getStatementCacheSize() throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getStatementCacheSize");
+		return statementCache.getSize();
 	}
 
 	@Deprecated
 	@Override
 	public int getStmtCacheSize() {
-		return 0;
+		return statementCache.getSize();
 	}
 
 	@Override
 	public void setStatementCacheSize(int size) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setStatementCacheSize");
+		if (size < 0) {
+			throw new SQLException("Statement cache size must not be negative!");
+		}
+		statementCache.setSize(size);
 	}
 
 	@Deprecated
 	@Override
 	public void setStmtCacheSize(int size) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setStmtCacheSize");
+		setStatementCacheSize(size);
+		setImplicitCachingEnabled(size > 0);
 	}
 
 	@Deprecated
 	@Override
 	public void setStmtCacheSize(int size, boolean clearMetaData) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setStmtCacheSize");
+		setStmtCacheSize(size);
+	}
+
+	/**
+	 * Returns statement cache of this connection with hit, miss and eviction counters
+	 * 
+	 * @return statement cache
+	 */
+	public OraForwardStatementCache getStatementCache() {
+		return statementCache;
 	}
 
 	@Override
@@ -1204,12 +1589,12 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public void purgeExplicitCache() throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("purgeExplicitCache");
+		statementCache.purge(true);
 	}
 
 	@Override
 	public void purgeImplicitCache() throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("purgeImplicitCache");
+		statementCache.purge(false);
 	}
 
 	@Override
@@ -1267,7 +1652,10 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 	@Deprecated
 	@Override
 	public void setDefaultExecuteBatch(int batch) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setDefaultExecuteBatch");
+		if (batch <= 0) {
+			throw new SQLException("Batch value must be positive!");
+		}
+		defaultExecuteBatch = batch;
 	}
 
 	@Deprecated
@@ -1790,8 +2178,8 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public String getDatabaseTimeZone() throws SQLException {
-		// TODO Auto-generated method stub
-		return null;
+		// TIMESTAMPLTZ values are normalized to UTC
+		return "+00:00";
 	}
 
 	@Override
@@ -2163,8 +2551,7 @@ public class OraForwardConnection extends OraForwardWrapper implements OracleCon
 
 	@Override
 	public boolean isStatementCacheInitialized() {
-		// TODO Auto-generated method stub
-		return false;
+		return statementCache.getSize() > 0;
 	}
 
 	@Override
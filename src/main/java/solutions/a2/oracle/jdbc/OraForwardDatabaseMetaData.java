@@ -0,0 +1,827 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * DatabaseMetaData of forward mode. getSchemas(), getTables(), getColumns(),
+ * getPrimaryKeys(), getIndexInfo(), getImportedKeys() and getExportedKeys() are
+ * answered from catalog snapshots with Oracle semantics: names stored by database
+ * in lower case are returned in upper case, catalog columns are null and MariaDB
+ * databases are returned as schemas. Tables and columns of schema are read with one
+ * call each when schema is accessed first time and are filtered in memory, primary
+ * keys, indexes and foreign keys are read once per table. Snapshots are shared by
+ * connections with the same database URL, user and a2.metadata.cache.ttl, and are read
+ * again when they are older than a2.metadata.cache.ttl, are cleared by
+ * OraForwardConnection.clearMetaDataCache(), or DDL statement is executed by connection.
+ * Other calls are passed to database
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardDatabaseMetaData implements InvocationHandler {
+
+	/** Catalogs by database URL, user and time to live */
+	private static final ConcurrentHashMap<String, Catalog> CATALOGS = new ConcurrentHashMap<>();
+	private static final String[] DDL_KEYWORDS = {"CREATE", "ALTER", "DROP", "RENAME", "COMMENT"};
+	/** Search string escape of Oracle */
+	private static final char ESCAPE = '/';
+	private static final Set<String> NAME_COLUMNS = new HashSet<>(Arrays.asList(
+			"TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "PK_NAME", "INDEX_QUALIFIER", "INDEX_NAME",
+			"PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME",
+			"FK_NAME"));
+
+	private final OraForwardConnection connection;
+	private final DatabaseMetaData backend;
+	private final int dbType;
+	private final Catalog catalog;
+
+	private OraForwardDatabaseMetaData(final OraForwardConnection connection, final DatabaseMetaData backend,
+			final int dbType, final Catalog catalog) {
+		this.connection = connection;
+		this.backend = backend;
+		this.dbType = dbType;
+		this.catalog = catalog;
+	}
+
+	/**
+	 * Wraps backend DatabaseMetaData
+	 *
+	 * @param connection owning connection, returned by getConnection()
+	 * @param backend    backend DatabaseMetaData
+	 * @param dbType     OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB
+	 * @param ttl        time to live of catalog snapshots in milliseconds
+	 * @return DatabaseMetaData
+	 * @throws SQLException
+	 */
+	static DatabaseMetaData wrap(final OraForwardConnection connection, final DatabaseMetaData backend,
+			final int dbType, final long ttl) throws SQLException {
+		// Connections with other time to live do not share snapshots
+		final Catalog catalog = CATALOGS.computeIfAbsent(key(backend) + ttl, key -> new Catalog(ttl));
+		return (DatabaseMetaData) Proxy.newProxyInstance(
+				OraForwardDatabaseMetaData.class.getClassLoader(),
+				new Class<?>[] {DatabaseMetaData.class},
+				new OraForwardDatabaseMetaData(connection, backend, dbType, catalog));
+	}
+
+	/**
+	 * Drops catalog snapshots of database
+	 *
+	 * @param backend backend DatabaseMetaData
+	 * @param schema  schema name in Oracle case or null to drop snapshots of all schemas
+	 * @throws SQLException
+	 */
+	static void clear(final DatabaseMetaData backend, final String schema) throws SQLException {
+		final String key = key(backend);
+		for (final Map.Entry<String, Catalog> entry : CATALOGS.entrySet()) {
+			if (entry.getKey().startsWith(key)) {
+				final Catalog catalog = entry.getValue();
+				catalog.schemas = null;
+				if (schema == null) {
+					catalog.snapshots.clear();
+				} else {
+					catalog.snapshots.remove(schema);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns backend URL and user of connection
+	 */
+	static String key(final DatabaseMetaData backend) throws SQLException {
+		return backend.getURL() + '\n' + backend.getUserName() + '\n';
+	}
+
+	/**
+	 * Checks that SQL statement starts with CREATE, ALTER, DROP, RENAME or COMMENT,
+	 * i.e. it may change catalog snapshots
+	 */
+	static boolean isDdl(final String sql) {
+		final int pos = skipWhitespace(sql, 0);
+		for (final String keyword : DDL_KEYWORDS) {
+			final int end = pos + keyword.length();
+			if (sql.regionMatches(true, pos, keyword, 0, keyword.length()) &&
+					(end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end)))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns schema of object changed by DDL statement in Oracle case, i.e. schema of first
+	 * qualified name before column list or literal
+	 *
+	 * @param sql DDL statement
+	 * @return schema name, or null when it is not known or statement changes several objects
+	 */
+	static String ddlSchema(final String sql) {
+		final List<String> names = new ArrayList<>();
+		String previous = null;
+		int pos = skipWhitespace(sql, 0);
+		while (pos < sql.length()) {
+			final char ch = sql.charAt(pos);
+			if (ch == '"' || ch == '`') {
+				final int end = sql.indexOf(ch, pos + 1);
+				if (end < 0) {
+					return null;
+				}
+				names.add(oracleCase(sql.substring(pos + 1, end)));
+				pos = end + 1;
+			} else if (Character.isJavaIdentifierStart(ch)) {
+				final int start = pos;
+				while (pos < sql.length() &&
+						(Character.isJavaIdentifierPart(sql.charAt(pos)) || sql.charAt(pos) == '#')) {
+					pos++;
+				}
+				names.add(sql.substring(start, pos).toUpperCase(Locale.ROOT));
+			} else {
+				// Column list, literal, several objects or end of statement
+				return null;
+			}
+			pos = skipWhitespace(sql, pos);
+			if (pos < sql.length() && sql.charAt(pos) == '.') {
+				pos = skipWhitespace(sql, pos + 1);
+			} else if (names.size() == 1) {
+				previous = names.get(0);
+				names.clear();
+			} else {
+				// Column of COMMENT ON COLUMN is qualified by table
+				return "COLUMN".equals(previous) && names.size() < 3 ? null : names.get(0);
+			}
+		}
+		return null;
+	}
+
+	private static int skipWhitespace(final String sql, int pos) {
+		while (pos < sql.length() && Character.isWhitespace(sql.charAt(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		final String name = method.getName();
+		if (method.getDeclaringClass() == Object.class) {
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return invokeBackend(method, args);
+			}
+		}
+		connection.clearDdlSnapshots(false);
+		switch (name) {
+		case "getConnection":
+			return connection;
+		case "storesUpperCaseIdentifiers":
+			return true;
+		case "storesLowerCaseIdentifiers":
+		case "storesMixedCaseIdentifiers":
+			return false;
+		case "getSearchStringEscape":
+			return String.valueOf(ESCAPE);
+		case "getUserName":
+			return oracleCase(backend.getUserName());
+		case "getSchemas":
+			return getSchemas(args == null ? null : (String) args[1]);
+		case "getTables":
+			return getTables((String) args[1], (String) args[2], (String[]) args[3]);
+		case "getColumns":
+			return getColumns((String) args[1], (String) args[2], (String) args[3]);
+		case "getPrimaryKeys":
+		case "getIndexInfo":
+		case "getImportedKeys":
+		case "getExportedKeys":
+			return getTableRows(method, args);
+		case "unwrap":
+			if (((Class<?>) args[0]).isInstance(proxy)) {
+				return proxy;
+			}
+			break;
+		case "isWrapperFor":
+			if (((Class<?>) args[0]).isInstance(proxy)) {
+				return true;
+			}
+			break;
+		}
+		return invokeBackend(method, args);
+	}
+
+	private ResultSet getSchemas(final String schemaPattern) throws SQLException {
+		final Rows schemas = schemas().rows;
+		final Rows result = new Rows(schemas.metaData);
+		final int schemaName = schemas.column("TABLE_SCHEM");
+		for (final Object[] row : schemas.rows) {
+			if (like(row[schemaName], schemaPattern)) {
+				result.rows.add(row);
+			}
+		}
+		return Cursor.open(result);
+	}
+
+	private ResultSet getTables(final String schemaPattern, final String tableNamePattern,
+			final String[] types) throws SQLException {
+		final Set<String> tableTypes = types == null ? null : new HashSet<>(Arrays.asList(types));
+		Rows result = null;
+		for (final String schemaName : schemaNames(schemaPattern)) {
+			final Schema schema = schema(schemaName);
+			if (schema != null) {
+				if (result == null) {
+					result = new Rows(schema.tables.metaData);
+				}
+				final int tableName = schema.tables.column("TABLE_NAME");
+				final int tableType = schema.tables.column("TABLE_TYPE");
+				for (final Object[] row : schema.tables.rows) {
+					if (like(row[tableName], tableNamePattern) &&
+							(tableTypes == null || tableTypes.contains(row[tableType]))) {
+						result.rows.add(row);
+					}
+				}
+			}
+		}
+		if (result == null) {
+			return Cursor.open(rows(backend.getTables(null, schemaPattern, tableNamePattern, types), null, null));
+		}
+		result.sort("TABLE_TYPE", "TABLE_SCHEM", "TABLE_NAME");
+		return Cursor.open(result);
+	}
+
+	private ResultSet getColumns(final String schemaPattern, final String tableNamePattern,
+			final String columnNamePattern) throws SQLException {
+		Rows result = null;
+		for (final String schemaName : schemaNames(schemaPattern)) {
+			final Schema schema = schema(schemaName);
+			if (schema != null) {
+				final Rows columns = columns(schema);
+				if (result == null) {
+					result = new Rows(columns.metaData);
+				}
+				final int tableName = columns.column("TABLE_NAME");
+				final int columnName = columns.column("COLUMN_NAME");
+				for (final Object[] row : columns.rows) {
+					if (like(row[tableName], tableNamePattern) && like(row[columnName], columnNamePattern)) {
+						result.rows.add(row);
+					}
+				}
+			}
+		}
+		if (result == null) {
+			return Cursor.open(rows(
+					backend.getColumns(null, schemaPattern, tableNamePattern, columnNamePattern), null, null));
+		}
+		result.sort("TABLE_SCHEM", "TABLE_NAME", "ORDINAL_POSITION");
+		return Cursor.open(result);
+	}
+
+	/**
+	 * getPrimaryKeys, getIndexInfo, getImportedKeys and getExportedKeys of one table
+	 */
+	private ResultSet getTableRows(final Method method, final Object[] args) throws Throwable {
+		final String schemaName = (String) args[1];
+		final String tableName = (String) args[2];
+		final Schema schema = schemaName == null || tableName == null ? null : schema(schemaName);
+		final String backendTableName = schema == null ? null : schema.tableNames.get(tableName);
+		if (backendTableName == null) {
+			return Cursor.open(rows((ResultSet) invokeBackend(method, args), null, null));
+		}
+		// Catalog is ignored as Oracle does
+		final List<Object> key = new ArrayList<>(Arrays.asList(args));
+		key.set(0, method.getName());
+		Rows rows = schema.tableRows.get(key);
+		if (rows == null) {
+			final Object[] backendArgs = args.clone();
+			if (dbType == OraForwardUtils.POSTGRESQL) {
+				backendArgs[0] = null;
+				backendArgs[1] = schema.name;
+			} else {
+				// OraRedirectUtils.MARIADB
+				backendArgs[0] = schema.name;
+				backendArgs[1] = null;
+			}
+			backendArgs[2] = backendTableName;
+			rows = rows((ResultSet) invokeBackend(method, backendArgs), null, null);
+			schema.tableRows.put(key, rows);
+		}
+		return Cursor.open(rows);
+	}
+
+	private Schemas schemas() throws SQLException {
+		Schemas schemas = catalog.schemas;
+		if (schemas == null || catalog.expired(schemas.loaded)) {
+			final Map<String, String> names = new HashMap<>();
+			final Rows rows;
+			if (dbType == OraForwardUtils.POSTGRESQL) {
+				rows = rows(backend.getSchemas(), "TABLE_SCHEM", names);
+			} else {
+				// OraRedirectUtils.MARIADB
+				rows = new Rows(OraForwardResultSetMetaData.varchar("TABLE_SCHEM", "TABLE_CATALOG"));
+				try (ResultSet resultSet = backend.getCatalogs()) {
+					while (resultSet.next()) {
+						final String name = resultSet.getString(1);
+						names.putIfAbsent(oracleCase(name), name);
+						rows.rows.add(new Object[] {oracleCase(name), null});
+					}
+				}
+			}
+			rows.sort("TABLE_SCHEM");
+			schemas = new Schemas(rows, names);
+			catalog.schemas = schemas;
+		}
+		return schemas;
+	}
+
+	private List<String> schemaNames(final String schemaPattern) throws SQLException {
+		final Schemas schemas = schemas();
+		if (schemaPattern != null && schemas.names.containsKey(schemaPattern)) {
+			return Collections.singletonList(schemaPattern);
+		}
+		final List<String> names = new ArrayList<>();
+		final int schemaName = schemas.rows.column("TABLE_SCHEM");
+		for (final Object[] row : schemas.rows.rows) {
+			if (like(row[schemaName], schemaPattern)) {
+				names.add((String) row[schemaName]);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Returns snapshot of schema with its tables
+	 *
+	 * @param name schema name in Oracle case
+	 * @return snapshot or null if schema does not exist
+	 */
+	private Schema schema(final String name) throws SQLException {
+		Schema schema = catalog.snapshots.get(name);
+		if (schema == null || catalog.expired(schema.loaded)) {
+			final String backendName = schemas().names.get(name);
+			if (backendName == null) {
+				catalog.snapshots.remove(name);
+				return null;
+			}
+			final Map<String, String> tableNames = new HashMap<>();
+			final ResultSet tables;
+			if (dbType == OraForwardUtils.POSTGRESQL) {
+				tables = backend.getTables(null, escape(backendName), "%", null);
+			} else {
+				// OraRedirectUtils.MARIADB
+				tables = backend.getTables(backendName, null, "%", null);
+			}
+			schema = new Schema(backendName, rows(tables, "TABLE_NAME", tableNames), tableNames);
+			catalog.snapshots.put(name, schema);
+		}
+		return schema;
+	}
+
+	private Rows columns(final Schema schema) throws SQLException {
+		Rows columns = schema.columns;
+		if (columns == null) {
+			if (dbType == OraForwardUtils.POSTGRESQL) {
+				columns = rows(backend.getColumns(null, escape(schema.name), "%", "%"), null, null);
+			} else {
+				// OraRedirectUtils.MARIADB
+				columns = rows(backend.getColumns(schema.name, null, "%", "%"), null, null);
+			}
+			schema.columns = columns;
+		}
+		return columns;
+	}
+
+	/**
+	 * Reads and closes backend result set. Names are converted to Oracle case,
+	 * catalog columns are set to null, with MariaDB catalog is moved to schema column
+	 *
+	 * @param resultSet backend result set
+	 * @param label     label of column which names are collected or null
+	 * @param names     names of column in Oracle case mapped to backend names
+	 */
+	private Rows rows(final ResultSet resultSet, final String label,
+			final Map<String, String> names) throws SQLException {
+		try {
+			final Rows rows = new Rows(OraForwardResultSetMetaData.copy(resultSet.getMetaData()));
+			final int columnCount = rows.metaData.getColumnCount();
+			final boolean[] nameColumns = new boolean[columnCount];
+			final boolean[] catalogColumns = new boolean[columnCount];
+			final int[] schemaColumns = new int[columnCount];
+			for (int column = 0; column < columnCount; column++) {
+				final String columnLabel = rows.metaData.getColumnLabel(column + 1).toUpperCase(Locale.ROOT);
+				nameColumns[column] = NAME_COLUMNS.contains(columnLabel);
+				if (columnLabel.endsWith("_CAT")) {
+					catalogColumns[column] = true;
+					schemaColumns[column] = rows.column(
+							columnLabel.substring(0, columnLabel.length() - 4) + "_SCHEM");
+				} else if ("TABLE_CATALOG".equals(columnLabel)) {
+					catalogColumns[column] = true;
+					schemaColumns[column] = rows.column("TABLE_SCHEM");
+				}
+			}
+			final int namesColumn = label == null ? -1 : rows.column(label);
+			while (resultSet.next()) {
+				final Object[] row = new Object[columnCount];
+				for (int column = 0; column < columnCount; column++) {
+					row[column] = resultSet.getObject(column + 1);
+				}
+				if (namesColumn >= 0 && row[namesColumn] instanceof String) {
+					names.putIfAbsent(oracleCase((String) row[namesColumn]), (String) row[namesColumn]);
+				}
+				for (int column = 0; column < columnCount; column++) {
+					if (catalogColumns[column]) {
+						if (dbType == OraForwardUtils.MARIADB &&
+								schemaColumns[column] >= 0 && row[schemaColumns[column]] == null) {
+							row[schemaColumns[column]] = row[column];
+						}
+						row[column] = null;
+					}
+				}
+				for (int column = 0; column < columnCount; column++) {
+					if (nameColumns[column] && row[column] instanceof String) {
+						row[column] = oracleCase((String) row[column]);
+					}
+				}
+				rows.rows.add(row);
+			}
+			return rows;
+		} finally {
+			resultSet.close();
+		}
+	}
+
+	private String escape(final String name) throws SQLException {
+		final String escape = backend.getSearchStringEscape();
+		return name
+				.replace(escape, escape + escape)
+				.replace("_", escape + "_")
+				.replace("%", escape + "%");
+	}
+
+	private Object invokeBackend(final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(backend, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause();
+		}
+	}
+
+	/**
+	 * Returns name which database stores in lower case, i.e. name of not quoted
+	 * identifier in PostgreSQL, in upper case as Oracle stores it
+	 */
+	static String oracleCase(final String name) {
+		if (name != null && name.equals(name.toLowerCase(Locale.ROOT))) {
+			return name.toUpperCase(Locale.ROOT);
+		} else {
+			return name;
+		}
+	}
+
+	/**
+	 * Matches name with LIKE pattern of DatabaseMetaData with Oracle escape character
+	 *
+	 * @param value   name
+	 * @param pattern pattern or null which matches any name
+	 * @return true if name matches pattern
+	 */
+	static boolean like(final Object value, final String pattern) {
+		if (pattern == null) {
+			return true;
+		} else if (!(value instanceof String)) {
+			return false;
+		}
+		final String name = (String) value;
+		int position = 0;
+		int patternPosition = 0;
+		int wildcard = -1;
+		int wildcardPosition = 0;
+		while (position < name.length()) {
+			if (patternPosition < pattern.length()) {
+				final char ch = pattern.charAt(patternPosition);
+				if (ch == '%') {
+					wildcard = patternPosition++;
+					wildcardPosition = position;
+					continue;
+				} else if (ch == ESCAPE && patternPosition + 1 < pattern.length()) {
+					if (name.charAt(position) == pattern.charAt(patternPosition + 1)) {
+						position++;
+						patternPosition += 2;
+						continue;
+					}
+				} else if (ch == '_' || ch == name.charAt(position)) {
+					position++;
+					patternPosition++;
+					continue;
+				}
+			}
+			if (wildcard < 0) {
+				return false;
+			}
+			// Wildcard takes one more character
+			patternPosition = wildcard + 1;
+			position = ++wildcardPosition;
+		}
+		while (patternPosition < pattern.length() && pattern.charAt(patternPosition) == '%') {
+			patternPosition++;
+		}
+		return patternPosition == pattern.length();
+	}
+
+	/**
+	 * Catalog snapshots of database
+	 */
+	private static final class Catalog {
+		private final long ttlNanos;
+		private volatile Schemas schemas;
+		private final ConcurrentHashMap<String, Schema> snapshots = new ConcurrentHashMap<>();
+
+		Catalog(final long ttl) {
+			this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+		}
+
+		boolean expired(final long loaded) {
+			return System.nanoTime() - loaded > ttlNanos;
+		}
+	}
+
+	/**
+	 * Schemas in Oracle case with their backend names
+	 */
+	private static final class Schemas {
+		private final Rows rows;
+		private final Map<String, String> names;
+		private final long loaded = System.nanoTime();
+
+		Schemas(final Rows rows, final Map<String, String> names) {
+			this.rows = rows;
+			this.names = names;
+		}
+	}
+
+	/**
+	 * Snapshot of schema: tables, columns read on first access, and rows of table calls
+	 */
+	private static final class Schema {
+		private final String name;
+		private final Rows tables;
+		private final Map<String, String> tableNames;
+		private final long loaded = System.nanoTime();
+		private volatile Rows columns;
+		private final ConcurrentHashMap<List<Object>, Rows> tableRows = new ConcurrentHashMap<>();
+
+		Schema(final String name, final Rows tables, final Map<String, String> tableNames) {
+			this.name = name;
+			this.tables = tables;
+			this.tableNames = tableNames;
+		}
+	}
+
+	/**
+	 * Rows of metadata result set. Rows are not modified after they are read
+	 */
+	private static final class Rows {
+		private final ResultSetMetaData metaData;
+		private final Map<String, Integer> columns = new HashMap<>();
+		private final List<Object[]> rows = new ArrayList<>();
+
+		Rows(final ResultSetMetaData metaData) throws SQLException {
+			this.metaData = metaData;
+			for (int column = metaData.getColumnCount(); column > 0; column--) {
+				columns.put(metaData.getColumnLabel(column).toUpperCase(Locale.ROOT), column - 1);
+			}
+		}
+
+		int column(final String label) {
+			final Integer column = columns.get(label.toUpperCase(Locale.ROOT));
+			return column == null ? -1 : column;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		void sort(final String... labels) {
+			final int[] sortColumns = new int[labels.length];
+			for (int i = 0; i < labels.length; i++) {
+				sortColumns[i] = column(labels[i]);
+			}
+			rows.sort((left, right) -> {
+				for (final int column : sortColumns) {
+					if (column >= 0 && left[column] != right[column]) {
+						if (left[column] == null) {
+							return -1;
+						} else if (right[column] == null) {
+							return 1;
+						}
+						final int result = ((Comparable) left[column]).compareTo(right[column]);
+						if (result != 0) {
+							return result;
+						}
+					}
+				}
+				return 0;
+			});
+		}
+	}
+
+	/**
+	 * Forward only read only result set over rows
+	 */
+	private static final class Cursor implements InvocationHandler {
+		private final Rows rows;
+		private int row = -1;
+		private boolean wasNull;
+		private boolean closed;
+
+		private Cursor(final Rows rows) {
+			this.rows = rows;
+		}
+
+		static ResultSet open(final Rows rows) {
+			return (ResultSet) Proxy.newProxyInstance(
+					OraForwardDatabaseMetaData.class.getClassLoader(),
+					new Class<?>[] {ResultSet.class},
+					new Cursor(rows));
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			final String name = method.getName();
+			final int rowCount = rows.rows.size();
+			if (method.getDeclaringClass() == Object.class) {
+				switch (name) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					return "OraForwardDatabaseMetaData.Cursor@" + Integer.toHexString(System.identityHashCode(proxy));
+				}
+			}
+			switch (name) {
+			case "next":
+				checkOpen();
+				if (row < rowCount) {
+					row++;
+				}
+				return row < rowCount;
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed;
+			case "wasNull":
+				return wasNull;
+			case "getMetaData":
+				return rows.metaData;
+			case "findColumn":
+				return findColumn((String) args[0]);
+			case "getRow":
+				return row >= 0 && row < rowCount ? row + 1 : 0;
+			case "isBeforeFirst":
+				return row < 0 && rowCount > 0;
+			case "isAfterLast":
+				return row >= rowCount && rowCount > 0;
+			case "isFirst":
+				return row == 0 && rowCount > 0;
+			case "isLast":
+				return row == rowCount - 1 && rowCount > 0;
+			case "getType":
+				return ResultSet.TYPE_FORWARD_ONLY;
+			case "getConcurrency":
+				return ResultSet.CONCUR_READ_ONLY;
+			case "getHoldability":
+				return ResultSet.HOLD_CURSORS_OVER_COMMIT;
+			case "getFetchDirection":
+				return ResultSet.FETCH_FORWARD;
+			case "getFetchSize":
+				return 0;
+			case "getStatement":
+			case "getWarnings":
+			case "clearWarnings":
+			case "setFetchSize":
+			case "setFetchDirection":
+				return null;
+			case "unwrap":
+				if (((Class<?>) args[0]).isInstance(proxy)) {
+					return proxy;
+				}
+				throw new SQLException("Unable to unwrap " + ((Class<?>) args[0]).getName());
+			case "isWrapperFor":
+				return ((Class<?>) args[0]).isInstance(proxy);
+			}
+			if (name.startsWith("get") && args != null && args.length == 1) {
+				return value(args[0], method.getReturnType());
+			}
+			throw OraForwardUtils.sqlFeatureNotSupportedException(name);
+		}
+
+		private int findColumn(final String columnLabel) throws SQLException {
+			final int column = rows.column(columnLabel);
+			if (column < 0) {
+				throw new SQLException(String.format("Column '%s' not found!", columnLabel));
+			}
+			return column + 1;
+		}
+
+		private Object value(final Object column, final Class<?> type) throws SQLException {
+			checkOpen();
+			if (row < 0 || row >= rows.rows.size()) {
+				throw new SQLException("Result set is not positioned on a row!");
+			}
+			final int columnIndex = column instanceof String ? findColumn((String) column) : (Integer) column;
+			final Object[] values = rows.rows.get(row);
+			if (columnIndex < 1 || columnIndex > values.length) {
+				throw new SQLException(String.format("Invalid column index %d!", columnIndex));
+			}
+			final Object value = values[columnIndex - 1];
+			wasNull = value == null;
+			if (type == Object.class) {
+				return value;
+			} else if (type == String.class) {
+				return value == null ? null : value.toString();
+			} else if (type == boolean.class) {
+				if (value instanceof Boolean) {
+					return value;
+				} else if (value instanceof String) {
+					return "true".equalsIgnoreCase((String) value) || "1".equals(value);
+				} else {
+					return number(value).intValue() != 0;
+				}
+			} else if (type == int.class) {
+				return number(value).intValue();
+			} else if (type == long.class) {
+				return number(value).longValue();
+			} else if (type == short.class) {
+				return number(value).shortValue();
+			} else if (type == byte.class) {
+				return number(value).byteValue();
+			} else if (type == double.class) {
+				return number(value).doubleValue();
+			} else if (type == float.class) {
+				return number(value).floatValue();
+			} else if (type == BigDecimal.class) {
+				return value == null ? null :
+						value instanceof BigDecimal ? value : new BigDecimal(number(value).toString());
+			} else if (value == null || type.isInstance(value)) {
+				return value;
+			} else {
+				throw new SQLException(String.format("Unable to convert %s to %s!",
+						value.getClass().getName(), type.getName()));
+			}
+		}
+
+		private static Number number(final Object value) throws SQLException {
+			if (value == null) {
+				return 0;
+			} else if (value instanceof Number) {
+				return (Number) value;
+			} else if (value instanceof Boolean) {
+				return (Boolean) value ? 1 : 0;
+			} else {
+				try {
+					return new BigDecimal(value.toString().trim());
+				} catch (NumberFormatException nfe) {
+					throw new SQLException(String.format("Unable to convert '%s' to number!", value), nfe);
+				}
+			}
+		}
+
+		private void checkOpen() throws SQLException {
+			if (closed) {
+				throw new SQLException("Result set is closed!");
+			}
+		}
+	}
+
+}
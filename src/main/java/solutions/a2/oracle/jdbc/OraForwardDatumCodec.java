@@ -0,0 +1,873 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import oracle.sql.BINARY_DOUBLE;
+import oracle.sql.BINARY_FLOAT;
+import oracle.sql.CHAR;
+import oracle.sql.CharacterSet;
+import oracle.sql.DATE;
+import oracle.sql.Datum;
+import oracle.sql.INTERVALDS;
+import oracle.sql.INTERVALYM;
+import oracle.sql.NUMBER;
+import oracle.sql.RAW;
+import oracle.sql.ROWID;
+import oracle.sql.TIMESTAMP;
+import oracle.sql.TIMESTAMPLTZ;
+import oracle.sql.TIMESTAMPTZ;
+import oracle.sql.ZONEIDMAP;
+
+/**
+ *
+ * Encoders of backend values to Oracle NUMBER, DATE and TIMESTAMP byte representation
+ * and decoders of these bytes to backend bind values. Values which fit in long are
+ * converted with integer arithmetic without BigDecimal, date and time values from and
+ * to LocalDateTime fields without java.sql.Timestamp and Calendar
+ * <pre>
+ * NUMBER:    exponent byte and up to 20 base 100 digits, see {@link #number(long, int)}
+ * DATE:      century + 100, year + 100, month, day, hour + 1, minute + 1, second + 1
+ * TIMESTAMP: DATE bytes and big-endian int nanoseconds when they are not zero
+ * INTERVALDS: days, hour + 60, minute + 60, second + 60, nanoseconds
+ * INTERVALYM: years, month + 60
+ * TIMESTAMPTZ: TIMESTAMP bytes of UTC date and time, always with nanoseconds, and
+ *            offset hour + 20, offset minute + 60 or 0x80 | 13 bit time zone region id
+ * TIMESTAMPLTZ: TIMESTAMP bytes of UTC date and time
+ * </pre>
+ * Interval days, years and nanoseconds are big-endian int + 0x80000000, all fields of
+ * negative interval are negative. Intervals are converted from and to seconds and
+ * nanoseconds or months with integer arithmetic without double and BigDecimal
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardDatumCodec {
+
+	/** CharacterSet instances are immutable, CharacterSet.make() creates new instance on every call */
+	static final CharacterSet AL32UTF8 = CharacterSet.make(CharacterSet.AL32UTF8_CHARSET);
+
+	private static final int DATE_SIZE = 7;
+	private static final int TIMESTAMP_SIZE = 11;
+	private static final int MIN_YEAR = -4712;
+	private static final int MAX_YEAR = 9999;
+	private static final int MIN_EXPONENT = -65;
+	private static final int MAX_EXPONENT = 62;
+	private static final int MAX_DIGITS = 20;
+	private static final byte NEGATIVE_TERMINATOR = 102;
+	/** Maximum number of base 100 digits which fit in long */
+	private static final int MAX_LONG_DIGITS = 9;
+	private static final int INTERVALDS_SIZE = 11;
+	private static final int INTERVALYM_SIZE = 5;
+	private static final int INTERVAL_OFFSET = 60;
+	private static final int MAX_INTERVAL_LEADING = 999_999_999;
+	private static final int NANOS_PER_SECOND = 1_000_000_000;
+	private static final int SECONDS_PER_DAY = 86_400;
+	private static final int TIMESTAMPTZ_SIZE = 13;
+	private static final int TZ_HOUR_OFFSET = 20;
+	private static final int REGION_FLAG = 0x80;
+	/** Days from 0000-03-01 to 1970-01-01 */
+	private static final int EPOCH_DAY_OFFSET = 719_468;
+	private static final int DAYS_PER_400_YEARS = 146_097;
+
+	/** Time zones of Oracle region ids, filled on first use */
+	private static final ZoneId[] REGION_ZONES = new ZoneId[0x2000];
+	/** Oracle region ids of time zones, ZONEIDMAP.getID() is a linear search */
+	private static final Map<String, Integer> ZONE_REGIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * Binds Oracle Datum with setter of statement for Datum class
+	 */
+	@FunctionalInterface
+	interface DatumBinder {
+		void bind(OraForwardPreparedStatement statement, int parameterIndex, Datum value) throws SQLException;
+	}
+
+	/** Read only after class initialization */
+	private static final Map<Class<?>, DatumBinder> BINDERS = new HashMap<>();
+	static {
+		BINDERS.put(NUMBER.class, (statement, index, value) -> statement.setNUMBER(index, (NUMBER) value));
+		BINDERS.put(DATE.class, (statement, index, value) -> statement.setDATE(index, (DATE) value));
+		BINDERS.put(TIMESTAMP.class, (statement, index, value) -> statement.setTIMESTAMP(index, (TIMESTAMP) value));
+		BINDERS.put(TIMESTAMPTZ.class, (statement, index, value) -> statement.setTIMESTAMPTZ(index, (TIMESTAMPTZ) value));
+		BINDERS.put(TIMESTAMPLTZ.class, (statement, index, value) -> statement.setTIMESTAMPLTZ(index, (TIMESTAMPLTZ) value));
+		BINDERS.put(CHAR.class, (statement, index, value) -> statement.setCHAR(index, (CHAR) value));
+		BINDERS.put(RAW.class, (statement, index, value) -> statement.setRAW(index, (RAW) value));
+		BINDERS.put(BINARY_FLOAT.class, (statement, index, value) -> statement.setBinaryFloat(index, (BINARY_FLOAT) value));
+		BINDERS.put(BINARY_DOUBLE.class, (statement, index, value) -> statement.setBinaryDouble(index, (BINARY_DOUBLE) value));
+		BINDERS.put(INTERVALDS.class, (statement, index, value) -> statement.setINTERVALDS(index, (INTERVALDS) value));
+		BINDERS.put(INTERVALYM.class, (statement, index, value) -> statement.setINTERVALYM(index, (INTERVALYM) value));
+		BINDERS.put(ROWID.class, (statement, index, value) -> statement.setROWID(index, (ROWID) value));
+		bindArray();
+	}
+
+	/**
+	 * oracle.sql.ARRAY is deprecated, but it is the Datum which application passes to
+	 * setOracleObject, and setARRAY converts it for backend
+	 */
+	@SuppressWarnings("deprecation")
+	private static void bindArray() {
+		BINDERS.put(oracle.sql.ARRAY.class,
+				(statement, index, value) -> statement.setARRAY(index, (oracle.sql.ARRAY) value));
+	}
+
+	private OraForwardDatumCodec() {
+	}
+
+	/**
+	 * Returns binder for Datum class or its nearest superclass
+	 *
+	 * @param datumClass class of Oracle Datum
+	 * @return binder or null if Datum class is not supported
+	 */
+	static DatumBinder binder(final Class<?> datumClass) {
+		for (Class<?> clazz = datumClass; clazz != null && clazz != Datum.class; clazz = clazz.getSuperclass()) {
+			final DatumBinder binder = BINDERS.get(clazz);
+			if (binder != null) {
+				return binder;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Binds Oracle NUMBER bytes as long when value is integer which fits in long,
+	 * as BigDecimal built from unscaled long when value has not more than 18 digits,
+	 * as double for infinity and as BigDecimal decoded by Oracle NUMBER otherwise
+	 *
+	 * @param target         backend statement
+	 * @param parameterIndex parameter index
+	 * @param value          Oracle NUMBER, not null
+	 * @throws SQLException
+	 */
+	static void bindNumber(final PreparedStatement target, final int parameterIndex, final NUMBER value) throws SQLException {
+		final byte[] bytes = value.shareBytes();
+		final int first = bytes[0] & 0xFF;
+		if (first == 0x80 && bytes.length == 1) {
+			target.setLong(parameterIndex, 0);
+			return;
+		} else if (value.isInf()) {
+			target.setDouble(parameterIndex, first == 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+			return;
+		}
+		final boolean negative = first < 0x80;
+		int length = bytes.length - 1;
+		if (negative && bytes[length] == NEGATIVE_TERMINATOR) {
+			length--;
+		}
+		if (length <= MAX_LONG_DIGITS) {
+			long digits = 0;
+			for (int i = 1; i <= length; i++) {
+				digits = digits * 100 + (negative ? 101 - bytes[i] : bytes[i] - 1);
+			}
+			// Power of 100 of last digit
+			final int exponent = (negative ? 0x3E - first : first - 0xC1) - (length - 1);
+			if (exponent >= 0) {
+				long unscaled = digits;
+				int i = 0;
+				while (i < exponent && unscaled <= Long.MAX_VALUE / 100) {
+					unscaled *= 100;
+					i++;
+				}
+				if (i == exponent) {
+					target.setLong(parameterIndex, negative ? -unscaled : unscaled);
+					return;
+				}
+			} else {
+				int scale = -2 * exponent;
+				if (digits % 10 == 0) {
+					digits /= 10;
+					scale--;
+				}
+				target.setBigDecimal(parameterIndex, BigDecimal.valueOf(negative ? -digits : digits, scale));
+				return;
+			}
+		}
+		target.setBigDecimal(parameterIndex, value.bigDecimalValue());
+	}
+
+	/**
+	 * Decodes Oracle DATE or TIMESTAMP bytes
+	 *
+	 * @param bytes 7 bytes of DATE or 7 or 11 bytes of TIMESTAMP
+	 * @return local date and time
+	 */
+	static LocalDateTime localDateTime(final byte[] bytes) {
+		final int year = ((bytes[0] & 0xFF) - 100) * 100 + (bytes[1] & 0xFF) - 100;
+		final int nanos = bytes.length < TIMESTAMP_SIZE ? 0 :
+			((bytes[7] & 0xFF) << 24) | ((bytes[8] & 0xFF) << 16) | ((bytes[9] & 0xFF) << 8) | (bytes[10] & 0xFF);
+		return LocalDateTime.of(
+				// Oracle has no year 0, java.time year 0 is 1 BC
+				year > 0 ? year : year + 1,
+				bytes[2], bytes[3], bytes[4] - 1, bytes[5] - 1, bytes[6] - 1, nanos);
+	}
+
+	/**
+	 * Returns PostgreSQL array element type name for java.sql.Types of Oracle collection element
+	 *
+	 * @param baseType java.sql.Types
+	 * @return PostgreSQL type name
+	 */
+	static String pgArrayType(final int baseType) {
+		switch (baseType) {
+		case Types.NUMERIC:
+		case Types.DECIMAL:
+			return "numeric";
+		case Types.TINYINT:
+		case Types.SMALLINT:
+			return "int2";
+		case Types.INTEGER:
+			return "int4";
+		case Types.BIGINT:
+			return "int8";
+		case Types.REAL:
+		case Types.FLOAT:
+			return "float4";
+		case Types.DOUBLE:
+			return "float8";
+		case Types.DATE:
+		case Types.TIMESTAMP:
+			return "timestamp";
+		case Types.TIMESTAMP_WITH_TIMEZONE:
+			return "timestamptz";
+		case Types.BINARY:
+		case Types.VARBINARY:
+		case Types.LONGVARBINARY:
+			return "bytea";
+		default:
+			return "varchar";
+		}
+	}
+
+	/**
+	 * Encodes BigDecimal as Oracle NUMBER, values with not more than 18 digits are
+	 * encoded from unscaled long value
+	 *
+	 * @param value value, not null
+	 * @return Oracle NUMBER bytes
+	 * @throws SQLException when value is out of range of Oracle NUMBER
+	 */
+	static byte[] number(final BigDecimal value) throws SQLException {
+		if (value.precision() < 19) {
+			final byte[] bytes = number(value.unscaledValue().longValue(), value.scale());
+			if (bytes != null) {
+				return bytes;
+			}
+		}
+		return NUMBER.toBytes(value);
+	}
+
+	/**
+	 * Encodes unscaled * 10^-scale as Oracle NUMBER. Exponent byte is 0xC1 plus base 100
+	 * exponent of first digit for positive number and its one's complement for negative
+	 * number, digits are stored as digit + 1 for positive and 101 - digit for negative
+	 * number. Trailing zero digits are not stored, negative number with less than 20
+	 * digits ends with 102
+	 *
+	 * @param unscaled unscaled value
+	 * @param scale    scale
+	 * @return Oracle NUMBER bytes or null if value must be encoded as BigDecimal
+	 */
+	static byte[] number(final long unscaled, int scale) {
+		if (unscaled == 0) {
+			return new byte[] {(byte) 0x80};
+		} else if (unscaled == Long.MIN_VALUE) {
+			return null;
+		}
+		final boolean negative = unscaled < 0;
+		long digits = negative ? -unscaled : unscaled;
+		// Decimal point must be between base 100 digits
+		if ((scale & 1) != 0) {
+			if (digits > Long.MAX_VALUE / 10) {
+				return null;
+			}
+			digits *= 10;
+			scale++;
+		}
+		while (digits % 100 == 0) {
+			digits /= 100;
+			scale -= 2;
+		}
+		int length = 0;
+		for (long rest = digits; rest != 0; rest /= 100) {
+			length++;
+		}
+		final int exponent = length - 1 - scale / 2;
+		if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+			return null;
+		}
+		final byte[] bytes = new byte[1 + length + (negative && length < MAX_DIGITS ? 1 : 0)];
+		if (negative) {
+			bytes[0] = (byte) (0x3E - exponent);
+			if (length < MAX_DIGITS) {
+				bytes[length + 1] = NEGATIVE_TERMINATOR;
+			}
+		} else {
+			bytes[0] = (byte) (0xC1 + exponent);
+		}
+		for (int i = length; i > 0; i--) {
+			final int digit = (int) (digits % 100);
+			digits /= 100;
+			bytes[i] = (byte) (negative ? 101 - digit : digit + 1);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Encodes date and time as Oracle DATE, fractional seconds are truncated
+	 *
+	 * @param value local date and time, not null
+	 * @return Oracle DATE bytes
+	 * @throws SQLException when year is out of range of Oracle DATE
+	 */
+	static byte[] date(final LocalDateTime value) throws SQLException {
+		final byte[] bytes = new byte[DATE_SIZE];
+		putDate(value, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Encodes date and time as Oracle TIMESTAMP
+	 *
+	 * @param value local date and time, not null
+	 * @return Oracle TIMESTAMP bytes
+	 * @throws SQLException when year is out of range of Oracle TIMESTAMP
+	 */
+	static byte[] timestamp(final LocalDateTime value) throws SQLException {
+		final int nanos = value.getNano();
+		final byte[] bytes = new byte[nanos == 0 ? DATE_SIZE : TIMESTAMP_SIZE];
+		putDate(value, bytes);
+		if (nanos != 0) {
+			bytes[7] = (byte) (nanos >>> 24);
+			bytes[8] = (byte) (nanos >>> 16);
+			bytes[9] = (byte) (nanos >>> 8);
+			bytes[10] = (byte) nanos;
+		}
+		return bytes;
+	}
+
+	private static void putDate(final LocalDateTime value, final byte[] bytes) throws SQLException {
+		// java.time year 0 is 1 BC, Oracle has no year 0
+		final int year = value.getYear() > 0 ? value.getYear() : value.getYear() - 1;
+		if (year < MIN_YEAR || year > MAX_YEAR) {
+			throw new SQLException(String.format("Year of '%s' is out of range of Oracle DATE!", value));
+		}
+		bytes[0] = (byte) (year / 100 + 100);
+		bytes[1] = (byte) (year % 100 + 100);
+		bytes[2] = (byte) value.getMonthValue();
+		bytes[3] = (byte) value.getDayOfMonth();
+		bytes[4] = (byte) (value.getHour() + 1);
+		bytes[5] = (byte) (value.getMinute() + 1);
+		bytes[6] = (byte) (value.getSecond() + 1);
+	}
+
+	/**
+	 * Returns whole seconds of Oracle INTERVALDS rounded towards negative infinity,
+	 * nanoseconds of second are returned by {@link #intervalNanos(byte[])}
+	 *
+	 * @param bytes 11 bytes of INTERVALDS
+	 * @return seconds
+	 */
+	static long intervalSeconds(final byte[] bytes) {
+		final long seconds = intValue(bytes, 0) * (long) SECONDS_PER_DAY +
+				((bytes[4] & 0xFF) - INTERVAL_OFFSET) * 3600 +
+				((bytes[5] & 0xFF) - INTERVAL_OFFSET) * 60 +
+				((bytes[6] & 0xFF) - INTERVAL_OFFSET);
+		return intValue(bytes, 7) < 0 ? seconds - 1 : seconds;
+	}
+
+	/**
+	 * Returns nanoseconds of Oracle INTERVALDS in range 0 - 999999999 added to
+	 * {@link #intervalSeconds(byte[])}
+	 *
+	 * @param bytes 11 bytes of INTERVALDS
+	 * @return nanoseconds
+	 */
+	static int intervalNanos(final byte[] bytes) {
+		final int nanos = intValue(bytes, 7);
+		return nanos < 0 ? nanos + NANOS_PER_SECOND : nanos;
+	}
+
+	/**
+	 * Returns total number of months of Oracle INTERVALYM
+	 *
+	 * @param bytes 5 bytes of INTERVALYM
+	 * @return months
+	 */
+	static long intervalMonths(final byte[] bytes) {
+		return intValue(bytes, 0) * 12L + (bytes[4] & 0xFF) - INTERVAL_OFFSET;
+	}
+
+	/**
+	 * Encodes seconds and nanoseconds as Oracle INTERVALDS
+	 *
+	 * @param seconds seconds
+	 * @param nanos   nanoseconds in range 0 - 999999999 added to seconds
+	 * @return Oracle INTERVALDS bytes
+	 * @throws SQLException when days are out of range of Oracle INTERVALDS
+	 */
+	static byte[] intervalDS(final long seconds, final int nanos) throws SQLException {
+		final boolean negative = seconds < 0;
+		long magnitude = seconds;
+		int fraction = nanos;
+		if (negative) {
+			magnitude = fraction == 0 ? -seconds : -seconds - 1;
+			fraction = fraction == 0 ? 0 : NANOS_PER_SECOND - fraction;
+		}
+		final long days = magnitude / SECONDS_PER_DAY;
+		if (magnitude < 0 || days > MAX_INTERVAL_LEADING) {
+			throw new SQLException(String.format(
+					"Interval of %d seconds is out of range of Oracle INTERVAL DAY TO SECOND!", seconds));
+		}
+		final int time = (int) (magnitude % SECONDS_PER_DAY);
+		final int sign = negative ? -1 : 1;
+		final byte[] bytes = new byte[INTERVALDS_SIZE];
+		putInt(bytes, 0, sign * (int) days);
+		bytes[4] = (byte) (sign * (time / 3600) + INTERVAL_OFFSET);
+		bytes[5] = (byte) (sign * (time / 60 % 60) + INTERVAL_OFFSET);
+		bytes[6] = (byte) (sign * (time % 60) + INTERVAL_OFFSET);
+		putInt(bytes, 7, sign * fraction);
+		return bytes;
+	}
+
+	/**
+	 * Encodes number of months as Oracle INTERVALYM
+	 *
+	 * @param months months
+	 * @return Oracle INTERVALYM bytes
+	 * @throws SQLException when years are out of range of Oracle INTERVALYM
+	 */
+	static byte[] intervalYM(final long months) throws SQLException {
+		final long years = months / 12;
+		if (years > MAX_INTERVAL_LEADING || years < -MAX_INTERVAL_LEADING) {
+			throw new SQLException(String.format(
+					"Interval of %d months is out of range of Oracle INTERVAL YEAR TO MONTH!", months));
+		}
+		final byte[] bytes = new byte[INTERVALYM_SIZE];
+		putInt(bytes, 0, (int) years);
+		bytes[4] = (byte) (months % 12 + INTERVAL_OFFSET);
+		return bytes;
+	}
+
+	/**
+	 * Formats Oracle INTERVALDS the same way as INTERVALDS.stringValue(): [-]D H:M:S.F
+	 * with trailing zeros of fraction removed
+	 *
+	 * @param bytes 11 bytes of INTERVALDS
+	 * @return text representation
+	 */
+	static String intervalDSString(final byte[] bytes) {
+		final int days = intValue(bytes, 0);
+		final int hours = (bytes[4] & 0xFF) - INTERVAL_OFFSET;
+		final int minutes = (bytes[5] & 0xFF) - INTERVAL_OFFSET;
+		final int seconds = (bytes[6] & 0xFF) - INTERVAL_OFFSET;
+		int nanos = intValue(bytes, 7);
+		final StringBuilder sb = new StringBuilder(32);
+		if (days < 0 || hours < 0 || minutes < 0 || seconds < 0 || nanos < 0) {
+			sb.append('-');
+		}
+		sb.append(Math.abs(days))
+			.append(' ')
+			.append(Math.abs(hours))
+			.append(':')
+			.append(Math.abs(minutes))
+			.append(':')
+			.append(Math.abs(seconds))
+			.append('.');
+		nanos = Math.abs(nanos);
+		int digits = 9;
+		while (digits > 1 && nanos % 10 == 0) {
+			nanos /= 10;
+			digits--;
+		}
+		final int start = sb.length();
+		sb.setLength(start + digits);
+		for (int index = start + digits - 1; index >= start; index--) {
+			sb.setCharAt(index, (char) ('0' + nanos % 10));
+			nanos /= 10;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Formats Oracle INTERVALYM the same way as INTERVALYM.stringValue(): [-]Y-M
+	 *
+	 * @param bytes 5 bytes of INTERVALYM
+	 * @return text representation
+	 */
+	static String intervalYMString(final byte[] bytes) {
+		final int years = intValue(bytes, 0);
+		final int months = (bytes[4] & 0xFF) - INTERVAL_OFFSET;
+		final StringBuilder sb = new StringBuilder(16);
+		if (years < 0 || months < 0) {
+			sb.append('-');
+		}
+		return sb.append(Math.abs(years))
+				.append('-')
+				.append(Math.abs(months))
+				.toString();
+	}
+
+	/**
+	 * Parses Oracle [+-]D H:M:S[.F] or MariaDB TIME [-]H:M:S[.F] representation of
+	 * interval and encodes it as Oracle INTERVALDS
+	 *
+	 * @param value text representation, not null
+	 * @return Oracle INTERVALDS bytes
+	 * @throws SQLException when value can not be parsed or is out of range
+	 */
+	static byte[] intervalDS(final String value) throws SQLException {
+		final int length = value.length();
+		final boolean negative = length > 0 && value.charAt(0) == '-';
+		int position = length > 0 && (negative || value.charAt(0) == '+') ? 1 : 0;
+		long seconds = 0;
+		final int space = value.indexOf(' ', position);
+		if (space > 0) {
+			seconds = digits(value, position, space) * SECONDS_PER_DAY;
+			position = space + 1;
+		}
+		final int minutes = value.indexOf(':', position);
+		final int secs = minutes < 0 ? -1 : value.indexOf(':', minutes + 1);
+		final int dot = secs < 0 ? -1 : value.indexOf('.', secs + 1);
+		final long hour = digits(value, position, minutes);
+		final long minute = digits(value, minutes + 1, secs);
+		final long second = digits(value, secs + 1, dot < 0 ? length : dot);
+		int nanos = 0;
+		boolean valid = seconds >= 0 && minutes > 0 && secs > 0 && hour >= 0 && minute >= 0 && second >= 0;
+		if (valid && dot > 0) {
+			valid = dot + 1 < length;
+			for (int index = dot + 1, scale = NANOS_PER_SECOND / 10; valid && index < length; index++, scale /= 10) {
+				final char ch = value.charAt(index);
+				valid = ch >= '0' && ch <= '9';
+				nanos += (ch - '0') * scale;
+			}
+		}
+		if (!valid) {
+			throw new SQLException(String.format(
+					"Unable to convert '%s' to Oracle INTERVAL DAY TO SECOND!", value));
+		}
+		seconds += hour * 3600 + minute * 60 + second;
+		if (negative && nanos > 0) {
+			return intervalDS(-seconds - 1, NANOS_PER_SECOND - nanos);
+		} else {
+			return intervalDS(negative ? -seconds : seconds, nanos);
+		}
+	}
+
+	/**
+	 * Parses Oracle [+-]Y-M representation of interval and encodes it as Oracle INTERVALYM
+	 *
+	 * @param value text representation, not null
+	 * @return Oracle INTERVALYM bytes
+	 * @throws SQLException when value can not be parsed or is out of range
+	 */
+	static byte[] intervalYM(final String value) throws SQLException {
+		final int length = value.length();
+		final boolean negative = length > 0 && value.charAt(0) == '-';
+		final int position = length > 0 && (negative || value.charAt(0) == '+') ? 1 : 0;
+		final int separator = value.indexOf('-', position);
+		final long years = digits(value, position, separator);
+		final long months = digits(value, separator + 1, length);
+		if (separator < 0 || years < 0 || months < 0 || months > 11) {
+			throw new SQLException(String.format(
+					"Unable to convert '%s' to Oracle INTERVAL YEAR TO MONTH!", value));
+		}
+		final long total = years * 12 + months;
+		return intervalYM(negative ? -total : total);
+	}
+
+	/**
+	 * Parses unsigned decimal number of up to 10 digits
+	 *
+	 * @return value or -1 when text is empty or is not a number
+	 */
+	private static long digits(final String value, final int from, final int to) {
+		if (from < 0 || to <= from || to - from > 10) {
+			return -1;
+		}
+		long result = 0;
+		for (int index = from; index < to; index++) {
+			final char ch = value.charAt(index);
+			if (ch < '0' || ch > '9') {
+				return -1;
+			}
+			result = result * 10 + (ch - '0');
+		}
+		return result;
+	}
+
+	/**
+	 * Encodes instant as Oracle TIMESTAMP WITH TIME ZONE. Time zone is stored as Oracle
+	 * region id when Oracle knows the region, or as offset of the instant otherwise
+	 *
+	 * @param epochSecond seconds from 1970-01-01T00:00:00Z
+	 * @param nanos       nanoseconds of second
+	 * @param zone        time zone
+	 * @return Oracle TIMESTAMPTZ bytes
+	 * @throws SQLException when year is out of range of Oracle TIMESTAMP
+	 */
+	static byte[] timestampTZ(final long epochSecond, final int nanos, final ZoneId zone) throws SQLException {
+		final byte[] bytes = new byte[TIMESTAMPTZ_SIZE];
+		putUtc(epochSecond, nanos, bytes);
+		final int region = zone instanceof ZoneOffset ? -1 : regionId(zone);
+		if (region < 0) {
+			final int offset = offset(zone, epochSecond).getTotalSeconds();
+			bytes[11] = (byte) (offset / 3600 + TZ_HOUR_OFFSET);
+			bytes[12] = (byte) (offset / 60 % 60 + INTERVAL_OFFSET);
+		} else {
+			bytes[11] = (byte) (REGION_FLAG | (region >> 6));
+			bytes[12] = (byte) ((region & 0x3F) << 2);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Encodes instant as Oracle TIMESTAMP WITH LOCAL TIME ZONE normalized to UTC,
+	 * the database time zone of forward connection
+	 *
+	 * @param epochSecond seconds from 1970-01-01T00:00:00Z
+	 * @param nanos       nanoseconds of second
+	 * @return Oracle TIMESTAMPLTZ bytes
+	 * @throws SQLException when year is out of range of Oracle TIMESTAMP
+	 */
+	static byte[] timestampLTZ(final long epochSecond, final int nanos) throws SQLException {
+		final byte[] bytes = new byte[nanos == 0 ? DATE_SIZE : TIMESTAMP_SIZE];
+		putUtc(epochSecond, nanos, bytes);
+		return bytes;
+	}
+
+	/**
+	 * Returns instant of Oracle TIMESTAMPTZ or TIMESTAMPLTZ as seconds, nanoseconds
+	 * are returned by {@link #timestampNanos(byte[])}
+	 *
+	 * @param bytes Oracle TIMESTAMPTZ or TIMESTAMPLTZ bytes
+	 * @return seconds from 1970-01-01T00:00:00Z
+	 */
+	static long epochSecond(final byte[] bytes) {
+		int year = ((bytes[0] & 0xFF) - 100) * 100 + (bytes[1] & 0xFF) - 100;
+		// Oracle has no year 0, proleptic year 0 is 1 BC
+		year = year > 0 ? year : year + 1;
+		final int month = bytes[2];
+		// Days from civil, see http://howardhinnant.github.io/date_algorithms.html
+		final long shifted = month > 2 ? year : year - 1;
+		final long era = Math.floorDiv(shifted, 400L);
+		final int yearOfEra = (int) (shifted - era * 400);
+		final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + bytes[3] - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		final long epochDay = era * DAYS_PER_400_YEARS + dayOfEra - EPOCH_DAY_OFFSET;
+		return epochDay * SECONDS_PER_DAY + (bytes[4] - 1) * 3600 + (bytes[5] - 1) * 60 + bytes[6] - 1;
+	}
+
+	/**
+	 * Returns nanoseconds of Oracle TIMESTAMP, TIMESTAMPTZ or TIMESTAMPLTZ
+	 *
+	 * @param bytes Oracle TIMESTAMP, TIMESTAMPTZ or TIMESTAMPLTZ bytes
+	 * @return nanoseconds of second
+	 */
+	static int timestampNanos(final byte[] bytes) {
+		return bytes.length < TIMESTAMP_SIZE ? 0 :
+			((bytes[7] & 0xFF) << 24) | ((bytes[8] & 0xFF) << 16) | ((bytes[9] & 0xFF) << 8) | (bytes[10] & 0xFF);
+	}
+
+	/**
+	 * Returns time zone of Oracle TIMESTAMPTZ
+	 *
+	 * @param bytes 13 bytes of TIMESTAMPTZ
+	 * @return ZoneOffset or time zone region
+	 * @throws SQLException when region id is unknown
+	 */
+	static ZoneId zone(final byte[] bytes) throws SQLException {
+		final int first = bytes[11] & 0xFF;
+		if ((first & REGION_FLAG) == 0) {
+			return ZoneOffset.ofHoursMinutes(first - TZ_HOUR_OFFSET, (bytes[12] & 0xFF) - INTERVAL_OFFSET);
+		}
+		final int region = ((first & 0x7F) << 6) | ((bytes[12] & 0xFF) >> 2);
+		ZoneId zone = REGION_ZONES[region];
+		if (zone == null) {
+			final String name = ZONEIDMAP.getRegion(region);
+			try {
+				zone = ZoneId.of(name, ZoneId.SHORT_IDS);
+			} catch (DateTimeException | NullPointerException e) {
+				throw new SQLException(String.format("Unknown Oracle time zone region id %d!", region), e);
+			}
+			// Benign race, ZoneId instances of the same region are equal
+			REGION_ZONES[region] = zone;
+		}
+		return zone;
+	}
+
+	/**
+	 * Decodes Oracle TIMESTAMPTZ to OffsetDateTime with offset of its time zone
+	 *
+	 * @param bytes 13 bytes of TIMESTAMPTZ
+	 * @return offset date and time
+	 * @throws SQLException when region id is unknown
+	 */
+	static OffsetDateTime offsetDateTime(final byte[] bytes) throws SQLException {
+		return offsetDateTime(epochSecond(bytes), timestampNanos(bytes), zone(bytes));
+	}
+
+	/**
+	 * Returns instant as OffsetDateTime with offset of time zone
+	 *
+	 * @param epochSecond seconds from 1970-01-01T00:00:00Z
+	 * @param nanos       nanoseconds of second
+	 * @param zone        time zone
+	 * @return offset date and time
+	 */
+	static OffsetDateTime offsetDateTime(final long epochSecond, final int nanos, final ZoneId zone) {
+		final ZoneOffset offset = offset(zone, epochSecond);
+		return OffsetDateTime.of(LocalDateTime.ofEpochSecond(epochSecond, nanos, offset), offset);
+	}
+
+	/**
+	 * Returns local date and time of instant in time zone
+	 *
+	 * @param epochSecond seconds from 1970-01-01T00:00:00Z
+	 * @param nanos       nanoseconds of second
+	 * @param zone        time zone
+	 * @return local date and time
+	 */
+	static LocalDateTime localDateTime(final long epochSecond, final int nanos, final ZoneId zone) {
+		return LocalDateTime.ofEpochSecond(epochSecond, nanos, offset(zone, epochSecond));
+	}
+
+	/**
+	 * Returns instant of local date and time in time zone, for local time in the
+	 * gap or overlap of daylight saving time change the offset before change is used
+	 *
+	 * @param value local date and time
+	 * @param zone  time zone
+	 * @return seconds from 1970-01-01T00:00:00Z
+	 */
+	static long epochSecond(final LocalDateTime value, final ZoneId zone) {
+		return value.toEpochSecond(zone instanceof ZoneOffset ? (ZoneOffset) zone : zone.getRules().getOffset(value));
+	}
+
+	/**
+	 * Parses Oracle session time zone: region name or [+-]H:MM offset
+	 *
+	 * @param value region name or offset
+	 * @return time zone
+	 * @throws SQLException when time zone is unknown
+	 */
+	static ZoneId zoneId(final String value) throws SQLException {
+		if (value == null) {
+			throw new SQLException("Time zone is null!");
+		}
+		final String zone = value.trim();
+		try {
+			if (zone.length() == 5 && (zone.charAt(0) == '+' || zone.charAt(0) == '-') && zone.charAt(2) == ':') {
+				return ZoneOffset.of(zone.charAt(0) + "0" + zone.substring(1));
+			} else {
+				return ZoneId.of(zone, ZoneId.SHORT_IDS);
+			}
+		} catch (DateTimeException e) {
+			throw new SQLException(String.format("Invalid time zone '%s'!", value), e);
+		}
+	}
+
+	/**
+	 * Formats offset as Oracle does: [+-]HH:MM
+	 *
+	 * @param offset offset
+	 * @return text representation
+	 */
+	static String offsetString(final ZoneOffset offset) {
+		final int minutes = Math.abs(offset.getTotalSeconds()) / 60;
+		return new StringBuilder(6)
+				.append(offset.getTotalSeconds() < 0 ? '-' : '+')
+				.append((char) ('0' + minutes / 600))
+				.append((char) ('0' + minutes / 60 % 10))
+				.append(':')
+				.append((char) ('0' + minutes % 60 / 10))
+				.append((char) ('0' + minutes % 10))
+				.toString();
+	}
+
+	private static ZoneOffset offset(final ZoneId zone, final long epochSecond) {
+		return zone instanceof ZoneOffset ? (ZoneOffset) zone : zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+	}
+
+	private static int regionId(final ZoneId zone) {
+		final Integer region = ZONE_REGIONS.get(zone.getId());
+		if (region != null) {
+			return region;
+		} else {
+			final int id = ZONEIDMAP.getID(zone.getId());
+			ZONE_REGIONS.put(zone.getId(), id);
+			return id;
+		}
+	}
+
+	private static void putUtc(final long epochSecond, final int nanos, final byte[] bytes) throws SQLException {
+		// Math.floorDiv(long, int) and floorMod(long, int) are not available on Java 8
+		final long epochDay = Math.floorDiv(epochSecond, (long) SECONDS_PER_DAY);
+		final int time = (int) Math.floorMod(epochSecond, (long) SECONDS_PER_DAY);
+		// Civil from days, see http://howardhinnant.github.io/date_algorithms.html
+		final long shifted = epochDay + EPOCH_DAY_OFFSET;
+		final long era = Math.floorDiv(shifted, (long) DAYS_PER_400_YEARS);
+		final int dayOfEra = (int) (shifted - era * DAYS_PER_400_YEARS);
+		final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+		final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+		final long proleptic = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+		// Proleptic year 0 is 1 BC, Oracle has no year 0
+		final long year = proleptic > 0 ? proleptic : proleptic - 1;
+		if (year < MIN_YEAR || year > MAX_YEAR) {
+			throw new SQLException(String.format(
+					"Year of instant %d is out of range of Oracle TIMESTAMP!", epochSecond));
+		}
+		bytes[0] = (byte) (year / 100 + 100);
+		bytes[1] = (byte) (year % 100 + 100);
+		bytes[2] = (byte) month;
+		bytes[3] = (byte) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+		bytes[4] = (byte) (time / 3600 + 1);
+		bytes[5] = (byte) (time / 60 % 60 + 1);
+		bytes[6] = (byte) (time % 60 + 1);
+		if (bytes.length > DATE_SIZE) {
+			bytes[7] = (byte) (nanos >>> 24);
+			bytes[8] = (byte) (nanos >>> 16);
+			bytes[9] = (byte) (nanos >>> 8);
+			bytes[10] = (byte) nanos;
+		}
+	}
+
+	private static int intValue(final byte[] bytes, final int offset) {
+		return (((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+				((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF)) ^ Integer.MIN_VALUE;
+	}
+
+	private static void putInt(final byte[] bytes, final int offset, final int value) {
+		final int stored = value ^ Integer.MIN_VALUE;
+		bytes[offset] = (byte) (stored >>> 24);
+		bytes[offset + 1] = (byte) (stored >>> 16);
+		bytes[offset + 2] = (byte) (stored >>> 8);
+		bytes[offset + 3] = (byte) stored;
+	}
+
+}
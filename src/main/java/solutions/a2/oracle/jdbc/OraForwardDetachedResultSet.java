@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+/**
+ *
+ * Forward only result set which was fetched with cursor, and whose rest is read into memory
+ * by {@link CachedRowSet}, so backend transaction can end. Values are read with getObject
+ * of backend driver, LOBs and arrays are copied by CachedRowSet, other values are kept as
+ * they were read. Metadata calls are answered by backend result set
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardDetachedResultSet implements InvocationHandler {
+
+	private static final Set<String> SCROLL_METHODS = new HashSet<>(Arrays.asList(
+			"previous", "first", "last", "beforeFirst", "afterLast", "absolute", "relative"));
+
+	private final ResultSet backend;
+	private final CachedRowSet rows;
+	/** Number of backend rows read before current row */
+	private final int rowOffset;
+	private boolean closed;
+
+	private OraForwardDetachedResultSet(final ResultSet backend, final CachedRowSet rows, final int rowOffset) {
+		this.backend = backend;
+		this.rows = rows;
+		this.rowOffset = rowOffset;
+	}
+
+	/**
+	 * Reads rest of backend result set into memory. Result set continues from current row
+	 * of backend result set
+	 *
+	 * @param backend backend result set
+	 * @return result set which does not read backend
+	 * @throws SQLException
+	 */
+	static ResultSet detach(final ResultSet backend) throws SQLException {
+		final int row = backend.getRow();
+		final CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+		rows.populate(replay(backend, row > 0));
+		if (row > 0) {
+			rows.next();
+		}
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardDetachedResultSet.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				new OraForwardDetachedResultSet(backend, rows, row > 0 ? row - 1 : 0));
+	}
+
+	/**
+	 * Backend result set whose first next() stays on current row, so current row is read again
+	 */
+	private static ResultSet replay(final ResultSet backend, final boolean current) {
+		final boolean[] replay = {current};
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardDetachedResultSet.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					if (replay[0] && "next".equals(method.getName())) {
+						replay[0] = false;
+						return true;
+					}
+					return call(backend, method, args);
+				});
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		final String name = method.getName();
+		if (method.getDeclaringClass() == Object.class) {
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return "OraForwardDetachedResultSet@" + Integer.toHexString(System.identityHashCode(proxy));
+			}
+		}
+		switch (name) {
+		case "close":
+			if (!closed) {
+				closed = true;
+				rows.close();
+				backend.close();
+			}
+			return null;
+		case "isClosed":
+			return closed;
+		case "getType":
+			return ResultSet.TYPE_FORWARD_ONLY;
+		case "getConcurrency":
+			return ResultSet.CONCUR_READ_ONLY;
+		case "unwrap":
+			if (((Class<?>) args[0]).isInstance(proxy)) {
+				return proxy;
+			}
+			return call(backend, method, args);
+		case "isWrapperFor":
+			return ((Class<?>) args[0]).isInstance(proxy) || (Boolean) call(backend, method, args);
+		case "getMetaData":
+		case "findColumn":
+		case "getStatement":
+		case "getWarnings":
+		case "clearWarnings":
+		case "getHoldability":
+		case "getCursorName":
+			return call(backend, method, args);
+		}
+		if (closed) {
+			throw new SQLException("Result set is closed!");
+		} else if (SCROLL_METHODS.contains(name)) {
+			throw new SQLException("Invalid operation for forward only resultset!");
+		} else if ("getRow".equals(name)) {
+			final int row = rows.getRow();
+			return row == 0 ? 0 : row + rowOffset;
+		} else if (name.startsWith("get") && args != null && args.length > 0 && args[0] instanceof String) {
+			// Column labels are resolved by backend
+			final Class<?>[] parameterTypes = method.getParameterTypes().clone();
+			parameterTypes[0] = int.class;
+			final Object[] indexArgs = args.clone();
+			indexArgs[0] = backend.findColumn((String) args[0]);
+			return invoke(proxy, ResultSet.class.getMethod(name, parameterTypes), indexArgs);
+		}
+		switch (name) {
+		case "getObject":
+			if (args.length == 2 && args[1] instanceof Class) {
+				return object((Integer) args[0], (Class<?>) args[1]);
+			}
+			break;
+		case "getNString":
+			return rows.getString((Integer) args[0]);
+		case "getNCharacterStream":
+			return rows.getCharacterStream((Integer) args[0]);
+		case "getNClob":
+		case "getRowId":
+		case "getSQLXML":
+		case "getURL":
+			return object((Integer) args[0], method.getReturnType());
+		}
+		return call(rows, method, args);
+	}
+
+	/**
+	 * Returns column value as given type, as getObject(int, Class) of backend drivers does
+	 */
+	private Object object(final int column, final Class<?> type) throws SQLException {
+		final Object value = rows.getObject(column);
+		if (value == null || type.isInstance(value)) {
+			return value;
+		} else if (value instanceof Timestamp) {
+			final Timestamp timestamp = (Timestamp) value;
+			if (type == LocalDateTime.class) {
+				return timestamp.toLocalDateTime();
+			} else if (type == LocalDate.class) {
+				return timestamp.toLocalDateTime().toLocalDate();
+			} else if (type == LocalTime.class) {
+				return timestamp.toLocalDateTime().toLocalTime();
+			} else if (type == OffsetDateTime.class) {
+				return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+			}
+		} else if (value instanceof Date && type == LocalDate.class) {
+			return ((Date) value).toLocalDate();
+		} else if (value instanceof Date && type == LocalDateTime.class) {
+			return ((Date) value).toLocalDate().atStartOfDay();
+		} else if (value instanceof Time && type == LocalTime.class) {
+			return ((Time) value).toLocalTime();
+		} else if (value instanceof String && type == URL.class) {
+			try {
+				return new URL(((String) value).trim());
+			} catch (MalformedURLException mue) {
+				throw new SQLException(String.format("Unable to convert '%s' to URL!", value), mue);
+			}
+		}
+		final Object converted;
+		if (type == String.class) {
+			converted = rows.getString(column);
+		} else if (type == BigDecimal.class) {
+			converted = rows.getBigDecimal(column);
+		} else if (type == Integer.class) {
+			converted = rows.getInt(column);
+		} else if (type == Long.class) {
+			converted = rows.getLong(column);
+		} else if (type == Short.class) {
+			converted = rows.getShort(column);
+		} else if (type == Byte.class) {
+			converted = rows.getByte(column);
+		} else if (type == Boolean.class) {
+			converted = rows.getBoolean(column);
+		} else if (type == Double.class) {
+			converted = rows.getDouble(column);
+		} else if (type == Float.class) {
+			converted = rows.getFloat(column);
+		} else if (type == byte[].class) {
+			converted = rows.getBytes(column);
+		} else if (type == Timestamp.class) {
+			converted = rows.getTimestamp(column);
+		} else if (type == Date.class) {
+			converted = rows.getDate(column);
+		} else if (type == Time.class) {
+			converted = rows.getTime(column);
+		} else {
+			throw new SQLException(String.format("Unable to convert %s to %s!",
+					value.getClass().getName(), type.getName()));
+		}
+		return converted;
+	}
+
+	private static Object call(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause();
+		}
+	}
+
+}
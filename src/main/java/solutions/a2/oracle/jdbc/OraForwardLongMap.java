@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+/**
+ *
+ * Open-addressing hash map with primitive long keys and linear probing.
+ * Not thread safe for modification, after it has been filled and safely
+ * published it can be read concurrently without locking
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ * @param <V> value type, null values are not allowed
+ */
+final class OraForwardLongMap<V> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+
+	OraForwardLongMap() {
+		this(MIN_CAPACITY);
+	}
+
+	OraForwardLongMap(final int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		// Load factor not more than 0.5
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Returns value for key
+	 *
+	 * @param key key
+	 * @return value or null if there is no value for key
+	 */
+	@SuppressWarnings("unchecked")
+	V get(final long key) {
+		int slot = slot(key, mask);
+		Object value;
+		while ((value = values[slot]) != null) {
+			if (keys[slot] == key) {
+				return (V) value;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Stores value for key
+	 *
+	 * @param key   key
+	 * @param value value, must not be null
+	 * @return previous value or null
+	 */
+	@SuppressWarnings("unchecked")
+	V put(final long key, final V value) {
+		if (value == null) {
+			throw new NullPointerException("Null values are not allowed!");
+		}
+		int slot = slot(key, mask);
+		Object current;
+		while ((current = values[slot]) != null) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return (V) current;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size * 2 > keys.length) {
+			resize();
+		}
+		return null;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void resize() {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		final int capacity = oldKeys.length << 1;
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int slot = slot(oldKeys[i], mask);
+				while (values[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int slot(final long key, final int mask) {
+		// Keys are parts of MD5 hash and are evenly distributed
+		return (int) (key ^ (key >>> 32)) & mask;
+	}
+
+}
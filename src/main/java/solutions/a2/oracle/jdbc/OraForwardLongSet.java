@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ * Lock-free hash set of primitive long values with fixed capacity and linear
+ * probing. Memory is allocated once: 16 bytes per allowed value.
+ * Values 0 and -1 are used as empty and removed slot markers and are stored as
+ * 1 and -2, for sql_id values these collisions are negligible. Slot of removed
+ * value is reused by the next added value whose probe passes it
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardLongSet {
+
+	/** Value was added to set */
+	static final int ADDED = 0;
+	/** Value is already in set */
+	static final int PRESENT = 1;
+	/** Value is not in set and set is full */
+	static final int FULL = 2;
+
+	private static final long EMPTY = 0;
+	private static final long REMOVED = -1;
+	private static final int MIN_CAPACITY = 16;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+	private final int maxSize;
+	private final int maxUsed;
+	private final AtomicInteger size = new AtomicInteger();
+	/** Number of slots which are not empty, i.e. taken by values or removed values */
+	private final AtomicInteger used = new AtomicInteger();
+
+	/**
+	 * Creates set
+	 *
+	 * @param maxSize maximum number of values in set
+	 */
+	OraForwardLongSet(final int maxSize) {
+		int capacity = MIN_CAPACITY;
+		// Load factor not more than 0.5
+		while (capacity < maxSize * 2L && capacity < (1 << 30)) {
+			capacity <<= 1;
+		}
+		this.slots = new AtomicLongArray(capacity);
+		this.mask = capacity - 1;
+		this.maxSize = Math.min(maxSize, capacity >> 1);
+		// Keep at least a quarter of slots empty, so probing always ends
+		this.maxUsed = capacity - (capacity >> 2);
+	}
+
+	private static long key(final long value) {
+		return value == EMPTY ? 1 : value == REMOVED ? -2 : value;
+	}
+
+	/**
+	 * Adds value to set
+	 *
+	 * @param value value to add
+	 * @return ADDED, PRESENT or FULL
+	 */
+	int add(final long value) {
+		final long key = key(value);
+		final int home = (int) (key ^ (key >>> 32)) & mask;
+		while (true) {
+			int slot = home;
+			int removed = -1;
+			long current;
+			while ((current = slots.get(slot)) != EMPTY) {
+				if (current == key) {
+					return PRESENT;
+				} else if (current == REMOVED && removed < 0) {
+					removed = slot;
+				}
+				slot = (slot + 1) & mask;
+			}
+			// Reserve place before claiming slot, so set never exceeds maxSize
+			if (size.incrementAndGet() > maxSize) {
+				size.decrementAndGet();
+				return FULL;
+			}
+			if (removed >= 0) {
+				if (!slots.compareAndSet(removed, REMOVED, key)) {
+					// Slot was taken by another thread, probe again
+					size.decrementAndGet();
+					continue;
+				}
+				slot = removed;
+			} else {
+				if (used.incrementAndGet() > maxUsed) {
+					used.decrementAndGet();
+					size.decrementAndGet();
+					return FULL;
+				}
+				if (!slots.compareAndSet(slot, EMPTY, key)) {
+					// Slot was taken by another thread, probe again
+					used.decrementAndGet();
+					size.decrementAndGet();
+					continue;
+				}
+			}
+			if (unique(key, home, slot)) {
+				return ADDED;
+			}
+			// Same value was added by another thread to other slot at the same time,
+			// give up this slot and probe again, so value is never in set twice
+			if (slots.compareAndSet(slot, key, REMOVED)) {
+				size.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Checks that key is not in any other slot of its probe sequence. Thread which
+	 * claims slot later always sees slot claimed earlier, because slots of probe
+	 * sequence never become empty again
+	 */
+	private boolean unique(final long key, final int home, final int claimed) {
+		int slot = home;
+		long current;
+		while ((current = slots.get(slot)) != EMPTY) {
+			if (current == key && slot != claimed) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether value is in set
+	 *
+	 * @param value value to check
+	 * @return true when value is in set
+	 */
+	boolean contains(final long value) {
+		final long key = key(value);
+		int slot = (int) (key ^ (key >>> 32)) & mask;
+		while (true) {
+			final long current = slots.get(slot);
+			if (current == key) {
+				return true;
+			} else if (current == EMPTY) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Removes value from set
+	 *
+	 * @param value value to remove
+	 * @return true when value was in set
+	 */
+	boolean remove(final long value) {
+		final long key = key(value);
+		int slot = (int) (key ^ (key >>> 32)) & mask;
+		while (true) {
+			final long current = slots.get(slot);
+			if (current == key) {
+				if (slots.compareAndSet(slot, key, REMOVED)) {
+					size.decrementAndGet();
+					return true;
+				}
+				// Removed by another thread
+				return false;
+			} else if (current == EMPTY) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Checks whether no more values can be added to set
+	 *
+	 * @return true when set is full
+	 */
+	boolean full() {
+		return size.get() >= maxSize || used.get() >= maxUsed;
+	}
+
+	/**
+	 * Returns number of values in set
+	 *
+	 * @return number of values
+	 */
+	int size() {
+		return size.get();
+	}
+
+	/**
+	 * Returns maximum number of values in set
+	 *
+	 * @return maximum number of values
+	 */
+	int maxSize() {
+		return maxSize;
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ *
+ * Immutable copy of backend ParameterMetaData, shared by all statements and connections
+ * with the same parsed statement, the same way as {@link OraForwardResultSetMetaData}
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardParameterMetaData implements ParameterMetaData {
+
+	private final Parameter[] parameters;
+
+	private OraForwardParameterMetaData(final ParameterMetaData metaData) throws SQLException {
+		final int parameterCount = metaData.getParameterCount();
+		parameters = new Parameter[parameterCount];
+		for (int param = 1; param <= parameterCount; param++) {
+			parameters[param - 1] = new Parameter(metaData, param);
+		}
+	}
+
+	/**
+	 * Returns metadata of prepared statement parameters
+	 *
+	 * @param statement backend prepared statement
+	 * @param parsed    parsed statement
+	 * @return shared copy of metadata, backend metadata when it can not be copied, or null
+	 * @throws SQLException
+	 */
+	static ParameterMetaData of(final PreparedStatement statement, final OraForwardParsedStatement parsed)
+			throws SQLException {
+		final ParameterMetaData cached = parsed.parameterMetaData();
+		if (cached != null) {
+			return cached;
+		}
+		final ParameterMetaData metaData = statement.getParameterMetaData();
+		if (metaData == null) {
+			return null;
+		}
+		try {
+			final OraForwardParameterMetaData copy = new OraForwardParameterMetaData(metaData);
+			parsed.parameterMetaData(copy);
+			return copy;
+		} catch (SQLException sqle) {
+			// Backend does not support some of metadata calls, they are passed to backend
+			return metaData;
+		}
+	}
+
+	private Parameter parameter(final int param) throws SQLException {
+		if (param < 1 || param > parameters.length) {
+			throw new SQLException(String.format("Invalid parameter index %d!", param));
+		}
+		return parameters[param - 1];
+	}
+
+	@Override
+	public int getParameterCount() throws SQLException {
+		return parameters.length;
+	}
+
+	@Override
+	public int isNullable(int param) throws SQLException {
+		return parameter(param).nullable;
+	}
+
+	@Override
+	public boolean isSigned(int param) throws SQLException {
+		return parameter(param).signed;
+	}
+
+	@Override
+	public int getPrecision(int param) throws SQLException {
+		return parameter(param).precision;
+	}
+
+	@Override
+	public int getScale(int param) throws SQLException {
+		return parameter(param).scale;
+	}
+
+	@Override
+	public int getParameterType(int param) throws SQLException {
+		return parameter(param).type;
+	}
+
+	@Override
+	public String getParameterTypeName(int param) throws SQLException {
+		return parameter(param).typeName;
+	}
+
+	@Override
+	public String getParameterClassName(int param) throws SQLException {
+		return parameter(param).className;
+	}
+
+	@Override
+	public int getParameterMode(int param) throws SQLException {
+		return parameter(param).mode;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return iface.cast(this);
+		} else {
+			throw new SQLException("Unable to unwrap " + iface.getName());
+		}
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this);
+	}
+
+	private static final class Parameter {
+		private final int nullable;
+		private final boolean signed;
+		private final int precision;
+		private final int scale;
+		private final int type;
+		private final String typeName;
+		private final String className;
+		private final int mode;
+
+		Parameter(final ParameterMetaData metaData, final int param) throws SQLException {
+			nullable = metaData.isNullable(param);
+			signed = metaData.isSigned(param);
+			precision = metaData.getPrecision(param);
+			scale = metaData.getScale(param);
+			type = metaData.getParameterType(param);
+			typeName = metaData.getParameterTypeName(param);
+			className = metaData.getParameterClassName(param);
+			mode = metaData.getParameterMode(param);
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.ParameterMetaData;
+import java.util.Map;
+
+/**
+ *
+ * Immutable result of SQL statement translation and bind variables parsing,
+ * shared between all statements with the same SQL text
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public final class OraForwardParsedStatement {
+
+	private final String original;
+	private final String translated;
+	private final Map<String, int[]> binds;
+	private final int bindCount;
+	private final OraForwardBatchRewriter.Template insertTemplate;
+	private volatile OraForwardColumnPlan columnPlan;
+	private volatile OraForwardResultSetMetaData resultSetMetaData;
+	private volatile ParameterMetaData parameterMetaData;
+
+	OraForwardParsedStatement(final String original, final String translated,
+			final Map<String, int[]> binds, final int bindCount, final int dbType) {
+		this.original = original;
+		this.translated = translated;
+		this.binds = binds;
+		this.bindCount = bindCount;
+		this.insertTemplate = OraForwardBatchRewriter.template(translated, bindCount, dbType);
+	}
+
+	/**
+	 * Translates SQL statement and lexes the text which is sent to database for
+	 * bind variables. When translation has no named bind variables, but source SQL
+	 * statement has, bind variables layout of source SQL statement is used
+	 *
+	 * @param original   source SQL statement
+	 * @param translated translated SQL statement
+	 * @param dbType     OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB
+	 * @return parsed statement
+	 */
+	static OraForwardParsedStatement parse(final String original, final String translated, final int dbType) {
+		final OraForwardSqlLexer.Result result = OraForwardSqlLexer.lex(translated, dbType);
+		if (result.binds.isEmpty() && !original.equals(translated)) {
+			final OraForwardSqlLexer.Result source = OraForwardSqlLexer.lex(original, dbType);
+			if (!source.binds.isEmpty()) {
+				return new OraForwardParsedStatement(original, translated, source.binds, source.bindCount, dbType);
+			}
+		}
+		return new OraForwardParsedStatement(original, result.sql, result.binds, result.bindCount, dbType);
+	}
+
+	/**
+	 * Returns source SQL statement
+	 *
+	 * @return source SQL statement
+	 */
+	public String original() {
+		return original;
+	}
+
+	/**
+	 * Returns SQL statement sent to database: translated SQL statement, or source SQL statement
+	 * if no translation is found, with ':name' bind variables replaced by '?'
+	 *
+	 * @return translated SQL statement
+	 */
+	public String translated() {
+		return translated;
+	}
+
+	/**
+	 * Returns JDBC parameter indexes for bind variable. Returned array is shared and must not be modified
+	 *
+	 * @param name bind variable name without leading ':'
+	 * @return array of JDBC parameter indexes or null if bind variable is not found
+	 */
+	public int[] positions(final String name) {
+		return binds.get(name);
+	}
+
+	/**
+	 * Returns total number of bind variable occurrences in SQL statement
+	 *
+	 * @return number of bind variable occurrences
+	 */
+	public int bindCount() {
+		return bindCount;
+	}
+
+	/**
+	 * Returns template for batch rewriting to multi-row INSERT
+	 *
+	 * @return template or null if SQL statement is not single row INSERT ... VALUES (...)
+	 */
+	OraForwardBatchRewriter.Template insertTemplate() {
+		return insertTemplate;
+	}
+
+	/**
+	 * Returns column codec plan of last result set of this statement
+	 *
+	 * @return plan or null if statement was not executed as query yet
+	 */
+	OraForwardColumnPlan columnPlan() {
+		return columnPlan;
+	}
+
+	void columnPlan(final OraForwardColumnPlan columnPlan) {
+		this.columnPlan = columnPlan;
+	}
+
+	/**
+	 * Returns shared copy of result set metadata of this statement
+	 *
+	 * @return metadata or null if it was not requested yet
+	 */
+	OraForwardResultSetMetaData resultSetMetaData() {
+		return resultSetMetaData;
+	}
+
+	void resultSetMetaData(final OraForwardResultSetMetaData resultSetMetaData) {
+		this.resultSetMetaData = resultSetMetaData;
+	}
+
+	/**
+	 * Returns shared copy of parameter metadata of this statement
+	 *
+	 * @return metadata or null if it was not requested yet
+	 */
+	ParameterMetaData parameterMetaData() {
+		return parameterMetaData;
+	}
+
+	void parameterMetaData(final ParameterMetaData parameterMetaData) {
+		this.parameterMetaData = parameterMetaData;
+	}
+
+}
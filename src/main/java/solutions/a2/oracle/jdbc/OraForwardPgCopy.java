@@ -0,0 +1,339 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ *
+ * Streams batch of single row INSERT ... VALUES (?, ...) statement to PostgreSQL
+ * with COPY ... FROM STDIN in text format. Rows are encoded from recorded bind
+ * values directly to UTF-8 bytes of reusable buffer. Only this class refers to
+ * pgjdbc COPY API and it is loaded only with PostgreSQL backend
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardPgCopy {
+
+	private static final Logger LOGGER = Logger.getLogger(OraForwardPgCopy.class.getName());
+	private static final int BUFFER_SIZE = 0x10000;
+	/** Longest encoding of one char: escaped control char or 3 bytes of UTF-8 */
+	private static final int MAX_CHAR_BYTES = 4;
+	private static final byte[] NULL = {'\\', 'N'};
+	private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+	private final CopyIn copyIn;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+
+	private OraForwardPgCopy(final CopyIn copyIn) {
+		this.copyIn = copyIn;
+	}
+
+	/**
+	 * Checks that all recorded bind values can be encoded for COPY. Must be called
+	 * before {@link #copy(PreparedStatement, String, List, int)}, because failed COPY
+	 * aborts current transaction and can not fall back to INSERT
+	 *
+	 * @param rows        batch rows
+	 * @param bindsPerRow number of bind variables in row
+	 * @return true if batch can be sent with COPY
+	 */
+	static boolean supported(final List<OraForwardBatchRewriter.Row> rows, final int bindsPerRow) {
+		for (final OraForwardBatchRewriter.Row row : rows) {
+			for (int i = 0; i < bindsPerRow; i++) {
+				final Method method = row.methods[i];
+				if (method == null) {
+					return false;
+				}
+				final Object[] args = row.arguments[i];
+				switch (method.getName()) {
+				case "setNull":
+				case "setString":
+				case "setNString":
+				case "setInt":
+				case "setLong":
+				case "setShort":
+				case "setByte":
+				case "setBoolean":
+				case "setBigDecimal":
+				case "setDouble":
+				case "setFloat":
+				case "setBytes":
+					break;
+				case "setDate":
+				case "setTimestamp":
+				case "setObject":
+					if (args.length != 2 || !supported(args[1])) {
+						return false;
+					}
+					break;
+				default:
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean supported(final Object value) {
+		if (value instanceof Date) {
+			// Dates before Christ and after year 9999 need era and width handling
+			final int year = ((Date) value).toLocalDate().getYear();
+			return year > 0 && year < 10000;
+		} else if (value instanceof Timestamp) {
+			final int year = ((Timestamp) value).toLocalDateTime().getYear();
+			return year > 0 && year < 10000;
+		} else if (value instanceof LocalDateTime) {
+			final int year = ((LocalDateTime) value).getYear();
+			return year > 0 && year < 10000;
+		} else {
+			return value == null ||
+					value instanceof String ||
+					value instanceof Integer ||
+					value instanceof Long ||
+					value instanceof Short ||
+					value instanceof Byte ||
+					value instanceof Boolean ||
+					value instanceof BigDecimal ||
+					value instanceof Double ||
+					value instanceof Float ||
+					value instanceof byte[];
+		}
+	}
+
+	/**
+	 * Sends batch rows with COPY
+	 *
+	 * @param target      backend statement, its connection is used for COPY
+	 * @param copySql     COPY table(columns) FROM STDIN statement
+	 * @param rows        batch rows, all must pass {@link #supported(List, int)}
+	 * @param bindsPerRow number of bind variables in row
+	 * @return number of rows reported by database
+	 * @throws SQLException
+	 */
+	static long copy(final PreparedStatement target, final String copySql,
+			final List<OraForwardBatchRewriter.Row> rows, final int bindsPerRow) throws SQLException {
+		final CopyIn copyIn = target.getConnection().unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+		try {
+			final OraForwardPgCopy encoder = new OraForwardPgCopy(copyIn);
+			for (final OraForwardBatchRewriter.Row row : rows) {
+				for (int i = 0; i < bindsPerRow; i++) {
+					if (i > 0) {
+						encoder.put('\t');
+					}
+					encoder.value(row.methods[i].getName(), row.arguments[i]);
+				}
+				encoder.put('\n');
+			}
+			encoder.flush();
+			return copyIn.endCopy();
+		} finally {
+			if (copyIn.isActive()) {
+				try {
+					copyIn.cancelCopy();
+				} catch (SQLException sqle) {
+					LOGGER.log(Level.WARNING, "Unable to cancel COPY operation!", sqle);
+				}
+			}
+		}
+	}
+
+	private void value(final String method, final Object[] args) throws SQLException {
+		switch (method) {
+		case "setNull":
+			put(NULL);
+			break;
+		case "setInt":
+		case "setShort":
+		case "setByte":
+		case "setLong":
+			putLong(((Number) args[1]).longValue());
+			break;
+		case "setBoolean":
+			put((Boolean) args[1] ? 't' : 'f');
+			break;
+		default:
+			// setString, setNString, setBigDecimal, setDouble, setFloat, setBytes, setDate, setTimestamp, setObject
+			object(args[1]);
+		}
+	}
+
+	private void object(final Object value) throws SQLException {
+		if (value == null) {
+			put(NULL);
+		} else if (value instanceof String) {
+			putEscaped((String) value);
+		} else if (value instanceof Integer || value instanceof Long ||
+				value instanceof Short || value instanceof Byte) {
+			putLong(((Number) value).longValue());
+		} else if (value instanceof Boolean) {
+			put((Boolean) value ? 't' : 'f');
+		} else if (value instanceof Timestamp) {
+			// Timestamp.toString() is local time, offset is added the same way as pgjdbc does
+			final Timestamp timestamp = (Timestamp) value;
+			putAscii(timestamp.toString());
+			putOffset(TimeZone.getDefault().getOffset(timestamp.getTime()));
+		} else if (value instanceof byte[]) {
+			putBytea((byte[]) value);
+		} else {
+			// BigDecimal, Double, Float, Date and LocalDateTime text representation is accepted by PostgreSQL as is
+			putAscii(value.toString());
+		}
+	}
+
+	private void putEscaped(final String value) throws SQLException {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			ensure(MAX_CHAR_BYTES);
+			final char ch = value.charAt(i);
+			if (ch < 0x80) {
+				switch (ch) {
+				case '\\':
+					buffer[position++] = '\\';
+					buffer[position++] = '\\';
+					break;
+				case '\t':
+					buffer[position++] = '\\';
+					buffer[position++] = 't';
+					break;
+				case '\n':
+					buffer[position++] = '\\';
+					buffer[position++] = 'n';
+					break;
+				case '\r':
+					buffer[position++] = '\\';
+					buffer[position++] = 'r';
+					break;
+				default:
+					buffer[position++] = (byte) ch;
+				}
+			} else if (ch < 0x800) {
+				buffer[position++] = (byte) (0xC0 | (ch >> 6));
+				buffer[position++] = (byte) (0x80 | (ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+					Character.isLowSurrogate(value.charAt(i + 1))) {
+				final int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+				buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+				buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(ch)) {
+				// Unpaired surrogate, replaced the same way as String.getBytes() does
+				buffer[position++] = '?';
+			} else {
+				buffer[position++] = (byte) (0xE0 | (ch >> 12));
+				buffer[position++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+				buffer[position++] = (byte) (0x80 | (ch & 0x3F));
+			}
+		}
+	}
+
+	private void putLong(long value) throws SQLException {
+		if (value == Long.MIN_VALUE) {
+			putAscii(Long.toString(value));
+			return;
+		}
+		ensure(20);
+		if (value < 0) {
+			buffer[position++] = '-';
+			value = -value;
+		}
+		final int start = position;
+		do {
+			buffer[position++] = (byte) ('0' + (value % 10));
+			value /= 10;
+		} while (value != 0);
+		for (int left = start, right = position - 1; left < right; left++, right--) {
+			final byte digit = buffer[left];
+			buffer[left] = buffer[right];
+			buffer[right] = digit;
+		}
+	}
+
+	private void putOffset(final int offsetMillis) throws SQLException {
+		final int minutes = Math.abs(offsetMillis) / 60000;
+		ensure(6);
+		buffer[position++] = (byte) (offsetMillis < 0 ? '-' : '+');
+		buffer[position++] = (byte) ('0' + minutes / 600);
+		buffer[position++] = (byte) ('0' + (minutes / 60) % 10);
+		buffer[position++] = ':';
+		buffer[position++] = (byte) ('0' + (minutes % 60) / 10);
+		buffer[position++] = (byte) ('0' + minutes % 10);
+	}
+
+	/**
+	 * bytea hex format, backslash is escaped for COPY text format
+	 */
+	private void putBytea(final byte[] value) throws SQLException {
+		ensure(3);
+		buffer[position++] = '\\';
+		buffer[position++] = '\\';
+		buffer[position++] = 'x';
+		for (final byte b : value) {
+			ensure(2);
+			buffer[position++] = HEX[(b >> 4) & 0x0F];
+			buffer[position++] = HEX[b & 0x0F];
+		}
+	}
+
+	/**
+	 * Text without characters which need escaping in COPY text format
+	 */
+	private void putAscii(final String value) throws SQLException {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			ensure(1);
+			buffer[position++] = (byte) value.charAt(i);
+		}
+	}
+
+	private void put(final char ch) throws SQLException {
+		ensure(1);
+		buffer[position++] = (byte) ch;
+	}
+
+	private void put(final byte[] bytes) throws SQLException {
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	private void ensure(final int length) throws SQLException {
+		if (position + length > BUFFER_SIZE) {
+			flush();
+		}
+	}
+
+	private void flush() throws SQLException {
+		if (position > 0) {
+			copyIn.writeToCopy(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+}
@@ -13,6 +13,8 @@
 
 package solutions.a2.oracle.jdbc;
 
+import java.sql.SQLException;
+
 import org.postgresql.util.PGInterval;
 
 import oracle.sql.INTERVALDS;
@@ -26,27 +28,41 @@ import oracle.sql.INTERVALYM;
  */
 public class OraForwardPgUtils {
 
-	private static final int ORA_OFFSET = 60;
+	private static final int NANOS_PER_MICRO = 1_000;
+	private static final int MICROS_PER_SECOND = 1_000_000;
 
 	/**
 	 * Converts Oracle INTERVALDS to PostgreSQL PGInterval
 	 *     For Oracle format description please see <a href="https://www.orafaq.com/wiki/Interval">Interval</a>
+	 * Nanoseconds are rounded half up to microseconds, precision of PostgreSQL interval
 	 * 
 	 * @param value
 	 * @return
 	 */
 	public static PGInterval pgInterval(INTERVALDS value) {
-		final byte[] array = value.getBytes();
-		double seconds = unsigned(array[6]) - ORA_OFFSET;
-		int nanos = decodeOraBytes(array, 7);
-		if (nanos > 0) {
-			seconds += ((double) nanos) / 1_000_000_000;
+		final byte[] bytes = value.shareBytes();
+		final long seconds = OraForwardDatumCodec.intervalSeconds(bytes);
+		int nanos = OraForwardDatumCodec.intervalNanos(bytes);
+		final boolean negative = seconds < 0;
+		long magnitude = seconds;
+		if (negative) {
+			magnitude = nanos == 0 ? -seconds : -seconds - 1;
+			nanos = nanos == 0 ? 0 : NANOS_PER_MICRO * MICROS_PER_SECOND - nanos;
+		}
+		int micros = (nanos + NANOS_PER_MICRO / 2) / NANOS_PER_MICRO;
+		if (micros == MICROS_PER_SECOND) {
+			magnitude++;
+			micros = 0;
 		}
-		return new PGInterval(0, 0, 
-				decodeOraBytes(array, 0),
-				unsigned(array[4]) - ORA_OFFSET,
-				unsigned(array[5]) - ORA_OFFSET,
-				seconds);
+		final int sign = negative ? -1 : 1;
+		final PGInterval interval = new PGInterval();
+		interval.setDays(sign * (int) (magnitude / 86_400));
+		interval.setHours(sign * (int) (magnitude % 86_400 / 3600));
+		interval.setMinutes(sign * (int) (magnitude % 3600 / 60));
+		// Whole seconds are less than 60, pgjdbc splits this double back to the same whole
+		// seconds and microseconds exactly
+		interval.setSeconds(sign * ((int) (magnitude % 60) + (double) micros / MICROS_PER_SECOND));
+		return interval;
 	}
 
 	/**
@@ -57,21 +73,61 @@ public class OraForwardPgUtils {
 	 * @return
 	 */
 	public static PGInterval pgInterval(INTERVALYM value) {
-		final byte[] array = value.getBytes();
-		return new PGInterval(
-				decodeOraBytes(array, 0),
-				unsigned(array[4]) - ORA_OFFSET, 
-				0, 0, 0, 0);
+		final long months = OraForwardDatumCodec.intervalMonths(value.shareBytes());
+		final PGInterval interval = new PGInterval();
+		interval.setYears((int) (months / 12));
+		interval.setMonths((int) (months % 12));
+		return interval;
 	}
 
-	private static int unsigned(byte value) {
-		return value & 0xFF;
+	/**
+	 * Converts value of PostgreSQL interval column to Oracle INTERVALDS
+	 * 
+	 * @param value PGInterval returned by pgjdbc getObject() or null
+	 * @return Oracle INTERVALDS or null
+	 * @throws SQLException when interval has year or month part
+	 */
+	static INTERVALDS intervalDS(Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		}
+		final PGInterval interval = (PGInterval) value;
+		if (interval.getYears() != 0 || interval.getMonths() != 0) {
+			throw new SQLException(String.format(
+					"PostgreSQL interval '%s' with years or months can not be converted to Oracle INTERVAL DAY TO SECOND!",
+					interval.getValue()));
+		}
+		// PostgreSQL stores days and time separately and their signs may differ
+		final long micros = interval.getMicroSeconds();
+		// Math.floorDiv(long, int) and floorMod(long, int) are not available on Java 8
+		final long seconds = interval.getDays() * 86_400L +
+				interval.getHours() * 3600L +
+				interval.getMinutes() * 60L +
+				interval.getWholeSeconds() +
+				Math.floorDiv(micros, (long) MICROS_PER_SECOND);
+		return new INTERVALDS(OraForwardDatumCodec.intervalDS(seconds,
+				(int) Math.floorMod(micros, (long) MICROS_PER_SECOND) * NANOS_PER_MICRO));
 	}
 
-	private static int decodeOraBytes(byte[] array, int msb) {
-		int value =
-				unsigned(array[msb + 3]) | unsigned(array[msb + 2]) << 8 | unsigned(array[msb + 1]) << 16 | unsigned(array[msb]) << 24;
-		return -(Integer.MIN_VALUE - value);
+	/**
+	 * Converts value of PostgreSQL interval column to Oracle INTERVALYM
+	 * 
+	 * @param value PGInterval returned by pgjdbc getObject() or null
+	 * @return Oracle INTERVALYM or null
+	 * @throws SQLException when interval has day or time part
+	 */
+	static INTERVALYM intervalYM(Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		}
+		final PGInterval interval = (PGInterval) value;
+		if (interval.getDays() != 0 || interval.getHours() != 0 || interval.getMinutes() != 0 ||
+				interval.getWholeSeconds() != 0 || interval.getMicroSeconds() != 0) {
+			throw new SQLException(String.format(
+					"PostgreSQL interval '%s' with days or time can not be converted to Oracle INTERVAL YEAR TO MONTH!",
+					interval.getValue()));
+		}
+		return new INTERVALYM(OraForwardDatumCodec.intervalYM(interval.getYears() * 12L + interval.getMonths()));
 	}
 
 	public static void main(String[] argv) {
@@ -17,6 +17,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
@@ -32,10 +33,16 @@ import java.sql.ResultSetMetaData;
 import java.sql.RowId;
 import java.sql.SQLException;
 import java.sql.SQLXML;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Calendar;
 
+import oracle.jdbc.OracleCallableStatement;
 import oracle.jdbc.OracleConnection;
 import oracle.jdbc.OracleParameterMetaData;
 import oracle.jdbc.OraclePreparedStatement;
@@ -71,21 +78,230 @@ import oracle.sql.TIMESTAMPTZ;
  */
 public class OraForwardPreparedStatement extends OraForwardStatement implements OraclePreparedStatement {
 
+	/** Replaces backend statement while statement is parked in statement cache */
+	private static final Statement CLOSED = (Statement) Proxy.newProxyInstance(
+			OraForwardPreparedStatement.class.getClassLoader(),
+			new Class<?>[] {OracleCallableStatement.class},
+			(proxy, method, args) -> {
+				switch (method.getName()) {
+				case "isClosed":
+					return true;
+				case "close":
+					return null;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Closed Statement";
+				default:
+					if (Arrays.asList(method.getExceptionTypes()).contains(SQLException.class)) {
+						throw new SQLException("Closed Statement!");
+					} else {
+						throw new IllegalStateException("Closed Statement!");
+					}
+				}
+			});
+
+	private OraForwardStatementCache statementCache;
+	private Object cacheKey;
+	private long mappingGeneration;
+	private boolean disableStmtCaching = false;
+	private boolean logicallyClosed = false;
+	/** Backend statement while statement is parked */
+	private Statement parked;
+	private int executeBatch;
+	private int pendingBatch = 0;
+
+	@SuppressWarnings("deprecation")
 	OraForwardPreparedStatement(OracleConnection proxy, PreparedStatement statement, OraForwardTranslator translator,
-			int dbType, OraForwardTranslator.Holder holder) throws SQLException {
+			int dbType, OraForwardParsedStatement parsed) throws SQLException {
 		super(proxy, statement, translator, dbType);
-		this.holder = holder;
+		this.parsed = parsed;
+		this.executeBatch = proxy.getDefaultExecuteBatch();
+	}
+
+	/**
+	 * Sets statement cache of connection. On close statement is parked in cache
+	 * instead of closing backend statement when key is not null, on closeWithKey
+	 * when explicit caching is enabled
+	 * 
+	 * @param cache             statement cache of connection
+	 * @param key               implicit cache key or null if statement is not implicitly cacheable
+	 * @param mappingGeneration reload count of mapping SQL statement is translated with
+	 */
+	void setCache(final OraForwardStatementCache cache, final Object key, final long mappingGeneration) {
+		this.statementCache = cache;
+		this.cacheKey = key;
+		this.mappingGeneration = mappingGeneration;
+	}
+
+	/**
+	 * Returns reload count of mapping SQL statement is translated with
+	 */
+	long mappingGeneration() {
+		return mappingGeneration;
+	}
+
+	/**
+	 * Called when parked statement is handed out from cache. Returns new statement
+	 * with backend statement of this one, this statement stays closed for its previous
+	 * user. As with Oracle JDBC statement from implicit cache has default state, and
+	 * statement from explicit cache keeps its state
+	 *
+	 * @param implicit true when statement is handed out by implicit cache
+	 * @return statement to hand out
+	 * @throws SQLException
+	 */
+	OraForwardPreparedStatement reopen(final boolean implicit) throws SQLException {
+		final PreparedStatement backend = (PreparedStatement) parked;
+		parked = null;
+		resetFetchSize();
+		final OraForwardPreparedStatement reopened = newStatement(backend);
+		reopened.setCache(statementCache, cacheKey, mappingGeneration);
+		if (implicit) {
+			reopened.resetLimits();
+		} else {
+			reopened.copyState(this);
+			reopened.executeBatch = executeBatch;
+			reopened.disableStmtCaching = disableStmtCaching;
+		}
+		return reopened;
+	}
+
+	/**
+	 * Creates statement of the same class with the same parsed statement
+	 */
+	OraForwardPreparedStatement newStatement(final PreparedStatement backend) throws SQLException {
+		return new OraForwardPreparedStatement(proxy, backend, translator, dbType, parsed);
+	}
+
+	/**
+	 * Closes backend statement
+	 * 
+	 * @throws SQLException
+	 */
+	void closePhysically() throws SQLException {
+		logicallyClosed = true;
+		if (parked != null) {
+			statement = parked;
+			parked = null;
+		}
+		endStreaming();
+		statement.close();
+	}
+
+	/**
+	 * Sends rows pending in Oracle update batch before statement is closed or parked,
+	 * when they can not be sent backend statement is closed and is not parked
+	 */
+	private void sendPendingBatchOnClose() throws SQLException {
+		try {
+			sendPendingBatch();
+		} catch (SQLException sqle) {
+			try {
+				closePhysically();
+			} catch (SQLException closeException) {
+				sqle.addSuppressed(closeException);
+			}
+			throw sqle;
+		}
+	}
+
+	/**
+	 * Replaces backend statement with closed one until statement is handed out from cache
+	 */
+	private void park() {
+		logicallyClosed = true;
+		parked = statement;
+		statement = CLOSED;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (logicallyClosed) {
+			return;
+		}
+		sendPendingBatchOnClose();
+		endStreaming();
+		if (cacheKey == null || disableStmtCaching || !statement.isPoolable() || statement.isClosed()) {
+			closePhysically();
+			return;
+		}
+		try {
+			final ResultSet resultSet = statement.getResultSet();
+			if (resultSet != null) {
+				resultSet.close();
+			}
+			clearParameters();
+			statement.clearBatch();
+			statement.clearWarnings();
+		} catch (SQLException sqle) {
+			closePhysically();
+			return;
+		}
+		park();
+		if (!statementCache.park(cacheKey, this)) {
+			closePhysically();
+		}
+	}
+
+	@Override
+	public void closeWithKey(String key) throws SQLException {
+		if (logicallyClosed) {
+			return;
+		}
+		sendPendingBatchOnClose();
+		endStreaming();
+		if (statementCache == null || statement.isClosed()) {
+			closePhysically();
+			return;
+		}
+		// Explicit caching keeps bind values and statement state
+		try {
+			final ResultSet resultSet = statement.getResultSet();
+			if (resultSet != null) {
+				resultSet.close();
+			}
+		} catch (SQLException sqle) {
+			closePhysically();
+			return;
+		}
+		park();
+		if (!statementCache.parkExplicit(key, this)) {
+			closePhysically();
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return logicallyClosed || statement.isClosed();
 	}
 
 	@Override
 	public ResultSet executeQuery() throws SQLException {
-		//TODO - Achtung!!!
-		return new OraForwardResultSet(this, ((PreparedStatement) statement).executeQuery());
+		beginQuery();
+		try {
+			return resultSet(((PreparedStatement) statement).executeQuery());
+		} catch (SQLException sqle) {
+			endStreaming();
+			throw sqle;
+		}
 	}
 
 	@Override
 	public int executeUpdate() throws SQLException {
-		return ((PreparedStatement) statement).executeUpdate();
+		if (executeBatch > 1) {
+			// Oracle update batching: rows are sent when batch value is reached
+			((PreparedStatement) statement).addBatch();
+			if (pendingBatch++ == 0 && proxy instanceof OraForwardConnection) {
+				((OraForwardConnection) proxy).batchPending(this);
+			}
+			return pendingBatch >= executeBatch ? sendPendingBatch() : 0;
+		} else {
+			beginExecute();
+			return ((PreparedStatement) statement).executeUpdate();
+		}
 	}
 
 	@Override
@@ -187,21 +403,47 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setObject(int parameterIndex, Object value, int targetSqlType) throws SQLException {
-		((PreparedStatement) statement).setObject(parameterIndex, value, targetSqlType);
+		if (value instanceof Datum) {
+			// Oracle Datum carries its own type
+			setOracleObject(parameterIndex, (Datum) value);
+		} else {
+			((PreparedStatement) statement).setObject(parameterIndex, value, targetSqlType);
+		}
 	}
 
 	@Override
 	public void setObject(int parameterIndex, Object value) throws SQLException {
-		((PreparedStatement) statement).setObject(parameterIndex, value);
+		if (value instanceof Datum) {
+			setOracleObject(parameterIndex, (Datum) value);
+		} else {
+			((PreparedStatement) statement).setObject(parameterIndex, value);
+		}
 	}
 
 	@Override
 	public boolean execute() throws SQLException {
-		return ((PreparedStatement) statement).execute();
+		if (isQuery(parsed.translated())) {
+			beginQuery();
+		} else {
+			beginExecute();
+		}
+		try {
+			final boolean hasResultSet = ((PreparedStatement) statement).execute();
+			if (!hasResultSet) {
+				endStreaming();
+			}
+			return hasResultSet;
+		} catch (SQLException sqle) {
+			endStreaming();
+			throw sqle;
+		}
 	}
 
 	@Override
 	public void addBatch() throws SQLException {
+		if (pendingBatch > 0) {
+			throw new SQLException("Oracle update batching and standard batching can not be mixed!");
+		}
 		((PreparedStatement) statement).addBatch();
 	}
 
@@ -232,7 +474,7 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public ResultSetMetaData getMetaData() throws SQLException {
-		return ((PreparedStatement) statement).getMetaData();
+		return OraForwardResultSetMetaData.of((PreparedStatement) statement, parsed, backendKey());
 	}
 
 	@Override
@@ -262,7 +504,7 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public ParameterMetaData getParameterMetaData() throws SQLException {
-		return ((PreparedStatement) statement).getParameterMetaData();
+		return OraForwardParameterMetaData.of((PreparedStatement) statement, parsed);
 	}
 
 	@Override
@@ -307,7 +549,11 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setObject(int parameterIndex, Object value, int targetSqlType, int scaleOrLength) throws SQLException {
-		((PreparedStatement) statement).setObject(parameterIndex, value, scaleOrLength);
+		if (value instanceof Datum) {
+			setOracleObject(parameterIndex, (Datum) value);
+		} else {
+			((PreparedStatement) statement).setObject(parameterIndex, value, targetSqlType, scaleOrLength);
+		}
 	}
 
 	@Override
@@ -395,7 +641,7 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 	@Deprecated
 	@Override
 	public int getExecuteBatch() {
-		return 1;
+		return executeBatch;
 	}
 
 	@Override
@@ -416,44 +662,97 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 	@Deprecated
 	@Override
 	public int sendBatch() throws SQLException {
-		return 0;
+		checkOpen();
+		return sendPendingBatch();
+	}
+
+	/**
+	 * Executes rows pending in Oracle update batch with backend executeBatch
+	 * 
+	 * @return total number of rows updated
+	 * @throws SQLException
+	 */
+	int sendPendingBatch() throws SQLException {
+		if (pendingBatch == 0) {
+			return 0;
+		}
+		pendingBatch = 0;
+		if (proxy instanceof OraForwardConnection) {
+			((OraForwardConnection) proxy).batchSent(this);
+		}
+		beginExecute();
+		final int[] updateCounts = statement.executeBatch();
+		int total = 0;
+		for (final int updateCount : updateCounts) {
+			if (updateCount > 0) {
+				total += updateCount;
+			} else if (updateCount == Statement.SUCCESS_NO_INFO) {
+				// Row was processed, but backend does not report count
+				total++;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Discards rows pending in Oracle update batch
+	 * 
+	 * @throws SQLException
+	 */
+	void clearPendingBatch() throws SQLException {
+		if (pendingBatch > 0) {
+			pendingBatch = 0;
+			statement.clearBatch();
+		}
 	}
 
 	@Override
 	public void setARRAY(int parameterIndex, ARRAY value) throws SQLException {
-		((PreparedStatement) statement).setArray(parameterIndex, (Array) value.getArray());
+		if (value == null) {
+			setNull(parameterIndex, Types.ARRAY);
+		} else if (dbType == OraForwardUtils.POSTGRESQL) {
+			((PreparedStatement) statement).setArray(parameterIndex,
+					statement.getConnection().createArrayOf(
+							OraForwardDatumCodec.pgArrayType(value.getBaseType()), (Object[]) value.getArray()));
+		} else {
+			// OraRedirectUtils.MARIADB
+			throw OraForwardUtils.sqlFeatureNotSupportedException("setARRAY");
+		}
 	}
 
 	@Override
 	public void setARRAYAtName(String parameterName, ARRAY value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
-				setArray(parameterIndex, (Array) value.getArray());
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
+				setARRAY(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setArrayAtName(String parameterName, Array value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setArray(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setAsciiStreamAtName(String parameterName, InputStream stream) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setAsciiStream(parameterIndex, stream);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -464,12 +763,13 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setAsciiStreamAtName(String parameterName, InputStream stream, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setAsciiStream(parameterIndex, stream, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -505,12 +805,13 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setBigDecimalAtName(String parameterName, BigDecimal value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBigDecimal(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -526,23 +827,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setBinaryDoubleAtName(String parameterName, double value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setDouble(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBinaryDoubleAtName(String parameterName, BINARY_DOUBLE value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBinaryDouble(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -558,34 +861,37 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setBinaryFloatAtName(String parameterName, float value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setFloat(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBinaryFloatAtName(String parameterName, BINARY_FLOAT value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBinaryFloat(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBinaryStreamAtName(String parameterName, InputStream stream) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBinaryStream(parameterIndex, stream);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -596,78 +902,85 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setBinaryStreamAtName(String parameterName, InputStream stream, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBinaryStream(parameterIndex, stream, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBlobAtName(String parameterName, Blob value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBlob(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBlobAtName(String parameterName, InputStream stream) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBlob(parameterIndex, stream);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBlobAtName(String parameterName, InputStream stream, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBlob(parameterIndex, stream, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBooleanAtName(String parameterName, boolean value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBoolean(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setByteAtName(String parameterName, byte value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setByte(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setBytesAtName(String parameterName, byte[] value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBytes(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -678,28 +991,34 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setBytesForBlobAtName(String parameterName, byte[] value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setBytesForBlob(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setCHAR(int parameterIndex, CHAR value) throws SQLException {
-		setString(parameterIndex, value.stringValue());
+		if (value == null) {
+			setNull(parameterIndex, Types.VARCHAR);
+		} else {
+			setString(parameterIndex, value.stringValue());
+		}
 	}
 
 	@Override
 	public void setCHARAtName(String parameterName, CHAR value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setCHAR(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -715,23 +1034,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setCharacterStreamAtName(String parameterName, Reader reader) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setCharacterStream(parameterIndex, reader);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setCharacterStreamAtName(String parameterName, Reader reader, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setCharacterStream(parameterIndex, reader, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -746,34 +1067,37 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setClobAtName(String parameterName, Clob value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setClob(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setClobAtName(String parameterName, Reader reader) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setClob(parameterIndex, reader);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setClobAtName(String parameterName, Reader reader, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setClob(parameterIndex, reader, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -801,65 +1125,79 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setDATE(int parameterIndex, DATE value) throws SQLException {
-		((PreparedStatement) statement).setDate(parameterIndex, value.dateValue());
+		if (value == null) {
+			setNull(parameterIndex, Types.TIMESTAMP);
+		} else {
+			// Oracle DATE has time part, backend drivers bind LocalDateTime without Calendar
+			((PreparedStatement) statement).setObject(parameterIndex,
+					OraForwardDatumCodec.localDateTime(value.shareBytes()));
+		}
 	}
 
 	@Override
 	public void setDATEAtName(String parameterName, DATE value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setDATE(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setDateAtName(String parameterName, Date value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setDate(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setDateAtName(String parameterName, Date value, Calendar cal) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setDate(parameterIndex, value, cal);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setDisableStmtCaching(boolean cache) {
-		//TODO
-		//TODO
-		//TODO
-		//TODO
-		//TODO
+		disableStmtCaching = cache;
 	}
 
 	@Override
 	public void setDoubleAtName(String parameterName, double value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setDouble(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Deprecated
 	@Override
 	public void setExecuteBatch(int batchValue) throws SQLException {
+		checkOpen();
+		if (batchValue <= 0) {
+			throw new SQLException("Batch value must be positive!");
+		}
+		executeBatch = batchValue;
+		if (pendingBatch >= executeBatch) {
+			sendPendingBatch();
+		}
 	}
 
 	@Override
@@ -869,23 +1207,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setFixedCHARAtName(String parameterName, String value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setString(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setFloatAtName(String parameterName, float value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setFloat(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -900,169 +1240,190 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setINTERVALDS(int parameterIndex, INTERVALDS value) throws SQLException {
-		if (dbType == OraForwardUtils.POSTGRESQL) {
+		if (value == null) {
+			setNull(parameterIndex, dbType == OraForwardUtils.POSTGRESQL ? Types.OTHER : Types.VARCHAR);
+		} else if (dbType == OraForwardUtils.POSTGRESQL) {
 			setObject(parameterIndex, OraForwardPgUtils.pgInterval(value));
 		} else {
 			// OraRedirectUtils.MARIADB
-			setString(parameterIndex, value.stringValue());
+			setString(parameterIndex, OraForwardDatumCodec.intervalDSString(value.shareBytes()));
 		}
 	}
 
 	@Override
 	public void setINTERVALDSAtName(String parameterName, INTERVALDS value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setINTERVALDS(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setINTERVALYM(int parameterIndex, INTERVALYM value) throws SQLException {
-		if (dbType == OraForwardUtils.POSTGRESQL) {
+		if (value == null) {
+			setNull(parameterIndex, dbType == OraForwardUtils.POSTGRESQL ? Types.OTHER : Types.VARCHAR);
+		} else if (dbType == OraForwardUtils.POSTGRESQL) {
 			setObject(parameterIndex, OraForwardPgUtils.pgInterval(value));
 		} else {
 			// OraRedirectUtils.MARIADB
-			setString(parameterIndex, value.stringValue());
+			setString(parameterIndex, OraForwardDatumCodec.intervalYMString(value.shareBytes()));
 		}
 	}
 
 	@Override
 	public void setINTERVALYMAtName(String parameterName, INTERVALYM value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setINTERVALYM(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setIntAtName(String parameterName, int value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setInt(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setLongAtName(String parameterName, long value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setLong(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNCharacterStreamAtName(String parameterName, Reader reader) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNCharacterStream(parameterIndex, reader);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNCharacterStreamAtName(String parameterName, Reader reader, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNCharacterStream(parameterIndex, reader, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNClobAtName(String parameterName, NClob value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNClob(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNClobAtName(String parameterName, Reader reader) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNClob(parameterIndex, reader);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNClobAtName(String parameterName, Reader reader, long length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNClob(parameterIndex, reader, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNStringAtName(String parameterName, String value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNString(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNUMBER(int parameterIndex, NUMBER value) throws SQLException {
-		setBigDecimal(parameterIndex, value.bigDecimalValue());
+		if (value == null) {
+			setNull(parameterIndex, Types.NUMERIC);
+		} else {
+			OraForwardDatumCodec.bindNumber((PreparedStatement) statement, parameterIndex, value);
+		}
 	}
 
 	@Override
 	public void setNUMBERAtName(String parameterName, NUMBER value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNUMBER(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNullAtName(String parameterName, int value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNull(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setNullAtName(String parameterName, int sqlType, String sqlName) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setNull(parameterIndex, sqlType, sqlName);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1088,45 +1449,64 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setObjectAtName(String parameterName, Object value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setObject(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setObjectAtName(String parameterName, Object value, int targetSqlType) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setObject(parameterIndex, value, targetSqlType);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setObjectAtName(String parameterName, Object value, int targetSqlType, int scale) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setObject(parameterIndex, value, targetSqlType, scale);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setOracleObject(int parameterIndex, Datum value) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setOracleObject");
+		if (value == null) {
+			setNull(parameterIndex, Types.NULL);
+		} else {
+			final OraForwardDatumCodec.DatumBinder binder = OraForwardDatumCodec.binder(value.getClass());
+			if (binder == null) {
+				throw OraForwardUtils.sqlFeatureNotSupportedException(
+						"setOracleObject for " + value.getClass().getName());
+			}
+			binder.bind(this, parameterIndex, value);
+		}
 	}
 
 	@Override
 	public void setOracleObjectAtName(String parameterName, Datum value) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setOracleObjectAtName");
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
+				setOracleObject(parameterIndex, value);
+			}
+		} else {
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
+		}
 	}
 
 	@Override
@@ -1136,17 +1516,23 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setRAW(int parameterIndex, RAW value) throws SQLException {
-		setBytes(parameterIndex, value.getBytes());
+		if (value == null) {
+			setNull(parameterIndex, Types.VARBINARY);
+		} else {
+			// Datum is immutable, its bytes are not copied
+			setBytes(parameterIndex, value.shareBytes());
+		}
 	}
 
 	@Override
 	public void setRAWAtName(String parameterName, RAW value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setRAW(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1167,23 +1553,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setROWIDAtName(String parameterName, ROWID value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setROWID(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setRefAtName(String parameterName, Ref value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setRef(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1199,23 +1587,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setRowIdAtName(String parameterName, RowId value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setRowId(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setSQLXMLAtName(String parameterName, SQLXML value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setSQLXML(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1231,23 +1621,25 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setShortAtName(String parameterName, short value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setShort(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setStringAtName(String parameterName, String value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setString(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1258,12 +1650,13 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setStringForClobAtName(String parameterName, String value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setStringForClob(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -1279,130 +1672,154 @@ public class OraForwardPreparedStatement extends OraForwardStatement implements
 
 	@Override
 	public void setTIMESTAMP(int parameterIndex, TIMESTAMP value) throws SQLException {
-		setTimestamp(parameterIndex, value.timestampValue());
+		if (value == null) {
+			setNull(parameterIndex, Types.TIMESTAMP);
+		} else {
+			((PreparedStatement) statement).setObject(parameterIndex,
+					OraForwardDatumCodec.localDateTime(value.shareBytes()));
+		}
 	}
 
 	@Override
 	public void setTIMESTAMPAtName(String parameterName, TIMESTAMP value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTIMESTAMP(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setTIMESTAMPLTZ(int parameterIndex, TIMESTAMPLTZ value) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO We need server timezone here........
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setTIMESTAMPLTZ");
+		if (value == null) {
+			setNull(parameterIndex, Types.TIMESTAMP_WITH_TIMEZONE);
+		} else {
+			final byte[] bytes = value.shareBytes();
+			bindInstant(parameterIndex, OraForwardDatumCodec.epochSecond(bytes),
+					OraForwardDatumCodec.timestampNanos(bytes), ZoneOffset.UTC);
+		}
 	}
 
 	@Override
 	public void setTIMESTAMPLTZAtName(String parameterName, TIMESTAMPLTZ value) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO We need server timezone here........
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("setTIMESTAMPLTZAtName");
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
+				setTIMESTAMPLTZ(parameterIndex, value);
+			}
+		} else {
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
+		}
 	}
 
 	@Override
 	public void setTIMESTAMPTZ(int parameterIndex, TIMESTAMPTZ value) throws SQLException {
+		if (value == null) {
+			setNull(parameterIndex, Types.TIMESTAMP_WITH_TIMEZONE);
+		} else {
+			final byte[] bytes = value.shareBytes();
+			bindInstant(parameterIndex, OraForwardDatumCodec.epochSecond(bytes),
+					OraForwardDatumCodec.timestampNanos(bytes), OraForwardDatumCodec.zone(bytes));
+		}
+	}
+
+	/**
+	 * Binds instant as timestamptz to PostgreSQL and as date and time in session time zone to MariaDB
+	 */
+	private void bindInstant(final int parameterIndex, final long epochSecond, final int nanos,
+			final ZoneId zone) throws SQLException {
 		if (dbType == OraForwardUtils.POSTGRESQL) {
-			// java.time.OffsetDateTime.class for timestamp with time zone	
-			setObject(parameterIndex, value.toOffsetDateTime());
+			setObject(parameterIndex, OraForwardDatumCodec.offsetDateTime(epochSecond, nanos, zone));
 		} else {
-			// OraRedirectUtils.MARIADB
-			// MySQL/MariaDB always store UTC value...
-			setTimestamp(parameterIndex, value.timestampValue());
+			// OraRedirectUtils.MARIADB, session time zone is set on backend by setSessionTimeZone
+			setObject(parameterIndex, OraForwardDatumCodec.localDateTime(epochSecond, nanos, sessionTimeZone()));
 		}
 	}
 
 	@Override
 	public void setTIMESTAMPTZAtName(String parameterName, TIMESTAMPTZ value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTIMESTAMPTZ(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setTimeAtName(String parameterName, Time value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTime(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setTimeAtName(String parameterName, Time value, Calendar cal) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTime(parameterIndex, value, cal);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setTimestampAtName(String parameterName, Timestamp value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTimestamp(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setTimestampAtName(String parameterName, Timestamp value, Calendar cal) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setTimestamp(parameterIndex, value, cal);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setURLAtName(String parameterName, URL value) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setURL(parameterIndex, value);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
 	@Override
 	public void setUnicodeStreamAtName(String parameterName, InputStream stream, int length) throws SQLException {
-		if (params != null && params.size() > 0 && params.containsKey(parameterName)) {
-			for (int parameterIndex : params.get(parameterName)) {
+		final int[] positions = parsed.positions(parameterName);
+		if (positions != null) {
+			for (int parameterIndex : positions) {
 				setUnicodeStream(parameterIndex, stream, length);
 			}
 		} else {
-			throw OraForwardUtils.namedParameterNotFound(parameterName, original, translated);
+			throw OraForwardUtils.namedParameterNotFound(parameterName, parsed.original(), parsed.translated());
 		}
 	}
 
@@ -32,6 +32,11 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Map;
 
@@ -42,7 +47,6 @@ import oracle.sql.BFILE;
 import oracle.sql.BLOB;
 import oracle.sql.CHAR;
 import oracle.sql.CLOB;
-import oracle.sql.CharacterSet;
 import oracle.sql.CustomDatum;
 import oracle.sql.CustomDatumFactory;
 import oracle.sql.DATE;
@@ -70,12 +74,56 @@ import oracle.sql.TIMESTAMPTZ;
 public class OraForwardResultSet extends OraForwardWrapper implements OracleResultSet {
 
 	final Statement statement;
-	final ResultSet proxy;
-
-	OraForwardResultSet(Statement statement, ResultSet proxy) {
+	/** Backend result set, replaced with row store when streamed result set is detached */
+	ResultSet proxy;
+	/** Parsed query of result set, null for generated keys */
+	private final OraForwardParsedStatement parsed;
+	/** Column codec plan, taken on first getter which needs column types */
+	private OraForwardColumnPlan plan;
+
+	OraForwardResultSet(Statement statement, ResultSet proxy, OraForwardParsedStatement parsed) {
 		super(proxy);
 		this.statement = statement;
 		this.proxy = proxy;
+		this.parsed = parsed;
+	}
+
+	private OraForwardColumnPlan plan() throws SQLException {
+		if (plan == null) {
+			plan = OraForwardColumnPlan.of(proxy, parsed,
+					statement instanceof OraForwardStatement ? ((OraForwardStatement) statement).defines() : null);
+		}
+		return plan;
+	}
+
+	private int columnType(final int columnIndex) throws SQLException {
+		return plan().type(columnIndex);
+	}
+
+	private ZoneId sessionTimeZone() {
+		return statement instanceof OraForwardStatement ?
+				((OraForwardStatement) statement).sessionTimeZone() : ZoneId.systemDefault();
+	}
+
+	private int dbType() {
+		return statement instanceof OraForwardStatement ?
+				((OraForwardStatement) statement).dbType : OraForwardUtils.POSTGRESQL;
+	}
+
+	/**
+	 * Reads date and time column without java.sql.Date/Timestamp conversion
+	 */
+	private LocalDateTime getLocalDateTime(final int columnIndex) throws SQLException {
+		switch (columnType(columnIndex)) {
+		case Types.TIMESTAMP:
+			return proxy.getObject(columnIndex, LocalDateTime.class);
+		case Types.DATE:
+			final LocalDate date = proxy.getObject(columnIndex, LocalDate.class);
+			return date == null ? null : date.atStartOfDay();
+		default:
+			final Timestamp timestamp = proxy.getTimestamp(columnIndex);
+			return timestamp == null ? null : timestamp.toLocalDateTime();
+		}
 	}
 
 	@Override
@@ -85,12 +133,36 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public boolean next() throws SQLException {
-		return proxy.next();
+		if (proxy.next()) {
+			return true;
+		} else {
+			streamEnded();
+			return false;
+		}
 	}
 
 	@Override
 	public void close() throws SQLException {
 		proxy.close();
+		streamEnded();
+	}
+
+	/**
+	 * Reads rest of result set which is fetched with cursor, so backend transaction can end
+	 */
+	void detach() throws SQLException {
+		if (!proxy.isClosed() && !OraForwardScrollCursor.detach(proxy)) {
+			proxy = OraForwardDetachedResultSet.detach(proxy);
+		}
+	}
+
+	/**
+	 * Result set which is fetched with cursor is closed or fully read
+	 */
+	private void streamEnded() throws SQLException {
+		if (statement instanceof OraForwardStatement) {
+			((OraForwardStatement) statement).endStreaming(this);
+		}
 	}
 
 	@Override
@@ -181,84 +253,84 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public String getString(String columnLabel) throws SQLException {
-		return proxy.getString(columnLabel);
+		return proxy.getString(findColumn(columnLabel));
 	}
 
 	@Override
 	public boolean getBoolean(String columnLabel) throws SQLException {
-		return proxy.getBoolean(columnLabel);
+		return proxy.getBoolean(findColumn(columnLabel));
 	}
 
 	@Override
 	public byte getByte(String columnLabel) throws SQLException {
-		return proxy.getByte(columnLabel);
+		return proxy.getByte(findColumn(columnLabel));
 	}
 
 	@Override
 	public short getShort(String columnLabel) throws SQLException {
-		return proxy.getShort(columnLabel);
+		return proxy.getShort(findColumn(columnLabel));
 	}
 
 	@Override
 	public int getInt(String columnLabel) throws SQLException {
-		return proxy.getInt(columnLabel);
+		return proxy.getInt(findColumn(columnLabel));
 	}
 
 	@Override
 	public long getLong(String columnLabel) throws SQLException {
-		return proxy.getLong(columnLabel);
+		return proxy.getLong(findColumn(columnLabel));
 	}
 
 	@Override
 	public float getFloat(String columnLabel) throws SQLException {
-		return proxy.getFloat(columnLabel);
+		return proxy.getFloat(findColumn(columnLabel));
 	}
 
 	@Override
 	public double getDouble(String columnLabel) throws SQLException {
-		return proxy.getDouble(columnLabel);
+		return proxy.getDouble(findColumn(columnLabel));
 	}
 
 	@Deprecated
 	@Override
 	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
-		return proxy.getBigDecimal(columnLabel, scale);
+		return proxy.getBigDecimal(findColumn(columnLabel), scale);
 	}
 
 	@Override
 	public byte[] getBytes(String columnLabel) throws SQLException {
-		return proxy.getBytes(columnLabel);
+		return proxy.getBytes(findColumn(columnLabel));
 	}
 
 	@Override
 	public Date getDate(String columnLabel) throws SQLException {
-		return proxy.getDate(columnLabel);
+		return proxy.getDate(findColumn(columnLabel));
 	}
 
 	@Override
 	public Time getTime(String columnLabel) throws SQLException {
-		return proxy.getTime(columnLabel);
+		return proxy.getTime(findColumn(columnLabel));
 	}
 
 	@Override
 	public Timestamp getTimestamp(String columnLabel) throws SQLException {
-		return proxy.getTimestamp(columnLabel);
+		return proxy.getTimestamp(findColumn(columnLabel));
 	}
 
 	@Override
 	public InputStream getAsciiStream(String columnLabel) throws SQLException {
-		return proxy.getAsciiStream(columnLabel);
+		return proxy.getAsciiStream(findColumn(columnLabel));
 	}
 
 	@Deprecated
 	@Override
 	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
-		return proxy.getUnicodeStream(columnLabel);
+		return proxy.getUnicodeStream(findColumn(columnLabel));
 	}
 
 	@Override
 	public InputStream getBinaryStream(String columnLabel) throws SQLException {
-		return proxy.getBinaryStream(columnLabel);
+		return proxy.getBinaryStream(findColumn(columnLabel));
 	}
 
 	@Override
@@ -278,22 +350,24 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public ResultSetMetaData getMetaData() throws SQLException {
-		return proxy.getMetaData();
+		return OraForwardResultSetMetaData.of(proxy, parsed,
+				statement instanceof OraForwardStatement ? ((OraForwardStatement) statement).backendKey() : null);
 	}
 
 	@Override
 	public Object getObject(int columnIndex) throws SQLException {
-		return proxy.getObject(columnIndex);
+		return plan().object(columnIndex).get(this, columnIndex);
 	}
 
 	@Override
 	public Object getObject(String columnLabel) throws SQLException {
-		return proxy.getObject(columnLabel);
+		return getObject(findColumn(columnLabel));
 	}
 
 	@Override
 	public int findColumn(String columnLabel) throws SQLException {
-		return proxy.findColumn(columnLabel);
+		final int columnIndex = plan().column(columnLabel);
+		return columnIndex > 0 ? columnIndex : proxy.findColumn(columnLabel);
 	}
 
 	@Override
@@ -303,7 +377,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Reader getCharacterStream(String columnLabel) throws SQLException {
-		return proxy.getCharacterStream(columnLabel);
+		return proxy.getCharacterStream(findColumn(columnLabel));
 	}
 
 	@Override
@@ -313,7 +387,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
-		return proxy.getBigDecimal(columnLabel);
+		return proxy.getBigDecimal(findColumn(columnLabel));
 	}
 
 	@Override
@@ -518,97 +592,97 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNull(String columnLabel) throws SQLException {
-		proxy.updateNull(columnLabel);
+		proxy.updateNull(findColumn(columnLabel));
 	}
 
 	@Override
 	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
-		proxy.updateBoolean(columnLabel, x);
+		proxy.updateBoolean(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateByte(String columnLabel, byte x) throws SQLException {
-		proxy.updateByte(columnLabel, x);
+		proxy.updateByte(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateShort(String columnLabel, short x) throws SQLException {
-		proxy.updateShort(columnLabel, x);
+		proxy.updateShort(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateInt(String columnLabel, int x) throws SQLException {
-		proxy.updateInt(columnLabel, x);
+		proxy.updateInt(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateLong(String columnLabel, long x) throws SQLException {
-		proxy.updateLong(columnLabel, x);
+		proxy.updateLong(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateFloat(String columnLabel, float x) throws SQLException {
-		proxy.updateFloat(columnLabel, x);
+		proxy.updateFloat(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateDouble(String columnLabel, double x) throws SQLException {
-		proxy.updateDouble(columnLabel, x);
+		proxy.updateDouble(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
-		proxy.updateBigDecimal(columnLabel, x);
+		proxy.updateBigDecimal(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateString(String columnLabel, String x) throws SQLException {
-		proxy.updateString(columnLabel, x);
+		proxy.updateString(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
-		proxy.updateBytes(columnLabel, x);
+		proxy.updateBytes(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateDate(String columnLabel, Date x) throws SQLException {
-		proxy.updateDate(columnLabel, x);
+		proxy.updateDate(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateTime(String columnLabel, Time x) throws SQLException {
-		proxy.updateTime(columnLabel, x);
+		proxy.updateTime(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
-		proxy.updateTimestamp(columnLabel, x);
+		proxy.updateTimestamp(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
-		proxy.updateAsciiStream(columnLabel, x, length);
+		proxy.updateAsciiStream(findColumn(columnLabel), x, length);
 	}
 
 	@Override
 	public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
-		proxy.updateBinaryStream(columnLabel, x, length);
+		proxy.updateBinaryStream(findColumn(columnLabel), x, length);
 	}
 
 	@Override
 	public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
-		proxy.updateCharacterStream(columnLabel, reader, length);
+		proxy.updateCharacterStream(findColumn(columnLabel), reader, length);
 	}
 
 	@Override
 	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
-		proxy.updateObject(columnLabel, x, scaleOrLength);
+		proxy.updateObject(findColumn(columnLabel), x, scaleOrLength);
 	}
 
 	@Override
 	public void updateObject(String columnLabel, Object x) throws SQLException {
-		proxy.updateObject(columnLabel, x);
+		proxy.updateObject(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -673,27 +747,27 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
-		return proxy.getObject(columnLabel, map);
+		return proxy.getObject(findColumn(columnLabel), map);
 	}
 
 	@Override
 	public Ref getRef(String columnLabel) throws SQLException {
-		return proxy.getRef(columnLabel);
+		return proxy.getRef(findColumn(columnLabel));
 	}
 
 	@Override
 	public Blob getBlob(String columnLabel) throws SQLException {
-		return proxy.getBlob(columnLabel);
+		return proxy.getBlob(findColumn(columnLabel));
 	}
 
 	@Override
 	public Clob getClob(String columnLabel) throws SQLException {
-		return proxy.getClob(columnLabel);
+		return proxy.getClob(findColumn(columnLabel));
 	}
 
 	@Override
 	public Array getArray(String columnLabel) throws SQLException {
-		return proxy.getArray(columnLabel);
+		return proxy.getArray(findColumn(columnLabel));
 	}
 
 	@Override
@@ -703,7 +777,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
-		return proxy.getDate(columnLabel, cal);
+		return proxy.getDate(findColumn(columnLabel), cal);
 	}
 
 	@Override
@@ -713,7 +787,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
-		return proxy.getTime(columnLabel, cal);
+		return proxy.getTime(findColumn(columnLabel), cal);
 	}
 
 	@Override
@@ -723,7 +797,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
-		return proxy.getTimestamp(columnLabel, cal);
+		return proxy.getTimestamp(findColumn(columnLabel), cal);
 	}
 
 	@Override
@@ -733,7 +807,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public URL getURL(String columnLabel) throws SQLException {
-		return proxy.getURL(columnLabel);
+		return proxy.getURL(findColumn(columnLabel));
 	}
 
 	@Override
@@ -743,7 +817,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateRef(String columnLabel, Ref x) throws SQLException {
-		proxy.updateRef(columnLabel, x);
+		proxy.updateRef(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -753,7 +827,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateBlob(String columnLabel, Blob x) throws SQLException {
-		proxy.updateBlob(columnLabel, x);
+		proxy.updateBlob(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -763,7 +837,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateClob(String columnLabel, Clob x) throws SQLException {
-		proxy.updateClob(columnLabel, x);
+		proxy.updateClob(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -773,7 +847,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateArray(String columnLabel, Array x) throws SQLException {
-		proxy.updateArray(columnLabel, x);
+		proxy.updateArray(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -783,7 +857,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public RowId getRowId(String columnLabel) throws SQLException {
-		return proxy.getRowId(columnLabel);
+		return proxy.getRowId(findColumn(columnLabel));
 	}
 
 	@Override
@@ -793,7 +867,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateRowId(String columnLabel, RowId x) throws SQLException {
-		proxy.updateRowId(columnLabel, x);
+		proxy.updateRowId(findColumn(columnLabel), x);
 	}
 
 	@Override
@@ -813,7 +887,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNString(String columnLabel, String nString) throws SQLException {
-		proxy.updateNString(columnLabel, nString);
+		proxy.updateNString(findColumn(columnLabel), nString);
 	}
 
 	@Override
@@ -823,7 +897,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
-		proxy.updateNClob(columnLabel, nClob);
+		proxy.updateNClob(findColumn(columnLabel), nClob);
 	}
 
 	@Override
@@ -833,7 +907,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public NClob getNClob(String columnLabel) throws SQLException {
-		return proxy.getNClob(columnLabel);
+		return proxy.getNClob(findColumn(columnLabel));
 	}
 
 	@Override
@@ -843,7 +917,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public SQLXML getSQLXML(String columnLabel) throws SQLException {
-		return proxy.getSQLXML(columnLabel);
+		return proxy.getSQLXML(findColumn(columnLabel));
 	}
 
 	@Override
@@ -853,7 +927,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
-		proxy.updateSQLXML(columnLabel, xmlObject);
+		proxy.updateSQLXML(findColumn(columnLabel), xmlObject);
 	}
 
 	@Override
@@ -863,7 +937,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public String getNString(String columnLabel) throws SQLException {
-		return proxy.getNString(columnLabel);
+		return proxy.getNString(findColumn(columnLabel));
 	}
 
 	@Override
@@ -873,7 +947,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Reader getNCharacterStream(String columnLabel) throws SQLException {
-		return proxy.getNCharacterStream(columnLabel);
+		return proxy.getNCharacterStream(findColumn(columnLabel));
 	}
 
 	@Override
@@ -883,7 +957,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-		proxy.updateNCharacterStream(columnLabel, reader, length);
+		proxy.updateNCharacterStream(findColumn(columnLabel), reader, length);
 	}
 
 	@Override
@@ -903,17 +977,17 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
-		proxy.updateAsciiStream(columnLabel, x, length);
+		proxy.updateAsciiStream(findColumn(columnLabel), x, length);
 	}
 
 	@Override
 	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
-		proxy.updateBinaryStream(columnLabel, x, length);
+		proxy.updateBinaryStream(findColumn(columnLabel), x, length);
 	}
 
 	@Override
 	public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-		proxy.updateCharacterStream(columnLabel, reader, length);
+		proxy.updateCharacterStream(findColumn(columnLabel), reader, length);
 	}
 
 	@Override
@@ -923,7 +997,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
-		proxy.updateBlob(columnLabel, inputStream, length);
+		proxy.updateBlob(findColumn(columnLabel), inputStream, length);
 	}
 
 	@Override
@@ -933,7 +1007,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
-		proxy.updateClob(columnLabel, reader, length);
+		proxy.updateClob(findColumn(columnLabel), reader, length);
 	}
 
 	@Override
@@ -943,7 +1017,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
-		proxy.updateNClob(columnLabel, reader, length);
+		proxy.updateNClob(findColumn(columnLabel), reader, length);
 	}
 
 	@Override
@@ -953,7 +1027,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
-		proxy.updateNCharacterStream(columnLabel, reader);
+		proxy.updateNCharacterStream(findColumn(columnLabel), reader);
 	}
 
 	@Override
@@ -974,17 +1048,17 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
-		proxy.updateAsciiStream(columnLabel, x);
+		proxy.updateAsciiStream(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
-		proxy.updateBinaryStream(columnLabel, x);
+		proxy.updateBinaryStream(findColumn(columnLabel), x);
 	}
 
 	@Override
 	public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
-		proxy.updateCharacterStream(columnLabel, reader);
+		proxy.updateCharacterStream(findColumn(columnLabel), reader);
 	}
 
 	@Override
@@ -994,7 +1068,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
-		proxy.updateBlob(columnLabel, inputStream);
+		proxy.updateBlob(findColumn(columnLabel), inputStream);
 	}
 
 	@Override
@@ -1004,7 +1078,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateClob(String columnLabel, Reader reader) throws SQLException {
-		proxy.updateClob(columnLabel, reader);
+		proxy.updateClob(findColumn(columnLabel), reader);
 	}
 
 	@Override
@@ -1014,7 +1088,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateNClob(String columnLabel, Reader reader) throws SQLException {
-		proxy.updateNClob(columnLabel, reader);
+		proxy.updateNClob(findColumn(columnLabel), reader);
 	}
 
 	@Override
@@ -1024,7 +1098,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-		return proxy.getObject(columnLabel, type);
+		return proxy.getObject(findColumn(columnLabel), type);
 	}
 
 	//
@@ -1083,12 +1157,13 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public CHAR getCHAR(int columnIndex) throws SQLException {
-		return new CHAR(getString(columnIndex), CharacterSet.make(CharacterSet.AL32UTF8_CHARSET));
+		final String value = getString(columnIndex);
+		return value == null ? null : new CHAR(value, OraForwardDatumCodec.AL32UTF8);
 	}
 
 	@Override
 	public CHAR getCHAR(String columnLabel) throws SQLException {
-		return new CHAR(getString(columnLabel), CharacterSet.make(CharacterSet.AL32UTF8_CHARSET));
+		return getCHAR(findColumn(columnLabel));
 	}
 
 	@Override
@@ -1125,46 +1200,69 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public DATE getDATE(int columnIndex) throws SQLException {
-		return new DATE(getDate(columnIndex));
+		final LocalDateTime value = getLocalDateTime(columnIndex);
+		return value == null ? null : new DATE(OraForwardDatumCodec.date(value));
 	}
 
 	@Override
 	public DATE getDATE(String columnLabel) throws SQLException {
-		return new DATE(getDate(columnLabel));
+		return getDATE(findColumn(columnLabel));
 	}
 
 	@Override
 	public INTERVALDS getINTERVALDS(int columnIndex) throws SQLException {
-		//TODO
-		return null;
+		if (dbType() == OraForwardUtils.POSTGRESQL) {
+			return OraForwardPgUtils.intervalDS(proxy.getObject(columnIndex));
+		} else {
+			// OraRedirectUtils.MARIADB
+			final String value = proxy.getString(columnIndex);
+			return value == null ? null : new INTERVALDS(OraForwardDatumCodec.intervalDS(value));
+		}
 	}
 
 	@Override
 	public INTERVALDS getINTERVALDS(String columnLabel) throws SQLException {
-		//TODO
-		return null;
+		return getINTERVALDS(findColumn(columnLabel));
 	}
 
 	@Override
 	public INTERVALYM getINTERVALYM(int columnIndex) throws SQLException {
-		//TODO
-		return null;
+		if (dbType() == OraForwardUtils.POSTGRESQL) {
+			return OraForwardPgUtils.intervalYM(proxy.getObject(columnIndex));
+		} else {
+			// OraRedirectUtils.MARIADB
+			final String value = proxy.getString(columnIndex);
+			return value == null ? null : new INTERVALYM(OraForwardDatumCodec.intervalYM(value));
+		}
 	}
 
 	@Override
 	public INTERVALYM getINTERVALYM(String columnLabel) throws SQLException {
-		//TODO
-		return null;
+		return getINTERVALYM(findColumn(columnLabel));
 	}
 
 	@Override
 	public NUMBER getNUMBER(int columnIndex) throws SQLException {
-		return new NUMBER(getBigDecimal(columnIndex));
+		switch (columnType(columnIndex)) {
+		case Types.TINYINT:
+		case Types.SMALLINT:
+		case Types.INTEGER:
+		case Types.BIGINT:
+			final long value = proxy.getLong(columnIndex);
+			if (proxy.wasNull()) {
+				return null;
+			}
+			final byte[] bytes = OraForwardDatumCodec.number(value, 0);
+			return new NUMBER(bytes != null ? bytes : NUMBER.toBytes(BigDecimal.valueOf(value)));
+		default:
+			final BigDecimal decimal = proxy.getBigDecimal(columnIndex);
+			return decimal == null ? null : new NUMBER(OraForwardDatumCodec.number(decimal));
+		}
 	}
 
 	@Override
 	public NUMBER getNUMBER(String columnLabel) throws SQLException {
-		return new NUMBER(getBigDecimal(columnLabel));
+		return getNUMBER(findColumn(columnLabel));
 	}
 
 	@Override
@@ -1199,22 +1297,23 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public Datum getOracleObject(int columnIndex) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getOracleObject");
+		return (Datum) plan().datum(columnIndex).get(this, columnIndex);
 	}
 
 	@Override
 	public Datum getOracleObject(String columnLabel) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getOracleObject");
+		return getOracleObject(findColumn(columnLabel));
 	}
 
 	@Override
 	public RAW getRAW(int columnIndex) throws SQLException {
-		return new RAW(getBytes(columnIndex));
+		final byte[] value = getBytes(columnIndex);
+		return value == null ? null : new RAW(value);
 	}
 
 	@Override
 	public RAW getRAW(String columnLabel) throws SQLException {
-		return new RAW(getBytes(columnLabel));
+		return getRAW(findColumn(columnLabel));
 	}
 
 	@Override
@@ -1249,62 +1348,52 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public TIMESTAMP getTIMESTAMP(int columnIndex) throws SQLException {
-		return new TIMESTAMP(getTimestamp(columnIndex));
+		final LocalDateTime value = getLocalDateTime(columnIndex);
+		return value == null ? null : new TIMESTAMP(OraForwardDatumCodec.timestamp(value));
 	}
 
 	@Override
 	public TIMESTAMP getTIMESTAMP(String columnLabel) throws SQLException {
-		return new TIMESTAMP(getTimestamp(columnLabel));
+		return getTIMESTAMP(findColumn(columnLabel));
 	}
 
 	@Override
 	public TIMESTAMPLTZ getTIMESTAMPLTZ(int columnIndex) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO We need server timezone here........
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPLTZ");
+		if (columnType(columnIndex) == Types.TIMESTAMP_WITH_TIMEZONE) {
+			final OffsetDateTime value = proxy.getObject(columnIndex, OffsetDateTime.class);
+			return value == null ? null : new TIMESTAMPLTZ(
+					OraForwardDatumCodec.timestampLTZ(value.toEpochSecond(), value.getNano()));
+		} else {
+			// Backend date and time without time zone is in session time zone
+			final LocalDateTime value = getLocalDateTime(columnIndex);
+			return value == null ? null : new TIMESTAMPLTZ(OraForwardDatumCodec.timestampLTZ(
+					OraForwardDatumCodec.epochSecond(value, sessionTimeZone()), value.getNano()));
+		}
 	}
 
 	@Override
 	public TIMESTAMPLTZ getTIMESTAMPLTZ(String columnLabel) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO We need server timezone here........
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPLTZ");
+		return getTIMESTAMPLTZ(findColumn(columnLabel));
 	}
 
 	@Override
 	public TIMESTAMPTZ getTIMESTAMPTZ(int columnIndex) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO More work here is required........
-		//TODO For PostgreSQL we can read java.time.OffsetDateTime.class
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPTZ");
+		final ZoneId zone = sessionTimeZone();
+		if (columnType(columnIndex) == Types.TIMESTAMP_WITH_TIMEZONE) {
+			// Backend returns instant, Oracle returns it in session time zone
+			final OffsetDateTime value = proxy.getObject(columnIndex, OffsetDateTime.class);
+			return value == null ? null : new TIMESTAMPTZ(
+					OraForwardDatumCodec.timestampTZ(value.toEpochSecond(), value.getNano(), zone));
+		} else {
+			final LocalDateTime value = getLocalDateTime(columnIndex);
+			return value == null ? null : new TIMESTAMPTZ(OraForwardDatumCodec.timestampTZ(
+					OraForwardDatumCodec.epochSecond(value, zone), value.getNano(), zone));
+		}
 	}
 
 	@Override
 	public TIMESTAMPTZ getTIMESTAMPTZ(String columnLabel) throws SQLException {
-		//TODO
-		//TODO
-		//TODO
-		//TODO More work here is required........
-		//TODO For PostgreSQL we can read java.time.OffsetDateTime.class
-		//TODO
-		//TODO
-		//TODO
-		throw OraForwardUtils.sqlFeatureNotSupportedException("getTIMESTAMPTZ");
+		return getTIMESTAMPTZ(findColumn(columnLabel));
 	}
 
 	@Override
@@ -1354,7 +1443,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateCHAR(String columnLabel, CHAR x) throws SQLException {
-		proxy.updateString(columnLabel, x.stringValue());
+		proxy.updateString(findColumn(columnLabel), x.stringValue());
 	}
 
 	@Override
@@ -1462,7 +1551,7 @@ public class OraForwardResultSet extends OraForwardWrapper implements OracleResu
 
 	@Override
 	public void updateRAW(String columnLabel, RAW x) throws SQLException {
-		proxy.updateBytes(columnLabel, x.getBytes());
+		proxy.updateBytes(findColumn(columnLabel), x.getBytes());
 	}
 
 	@Override
@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ *
+ * Copy of backend ResultSetMetaData. Column labels and types are copied once per parsed
+ * statement, i.e. per translated SQL statement, and are shared by all statements and
+ * connections to the same backend URL as the same user while backend returns the same
+ * column labels and types, e.g. after DDL or change of search_path they are copied again. Other attributes, which backend may read
+ * from catalog, are copied from backend metadata when they are requested first time.
+ * Parsed statements are dropped with mapping snapshot when mapping is reloaded, and
+ * metadata is copied again from the next result set
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardResultSetMetaData implements ResultSetMetaData {
+
+	private final Column[] columns;
+	/** Backend metadata which fills column details on first use, null when details are copied */
+	private final ResultSetMetaData backend;
+	/** Backend URL and user of shared copy, column details are read from this database */
+	private final String source;
+
+	private OraForwardResultSetMetaData(final Column[] columns, final ResultSetMetaData backend,
+			final String source) {
+		this.columns = columns;
+		this.backend = backend;
+		this.source = source;
+	}
+
+	private OraForwardResultSetMetaData(final String... labels) {
+		columns = new Column[labels.length];
+		for (int column = 0; column < labels.length; column++) {
+			columns[column] = new Column(labels[column]);
+		}
+		backend = null;
+		source = null;
+	}
+
+	/**
+	 * Returns copy of metadata with all column attributes
+	 *
+	 * @param metaData backend metadata
+	 * @return copy of metadata
+	 * @throws SQLException
+	 */
+	static OraForwardResultSetMetaData copy(final ResultSetMetaData metaData) throws SQLException {
+		final Column[] columns = columns(metaData);
+		for (int column = 1; column <= columns.length; column++) {
+			columns[column - 1].details = new Details(metaData, column);
+		}
+		return new OraForwardResultSetMetaData(columns, null, null);
+	}
+
+	/**
+	 * Returns metadata of result set with nullable VARCHAR columns
+	 *
+	 * @param labels column labels
+	 * @return metadata
+	 */
+	static OraForwardResultSetMetaData varchar(final String... labels) {
+		return new OraForwardResultSetMetaData(labels);
+	}
+
+	/**
+	 * Returns metadata of result set
+	 *
+	 * @param resultSet backend result set
+	 * @param parsed    parsed statement or null if result set is not a query result
+	 * @param source    backend URL and user of connection
+	 * @return metadata with shared columns, or backend metadata when it can not be copied
+	 * @throws SQLException
+	 */
+	static ResultSetMetaData of(final ResultSet resultSet, final OraForwardParsedStatement parsed,
+			final String source) throws SQLException {
+		if (parsed == null) {
+			return resultSet.getMetaData();
+		}
+		return share(resultSet.getMetaData(), parsed, source);
+	}
+
+	/**
+	 * Returns metadata of result set which prepared statement returns. Metadata of current
+	 * result set is used when statement has one, backend may describe statement otherwise
+	 *
+	 * @param statement backend prepared statement
+	 * @param parsed    parsed statement
+	 * @param source    backend URL and user of connection
+	 * @return metadata with shared columns, backend metadata when it can not be copied, or null
+	 * @throws SQLException
+	 */
+	static ResultSetMetaData of(final PreparedStatement statement, final OraForwardParsedStatement parsed,
+			final String source) throws SQLException {
+		final ResultSet resultSet = statement.getResultSet();
+		return share(resultSet != null ? resultSet.getMetaData() : statement.getMetaData(), parsed, source);
+	}
+
+	private static ResultSetMetaData share(final ResultSetMetaData metaData,
+			final OraForwardParsedStatement parsed, final String source) {
+		if (metaData == null) {
+			return null;
+		}
+		try {
+			final OraForwardResultSetMetaData cached = parsed.resultSetMetaData();
+			if (cached != null && Objects.equals(cached.source, source) && cached.matches(metaData)) {
+				return new OraForwardResultSetMetaData(cached.columns, metaData, null);
+			}
+			final Column[] columns = columns(metaData);
+			// Shared copy does not keep backend metadata and connection of backend
+			parsed.resultSetMetaData(new OraForwardResultSetMetaData(columns, null, source));
+			return new OraForwardResultSetMetaData(columns, metaData, null);
+		} catch (SQLException sqle) {
+			// Backend does not support some of metadata calls, they are passed to backend
+			return metaData;
+		}
+	}
+
+	private static Column[] columns(final ResultSetMetaData metaData) throws SQLException {
+		final Column[] columns = new Column[metaData.getColumnCount()];
+		for (int column = 1; column <= columns.length; column++) {
+			columns[column - 1] = new Column(metaData, column);
+		}
+		return columns;
+	}
+
+	/**
+	 * Checks that columns were copied from metadata with the same column labels and types
+	 */
+	private boolean matches(final ResultSetMetaData metaData) throws SQLException {
+		if (metaData.getColumnCount() != columns.length) {
+			return false;
+		}
+		for (int column = 1; column <= columns.length; column++) {
+			final Column copied = columns[column - 1];
+			if (copied.type != metaData.getColumnType(column) ||
+					!Objects.equals(copied.label, metaData.getColumnLabel(column)) ||
+					!Objects.equals(copied.typeName, metaData.getColumnTypeName(column))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Details details(final int column) throws SQLException {
+		final Column copied = column(column);
+		Details details = copied.details;
+		if (details == null) {
+			details = new Details(backend, column);
+			copied.details = details;
+		}
+		return details;
+	}
+
+	private Column column(final int column) throws SQLException {
+		if (column < 1 || column > columns.length) {
+			throw new SQLException(String.format("Invalid column index %d!", column));
+		}
+		return columns[column - 1];
+	}
+
+	@Override
+	public int getColumnCount() throws SQLException {
+		return columns.length;
+	}
+
+	@Override
+	public boolean isAutoIncrement(int column) throws SQLException {
+		return details(column).autoIncrement;
+	}
+
+	@Override
+	public boolean isCaseSensitive(int column) throws SQLException {
+		return details(column).caseSensitive;
+	}
+
+	@Override
+	public boolean isSearchable(int column) throws SQLException {
+		return details(column).searchable;
+	}
+
+	@Override
+	public boolean isCurrency(int column) throws SQLException {
+		return details(column).currency;
+	}
+
+	@Override
+	public int isNullable(int column) throws SQLException {
+		return details(column).nullable;
+	}
+
+	@Override
+	public boolean isSigned(int column) throws SQLException {
+		return details(column).signed;
+	}
+
+	@Override
+	public int getColumnDisplaySize(int column) throws SQLException {
+		return details(column).displaySize;
+	}
+
+	@Override
+	public String getColumnLabel(int column) throws SQLException {
+		return column(column).label;
+	}
+
+	@Override
+	public String getColumnName(int column) throws SQLException {
+		return details(column).name;
+	}
+
+	@Override
+	public String getSchemaName(int column) throws SQLException {
+		return details(column).schemaName;
+	}
+
+	@Override
+	public int getPrecision(int column) throws SQLException {
+		return details(column).precision;
+	}
+
+	@Override
+	public int getScale(int column) throws SQLException {
+		return details(column).scale;
+	}
+
+	@Override
+	public String getTableName(int column) throws SQLException {
+		return details(column).tableName;
+	}
+
+	@Override
+	public String getCatalogName(int column) throws SQLException {
+		return details(column).catalogName;
+	}
+
+	@Override
+	public int getColumnType(int column) throws SQLException {
+		return column(column).type;
+	}
+
+	@Override
+	public String getColumnTypeName(int column) throws SQLException {
+		return column(column).typeName;
+	}
+
+	@Override
+	public boolean isReadOnly(int column) throws SQLException {
+		return details(column).readOnly;
+	}
+
+	@Override
+	public boolean isWritable(int column) throws SQLException {
+		return details(column).writable;
+	}
+
+	@Override
+	public boolean isDefinitelyWritable(int column) throws SQLException {
+		return details(column).definitelyWritable;
+	}
+
+	@Override
+	public String getColumnClassName(int column) throws SQLException {
+		return details(column).className;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return iface.cast(this);
+		} else {
+			throw new SQLException("Unable to unwrap " + iface.getName());
+		}
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this);
+	}
+
+	private static final class Column {
+		private final String label;
+		private final int type;
+		private final String typeName;
+		private volatile Details details;
+
+		Column(final ResultSetMetaData metaData, final int column) throws SQLException {
+			label = metaData.getColumnLabel(column);
+			type = metaData.getColumnType(column);
+			typeName = metaData.getColumnTypeName(column);
+		}
+
+		Column(final String label) {
+			this.label = label;
+			type = Types.VARCHAR;
+			typeName = "VARCHAR";
+			details = new Details(label);
+		}
+	}
+
+	private static final class Details {
+		private final boolean autoIncrement;
+		private final boolean caseSensitive;
+		private final boolean searchable;
+		private final boolean currency;
+		private final int nullable;
+		private final boolean signed;
+		private final int displaySize;
+		private final String name;
+		private final String schemaName;
+		private final int precision;
+		private final int scale;
+		private final String tableName;
+		private final String catalogName;
+		private final boolean readOnly;
+		private final boolean writable;
+		private final boolean definitelyWritable;
+		private final String className;
+
+		Details(final ResultSetMetaData metaData, final int column) throws SQLException {
+			autoIncrement = metaData.isAutoIncrement(column);
+			caseSensitive = metaData.isCaseSensitive(column);
+			searchable = metaData.isSearchable(column);
+			currency = metaData.isCurrency(column);
+			nullable = metaData.isNullable(column);
+			signed = metaData.isSigned(column);
+			displaySize = metaData.getColumnDisplaySize(column);
+			name = metaData.getColumnName(column);
+			schemaName = metaData.getSchemaName(column);
+			precision = metaData.getPrecision(column);
+			scale = metaData.getScale(column);
+			tableName = metaData.getTableName(column);
+			catalogName = metaData.getCatalogName(column);
+			readOnly = metaData.isReadOnly(column);
+			writable = metaData.isWritable(column);
+			definitelyWritable = metaData.isDefinitelyWritable(column);
+			className = metaData.getColumnClassName(column);
+		}
+
+		Details(final String label) {
+			autoIncrement = false;
+			caseSensitive = true;
+			searchable = true;
+			currency = false;
+			nullable = columnNullable;
+			signed = false;
+			displaySize = Integer.MAX_VALUE;
+			name = label;
+			schemaName = "";
+			precision = 0;
+			scale = 0;
+			tableName = "";
+			catalogName = "";
+			readOnly = true;
+			writable = false;
+			definitelyWritable = false;
+			className = String.class.getName();
+		}
+	}
+
+}
@@ -0,0 +1,536 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ *
+ * Rows of scrollable result set. Recently read or added rows are kept decoded in
+ * a window of fixed size, row which falls out of the window is encoded once to
+ * temporary file which is memory-mapped in segments. Rows are read back by offset,
+ * so access to any row already read from database takes one lookup and decoding
+ * of one row. Memory footprint is the window and 8 bytes per row. Row with value
+ * which can not be encoded, e.g. array or SQLXML of backend driver, is kept in memory
+ * as it was read, so getters return the same objects as backend result set.
+ * <pre>
+ * Row format, for each column tag byte followed by value:
+ * NULL, TRUE, FALSE                     -
+ * STRING, BYTES                         length varint, bytes (UTF-8 for string)
+ * LONG                                  zigzag varint
+ * BIG_DECIMAL                           scale zigzag varint, length varint, unscaled value bytes
+ * DOUBLE, FLOAT                         8 or 4 bytes
+ * LOCAL_DATE                            epoch day zigzag varint
+ * LOCAL_TIME                            nano of day varint
+ * LOCAL_DATE_TIME                       epoch second zigzag varint, nano varint
+ * OFFSET_DATE_TIME                      epoch second zigzag varint, nano varint, offset seconds zigzag varint
+ * SERIALIZED                            length varint, Java serialization of value
+ * </pre>
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardRowStore {
+
+	private static final Logger LOGGER = Logger.getLogger(OraForwardRowStore.class.getName());
+	private static final int SEGMENT_SIZE = 0x1000000;
+	private static final long NOT_SPILLED = -1;
+
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte STRING = 3;
+	private static final byte BYTES = 4;
+	private static final byte LONG = 5;
+	private static final byte BIG_DECIMAL = 6;
+	private static final byte DOUBLE = 7;
+	private static final byte FLOAT = 8;
+	private static final byte LOCAL_DATE = 9;
+	private static final byte LOCAL_TIME = 10;
+	private static final byte LOCAL_DATE_TIME = 11;
+	private static final byte OFFSET_DATE_TIME = 12;
+	private static final byte SERIALIZED = 13;
+
+	private final int columnCount;
+	private final Object[][] window;
+	private final int[] windowRows;
+	/**
+	 * Segment index in upper 32 bits and position in segment in lower 32 bits, NOT_SPILLED,
+	 * or NOT_SPILLED - 1 - index of row in pinned
+	 */
+	private long[] offsets = new long[256];
+	private int rowCount;
+	/** Rows which can not be encoded, null until first such row falls out of the window */
+	private List<Object[]> pinned;
+
+	/** Directory of temporary file, null for java.io.tmpdir */
+	private final Path spillDir;
+	/** Temporary file, null until first row is spilled */
+	private Spill spill;
+	private MappedByteBuffer segment;
+	private long fileSize;
+	private byte[] buffer = new byte[256];
+	private int length;
+
+	/**
+	 * Creates row store
+	 *
+	 * @param columnCount number of columns
+	 * @param windowRows  number of decoded rows kept in memory
+	 * @param spillDir    directory of temporary file, null for java.io.tmpdir
+	 */
+	OraForwardRowStore(final int columnCount, final int windowRows, final Path spillDir) {
+		this.columnCount = columnCount;
+		this.spillDir = spillDir;
+		this.window = new Object[Math.max(windowRows, 1)][];
+		this.windowRows = new int[window.length];
+		Arrays.fill(this.windowRows, -1);
+	}
+
+	/**
+	 * Returns number of rows
+	 *
+	 * @return number of rows
+	 */
+	int size() {
+		return rowCount;
+	}
+
+	/**
+	 * Appends row. Row with values other than null, String, byte[], Boolean, Long, BigDecimal,
+	 * Double, Float, LocalDate, LocalTime, LocalDateTime, OffsetDateTime or Serializable
+	 * is never written to temporary file
+	 *
+	 * @param values column values, array is kept by store and must not be modified
+	 * @throws SQLException
+	 */
+	void add(final Object[] values) throws SQLException {
+		if (rowCount == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length << 1);
+		}
+		offsets[rowCount] = NOT_SPILLED;
+		place(rowCount++, values);
+	}
+
+	/**
+	 * Returns row
+	 *
+	 * @param row row index starting from 0
+	 * @return column values, array must not be modified
+	 * @throws SQLException
+	 */
+	Object[] get(final int row) throws SQLException {
+		final int slot = row % window.length;
+		if (windowRows[slot] == row) {
+			return window[slot];
+		}
+		final long offset = offsets[row];
+		final Object[] values = offset < NOT_SPILLED ? pinned.get((int) (NOT_SPILLED - 1 - offset)) : read(offset);
+		place(row, values);
+		return values;
+	}
+
+	private void place(final int row, final Object[] values) throws SQLException {
+		final int slot = row % window.length;
+		final int evicted = windowRows[slot];
+		if (evicted >= 0 && offsets[evicted] == NOT_SPILLED) {
+			offsets[evicted] = write(window[slot]);
+		}
+		windowRows[slot] = row;
+		window[slot] = values;
+	}
+
+	/**
+	 * Unmaps and deletes temporary file. When row store is not closed, temporary file
+	 * is released after row store is garbage collected
+	 */
+	void close() {
+		Arrays.fill(window, null);
+		pinned = null;
+		segment = null;
+		if (spill != null) {
+			spill.release();
+			spill = null;
+		}
+	}
+
+	private long write(final Object[] values) throws SQLException {
+		length = 0;
+		for (final Object value : values) {
+			if (!encode(value)) {
+				return pin(values);
+			}
+		}
+		try {
+			if (segment == null || segment.remaining() < length) {
+				if (spill == null) {
+					spill = Spill.create(this);
+				}
+				final int size = Math.max(SEGMENT_SIZE, length);
+				segment = spill.channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size);
+				fileSize += size;
+				spill.segments.add(segment);
+			}
+		} catch (IOException ioe) {
+			throw new SQLException("Unable to spill rows of scrollable result set to temporary file!", ioe);
+		}
+		final long offset = ((long) (spill.segments.size() - 1) << 32) | segment.position();
+		segment.put(buffer, 0, length);
+		return offset;
+	}
+
+	private long pin(final Object[] values) {
+		if (pinned == null) {
+			pinned = new ArrayList<>();
+		}
+		pinned.add(values);
+		return NOT_SPILLED - pinned.size();
+	}
+
+	private Object[] read(final long offset) throws SQLException {
+		// Methods of ByteBuffer and Buffer, covariant overrides of Java 9 and above are not available on Java 8
+		final ByteBuffer row = ((ByteBuffer) spill.segments.get((int) (offset >>> 32))).duplicate();
+		((Buffer) row).position((int) offset);
+		final Object[] values = new Object[columnCount];
+		for (int column = 0; column < columnCount; column++) {
+			values[column] = decode(row);
+		}
+		return values;
+	}
+
+	/**
+	 * Appends encoded value to buffer
+	 *
+	 * @return false when value can not be encoded
+	 */
+	private boolean encode(final Object value) {
+		if (value == null) {
+			putByte(NULL);
+		} else if (value instanceof String) {
+			putByte(STRING);
+			putBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+		} else if (value instanceof byte[]) {
+			putByte(BYTES);
+			putBytes((byte[]) value);
+		} else if (value instanceof Boolean) {
+			putByte((Boolean) value ? TRUE : FALSE);
+		} else if (value instanceof Long) {
+			putByte(LONG);
+			putZigZag((Long) value);
+		} else if (value instanceof BigDecimal) {
+			final BigDecimal decimal = (BigDecimal) value;
+			putByte(BIG_DECIMAL);
+			putZigZag(decimal.scale());
+			putBytes(decimal.unscaledValue().toByteArray());
+		} else if (value instanceof Double) {
+			putByte(DOUBLE);
+			putFixed(Double.doubleToRawLongBits((Double) value), Long.BYTES);
+		} else if (value instanceof Float) {
+			putByte(FLOAT);
+			putFixed(Float.floatToRawIntBits((Float) value), Integer.BYTES);
+		} else if (value instanceof LocalDate) {
+			putByte(LOCAL_DATE);
+			putZigZag(((LocalDate) value).toEpochDay());
+		} else if (value instanceof LocalTime) {
+			putByte(LOCAL_TIME);
+			putVarLong(((LocalTime) value).toNanoOfDay());
+		} else if (value instanceof LocalDateTime) {
+			final LocalDateTime dateTime = (LocalDateTime) value;
+			putByte(LOCAL_DATE_TIME);
+			putZigZag(dateTime.toEpochSecond(ZoneOffset.UTC));
+			putVarLong(dateTime.getNano());
+		} else if (value instanceof OffsetDateTime) {
+			final OffsetDateTime dateTime = (OffsetDateTime) value;
+			putByte(OFFSET_DATE_TIME);
+			putZigZag(dateTime.toEpochSecond());
+			putVarLong(dateTime.getNano());
+			putZigZag(dateTime.getOffset().getTotalSeconds());
+		} else if (value instanceof Serializable) {
+			final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+				oos.writeObject(value);
+			} catch (IOException ioe) {
+				// Serializable class with field which is not serializable
+				return false;
+			}
+			putByte(SERIALIZED);
+			putBytes(baos.toByteArray());
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private static Object decode(final ByteBuffer row) throws SQLException {
+		final byte tag = row.get();
+		switch (tag) {
+		case NULL:
+			return null;
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		case STRING:
+			return new String(getBytes(row), StandardCharsets.UTF_8);
+		case BYTES:
+			return getBytes(row);
+		case LONG:
+			return getZigZag(row);
+		case BIG_DECIMAL:
+			final int scale = (int) getZigZag(row);
+			return new BigDecimal(new BigInteger(getBytes(row)), scale);
+		case DOUBLE:
+			return row.getDouble();
+		case FLOAT:
+			return row.getFloat();
+		case LOCAL_DATE:
+			return LocalDate.ofEpochDay(getZigZag(row));
+		case LOCAL_TIME:
+			return LocalTime.ofNanoOfDay(getVarLong(row));
+		case LOCAL_DATE_TIME:
+			final long epochSecond = getZigZag(row);
+			return LocalDateTime.ofEpochSecond(epochSecond, (int) getVarLong(row), ZoneOffset.UTC);
+		case OFFSET_DATE_TIME:
+			final long instantSecond = getZigZag(row);
+			final int nanos = (int) getVarLong(row);
+			final ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) getZigZag(row));
+			return OffsetDateTime.of(LocalDateTime.ofEpochSecond(instantSecond, nanos, offset), offset);
+		case SERIALIZED:
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(getBytes(row)))) {
+				return ois.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				throw new SQLException("Unable to read spilled value!", e);
+			}
+		default:
+			throw new SQLException(String.format("Unknown tag %d of spilled value!", tag));
+		}
+	}
+
+	private void ensure(final int size) {
+		if (length + size > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, length + size));
+		}
+	}
+
+	private void putByte(final byte value) {
+		ensure(1);
+		buffer[length++] = value;
+	}
+
+	private void putBytes(final byte[] value) {
+		putVarLong(value.length);
+		ensure(value.length);
+		System.arraycopy(value, 0, buffer, length, value.length);
+		length += value.length;
+	}
+
+	private void putFixed(final long value, final int size) {
+		ensure(size);
+		// Big-endian, as ByteBuffer reads it
+		for (int shift = (size - 1) << 3; shift >= 0; shift -= 8) {
+			buffer[length++] = (byte) (value >>> shift);
+		}
+	}
+
+	private void putZigZag(final long value) {
+		putVarLong((value << 1) ^ (value >> 63));
+	}
+
+	private void putVarLong(long value) {
+		ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[length++] = (byte) value;
+	}
+
+	private static byte[] getBytes(final ByteBuffer row) {
+		final byte[] value = new byte[(int) getVarLong(row)];
+		row.get(value);
+		return value;
+	}
+
+	private static long getZigZag(final ByteBuffer row) {
+		final long value = getVarLong(row);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static long getVarLong(final ByteBuffer row) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = row.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		return value;
+	}
+
+
+	/**
+	 * Temporary file and its mapped segments. Spill is phantom reference to row store,
+	 * so temporary file of row store which is not closed is released by cleaner thread
+	 * after row store is garbage collected
+	 */
+	private static final class Spill extends PhantomReference<OraForwardRowStore> {
+
+		private static final String PREFIX = "a2-scroll-";
+		private static final String SUFFIX = ".tmp";
+		private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY =
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+		private static final ReferenceQueue<OraForwardRowStore> COLLECTED = new ReferenceQueue<>();
+		/** Spills which are not released, reference must be reachable until it is enqueued */
+		private static final Set<Spill> OPEN = ConcurrentHashMap.newKeySet();
+		private static Thread cleaner;
+
+		private final File file;
+		private final RandomAccessFile randomAccessFile;
+		private final FileChannel channel;
+		private final List<MappedByteBuffer> segments = new ArrayList<>();
+		private boolean released;
+
+		private Spill(final OraForwardRowStore store, final File file) throws IOException {
+			super(store, COLLECTED);
+			this.file = file;
+			this.randomAccessFile = new RandomAccessFile(file, "rw");
+			this.channel = randomAccessFile.getChannel();
+		}
+
+		static Spill create(final OraForwardRowStore store) throws IOException {
+			final File file = createTempFile(store.spillDir).toFile();
+			final Spill spill;
+			try {
+				spill = new Spill(store, file);
+			} catch (IOException ioe) {
+				if (!file.delete()) {
+					file.deleteOnExit();
+				}
+				throw ioe;
+			}
+			synchronized (Spill.class) {
+				OPEN.add(spill);
+				if (cleaner == null) {
+					cleaner = new Thread(Spill::releaseCollected, "a2-scroll-cleaner");
+					cleaner.setDaemon(true);
+					cleaner.setContextClassLoader(null);
+					cleaner.start();
+				}
+			}
+			return spill;
+		}
+
+		/**
+		 * Creates temporary file which is readable and writable only by owner, rows are
+		 * written to it in plain form
+		 */
+		private static Path createTempFile(final Path dir) throws IOException {
+			final FileAttribute<?>[] attributes =
+					FileSystems.getDefault().supportedFileAttributeViews().contains("posix") ?
+							new FileAttribute<?>[] {OWNER_ONLY} : new FileAttribute<?>[0];
+			if (dir == null) {
+				return Files.createTempFile(PREFIX, SUFFIX, attributes);
+			} else {
+				return Files.createTempFile(dir, PREFIX, SUFFIX, attributes);
+			}
+		}
+
+		/**
+		 * Unmaps segments, closes and deletes temporary file
+		 */
+		synchronized void release() {
+			if (released) {
+				return;
+			}
+			released = true;
+			clear();
+			OPEN.remove(this);
+			for (final MappedByteBuffer mapped : segments) {
+				OraForwardUtils.unmap(mapped);
+			}
+			segments.clear();
+			try {
+				randomAccessFile.close();
+			} catch (IOException ioe) {
+				LOGGER.log(Level.WARNING, "Unable to close temporary file " + file + "!", ioe);
+			}
+			if (!file.delete()) {
+				file.deleteOnExit();
+			}
+		}
+
+		/**
+		 * Releases spills of garbage collected row stores, thread ends when all spills are released
+		 */
+		private static void releaseCollected() {
+			while (true) {
+				boolean interrupted = false;
+				try {
+					final Spill spill = (Spill) COLLECTED.remove(60_000L);
+					if (spill != null) {
+						LOGGER.log(Level.FINE, "Scrollable result set is not closed, temporary file {0} is deleted",
+								spill.file);
+						spill.release();
+						continue;
+					}
+				} catch (InterruptedException ie) {
+					// Thread is started again by the next spill
+					interrupted = true;
+				}
+				synchronized (Spill.class) {
+					if (interrupted || OPEN.isEmpty()) {
+						cleaner = null;
+						return;
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,616 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Calendar;
+
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+/**
+ *
+ * Scroll insensitive read only result set over forward only backend result set.
+ * Backend rows are read only when cursor moves past the last row read, and are kept
+ * in {@link OraForwardRowStore}, so backend driver does not load the whole result
+ * set into memory and backend statement can fetch rows with cursor
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardScrollCursor implements InvocationHandler {
+
+	private static final DateTimeFormatter TIMESTAMP_TEXT = new DateTimeFormatterBuilder()
+			.appendPattern("uuuu-MM-dd HH:mm:ss")
+			.appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+			.toFormatter();
+	private static final DateTimeFormatter TIMESTAMPTZ_TEXT = new DateTimeFormatterBuilder()
+			.append(TIMESTAMP_TEXT)
+			.appendOffset("+HH:mm", "+00")
+			.toFormatter();
+
+	private final ResultSet backend;
+	private final int resultSetType;
+	/** java.sql.Types of columns, from column plan */
+	private final int[] types;
+	private final OraForwardRowStore rows;
+	private boolean exhausted;
+	/** Current row starting from 1, 0 is before first row, rows.size() + 1 is after last row */
+	private int position;
+	private Object[] current;
+	private boolean wasNull;
+	private boolean closed;
+	private int fetchDirection = ResultSet.FETCH_FORWARD;
+
+	private OraForwardScrollCursor(final ResultSet backend, final int resultSetType,
+			final int[] types, final int windowRows, final Path spillDir) {
+		this.backend = backend;
+		this.resultSetType = resultSetType;
+		this.types = types;
+		this.rows = new OraForwardRowStore(types.length, windowRows, spillDir);
+	}
+
+	/**
+	 * Wraps forward only backend result set
+	 *
+	 * @param backend       backend result set
+	 * @param resultSetType type of result set requested by application
+	 * @param plan          column plan of result set
+	 * @param windowRows    number of decoded rows kept in memory
+	 * @param spillDir      directory of temporary file, null for java.io.tmpdir
+	 * @return scrollable result set
+	 * @throws SQLException
+	 */
+	static ResultSet wrap(final ResultSet backend, final int resultSetType,
+			final OraForwardColumnPlan plan, final int windowRows, final Path spillDir) throws SQLException {
+		final int[] types = new int[backend.getMetaData().getColumnCount()];
+		for (int column = 0; column < types.length; column++) {
+			types[column] = plan.type(column + 1);
+		}
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardScrollCursor.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				new OraForwardScrollCursor(backend, resultSetType, types, windowRows, spillDir));
+	}
+
+	/**
+	 * Reads rest of backend result set of emulated scrollable result set into row store,
+	 * so backend cursor is no longer used
+	 *
+	 * @param resultSet result set
+	 * @return true if result set was returned by {@link #wrap}
+	 * @throws SQLException
+	 */
+	static boolean detach(final ResultSet resultSet) throws SQLException {
+		if (Proxy.isProxyClass(resultSet.getClass()) &&
+				Proxy.getInvocationHandler(resultSet) instanceof OraForwardScrollCursor) {
+			((OraForwardScrollCursor) Proxy.getInvocationHandler(resultSet)).fetchAll();
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		final String name = method.getName();
+		if (method.getDeclaringClass() == Object.class) {
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return "OraForwardScrollCursor@" + Integer.toHexString(System.identityHashCode(proxy));
+			}
+		}
+		switch (name) {
+		case "close":
+			if (!closed) {
+				closed = true;
+				current = null;
+				rows.close();
+				backend.close();
+			}
+			return null;
+		case "isClosed":
+			return closed;
+		case "getType":
+			return resultSetType;
+		case "getConcurrency":
+			return ResultSet.CONCUR_READ_ONLY;
+		case "getFetchDirection":
+			return fetchDirection;
+		case "setFetchDirection":
+			fetchDirection = (Integer) args[0];
+			return null;
+		case "refreshRow":
+			// Scroll insensitive
+			return null;
+		case "rowUpdated":
+		case "rowInserted":
+		case "rowDeleted":
+			return false;
+		case "wasNull":
+			return wasNull;
+		case "unwrap":
+			if (((Class<?>) args[0]).isInstance(proxy)) {
+				return proxy;
+			}
+			return invokeBackend(method, args);
+		case "isWrapperFor":
+			return ((Class<?>) args[0]).isInstance(proxy) || (Boolean) invokeBackend(method, args);
+		case "getMetaData":
+		case "findColumn":
+		case "getStatement":
+		case "getWarnings":
+		case "clearWarnings":
+		case "getHoldability":
+		case "getFetchSize":
+		case "setFetchSize":
+		case "getCursorName":
+			return invokeBackend(method, args);
+		}
+		checkOpen();
+		switch (name) {
+		case "next":
+			return moveTo(position + 1);
+		case "previous":
+			return moveTo(position - 1);
+		case "first":
+			return moveTo(1);
+		case "last":
+			fetchAll();
+			return moveTo(rows.size());
+		case "beforeFirst":
+			moveTo(0);
+			return null;
+		case "afterLast":
+			fetchAll();
+			moveTo(rows.size() + 1);
+			return null;
+		case "absolute":
+			final int row = (Integer) args[0];
+			if (row >= 0) {
+				return moveTo(row);
+			} else {
+				fetchAll();
+				return moveTo(Math.max(rows.size() + 1 + row, 0));
+			}
+		case "relative":
+			return moveTo(Math.max(position + (Integer) args[0], 0));
+		case "getRow":
+			return current == null ? 0 : position;
+		case "isBeforeFirst":
+			return position == 0 && fetch(1);
+		case "isAfterLast":
+			return position > 0 && current == null;
+		case "isFirst":
+			return position == 1 && current != null;
+		case "isLast":
+			return current != null && !fetch(position + 1);
+		}
+		if (name.startsWith("get") && args != null && (args.length == 1 || args.length == 2)) {
+			return value(method, args);
+		}
+		throw OraForwardUtils.sqlFeatureNotSupportedException(name);
+	}
+
+	/**
+	 * Moves cursor to row, 0 or less is before first row, row after last row is after last row
+	 */
+	private boolean moveTo(final int row) throws SQLException {
+		if (row <= 0) {
+			position = 0;
+			current = null;
+			return false;
+		} else if (fetch(row)) {
+			position = row;
+			current = rows.get(row - 1);
+			return true;
+		} else {
+			position = rows.size() + 1;
+			current = null;
+			return false;
+		}
+	}
+
+	/**
+	 * Reads backend rows until row count reaches given number or backend result set ends
+	 *
+	 * @return true if result set has given number of rows
+	 */
+	private boolean fetch(final int rowCount) throws SQLException {
+		while (!exhausted && rows.size() < rowCount) {
+			if (backend.next()) {
+				rows.add(readRow());
+			} else {
+				exhausted = true;
+			}
+		}
+		return rows.size() >= rowCount;
+	}
+
+	private void fetchAll() throws SQLException {
+		fetch(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads backend row into values which {@link OraForwardRowStore} can spill
+	 */
+	private Object[] readRow() throws SQLException {
+		final Object[] values = new Object[types.length];
+		for (int column = 1; column <= types.length; column++) {
+			final Object value;
+			switch (types[column - 1]) {
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				value = backend.getBigDecimal(column);
+				break;
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+			case Types.BIGINT:
+				final long longValue = backend.getLong(column);
+				value = backend.wasNull() ? null : longValue;
+				break;
+			case Types.REAL:
+				final float floatValue = backend.getFloat(column);
+				value = backend.wasNull() ? null : floatValue;
+				break;
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				final double doubleValue = backend.getDouble(column);
+				value = backend.wasNull() ? null : doubleValue;
+				break;
+			case Types.BIT:
+			case Types.BOOLEAN:
+				final boolean booleanValue = backend.getBoolean(column);
+				value = backend.wasNull() ? null : booleanValue;
+				break;
+			case Types.DATE:
+				value = backend.getObject(column, LocalDate.class);
+				break;
+			case Types.TIMESTAMP:
+				value = backend.getObject(column, LocalDateTime.class);
+				break;
+			case Types.TIMESTAMP_WITH_TIMEZONE:
+				value = backend.getObject(column, OffsetDateTime.class);
+				break;
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+			case Types.BLOB:
+				value = backend.getBytes(column);
+				break;
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.TIME:
+				// MariaDB TIME is also used for intervals, which LocalTime can not hold
+				value = backend.getString(column);
+				break;
+			case Types.ARRAY:
+				value = backend.getArray(column);
+				break;
+			case Types.SQLXML:
+				value = backend.getSQLXML(column);
+				break;
+			case Types.ROWID:
+				value = backend.getRowId(column);
+				break;
+			case Types.REF:
+				value = backend.getRef(column);
+				break;
+			case Types.DATALINK:
+				value = backend.getURL(column);
+				break;
+			default:
+				// Row with value which is not Serializable is kept in memory by row store
+				value = backend.getObject(column);
+			}
+			values[column - 1] = value;
+		}
+		return values;
+	}
+
+	private Object value(final Method method, final Object[] args) throws SQLException {
+		final String name = method.getName();
+		if (current == null) {
+			throw new SQLException("Result set is not positioned on a row!");
+		}
+		final int column = args[0] instanceof String ?
+				backend.findColumn((String) args[0]) : (Integer) args[0];
+		if (column < 1 || column > types.length) {
+			throw new SQLException(String.format("Invalid column index %d!", column));
+		}
+		final Object value = current[column - 1];
+		wasNull = value == null;
+		switch (name) {
+		case "getObject":
+			if (args.length == 2 && args[1] instanceof Class) {
+				return object(value, (Class<?>) args[1]);
+			}
+			// Type map is not used for values of forward mode backends
+			return object(column, value);
+		case "getClob":
+		case "getNClob":
+		case "getBlob":
+		case "getArray":
+		case "getRef":
+		case "getRowId":
+		case "getSQLXML":
+		case "getURL":
+			return object(value, method.getReturnType());
+		case "getString":
+		case "getNString":
+			return string(value);
+		case "getBigDecimal":
+			final BigDecimal decimal = decimal(value);
+			if (args.length == 2 && decimal != null) {
+				return decimal.setScale((Integer) args[1], RoundingMode.HALF_UP);
+			}
+			return decimal;
+		case "getBoolean":
+			if (value instanceof Boolean) {
+				return value;
+			} else if (value instanceof String) {
+				final String text = ((String) value).trim();
+				return "t".equalsIgnoreCase(text) || "true".equalsIgnoreCase(text) || "1".equals(text);
+			}
+			return value != null && decimal(value).signum() != 0;
+		case "getByte":
+			return value == null ? (byte) 0 : decimal(value).byteValue();
+		case "getShort":
+			return value == null ? (short) 0 : decimal(value).shortValue();
+		case "getInt":
+			return value == null ? 0 : decimal(value).intValue();
+		case "getLong":
+			return value == null ? 0L : decimal(value).longValue();
+		case "getFloat":
+			return value == null ? 0f : value instanceof Float ? value : decimal(value).floatValue();
+		case "getDouble":
+			return value == null ? 0d :
+				value instanceof Double || value instanceof Float ?
+						((Number) value).doubleValue() : decimal(value).doubleValue();
+		case "getBytes":
+			return value == null ? null : bytes(value);
+		case "getDate":
+			return date(value, args.length == 2 ? (Calendar) args[1] : null);
+		case "getTime":
+			return time(value);
+		case "getTimestamp":
+			return timestamp(value, args.length == 2 ? (Calendar) args[1] : null);
+		case "getCharacterStream":
+		case "getNCharacterStream":
+			return value == null ? null : new StringReader(string(value));
+		case "getAsciiStream":
+			return value == null ? null : new ByteArrayInputStream(string(value).getBytes(StandardCharsets.US_ASCII));
+		case "getBinaryStream":
+			return value == null ? null : new ByteArrayInputStream(bytes(value));
+		default:
+			throw OraForwardUtils.sqlFeatureNotSupportedException(name + " of scrollable result set");
+		}
+	}
+
+	private static byte[] bytes(final Object value) throws SQLException {
+		return value instanceof byte[] ? (byte[]) value : string(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * getObject() as backend driver returns it
+	 */
+	private Object object(final int column, final Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		}
+		switch (types[column - 1]) {
+		case Types.TINYINT:
+		case Types.SMALLINT:
+		case Types.INTEGER:
+			return ((Long) value).intValue();
+		case Types.DATE:
+		case Types.TIMESTAMP:
+		case Types.TIMESTAMP_WITH_TIMEZONE:
+			return timestamp(value, null);
+		case Types.TIME:
+			return time(value);
+		default:
+			return value;
+		}
+	}
+
+	private Object object(final Object value, final Class<?> type) throws SQLException {
+		if (value == null || type.isInstance(value)) {
+			return value;
+		} else if (type == String.class) {
+			return string(value);
+		} else if (type == BigDecimal.class) {
+			return decimal(value);
+		} else if (type == Integer.class) {
+			return decimal(value).intValue();
+		} else if (type == Long.class) {
+			return decimal(value).longValue();
+		} else if (type == LocalDateTime.class) {
+			return localDateTime(value, ZoneId.systemDefault());
+		} else if (type == LocalDate.class) {
+			return localDateTime(value, ZoneId.systemDefault()).toLocalDate();
+		} else if (type == LocalTime.class) {
+			return value instanceof String ?
+					LocalTime.parse(((String) value).trim()) : localDateTime(value, ZoneId.systemDefault()).toLocalTime();
+		} else if (type == OffsetDateTime.class) {
+			return localDateTime(value, ZoneId.systemDefault()).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+		} else if (type == Timestamp.class) {
+			return timestamp(value, null);
+		} else if (type == Date.class) {
+			return date(value, null);
+		} else if (type == Time.class) {
+			return time(value);
+		} else if (type == Clob.class && value instanceof String) {
+			return new SerialClob(((String) value).toCharArray());
+		} else if (type == Blob.class && value instanceof byte[]) {
+			return new SerialBlob((byte[]) value);
+		} else if (type == URL.class && value instanceof String) {
+			try {
+				return new URL(((String) value).trim());
+			} catch (MalformedURLException mue) {
+				throw new SQLException(String.format("Unable to convert '%s' to URL!", value), mue);
+			}
+		}
+		throw new SQLException(String.format("Unable to convert %s to %s!",
+				value.getClass().getName(), type.getName()));
+	}
+
+	private static String string(final Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		} else if (value instanceof SQLXML) {
+			return ((SQLXML) value).getString();
+		} else if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).toPlainString();
+		} else if (value instanceof LocalDateTime) {
+			return TIMESTAMP_TEXT.format((LocalDateTime) value);
+		} else if (value instanceof OffsetDateTime) {
+			return TIMESTAMPTZ_TEXT.format((OffsetDateTime) value);
+		} else if (value instanceof byte[]) {
+			final StringBuilder sb = new StringBuilder(((byte[]) value).length << 1);
+			for (final byte b : (byte[]) value) {
+				sb.append(Character.forDigit((b >> 4) & 0x0F, 16)).append(Character.forDigit(b & 0x0F, 16));
+			}
+			return sb.toString();
+		} else {
+			return value.toString();
+		}
+	}
+
+	private static BigDecimal decimal(final Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		} else if (value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		} else if (value instanceof Long) {
+			return BigDecimal.valueOf((Long) value);
+		} else if (value instanceof Double || value instanceof Float) {
+			return new BigDecimal(value.toString());
+		} else if (value instanceof Boolean) {
+			return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+		}
+		try {
+			return new BigDecimal(string(value).trim());
+		} catch (NumberFormatException nfe) {
+			throw new SQLException(String.format("Unable to convert '%s' to number!", value), nfe);
+		}
+	}
+
+	private static LocalDateTime localDateTime(final Object value, final ZoneId zoneId) throws SQLException {
+		if (value instanceof LocalDateTime) {
+			return (LocalDateTime) value;
+		} else if (value instanceof LocalDate) {
+			return ((LocalDate) value).atStartOfDay();
+		} else if (value instanceof OffsetDateTime) {
+			return ((OffsetDateTime) value).atZoneSameInstant(zoneId).toLocalDateTime();
+		} else if (value instanceof String) {
+			try {
+				return Timestamp.valueOf(((String) value).trim()).toLocalDateTime();
+			} catch (IllegalArgumentException iae) {
+				throw new SQLException(String.format("Unable to convert '%s' to timestamp!", value), iae);
+			}
+		}
+		throw new SQLException(String.format("Unable to convert %s to timestamp!", value.getClass().getName()));
+	}
+
+	private static Timestamp timestamp(final Object value, final Calendar calendar) throws SQLException {
+		if (value == null) {
+			return null;
+		} else if (value instanceof OffsetDateTime) {
+			return Timestamp.from(((OffsetDateTime) value).toInstant());
+		} else if (calendar == null) {
+			return Timestamp.valueOf(localDateTime(value, ZoneId.systemDefault()));
+		} else {
+			final LocalDateTime dateTime = localDateTime(value, calendar.getTimeZone().toZoneId());
+			return Timestamp.from(dateTime.atZone(calendar.getTimeZone().toZoneId()).toInstant());
+		}
+	}
+
+	private static Date date(final Object value, final Calendar calendar) throws SQLException {
+		if (value == null) {
+			return null;
+		} else if (calendar == null) {
+			return Date.valueOf(localDateTime(value, ZoneId.systemDefault()).toLocalDate());
+		} else {
+			final ZoneId zoneId = calendar.getTimeZone().toZoneId();
+			return new Date(localDateTime(value, zoneId).toLocalDate().atStartOfDay(zoneId).toInstant().toEpochMilli());
+		}
+	}
+
+	private static Time time(final Object value) throws SQLException {
+		if (value == null) {
+			return null;
+		} else if (value instanceof String) {
+			try {
+				return Time.valueOf(LocalTime.parse(((String) value).trim()));
+			} catch (RuntimeException re) {
+				throw new SQLException(String.format("Unable to convert '%s' to time!", value), re);
+			}
+		}
+		return Time.valueOf(localDateTime(value, ZoneId.systemDefault()).toLocalTime());
+	}
+
+	private Object invokeBackend(final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(backend, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause();
+		}
+	}
+
+	private void checkOpen() throws SQLException {
+		if (closed) {
+			throw new SQLException("Result set is closed!");
+		}
+	}
+
+}
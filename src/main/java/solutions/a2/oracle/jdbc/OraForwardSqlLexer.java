@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ * Single pass SQL lexer for bind variables. Skips string literals including Oracle
+ * q'[...]' quoting, quoted identifiers, comments and PostgreSQL '::' casts, assigns JDBC
+ * parameter index to each ':name' and '?' marker and rewrites ':name' to '?'
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+final class OraForwardSqlLexer {
+
+	private static final char JDBC_MARKER = '?';
+
+	private final String sql;
+	private final int length;
+	private final boolean postgres;
+	private final boolean mariadb;
+	private Map<String, int[]> binds;
+	private int bindCount;
+	private StringBuilder rewritten;
+	private int copied;
+
+	private OraForwardSqlLexer(final String sql, final int dbType) {
+		this.sql = sql;
+		this.length = sql.length();
+		this.postgres = dbType == OraForwardUtils.POSTGRESQL;
+		this.mariadb = dbType == OraForwardUtils.MARIADB;
+	}
+
+	/**
+	 * Result of SQL statement lexing
+	 */
+	static final class Result {
+		/** SQL statement with ':name' binds replaced by '?', or source statement when there are no named binds */
+		final String sql;
+		/** Bind variable name to JDBC parameter indexes */
+		final Map<String, int[]> binds;
+		/** Total number of bind markers, both named and '?' */
+		final int bindCount;
+
+		private Result(final String sql, final Map<String, int[]> binds, final int bindCount) {
+			this.sql = sql;
+			this.binds = binds;
+			this.bindCount = bindCount;
+		}
+	}
+
+	/**
+	 * Scans SQL statement for bind variables
+	 *
+	 * @param sql    SQL statement
+	 * @param dbType OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB, dialect of comments and literals
+	 * @return bind variables layout and rewritten SQL statement
+	 */
+	static Result lex(final String sql, final int dbType) {
+		final OraForwardSqlLexer lexer = new OraForwardSqlLexer(sql, dbType);
+		lexer.scan();
+		final String result;
+		if (lexer.rewritten == null) {
+			result = sql;
+		} else {
+			lexer.rewritten.append(sql, lexer.copied, lexer.length);
+			result = lexer.rewritten.toString();
+		}
+		return new Result(result,
+				lexer.binds == null ? Collections.<String, int[]>emptyMap() : Collections.unmodifiableMap(lexer.binds),
+				lexer.bindCount);
+	}
+
+	private void scan() {
+		int pos = 0;
+		while (pos < length) {
+			final char ch = sql.charAt(pos);
+			switch (ch) {
+			case '\'':
+				pos = skipQuoted(pos + 1, '\'', mariadb);
+				break;
+			case '"':
+				pos = skipQuoted(pos + 1, '"', mariadb);
+				break;
+			case '`':
+				pos = mariadb ? skipQuoted(pos + 1, '`', false) : pos + 1;
+				break;
+			case '-':
+				pos = charAt(pos + 1) == '-' ? skipLine(pos + 2) : pos + 1;
+				break;
+			case '#':
+				pos = mariadb ? skipLine(pos + 1) : pos + 1;
+				break;
+			case '/':
+				pos = charAt(pos + 1) == '*' ? skipBlockComment(pos + 2) : pos + 1;
+				break;
+			case 'q':
+			case 'Q':
+				if (charAt(pos + 1) == '\'' && pos + 2 < length && isQuoteStart(pos)) {
+					pos = skipAlternativeQuoted(pos + 2);
+				} else {
+					pos++;
+				}
+				break;
+			case 'e':
+			case 'E':
+				if (postgres && charAt(pos + 1) == '\'' && !isNamePart(charAt(pos - 1))) {
+					// PostgreSQL string constant with C-style escapes
+					pos = skipQuoted(pos + 2, '\'', true);
+				} else {
+					pos++;
+				}
+				break;
+			case '$':
+				pos = postgres && !isNamePart(charAt(pos - 1)) ? skipDollarQuoted(pos) : pos + 1;
+				break;
+			case '?':
+				if (postgres && charAt(pos + 1) == '?') {
+					// pgjdbc escape for '?' operator
+					pos += 2;
+				} else {
+					bindCount++;
+					pos++;
+				}
+				break;
+			case ':':
+				pos = bindOrColon(pos);
+				break;
+			default:
+				pos++;
+			}
+		}
+	}
+
+	private int bindOrColon(final int pos) {
+		final char next = charAt(pos + 1);
+		if (next == ':') {
+			// PostgreSQL cast
+			return pos + 2;
+		}
+		final char prev = charAt(pos - 1);
+		if (!isNamePart(next) || isNamePart(prev) || prev == ']') {
+			// ':=' assignment, label or array slice
+			return pos + 1;
+		}
+		int end = pos + 1;
+		while (end < length && isNamePart(sql.charAt(end))) {
+			end++;
+		}
+		addBind(sql.substring(pos + 1, end));
+		if (rewritten == null) {
+			rewritten = new StringBuilder(length);
+		}
+		rewritten
+			.append(sql, copied, pos)
+			.append(JDBC_MARKER);
+		copied = end;
+		return end;
+	}
+
+	private void addBind(final String name) {
+		final int index = ++bindCount;
+		if (binds == null) {
+			binds = new HashMap<>();
+		}
+		final int[] positions = binds.get(name);
+		if (positions == null) {
+			binds.put(name, new int[] {index});
+		} else {
+			final int[] extended = Arrays.copyOf(positions, positions.length + 1);
+			extended[positions.length] = index;
+			binds.put(name, extended);
+		}
+	}
+
+	private int skipQuoted(final int from, final char quote, final boolean backslashEscapes) {
+		int pos = from;
+		while (pos < length) {
+			final char ch = sql.charAt(pos);
+			if (backslashEscapes && ch == '\\') {
+				pos += 2;
+			} else if (ch == quote) {
+				if (charAt(pos + 1) == quote) {
+					pos += 2;
+				} else {
+					return pos + 1;
+				}
+			} else {
+				pos++;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Oracle alternative quoting q'[...]', q'{...}', q'(...)', q'&lt;...&gt;' or q'X...X'
+	 */
+	private int skipAlternativeQuoted(final int delimiterPos) {
+		final char close;
+		switch (sql.charAt(delimiterPos)) {
+		case '[': close = ']'; break;
+		case '{': close = '}'; break;
+		case '(': close = ')'; break;
+		case '<': close = '>'; break;
+		default: close = sql.charAt(delimiterPos);
+		}
+		for (int pos = delimiterPos + 1; pos < length - 1; pos++) {
+			if (sql.charAt(pos) == close && sql.charAt(pos + 1) == '\'') {
+				return pos + 2;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * PostgreSQL dollar quoting $$...$$ or $tag$...$tag$
+	 */
+	private int skipDollarQuoted(final int from) {
+		int pos = from + 1;
+		if (pos < length && Character.isDigit(sql.charAt(pos))) {
+			// $n positional parameter
+			return pos;
+		}
+		while (pos < length && sql.charAt(pos) != '$') {
+			final char ch = sql.charAt(pos);
+			if (!(Character.isLetterOrDigit(ch) || ch == '_')) {
+				return from + 1;
+			}
+			pos++;
+		}
+		if (pos == length) {
+			return length;
+		}
+		final String tag = sql.substring(from, pos + 1);
+		final int close = sql.indexOf(tag, pos + 1);
+		return close < 0 ? length : close + tag.length();
+	}
+
+	private int skipLine(final int from) {
+		int pos = from;
+		while (pos < length) {
+			final char ch = sql.charAt(pos++);
+			if (ch == '\n' || ch == '\r') {
+				break;
+			}
+		}
+		return pos;
+	}
+
+	private int skipBlockComment(final int from) {
+		int depth = 1;
+		int pos = from;
+		while (pos < length) {
+			final char ch = sql.charAt(pos);
+			if (ch == '*' && charAt(pos + 1) == '/') {
+				pos += 2;
+				if (--depth == 0) {
+					return pos;
+				}
+			} else if (postgres && ch == '/' && charAt(pos + 1) == '*') {
+				// PostgreSQL block comments nest
+				depth++;
+				pos += 2;
+			} else {
+				pos++;
+			}
+		}
+		return length;
+	}
+
+	private boolean isQuoteStart(final int pos) {
+		final char prev = charAt(pos - 1);
+		if (!isNamePart(prev)) {
+			return true;
+		} else {
+			// National character set variant nq'[...]'
+			return (prev == 'n' || prev == 'N') && !isNamePart(charAt(pos - 2));
+		}
+	}
+
+	private boolean isNamePart(final char ch) {
+		return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || (ch == '#' && !mariadb);
+	}
+
+	private char charAt(final int pos) {
+		return pos >= 0 && pos < length ? sql.charAt(pos) : ' ';
+	}
+
+}
@@ -13,13 +13,14 @@
 
 package solutions.a2.oracle.jdbc;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
-import java.util.List;
-import java.util.Map;
+import java.time.ZoneId;
+import java.util.Arrays;
 
 import oracle.jdbc.OracleConnection;
 import oracle.jdbc.OracleStatement;
@@ -37,93 +38,309 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 	protected final OraForwardTranslator translator;
 	protected final int dbType;
 	protected Statement statement;
-	protected Map<String, List<Integer>> params = null;
-	protected String original;
-	protected String translated;
-	protected OraForwardTranslator.Holder holder;
+	protected OraForwardParsedStatement parsed;
 
 	private int dummyLobPrefetchSize = 0;
-
-
-	OraForwardStatement(OracleConnection proxy, Statement statement, OraForwardTranslator translator, int dbType) {
+	private int rowPrefetch;
+	/**
+	 * True when row prefetch is fetch size of backend statement. Row prefetch is passed to
+	 * backend only when it is set explicitly, otherwise fetch size of backend driver is kept
+	 */
+	private boolean fetchSizeSet = false;
+	/** Fetch size of backend statement before row prefetch was set */
+	private final int backendFetchSize;
+	private boolean streaming = false;
+	private OraForwardResultSet streamingResultSet;
+	/** Types set by defineColumnType indexed by column, null when no types are defined */
+	private int[] defines;
+	/** Type of result set emulated over forward only backend result set */
+	private int scrollType = ResultSet.TYPE_FORWARD_ONLY;
+	private int scrollWindowRows;
+	private Path scrollSpillDir;
+
+
+	OraForwardStatement(OracleConnection proxy, Statement statement, OraForwardTranslator translator, int dbType)
+			throws SQLException {
 		super(statement);
 		this.proxy = proxy;
 		this.translator = translator;
 		this.dbType = dbType;
 		this.statement = statement;
+		this.rowPrefetch = proxy.getDefaultRowPrefetch();
+		this.backendFetchSize = statement.getFetchSize();
+		if (!(proxy instanceof OraForwardConnection) ||
+				((OraForwardConnection) proxy).isDefaultRowPrefetchSet()) {
+			setRowPrefetch(rowPrefetch);
+		}
+	}
+
+	/**
+	 * Throws when statement is closed, called by methods which do not call backend statement
+	 */
+	void checkOpen() throws SQLException {
+		if (isClosed()) {
+			throw new SQLException("Closed Statement!");
+		}
+	}
+
+	/**
+	 * Restores limits of backend statement, called when statement is handed out by
+	 * implicit statement cache
+	 */
+	void resetLimits() throws SQLException {
+		statement.setMaxRows(0);
+		statement.setMaxFieldSize(0);
+		statement.setQueryTimeout(0);
+	}
+
+	/**
+	 * Restores fetch size of backend statement, called before backend statement is
+	 * handed out by statement cache with new statement
+	 */
+	void resetFetchSize() throws SQLException {
+		if (fetchSizeSet) {
+			statement.setFetchSize(backendFetchSize);
+			fetchSizeSet = false;
+		}
+	}
+
+	/**
+	 * Copies row prefetch, defines and scroll settings, called when statement is handed
+	 * out by explicit statement cache
+	 */
+	void copyState(final OraForwardStatement from) throws SQLException {
+		if (from.fetchSizeSet && (!fetchSizeSet || rowPrefetch != from.rowPrefetch)) {
+			setRowPrefetch(from.rowPrefetch);
+		} else {
+			rowPrefetch = from.rowPrefetch;
+		}
+		dummyLobPrefetchSize = from.dummyLobPrefetchSize;
+		defines = from.defines;
+		scrollType = from.scrollType;
+		scrollWindowRows = from.scrollWindowRows;
+		scrollSpillDir = from.scrollSpillDir;
+	}
+
+	/**
+	 * Returns session time zone of connection
+	 */
+	ZoneId sessionTimeZone() {
+		return proxy instanceof OraForwardConnection ?
+				((OraForwardConnection) proxy).sessionTimeZone() : ZoneId.systemDefault();
+	}
+
+	/**
+	 * Returns backend URL and user of connection
+	 */
+	String backendKey() throws SQLException {
+		return proxy instanceof OraForwardConnection ?
+				((OraForwardConnection) proxy).backendKey() : null;
+	}
+
+	/**
+	 * Called before statement is executed. Ends streaming of previous result set and
+	 * detaches result set streamed by other statement of connection
+	 */
+	void beginExecute() throws SQLException {
+		endStreaming();
+		if (proxy instanceof OraForwardConnection) {
+			((OraForwardConnection) proxy).detachStreaming();
+			((OraForwardConnection) proxy).beginDdl(parsed == null ? null : parsed.translated());
+		}
+	}
+
+	/**
+	 * Called before query is executed. Ends streaming of previous result set and
+	 * starts streaming with cursor when backend needs it
+	 */
+	void beginQuery() throws SQLException {
+		beginExecute();
+		if (proxy instanceof OraForwardConnection) {
+			streaming = ((OraForwardConnection) proxy).beginStreaming(this, statement, rowPrefetch,
+					scrollType != ResultSet.TYPE_FORWARD_ONLY);
+		}
+	}
+
+	/**
+	 * Makes result sets of statement scrollable. Backend statement must be forward only,
+	 * and fetches rows with row prefetch as fetch size
+	 *
+	 * @param resultSetType    TYPE_SCROLL_INSENSITIVE or TYPE_SCROLL_SENSITIVE
+	 * @param scrollWindowRows number of decoded rows kept in memory by result set
+	 * @param scrollSpillDir   directory of temporary file of result set, null for java.io.tmpdir
+	 * @throws SQLException
+	 */
+	void scroll(final int resultSetType, final int scrollWindowRows, final Path scrollSpillDir) throws SQLException {
+		if (!fetchSizeSet) {
+			setRowPrefetch(rowPrefetch);
+		}
+		this.scrollType = resultSetType;
+		this.scrollWindowRows = scrollWindowRows;
+		this.scrollSpillDir = scrollSpillDir;
+	}
+
+	/**
+	 * Wraps backend result set, when query is streamed result set ends streaming on close
+	 */
+	ResultSet resultSet(final ResultSet resultSet) throws SQLException {
+		if (resultSet == null) {
+			endStreaming();
+			return null;
+		}
+		final OraForwardResultSet wrapped = new OraForwardResultSet(this,
+				scrollType == ResultSet.TYPE_FORWARD_ONLY ? resultSet :
+					OraForwardScrollCursor.wrap(resultSet, scrollType,
+							OraForwardColumnPlan.of(resultSet, parsed, defines), scrollWindowRows, scrollSpillDir),
+				parsed);
+		if (streaming) {
+			streamingResultSet = wrapped;
+		}
+		return wrapped;
+	}
+
+	void endStreaming() throws SQLException {
+		if (streaming) {
+			streaming = false;
+			streamingResultSet = null;
+			((OraForwardConnection) proxy).endStreaming(this);
+		}
+	}
+
+	/**
+	 * Reads rest of streamed result set into memory and ends streaming
+	 */
+	void detachStreaming() throws SQLException {
+		if (streaming) {
+			try {
+				if (streamingResultSet != null) {
+					streamingResultSet.detach();
+				}
+			} finally {
+				endStreaming();
+			}
+		}
+	}
+
+	/**
+	 * Called by result set when it is closed or fully read
+	 */
+	void endStreaming(final ResultSet resultSet) throws SQLException {
+		if (streaming && streamingResultSet == resultSet) {
+			endStreaming();
+		}
+	}
+
+	/**
+	 * Checks that SQL statement starts with SELECT or WITH, i.e. execute() returns result set
+	 */
+	static boolean isQuery(final String sql) {
+		int pos = 0;
+		while (pos < sql.length() && (Character.isWhitespace(sql.charAt(pos)) || sql.charAt(pos) == '(')) {
+			pos++;
+		}
+		return sql.regionMatches(true, pos, "SELECT", 0, 6) || sql.regionMatches(true, pos, "WITH", 0, 4);
 	}
 
 	@Override
 	public ResultSet executeQuery(String sql) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return new OraForwardResultSet(this, statement.executeQuery(holder.translated));
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginQuery();
+		try {
+			return resultSet(statement.executeQuery(parsed.translated()));
+		} catch (SQLException sqle) {
+			endStreaming();
+			throw sqle;
+		}
 	}
 
 	@Override
 	public int executeUpdate(String sql) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.executeUpdate(holder.translated);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.executeUpdate(parsed.translated());
 	}
 
 	@Override
 	public boolean execute(String sql) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.execute(holder.translated);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		if (isQuery(parsed.translated())) {
+			beginQuery();
+		} else {
+			beginExecute();
+		}
+		try {
+			final boolean hasResultSet = statement.execute(parsed.translated());
+			if (!hasResultSet) {
+				endStreaming();
+			}
+			return hasResultSet;
+		} catch (SQLException sqle) {
+			endStreaming();
+			throw sqle;
+		}
 	}
 
 	@Override
 	public Connection getConnection() throws SQLException {
+		checkOpen();
 		return proxy;
 	}
 
 	@Override
 	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.executeUpdate(holder.translated, autoGeneratedKeys);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.executeUpdate(parsed.translated(), autoGeneratedKeys);
 	}
 
 	@Override
 	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.executeUpdate(holder.translated, columnIndexes);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.executeUpdate(parsed.translated(), columnIndexes);
 	}
 
 	@Override
 	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.executeUpdate(holder.translated, columnNames);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.executeUpdate(parsed.translated(), columnNames);
 	}
 
 	@Override
 	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.execute(holder.translated, autoGeneratedKeys);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.execute(parsed.translated(), autoGeneratedKeys);
 	}
 
 	@Override
 	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.execute(holder.translated, columnIndexes);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.execute(parsed.translated(), columnIndexes);
 	}
 
 	@Override
 	public boolean execute(String sql, String[] columnNames) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		return statement.execute(holder.translated, columnNames);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		beginExecute();
+		return statement.execute(parsed.translated(), columnNames);
 	}
 
 	@Override
 	public ResultSet getResultSet() throws SQLException {
-		return new OraForwardResultSet(this, statement.getResultSet());
+		return resultSet(statement.getResultSet());
 	}
 
 	@Override
 	public ResultSet getGeneratedKeys() throws SQLException {
-		return new OraForwardResultSet(this, statement.getGeneratedKeys());
+		return new OraForwardResultSet(this, statement.getGeneratedKeys(), null);
 	}
 
 	@Override
 	public void close() throws SQLException {
+		endStreaming();
 		statement.close();
 	}
 
@@ -204,12 +421,24 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 
 	@Override
 	public void setFetchSize(int rows) throws SQLException {
-		statement.setFetchSize(rows);
+		if (rows < 0) {
+			throw new SQLException(String.format("Invalid fetch size %d!", rows));
+		}
+		// As with Oracle JDBC fetch size is row prefetch, 0 means default row prefetch
+		if (rows != 0 || !(proxy instanceof OraForwardConnection) ||
+				((OraForwardConnection) proxy).isDefaultRowPrefetchSet() ||
+				scrollType != ResultSet.TYPE_FORWARD_ONLY) {
+			setRowPrefetch(rows == 0 ? proxy.getDefaultRowPrefetch() : rows);
+		} else {
+			resetFetchSize();
+			rowPrefetch = proxy.getDefaultRowPrefetch();
+		}
 	}
 
 	@Override
 	public int getFetchSize() throws SQLException {
-		return statement.getFetchSize();
+		checkOpen();
+		return rowPrefetch;
 	}
 
 	@Override
@@ -219,13 +448,13 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 
 	@Override
 	public int getResultSetType() throws SQLException {
-		return statement.getResultSetType();
+		return scrollType == ResultSet.TYPE_FORWARD_ONLY ? statement.getResultSetType() : scrollType;
 	}
 
 	@Override
 	public void addBatch(String sql) throws SQLException {
-		holder = translator.translateAndConvertParams(sql);
-		statement.addBatch(holder.translated);
+		parsed = translator.translateAndConvertParams(sql, dbType);
+		statement.addBatch(parsed.translated());
 	}
 
 	@Override
@@ -235,6 +464,7 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 
 	@Override
 	public int[] executeBatch() throws SQLException {
+		beginExecute();
 		return statement.executeBatch();
 	}
 
@@ -279,6 +509,7 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 
 	@Override
 	public boolean isNCHAR(int index) throws SQLException {
+		checkOpen();
 		// There is no equivalent of NCHAR in MariaDB or PostgreSQL
 		return false;
 	}
@@ -291,22 +522,32 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 
 	@Override
 	public int getLobPrefetchSize() throws SQLException {
+		checkOpen();
 		return dummyLobPrefetchSize;
 	}
 
 	@Override
 	public void setLobPrefetchSize(int size) throws SQLException {
+		checkOpen();
 		dummyLobPrefetchSize = size;
 	}
 
 	@Override
 	public int getRowPrefetch() {
-		return proxy.getDefaultRowPrefetch();
+		return rowPrefetch;
 	}
 
+	/**
+	 * Sets row prefetch of statement, it is used as fetch size of backend statement
+	 */
 	@Override
 	public void setRowPrefetch(int size) throws SQLException {
-		proxy.setDefaultRowPrefetch(size);
+		if (size <= 0) {
+			throw new SQLException(String.format("Invalid row prefetch size %d!", size));
+		}
+		statement.setFetchSize(size);
+		rowPrefetch = size;
+		fetchSizeSet = true;
 	}
 
 	@Override
@@ -329,42 +570,62 @@ public class OraForwardStatement extends OraForwardWrapper implements OracleStat
 		throw OraForwardUtils.sqlFeatureNotSupportedException("getRegisteredTableNames");
 	}
 
+	/**
+	 * Defined types are used by column codec plan of result set. Sizes and form of use
+	 * only limit memory of Oracle JDBC and are ignored
+	 */
 	@Override
 	public void defineColumnType(int columnIndex, int type) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnType");
+		checkOpen();
+		if (columnIndex < 1) {
+			throw new SQLException(String.format("Invalid column index %d!", columnIndex));
+		}
+		if (defines == null || defines.length <= columnIndex) {
+			defines = defines == null ?
+					new int[columnIndex + 1] : Arrays.copyOf(defines, columnIndex + 1);
+		}
+		defines[columnIndex] = type;
 	}
 
 	@Override
 	public void defineColumnType(int columnIndex, int type, int lobPrefetchSize) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnType");
+		defineColumnType(columnIndex, type);
 	}
 
 	@Override
 	public void defineColumnType(int columnIndex, int type, String typeName) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnType");
+		defineColumnType(columnIndex, type);
 	}
 
 	@Deprecated
 	@Override
 	public void defineColumnType(int columnIndex, int type, int lobPrefetchSize, short formOfUse) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnType");
+		defineColumnType(columnIndex, type);
 	}
 
 	@Deprecated
 	@Override
 	public void defineColumnTypeBytes(int columnIndex, int type, int lobPrefetchSize) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnTypeBytes");
+		defineColumnType(columnIndex, type);
 	}
 
 	@Deprecated
 	@Override
 	public void defineColumnTypeChars(int columnIndex, int type, int lobPrefetchSize) throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("defineColumnTypeChars");
+		defineColumnType(columnIndex, type);
 	}
 
 	@Override
 	public void clearDefines() throws SQLException {
-		throw OraForwardUtils.sqlFeatureNotSupportedException("clearDefines");
+		checkOpen();
+		defines = null;
+	}
+
+	/**
+	 * Returns types set by defineColumnType indexed by column, returned array must not be modified
+	 */
+	int[] defines() {
+		return defines;
 	}
 
 }
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ *
+ * Per connection LRU cache of closed prepared and callable statements. Statement is
+ * parked here on close with its backend statement and parsed bind variables layout
+ * and is handed back by the next prepare with the same key (implicit caching), or
+ * on closeWithKey with its state and handed back by prepareStatementWithKey (explicit
+ * caching). Both share the same maximum size, as in Oracle JDBC. Statement is handed
+ * back as new object over the same backend statement, so closed statement stays closed
+ * for its previous user. Statements translated with previous mapping are not handed back
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public final class OraForwardStatementCache {
+
+	private static final Logger LOGGER = Logger.getLogger(OraForwardStatementCache.class.getName());
+	/** Holdability is not specified in prepareStatement/prepareCall call */
+	static final int DEFAULT_HOLDABILITY = 0;
+
+	private final LinkedHashMap<Object, OraForwardPreparedStatement> statements =
+			new LinkedHashMap<>(16, 0.75f, true);
+	private int size;
+	private boolean explicitEnabled = false;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Returns parked statement and removes it from cache
+	 *
+	 * @param key               statement key
+	 * @param mappingGeneration reload count of current mapping
+	 * @return parked statement or null
+	 */
+	synchronized OraForwardPreparedStatement take(final Object key, final long mappingGeneration) {
+		final OraForwardPreparedStatement statement = current(statements.remove(key), mappingGeneration);
+		if (statement == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return statement;
+	}
+
+	/**
+	 * Statement parked after mapping reload may be translated with previous mapping
+	 */
+	private static OraForwardPreparedStatement current(
+			final OraForwardPreparedStatement statement, final long mappingGeneration) {
+		if (statement != null && statement.mappingGeneration() != mappingGeneration) {
+			closePhysically(statement);
+			return null;
+		}
+		return statement;
+	}
+
+	/**
+	 * Parks closed statement, least recently used statements are closed when cache is full
+	 *
+	 * @param key       statement key
+	 * @param statement closed statement
+	 * @return false if statement is not parked and must be closed by caller
+	 */
+	synchronized boolean park(final Object key, final OraForwardPreparedStatement statement) {
+		if (size == 0 || statements.containsKey(key)) {
+			return false;
+		}
+		statements.put(key, statement);
+		evict();
+		return true;
+	}
+
+	/**
+	 * Returns statement parked by closeWithKey and removes it from cache
+	 *
+	 * @param key               caller supplied key
+	 * @param type              expected statement class
+	 * @param mappingGeneration reload count of current mapping
+	 * @return parked statement or null if not found or is not of expected class
+	 */
+	synchronized OraForwardPreparedStatement takeExplicit(final String key, final Class<?> type,
+			final long mappingGeneration) {
+		if (!explicitEnabled) {
+			return null;
+		}
+		final ExplicitKey explicitKey = new ExplicitKey(key);
+		final OraForwardPreparedStatement statement = statements.get(explicitKey);
+		if (statement != null && type.isInstance(statement)) {
+			statements.remove(explicitKey);
+			if (current(statement, mappingGeneration) == null) {
+				misses++;
+				return null;
+			}
+			hits++;
+			return statement;
+		} else {
+			misses++;
+			return null;
+		}
+	}
+
+	/**
+	 * Parks statement closed by closeWithKey, statement previously parked with the same key is closed
+	 *
+	 * @param key       caller supplied key
+	 * @param statement closed statement
+	 * @return false if statement is not parked and must be closed by caller
+	 */
+	synchronized boolean parkExplicit(final String key, final OraForwardPreparedStatement statement) {
+		if (size == 0 || !explicitEnabled) {
+			return false;
+		}
+		final OraForwardPreparedStatement previous = statements.put(new ExplicitKey(key), statement);
+		if (previous != null && previous != statement) {
+			closePhysically(previous);
+		}
+		evict();
+		return true;
+	}
+
+	synchronized boolean isExplicitEnabled() {
+		return explicitEnabled;
+	}
+
+	/**
+	 * Enables or disables explicit caching, disabling closes statements parked by closeWithKey
+	 *
+	 * @param explicitEnabled true to enable explicit caching
+	 */
+	synchronized void setExplicitEnabled(final boolean explicitEnabled) {
+		this.explicitEnabled = explicitEnabled;
+		if (!explicitEnabled) {
+			purge(true);
+		}
+	}
+
+	/**
+	 * Sets maximum number of parked statements, 0 disables cache
+	 *
+	 * @param size maximum number of statements
+	 */
+	synchronized void setSize(final int size) {
+		this.size = size;
+		evict();
+	}
+
+	/**
+	 * Closes and removes all parked statements
+	 */
+	synchronized void purge() {
+		for (final OraForwardPreparedStatement statement : statements.values()) {
+			closePhysically(statement);
+		}
+		statements.clear();
+	}
+
+	/**
+	 * Closes and removes statements parked by explicit or implicit caching
+	 *
+	 * @param explicit true for statements parked by closeWithKey
+	 */
+	synchronized void purge(final boolean explicit) {
+		final Iterator<Map.Entry<Object, OraForwardPreparedStatement>> iterator = statements.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<Object, OraForwardPreparedStatement> entry = iterator.next();
+			if ((entry.getKey() instanceof ExplicitKey) == explicit) {
+				iterator.remove();
+				closePhysically(entry.getValue());
+			}
+		}
+	}
+
+	private void evict() {
+		final Iterator<Map.Entry<Object, OraForwardPreparedStatement>> iterator = statements.entrySet().iterator();
+		while (statements.size() > size && iterator.hasNext()) {
+			final OraForwardPreparedStatement statement = iterator.next().getValue();
+			iterator.remove();
+			evictions++;
+			closePhysically(statement);
+		}
+	}
+
+	private static void closePhysically(final OraForwardPreparedStatement statement) {
+		try {
+			statement.closePhysically();
+		} catch (SQLException sqle) {
+			LOGGER.log(Level.WARNING, "Unable to close cached statement!", sqle);
+		}
+	}
+
+	public synchronized int getSize() {
+		return size;
+	}
+
+	public synchronized int getEntryCount() {
+		return statements.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Explicit cache key supplied by caller of closeWithKey
+	 */
+	private static final class ExplicitKey {
+		private final String key;
+
+		ExplicitKey(final String key) {
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			return other instanceof ExplicitKey && key.equals(((ExplicitKey) other).key);
+		}
+	}
+
+	/**
+	 * Implicit cache key: SQL text, statement kind and result set options
+	 */
+	static final class Key {
+		private final String sql;
+		private final boolean callable;
+		private final int resultSetType;
+		private final int resultSetConcurrency;
+		private final int resultSetHoldability;
+		private final int hashCode;
+
+		Key(final String sql, final boolean callable,
+				final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) {
+			this.sql = sql;
+			this.callable = callable;
+			this.resultSetType = resultSetType;
+			this.resultSetConcurrency = resultSetConcurrency;
+			this.resultSetHoldability = resultSetHoldability;
+			int hash = sql.hashCode();
+			hash = 31 * hash + (callable ? 1 : 0);
+			hash = 31 * hash + resultSetType;
+			hash = 31 * hash + resultSetConcurrency;
+			hash = 31 * hash + resultSetHoldability;
+			this.hashCode = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (this == other) {
+				return true;
+			} else if (!(other instanceof Key)) {
+				return false;
+			} else {
+				final Key key = (Key) other;
+				return hashCode == key.hashCode &&
+						callable == key.callable &&
+						resultSetType == key.resultSetType &&
+						resultSetConcurrency == key.resultSetConcurrency &&
+						resultSetHoldability == key.resultSetHoldability &&
+						sql.equals(key.sql);
+			}
+		}
+	}
+
+}
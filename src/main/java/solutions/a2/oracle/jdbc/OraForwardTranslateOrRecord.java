@@ -23,4 +23,23 @@ import java.sql.SQLException;
  */
 public interface OraForwardTranslateOrRecord {
 	public String translate(final String source) throws SQLException;
+
+	/**
+	 * Checks whether result of translate for source SQL statement can be cached.
+	 * Recorder returns false for SQL statement which is not recorded yet, so it
+	 * is passed to recorder again at next execution
+	 * 
+	 * @param source source SQL statement
+	 * @return true when result of translate can be cached
+	 * @throws SQLException
+	 */
+	public default boolean cacheable(final String source) throws SQLException {
+		return true;
+	}
+
+	/**
+	 * Releases resources of mapping, translate must not be called after this call
+	 */
+	public default void close() {
+	}
 }
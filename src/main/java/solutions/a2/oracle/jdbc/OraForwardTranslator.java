@@ -13,13 +13,18 @@
 
 package solutions.a2.oracle.jdbc;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * 
@@ -29,27 +34,72 @@ import java.util.Map;
  */
 public class OraForwardTranslator  implements OraForwardTranslateOrRecord {
 
-	private static OraForwardTranslator instance;
-	private final OraForwardTranslateOrRecord translator;
+	private static final Logger LOGGER = Logger.getLogger(OraForwardTranslator.class.getName());
+	// Delay before replaced mapping is closed, translate calls which read it must finish before
+	private static final long RELEASE_DELAY_MILLIS = 60_000;
 
-	private OraForwardTranslator(final boolean yamlStore, final String mappingFileUrl) throws SQLException {
+	private static volatile OraForwardTranslator instance;
+	private final URL url;
+	private final String mappingFileType;
+	private final int cacheSize;
+	private final int cacheMaxLength;
+	private final int chronicleEntries;
+	private final int chronicleAverageValueSize;
+	private final boolean chronicleRecover;
+	private volatile Snapshot snapshot;
+	private ScheduledExecutorService reloadExecutor;
+	private long loadedModified;
+	private long loadedLength;
+	private long seenModified;
+	private long seenLength;
+	private final AtomicLong reloadCount = new AtomicLong();
+	private final AtomicLong reloadFailures = new AtomicLong();
+	private volatile long lastReloadMillis;
+	private volatile long lastReloadTime;
+
+	private OraForwardTranslator(final String mappingFileType, final String mappingFileUrl,
+			final int cacheSize, final int cacheMaxLength, final long reloadInterval,
+			final int chronicleEntries, final int chronicleAverageValueSize, final boolean chronicleRecover) throws SQLException {
+		this.mappingFileType = mappingFileType;
+		this.cacheSize = cacheSize;
+		this.cacheMaxLength = cacheMaxLength;
+		this.chronicleEntries = chronicleEntries;
+		this.chronicleAverageValueSize = chronicleAverageValueSize;
+		this.chronicleRecover = chronicleRecover;
 		if (mappingFileUrl.startsWith("s3:")) {
 			//TODO
 			//TODO
 			//TODO
 			throw new SQLException("S3 support not implemented yet!");
 		} else {
-			final URL url;
 			try {
 				url = new URL(mappingFileUrl);
 			} catch (MalformedURLException mfe) {
 				throw new SQLException(
 						String.format("Malformed URL '%s'", mappingFileUrl), mfe);
 			}
-			if (yamlStore) {
-				translator = new OraForwardTranslatorMap(url);
-			} else {
-				translator = new OraForwardTranslatorChronicle(url);
+			final boolean reloadable = reloadInterval > 0 && "file".equals(url.getProtocol()) &&
+					!OraForwardUrlParser.A2_MAPPING_FILE_TYPE_CHRONICLE.equals(mappingFileType);
+			if (reloadInterval > 0) {
+				if (!reloadable) {
+					LOGGER.log(Level.WARNING,
+							"Reload of mapping is supported only for YAML or binary file, '{0}' will not be reloaded!",
+							mappingFileUrl);
+				} else {
+					final File file = new File(url.getFile());
+					loadedModified = seenModified = file.lastModified();
+					loadedLength = seenLength = file.length();
+				}
+			}
+			snapshot = load();
+			if (reloadable) {
+				reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+					final Thread thread = new Thread(runnable, "A2-MAPPING-RELOAD");
+					thread.setDaemon(true);
+					return thread;
+				});
+				reloadExecutor.scheduleWithFixedDelay(
+						this::reloadIfChanged, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
 			}
 		}
 	}
@@ -57,24 +107,38 @@ public class OraForwardTranslator  implements OraForwardTranslateOrRecord {
 	/**
 	 * Returns and initialize if needed SQL Translation instance
 	 * 
-	 * @param yamlStore  when set to 'true' YAML format will be used for parsing
-	 *                   input file, when set to 'false' Chronicle Map (JDK1.8+)
-	 *                   file will be used.   
+	 * @param mappingFileType  'yaml' - YAML format will be used for parsing input file,
+	 *                   'chronicle' - Chronicle Map (JDK1.8+) file will be used,
+	 *                   'binary' - memory-mapped binary file will be used.
 	 * @param fileUrl URL to file with SQL Translation in format (YAML below)
 	 *092pcht0h6c0t: |-
 	 *  SELECT 'EXMPLE TRANSLATION'
 	 *  FROM DUAL
 	 *
+	 * @param cacheSize maximum number of SQL statements with cached translation, 0 disables cache
+	 * @param cacheMaxLength SQL statements longer than this number of characters are not cached
+	 * @param reloadInterval interval in milliseconds to check YAML or binary file for changes, 0 disables reload
+	 * @param chronicleEntries expected number of SQL statements when Chronicle Map file is created
+	 * @param chronicleAverageValueSize average SQL statement size in bytes when Chronicle Map file is created
+	 * @param chronicleRecover create missing Chronicle Map file or recover existing file
 	 * @return OraProxySqlTranslator instance
 	 * @throws SQLException 
 	 */
-	public static OraForwardTranslator getInstance(final boolean yamlStore, final String fileUrl) throws SQLException {
-		if (instance == null) {
+	public static OraForwardTranslator getInstance(final String mappingFileType, final String fileUrl,
+			final int cacheSize, final int cacheMaxLength, final long reloadInterval,
+			final int chronicleEntries, final int chronicleAverageValueSize, final boolean chronicleRecover) throws SQLException {
+		OraForwardTranslator translator = instance;
+		if (translator == null) {
 			synchronized (OraForwardTranslator.class) {
-				instance = new OraForwardTranslator(yamlStore, fileUrl);
+				translator = instance;
+				if (translator == null) {
+					translator = new OraForwardTranslator(mappingFileType, fileUrl, cacheSize, cacheMaxLength, reloadInterval,
+							chronicleEntries, chronicleAverageValueSize, chronicleRecover);
+					instance = translator;
+				}
 			}
 		}
-		return instance;
+		return translator;
 	}
 
 	/**
@@ -86,55 +150,195 @@ public class OraForwardTranslator  implements OraForwardTranslateOrRecord {
 	 */
 	@Override
 	public String translate(final String source) throws SQLException {
-		return translator.translate(source);
+		return snapshot.translator.translate(source);
 	}
 
-	protected static class Holder {
-		protected Map<String, List<Integer>> params = null;
-		protected String original;
-		protected String translated;
-	}
-
-	protected Holder translateAndConvertParams(final String sql) throws SQLException {
-		Holder holder = new Holder();
-		if (sql.contains(":")) {
-			if (holder.params == null) {
-				holder.params = new HashMap<>();
-			} else {
-				holder.params.clear();
-			}
-			int bindNo = 0;
-			int currChar = 0;
-			while (currChar < sql.length()) {
-				if (sql.charAt(currChar) == ':') {
-					currChar++;
-					boolean readToken = true;
-					final StringBuilder sbName = new StringBuilder(32);
-					while (readToken) {
-						sbName.append(sql.charAt(currChar));
-						currChar++;
-						if (currChar == sql.length() ||
-								!Character.isLetterOrDigit(sql.charAt(currChar)) ||
-								sql.charAt(currChar) != '_') {
-							final String paramName = sbName.toString();
-							if (holder.params.containsKey(paramName)) {
-								holder.params.get(paramName).add(++bindNo);
-							} else {
-								List<Integer> newPositions = new ArrayList<>();
-								newPositions.add(++bindNo);
-								holder.params.put(paramName, newPositions);
-							}
-							readToken = false;
-						}
+	/**
+	 * Returns translated SQL statement with parsed bind variables layout.
+	 * Result is cached per SQL text and shared between statements
+	 * 
+	 * @param sql source SQL statement
+	 * @param dbType OraForwardUtils.POSTGRESQL or OraForwardUtils.MARIADB
+	 * @return immutable parsed statement
+	 * @throws SQLException
+	 */
+	protected OraForwardParsedStatement translateAndConvertParams(final String sql, final int dbType) throws SQLException {
+		// Translation and parsed statements must come from the same snapshot
+		final Snapshot current = snapshot;
+		final ConcurrentHashMap<String, OraForwardParsedStatement> cache = current.parsedCache[dbType];
+		OraForwardParsedStatement parsed = cache.get(sql);
+		if (parsed == null) {
+			parsed = OraForwardParsedStatement.parse(sql, current.translator.translate(sql), dbType);
+			if (cacheSize > 0 && sql.length() <= cacheMaxLength) {
+				if (cache.size() >= cacheSize) {
+					// Random eviction of a quarter of entries
+					int toRemove = Math.max(cacheSize >> 2, 1);
+					final Iterator<String> iterator = cache.keySet().iterator();
+					while (toRemove-- > 0 && iterator.hasNext()) {
+						iterator.next();
+						iterator.remove();
 					}
-				} else {
-					currChar++;
 				}
+				cache.put(sql, parsed);
 			}
 		}
-		holder.original = sql;
-		holder.translated = translate(sql);
-		return holder;
+		return parsed;
+	}
+
+	/**
+	 * Reads mapping file into new snapshot with empty caches
+	 */
+	private Snapshot load() throws SQLException {
+		final OraForwardTranslateOrRecord store;
+		final int entryCount;
+		if (OraForwardUrlParser.A2_MAPPING_FILE_TYPE_BINARY.equals(mappingFileType)) {
+			final OraForwardTranslatorBinary binary = new OraForwardTranslatorBinary(url);
+			entryCount = binary.size();
+			store = binary;
+		} else if (OraForwardUrlParser.A2_MAPPING_FILE_TYPE_YAML.equals(mappingFileType)) {
+			final OraForwardTranslatorMap map = new OraForwardTranslatorMap(url);
+			entryCount = map.size();
+			store = map;
+		} else {
+			final OraForwardTranslatorChronicle chronicle = new OraForwardTranslatorChronicle(
+					url, chronicleEntries, chronicleAverageValueSize, chronicleRecover);
+			entryCount = chronicle.size();
+			store = chronicle;
+		}
+		return new Snapshot(store,
+				OraForwardTranslatorCache.wrap(store, cacheSize, cacheMaxLength),
+				newParsedCache(Math.min(cacheSize, OraForwardTranslatorCache.DEFAULT_SIZE)),
+				entryCount);
+	}
+
+	/**
+	 * Reloads mapping file when its modification time or size has changed and is
+	 * the same as at previous check, i.e. file is not being written right now.
+	 * New mapping is published by a single volatile write, translate calls
+	 * continue to use previous snapshot until then. Previous mapping is closed
+	 * after RELEASE_DELAY_MILLIS, when translate calls started before reload are finished
+	 */
+	private void reloadIfChanged() {
+		final File file = new File(url.getFile());
+		final long modified = file.lastModified();
+		final long length = file.length();
+		if (modified == 0) {
+			// File does not exist right now
+			return;
+		}
+		if (modified == loadedModified && length == loadedLength) {
+			return;
+		}
+		if (modified != seenModified || length != seenLength) {
+			seenModified = modified;
+			seenLength = length;
+			return;
+		}
+		final long started = System.nanoTime();
+		try {
+			final Snapshot reloaded = load();
+			final Snapshot previous = snapshot;
+			snapshot = reloaded;
+			reloadExecutor.schedule(previous.store::close, RELEASE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+			loadedModified = modified;
+			loadedLength = length;
+			lastReloadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+			lastReloadTime = System.currentTimeMillis();
+			reloadCount.incrementAndGet();
+			LOGGER.log(Level.INFO, "Mapping {0} reloaded with {1} entries in {2} ms.",
+					new Object[] {url, reloaded.entryCount, lastReloadMillis});
+		} catch (Throwable t) {
+			reloadFailures.incrementAndGet();
+			// Retry when file changes again
+			loadedModified = modified;
+			loadedLength = length;
+			LOGGER.log(Level.SEVERE, "Unable to reload mapping " + url + "! Previous mapping remains in use.", t);
+		}
+	}
+
+	/**
+	 * Returns number of entries in currently used mapping
+	 * 
+	 * @return number of entries
+	 */
+	public int getEntryCount() {
+		return snapshot.entryCount;
+	}
+
+	/**
+	 * Returns number of successful mapping reloads
+	 * 
+	 * @return number of reloads
+	 */
+	public long getReloadCount() {
+		return reloadCount.get();
+	}
+
+	/**
+	 * Returns number of failed mapping reloads
+	 * 
+	 * @return number of failed reloads
+	 */
+	public long getReloadFailures() {
+		return reloadFailures.get();
+	}
+
+	/**
+	 * Returns duration of last mapping reload in milliseconds
+	 * 
+	 * @return reload duration
+	 */
+	public long getLastReloadMillis() {
+		return lastReloadMillis;
+	}
+
+	/**
+	 * Returns time of last mapping reload in milliseconds since epoch, 0 if mapping was not reloaded
+	 * 
+	 * @return reload time
+	 */
+	public long getLastReloadTime() {
+		return lastReloadTime;
+	}
+
+	/**
+	 * Returns translation cache of currently used mapping
+	 * 
+	 * @return translation cache or null when cache is disabled
+	 */
+	public OraForwardTranslatorCache getCache() {
+		if (snapshot.translator instanceof OraForwardTranslatorCache) {
+			return (OraForwardTranslatorCache) snapshot.translator;
+		} else {
+			return null;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ConcurrentHashMap<String, OraForwardParsedStatement>[] newParsedCache(final int initialCapacity) {
+		final ConcurrentHashMap<String, OraForwardParsedStatement>[] cache = new ConcurrentHashMap[2];
+		cache[OraForwardUtils.POSTGRESQL] = new ConcurrentHashMap<>(initialCapacity);
+		cache[OraForwardUtils.MARIADB] = new ConcurrentHashMap<>(initialCapacity);
+		return cache;
+	}
+
+	/**
+	 * Immutable mapping with translation and parsed statement caches built from it
+	 */
+	private static final class Snapshot {
+		private final OraForwardTranslateOrRecord store;
+		private final OraForwardTranslateOrRecord translator;
+		// Parsed statements per dialect, indexed by OraForwardUtils.POSTGRESQL/MARIADB
+		private final ConcurrentHashMap<String, OraForwardParsedStatement>[] parsedCache;
+		private final int entryCount;
+
+		Snapshot(final OraForwardTranslateOrRecord store, final OraForwardTranslateOrRecord translator,
+				final ConcurrentHashMap<String, OraForwardParsedStatement>[] parsedCache, final int entryCount) {
+			this.store = store;
+			this.translator = translator;
+			this.parsedCache = parsedCache;
+			this.entryCount = entryCount;
+		}
 	}
 
 }
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * SQL Mapping/tranlsation implementation using read-only memory-mapped file
+ * in compact binary format. Nothing is read to heap on open, translations
+ * are decoded from mapped buffer on lookup.
+ *
+ * File layout, all numbers are big-endian
+ * <pre>
+ * header: int magic 'A2SM', int version, int entry count, int slot count,
+ *         long data region offset, long data region length
+ * index:  slot count (power of two) slots of long sql_id value,
+ *         int offset in data region (-1 for empty slot), int length in bytes
+ * data:   UTF-8 encoded SQL statements
+ * </pre>
+ * Index is an open-addressed hash table with linear probing keyed by
+ * the 64 bit value behind Oracle sql_id, see {@link OraForwardUtils#sql_id_long(String)}
+ *
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public class OraForwardTranslatorBinary implements OraForwardTranslateOrRecord {
+
+	private static final int MAGIC = 0x4132534D;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	private static final int SLOT_SIZE = 16;
+	private static final int EMPTY = -1;
+
+	private final MappedByteBuffer buffer;
+	private final int entryCount;
+	private final int slotMask;
+	private final int dataOffset;
+
+	OraForwardTranslatorBinary(final URL mappingFileUrl) throws SQLException {
+		if ("file".equals(mappingFileUrl.getProtocol())) {
+			final String fileName = mappingFileUrl.getFile();
+			try (RandomAccessFile raf = new RandomAccessFile(fileName, "r");
+					FileChannel channel = raf.getChannel()) {
+				final long size = channel.size();
+				if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+					throw new SQLException(String.format("Invalid size %d of binary mapping file '%s'!", size, fileName));
+				}
+				// Mapping remains valid after channel is closed
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+				buffer.order(ByteOrder.BIG_ENDIAN);
+			} catch (IOException ioe) {
+				throw new SQLException(
+						String.format("Unable to map binary mapping file '%s'!", fileName), ioe);
+			}
+			if (buffer.getInt(0) != MAGIC) {
+				throw new SQLException(String.format("File '%s' is not a binary mapping file!", fileName));
+			}
+			if (buffer.getInt(4) != VERSION) {
+				throw new SQLException(String.format("Unsupported version %d of binary mapping file '%s'!",
+						buffer.getInt(4), fileName));
+			}
+			entryCount = buffer.getInt(8);
+			final int slotCount = buffer.getInt(12);
+			final long dataStart = buffer.getLong(16);
+			final long dataLength = buffer.getLong(24);
+			if (Integer.bitCount(slotCount) != 1 ||
+					dataStart != HEADER_SIZE + (long) slotCount * SLOT_SIZE ||
+					dataStart + dataLength != buffer.capacity()) {
+				throw new SQLException(String.format("Binary mapping file '%s' is corrupted!", fileName));
+			}
+			slotMask = slotCount - 1;
+			dataOffset = (int) dataStart;
+		} else {
+			throw new SQLException("Only 'file' URL is currently supported for binary mapping!");
+		}
+	}
+
+	/**
+	 * translate
+	 *   Translates SQL Query
+	 *
+	 * @param source
+	 * @return translated SQL string using predefined mapping
+	 * @throws SQLException
+	 */
+	@Override
+	public String translate(final String source) throws SQLException {
+		final long sqlId = OraForwardUtils.sql_id_long(source);
+		int slot = slot(sqlId, slotMask);
+		while (true) {
+			final int slotPos = HEADER_SIZE + slot * SLOT_SIZE;
+			final int offset = buffer.getInt(slotPos + 8);
+			if (offset == EMPTY) {
+				return source;
+			} else if (buffer.getLong(slotPos) == sqlId) {
+				return decode(dataOffset + offset, buffer.getInt(slotPos + 12));
+			}
+			slot = (slot + 1) & slotMask;
+		}
+	}
+
+	/**
+	 * Returns number of SQL statements in mapping
+	 *
+	 * @return number of SQL statements
+	 */
+	public int size() {
+		return entryCount;
+	}
+
+	/**
+	 * Releases memory mapping of file
+	 */
+	@Override
+	public void close() {
+		OraForwardUtils.unmap(buffer);
+	}
+
+	private String decode(final int position, final int length) {
+		// Absolute gets do not change buffer state and are safe for concurrent readers
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(position + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int slot(final long sqlId, final int mask) {
+		// sql_id is already a part of MD5 hash and is evenly distributed
+		return (int) (sqlId ^ (sqlId >>> 32)) & mask;
+	}
+
+	/**
+	 * Writes SQL mapping to binary mapping file. File is written to temporary file
+	 * in the same directory and then renamed, so JVMs which have the previous
+	 * version mapped continue to read it unchanged
+	 *
+	 * @param mappingData  sql_id to SQL statement mapping
+	 * @param target       destination file
+	 * @throws IOException
+	 * @throws SQLException when mapping contains invalid sql_id
+	 */
+	public static void write(final Map<String, String> mappingData, final File target) throws IOException, SQLException {
+		final int entryCount = mappingData.size();
+		int slotCount = 16;
+		// Load factor not more than 0.5
+		while (slotCount < entryCount * 2) {
+			slotCount <<= 1;
+		}
+		final int slotMask = slotCount - 1;
+		final long[] keys = new long[slotCount];
+		final int[] offsets = new int[slotCount];
+		final int[] lengths = new int[slotCount];
+		Arrays.fill(offsets, EMPTY);
+		final byte[][] statements = new byte[entryCount][];
+		long dataLength = 0;
+		int entry = 0;
+		for (final Map.Entry<String, String> mapping : mappingData.entrySet()) {
+			final long sqlId = OraForwardUtils.parseSqlId(mapping.getKey());
+			final byte[] statement = mapping.getValue().getBytes(StandardCharsets.UTF_8);
+			int slot = slot(sqlId, slotMask);
+			while (offsets[slot] != EMPTY) {
+				if (keys[slot] == sqlId) {
+					throw new SQLException(String.format("Duplicate SQL_ID '%s'!", mapping.getKey()));
+				}
+				slot = (slot + 1) & slotMask;
+			}
+			if (dataLength + statement.length > Integer.MAX_VALUE - HEADER_SIZE - (long) slotCount * SLOT_SIZE) {
+				throw new IOException("Mapping data exceeds 2GB limit of binary mapping file!");
+			}
+			keys[slot] = sqlId;
+			offsets[slot] = (int) dataLength;
+			lengths[slot] = statement.length;
+			statements[entry++] = statement;
+			dataLength += statement.length;
+		}
+
+		final File temp = File.createTempFile(target.getName(), ".tmp", target.getAbsoluteFile().getParentFile());
+		try {
+			try (RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+					FileChannel channel = raf.getChannel()) {
+				final ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + slotCount * SLOT_SIZE);
+				index
+					.putInt(MAGIC)
+					.putInt(VERSION)
+					.putInt(entryCount)
+					.putInt(slotCount)
+					.putLong(HEADER_SIZE + (long) slotCount * SLOT_SIZE)
+					.putLong(dataLength);
+				for (int slot = 0; slot < slotCount; slot++) {
+					index
+						.putLong(keys[slot])
+						.putInt(offsets[slot])
+						.putInt(lengths[slot]);
+				}
+				// Buffer.flip(), ByteBuffer.flip() of Java 9 and above is not available on Java 8
+				((Buffer) index).flip();
+				while (index.hasRemaining()) {
+					channel.write(index);
+				}
+				// Statements are written in the same order as offsets were assigned
+				for (int i = 0; i < entryCount; i++) {
+					final ByteBuffer data = ByteBuffer.wrap(statements[i]);
+					while (data.hasRemaining()) {
+						channel.write(data);
+					}
+				}
+				channel.force(true);
+			}
+			Files.move(temp.toPath(), target.toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * Bounded cache of translation results in front of any OraForwardTranslateOrRecord.
+ * Lookup first checks a direct-mapped table for the same String instance, then
+ * falls back to java.util.concurrent.ConcurrentHashMap keyed by SQL text
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public class OraForwardTranslatorCache implements OraForwardTranslateOrRecord {
+
+	public static final int DEFAULT_SIZE = 4096;
+	public static final int DEFAULT_MAX_LENGTH = 16384;
+
+	private final OraForwardTranslateOrRecord translator;
+	private final int size;
+	private final int maxLength;
+	private final ConcurrentHashMap<String, String> cache;
+	private final Entry[] recent;
+	private final int recentMask;
+	private final LongAdder identityHits = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates cache in front of translator
+	 *
+	 * @param translator  translator to cache results of
+	 * @param size        maximum number of cached SQL statements
+	 * @param maxLength   SQL statements longer than maxLength characters are not cached
+	 */
+	public OraForwardTranslatorCache(
+			final OraForwardTranslateOrRecord translator, final int size, final int maxLength) {
+		this.translator = translator;
+		this.size = size;
+		this.maxLength = maxLength;
+		this.cache = new ConcurrentHashMap<>(Math.min(size, DEFAULT_SIZE));
+		// Direct-mapped identity table, power of two not less than size / 4
+		int recentSize = 16;
+		while (recentSize < (size >> 2) && recentSize < (1 << 16)) {
+			recentSize <<= 1;
+		}
+		this.recent = new Entry[recentSize];
+		this.recentMask = recentSize - 1;
+	}
+
+	/**
+	 * Wraps translator with cache if size is greater than zero
+	 *
+	 * @param translator  translator to cache results of
+	 * @param size        maximum number of cached SQL statements, 0 disables cache
+	 * @param maxLength   SQL statements longer than maxLength characters are not cached
+	 * @return translator wrapped with cache, or translator itself when cache is disabled
+	 */
+	public static OraForwardTranslateOrRecord wrap(
+			final OraForwardTranslateOrRecord translator, final int size, final int maxLength) {
+		if (size > 0) {
+			return new OraForwardTranslatorCache(translator, size, maxLength);
+		} else {
+			return translator;
+		}
+	}
+
+	/**
+	 * Returns the translated SQL statement using the cached result when available
+	 *
+	 * @param source source SQL statement
+	 * @return translated SQL string using predefined mapping
+	 * @throws SQLException
+	 */
+	@Override
+	public String translate(final String source) throws SQLException {
+		final int index = System.identityHashCode(source) & recentMask;
+		final Entry entry = recent[index];
+		if (entry != null && entry.source == source) {
+			identityHits.increment();
+			return entry.translated;
+		}
+		String translated = cache.get(source);
+		if (translated == null) {
+			misses.increment();
+			translated = translator.translate(source);
+			if (source.length() > maxLength || !translator.cacheable(source)) {
+				return translated;
+			}
+			if (cache.size() >= size) {
+				evict();
+			}
+			cache.put(source, translated);
+		} else {
+			hits.increment();
+		}
+		recent[index] = new Entry(source, translated);
+		return translated;
+	}
+
+	/**
+	 * Removes a quarter of entries when cache is full. ConcurrentHashMap iteration
+	 * order is effectively random for SQL text keys, so this is a random eviction
+	 */
+	private void evict() {
+		int toRemove = Math.max(size >> 2, 1);
+		final Iterator<String> iterator = cache.keySet().iterator();
+		while (toRemove > 0 && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+			toRemove--;
+			evictions.increment();
+		}
+	}
+
+	/**
+	 * Removes all cached translations
+	 */
+	public void clear() {
+		cache.clear();
+		for (int i = 0; i < recent.length; i++) {
+			recent[i] = null;
+		}
+	}
+
+	public OraForwardTranslateOrRecord getTranslator() {
+		return translator;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	public int getEntryCount() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns number of lookups resolved by the same String instance
+	 *
+	 * @return number of identity hits
+	 */
+	public long getIdentityHits() {
+		return identityHits.sum();
+	}
+
+	/**
+	 * Returns number of lookups resolved by equal SQL text
+	 *
+	 * @return number of hits excluding identity hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	private static final class Entry {
+		private final String source;
+		private final String translated;
+
+		Entry(final String source, final String translated) {
+			this.source = source;
+			this.translated = translated;
+		}
+	}
+
+}
@@ -16,37 +16,101 @@ package solutions.a2.oracle.jdbc;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.map.ChronicleMap;
 import net.openhft.chronicle.map.ChronicleMapBuilder;
+import net.openhft.chronicle.values.Values;
 
 /**
  * SQL Mapping/tranlsation implementation using <a href="https://chronicle.software/">Chronicle Map</a>
+ * keyed by 64 bit value behind sql_id. Files with 13 character sql_id String keys
+ * are not supported and must be rebuilt with OraRedirectUtils yaml2chronicle.
+ * Chronicle Map file is always mapped shared, so in read-only mode many JVMs on the
+ * same host use the same pages of OS page cache
  *
  * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
  * 
  */
 public class OraForwardTranslatorChronicle implements OraForwardTranslateOrRecord {
 
-	private final ChronicleMap<String, String> sqlMap;
+	private static final Logger LOGGER = Logger.getLogger(OraForwardTranslatorChronicle.class.getName());
+	static final int DEFAULT_ENTRIES = 16384;
+	static final int DEFAULT_AVERAGE_VALUE_SIZE = 512;
 
-	OraForwardTranslatorChronicle(final URL mappingFileUrl) throws SQLException {
+	private final ChronicleMap<LongValue, CharSequence> sqlMap;
+	private final ThreadLocal<Lookup> lookup = ThreadLocal.withInitial(Lookup::new);
+
+	/**
+	 * Opens Chronicle Map mapping file
+	 * 
+	 * @param mappingFileUrl   URL of mapping file, only 'file' protocol is supported
+	 * @param entries          expected number of SQL statements, used only when file is created
+	 * @param averageValueSize average size of SQL statement in bytes, used only when file is created
+	 * @param recover          when false existing file is opened without recovery, missing file is an error.
+	 *                         When true file is created when missing or recovered, this requires
+	 *                         that no other process has this file open
+	 * @throws SQLException
+	 */
+	OraForwardTranslatorChronicle(final URL mappingFileUrl,
+			final int entries, final int averageValueSize, final boolean recover) throws SQLException {
 		if ("file".equals(mappingFileUrl.getProtocol())) {
+			final File file = new File(mappingFileUrl.getFile());
+			final ChronicleMap<?, ?> persisted;
 			try {
-				sqlMap = ChronicleMapBuilder
-							.of(String.class, String.class)
-							.createOrRecoverPersistedTo(new File(mappingFileUrl.getFile()));
+				// Existing file is opened with key and value classes and sizing stored in it
+				final ChronicleMapBuilder<LongValue, CharSequence> builder = builder(entries, averageValueSize);
+				if (recover) {
+					persisted = builder.createOrRecoverPersistedTo(file);
+				} else {
+					if (!file.isFile()) {
+						throw new SQLException(
+								String.format("Chronicle Map file '%s' does not exist!", mappingFileUrl.getFile()));
+					}
+					persisted = builder.createPersistedTo(file);
+				}
 			} catch (IOException ioe) {
 				throw new SQLException(
 						String.format("Unable to instantiate Chronicle Map from file '%s'!", mappingFileUrl.getFile()),
 						ioe);
 			}
+			sqlMap = longKeyed(persisted, mappingFileUrl);
 		} else {
 			throw new SQLException("Only 'file' URL is currently supported for Chronicle Map!");
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private static ChronicleMap<LongValue, CharSequence> longKeyed(
+			final ChronicleMap<?, ?> persisted, final URL mappingFileUrl) throws SQLException {
+		if (LongValue.class.isAssignableFrom(persisted.keyClass()) &&
+				CharSequence.class.isAssignableFrom(persisted.valueClass())) {
+			return (ChronicleMap<LongValue, CharSequence>) persisted;
+		} else if (CharSequence.class.isAssignableFrom(persisted.keyClass()) &&
+				CharSequence.class.isAssignableFrom(persisted.valueClass())) {
+			// Copy of String keyed file would be private memory of each process
+			persisted.close();
+			LOGGER.log(Level.SEVERE,
+					"Chronicle Map {0} has String sql_id keys! Please rebuild it with 'OraRedirectUtils yaml2chronicle'.",
+					mappingFileUrl);
+			throw new SQLException(String.format(
+					"Chronicle Map '%s' has String sql_id keys! Please rebuild it with 'OraRedirectUtils yaml2chronicle'!",
+					mappingFileUrl.getFile()));
+		} else {
+			persisted.close();
+			throw new SQLException(String.format(
+					"Unsupported Chronicle Map key/value classes %s/%s in '%s'!",
+					persisted.keyClass().getName(), persisted.valueClass().getName(), mappingFileUrl.getFile()));
+		}
+	}
+
 
 	/**
 	 * translate
@@ -58,8 +122,80 @@ public class OraForwardTranslatorChronicle implements OraForwardTranslateOrRecor
 	 */
 	@Override
 	public String translate(final String source) throws SQLException {
-		final String sqlId = OraForwardUtils.sql_id(source);
-		return sqlMap.getOrDefault(sqlId, source);
+		final Lookup context = lookup.get();
+		context.key.setValue(OraForwardUtils.sql_id_long(source));
+		context.value.setLength(0);
+		final CharSequence translated = sqlMap.getUsing(context.key, context.value);
+		return translated == null ? source : translated.toString();
+	}
+
+	/**
+	 * Returns number of SQL statements in mapping
+	 * 
+	 * @return number of SQL statements
+	 */
+	public int size() {
+		return sqlMap.size();
+	}
+
+	@Override
+	public void close() {
+		sqlMap.close();
+	}
+
+	/**
+	 * Writes SQL mapping to Chronicle Map file sized for this mapping. File is written
+	 * to temporary file in the same directory and then renamed
+	 *
+	 * @param mappingData  sql_id to SQL statement mapping
+	 * @param target       destination file
+	 * @throws IOException
+	 * @throws SQLException when mapping contains invalid sql_id
+	 */
+	public static void write(final Map<String, String> mappingData, final File target) throws IOException, SQLException {
+		final int entries = mappingData.size();
+		long totalLength = 0;
+		for (final String value : mappingData.values()) {
+			totalLength += value.getBytes(StandardCharsets.UTF_8).length;
+		}
+		final File temp = File.createTempFile(target.getName(), ".tmp", target.getAbsoluteFile().getParentFile());
+		try {
+			// createPersistedTo requires that file does not exist or is a valid Chronicle Map
+			Files.delete(temp.toPath());
+			try (ChronicleMap<LongValue, CharSequence> sqlMap = builder(
+					Math.max(entries, 1),
+					entries == 0 ? DEFAULT_AVERAGE_VALUE_SIZE : Math.max(1.0, (double) totalLength / entries))
+					.createPersistedTo(temp)) {
+				final LongValue key = Values.newHeapInstance(LongValue.class);
+				for (final Map.Entry<String, String> mapping : mappingData.entrySet()) {
+					key.setValue(OraForwardUtils.parseSqlId(mapping.getKey()));
+					if (sqlMap.putIfAbsent(key, mapping.getValue()) != null) {
+						throw new SQLException(String.format("Duplicate SQL_ID '%s'!", mapping.getKey()));
+					}
+				}
+			}
+			Files.move(temp.toPath(), target.toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	private static ChronicleMapBuilder<LongValue, CharSequence> builder(
+			final long entries, final double averageValueSize) {
+		return ChronicleMapBuilder
+				.of(LongValue.class, CharSequence.class)
+				.name("a2-sql-mapping")
+				.entries(entries)
+				.averageValueSize(averageValueSize);
+	}
+
+	/**
+	 * Per thread reusable key and value for lookups
+	 */
+	private static class Lookup {
+		private final LongValue key = Values.newHeapInstance(LongValue.class);
+		private final StringBuilder value = new StringBuilder(256);
 	}
 
 }
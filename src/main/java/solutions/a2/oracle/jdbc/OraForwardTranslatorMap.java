@@ -18,24 +18,34 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.sql.SQLException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * SQL Mapping/tranlsation implementation using java.util.concurrent.ConcurrentHashMap
+ * SQL Mapping/tranlsation implementation using open-addressing map keyed by
+ * 64 bit value behind sql_id, which is not modified after load
  *
  * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
  * 
  */
 public class OraForwardTranslatorMap implements OraForwardTranslateOrRecord {
 
-	private final Map<String, String> sqlMap;
+	private static final Logger LOGGER = Logger.getLogger(OraForwardTranslatorMap.class.getName());
+
+	private final OraForwardLongMap<String> sqlMap;
 
 	OraForwardTranslatorMap(final URL mappingFileUrl) throws SQLException {
-		sqlMap = new ConcurrentHashMap<>();
-		try {
-			OraForwardUtils.readSimpleYaml(
-				new BufferedReader(new InputStreamReader(mappingFileUrl.openStream())), sqlMap);
+		// Map is not modified after construction and may be read without locking
+		sqlMap = new OraForwardLongMap<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(mappingFileUrl.openStream()))) {
+			OraForwardUtils.readSimpleYaml(reader, (sqlId, sqlStatement) -> {
+				try {
+					sqlMap.put(OraForwardUtils.parseSqlId(sqlId), sqlStatement);
+				} catch (SQLException sqle) {
+					LOGGER.log(Level.WARNING, "Skipping mapping with invalid SQL_ID ''{0}'' in {1}",
+							new Object[] {sqlId, mappingFileUrl});
+				}
+			});
 		} catch (IOException ioe) {
 			throw new SQLException(String.format("Unable to read from '%s'!", mappingFileUrl.toString()), ioe);
 		}
@@ -52,8 +62,17 @@ public class OraForwardTranslatorMap implements OraForwardTranslateOrRecord {
 	 */
 	@Override
 	public String translate(final String source) throws SQLException {
-		final String sqlId = OraForwardUtils.sql_id(source);
-		return sqlMap.getOrDefault(sqlId, source);
+		final String translated = sqlMap.get(OraForwardUtils.sql_id_long(source));
+		return translated == null ? source : translated;
+	}
+
+	/**
+	 * Returns number of SQL statements in mapping
+	 * 
+	 * @return number of SQL statements
+	 */
+	public int size() {
+		return sqlMap.size();
 	}
 
 }
@@ -13,7 +13,12 @@
 
 package solutions.a2.oracle.jdbc;
 
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 /**
  * 
@@ -34,9 +39,19 @@ public class OraForwardUrlParser {
 	public static final String A2_MAPPING_FILE_URL = "a2.mapping.file.url";
 	/**
 	 * 'a2.mapping.file.type' - file type of SQL mapping file.
-	 *   Allowed values 'yaml' or 'chronicle'
+	 *   Allowed values 'yaml', 'chronicle' or 'binary'
+	 *   'binary' is read-only memory-mapped file created by OraRedirectUtils yaml2binary
 	 */
 	public static final String A2_MAPPING_FILE_TYPE = "a2.mapping.file.type";
+	public static final String A2_MAPPING_FILE_TYPE_YAML = "yaml";
+	public static final String A2_MAPPING_FILE_TYPE_CHRONICLE = "chronicle";
+	public static final String A2_MAPPING_FILE_TYPE_BINARY = "binary";
+	/**
+	 * 'a2.mapping.reload.interval' - interval in milliseconds to check YAML or binary mapping
+	 *  file for changes and reload it without restart. 0 disables reload.
+	 *  Default - 0
+	 */
+	public static final String A2_MAPPING_RELOAD_INTERVAL = "a2.mapping.reload.interval";
 	/**
 	 * 'a2.backing.driver' - type of backing driver.
 	 *   Allowed values 'PostgreSQL' or 'MariaDB'
@@ -58,6 +73,119 @@ public class OraForwardUrlParser {
 	 *  Default - /opt/a2/probe.yaml
 	 */
 	public static final String A2_PROBE_FILE = "a2.probe.file";
+	/**
+	 * 'a2.probe.queue.size' - maximum number of new SQL statements waiting to be written
+	 *  to probe file. When queue is full, SQL statement is recorded at next execution.
+	 *  Default - 16384
+	 */
+	public static final String A2_PROBE_QUEUE_SIZE = "a2.probe.queue.size";
+	/**
+	 * 'a2.probe.batch.size' - maximum number of SQL statements written to probe file
+	 *  and flushed at once.
+	 *  Default - 256
+	 */
+	public static final String A2_PROBE_BATCH_SIZE = "a2.probe.batch.size";
+	/**
+	 * 'a2.probe.batch.wait' - maximum time in milliseconds to wait for more SQL
+	 *  statements before batch is written to probe file.
+	 *  Default - 100
+	 */
+	public static final String A2_PROBE_BATCH_WAIT = "a2.probe.batch.wait";
+	/**
+	 * 'a2.probe.max.statements' - maximum number of distinct SQL statements recorded
+	 *  to probe file. Only 16 bytes per statement are kept in memory, allocated at start.
+	 *  SQL statements above this limit are counted and skipped.
+	 *  Default - 1048576
+	 */
+	public static final String A2_PROBE_MAX_STATEMENTS = "a2.probe.max.statements";
+	/**
+	 * 'a2.translation.cache.size' - maximum number of SQL statements which translation
+	 *  results are cached in front of mapping or probe file. 0 disables cache.
+	 *  Default - 4096
+	 */
+	public static final String A2_TRANSLATION_CACHE_SIZE = "a2.translation.cache.size";
+	/**
+	 * 'a2.translation.cache.max.length' - SQL statements longer than this number of
+	 *  characters are not cached.
+	 *  Default - 16384
+	 */
+	public static final String A2_TRANSLATION_CACHE_MAX_LENGTH = "a2.translation.cache.max.length";
+	/**
+	 * 'a2.chronicle.entries' - expected number of SQL statements in Chronicle Map
+	 *  mapping file, used only when file is created. Existing files keep their own sizing.
+	 *  Default - 16384
+	 */
+	public static final String A2_CHRONICLE_ENTRIES = "a2.chronicle.entries";
+	/**
+	 * 'a2.chronicle.average.value.size' - average size in bytes of translated SQL
+	 *  statement in Chronicle Map mapping file, used only when file is created.
+	 *  Default - 512
+	 */
+	public static final String A2_CHRONICLE_AVERAGE_VALUE_SIZE = "a2.chronicle.average.value.size";
+	/**
+	 * 'a2.chronicle.recover' - true/false
+	 *   If true - file is created when missing or recovered when opened, no other process
+	 *   may use the file
+	 *   If false - existing Chronicle Map file is opened without recovery and is shared
+	 *   with other processes, missing file is an error. Chronicle Map maps the file
+	 *   read-write, the driver only reads it
+	 * Default - false
+	 */
+	public static final String A2_CHRONICLE_RECOVER = "a2.chronicle.recover";
+	/**
+	 * 'a2.batch.rewrite.max.rows' - maximum number of rows in multi-row INSERT statement
+	 *  used to execute batch of single row INSERT ... VALUES (...) statement in forward mode.
+	 *  Number of rows is also limited by maximum number of bind variables of database.
+	 *  0 or 1 disables batch rewriting.
+	 *  Default - 256
+	 */
+	public static final String A2_BATCH_REWRITE_MAX_ROWS = "a2.batch.rewrite.max.rows";
+	/**
+	 * 'a2.copy.min.rows' - minimum number of rows in batch of single row
+	 *  INSERT INTO table(columns) VALUES (?, ...) statement which is sent with
+	 *  COPY ... FROM STDIN in forward mode with PostgreSQL. Batches with values which
+	 *  COPY can not encode and statements of other shape use batch rewriting.
+	 *  0 disables COPY.
+	 *  Default - 0
+	 */
+	public static final String A2_COPY_MIN_ROWS = "a2.copy.min.rows";
+	/**
+	 * 'a2.copy.sql.ids' - comma separated list of Oracle sql_id of INSERT statements
+	 *  which batches are always sent with COPY ... FROM STDIN regardless of a2.copy.min.rows
+	 */
+	public static final String A2_COPY_SQL_IDS = "a2.copy.sql.ids";
+	/**
+	 * 'a2.stream.min.prefetch' - minimum row prefetch of query which result set is
+	 *  fetched with cursor in auto-commit mode in forward mode with PostgreSQL. Auto-commit
+	 *  of backend connection is suspended until result set is closed or fully read, rest of
+	 *  result set is read into memory or temporary file before other statement is executed.
+	 *  0 disables streaming of forward only result sets in auto-commit mode, emulated
+	 *  scrollable result sets are always streamed.
+	 *  Default - 100
+	 */
+	public static final String A2_STREAM_MIN_PREFETCH = "a2.stream.min.prefetch";
+	/**
+	 * 'a2.metadata.cache.ttl' - time to live in milliseconds of catalog snapshots which
+	 *  DatabaseMetaData uses in forward mode to answer getTables, getColumns, getPrimaryKeys,
+	 *  getIndexInfo, etc. with Oracle casing.
+	 *  0 disables snapshots and DatabaseMetaData of database is returned.
+	 *  Default - 300000
+	 */
+	public static final String A2_METADATA_CACHE_TTL = "a2.metadata.cache.ttl";
+	/**
+	 * 'a2.scroll.window.rows' - number of rows which read only scrollable result set keeps
+	 *  in memory in forward mode. Scrollable result set reads rows from forward only result
+	 *  set of database, rows out of this window are kept in memory-mapped temporary file.
+	 *  0 disables emulation and scrollable result set of database is used.
+	 *  Default - 0
+	 */
+	public static final String A2_SCROLL_WINDOW_ROWS = "a2.scroll.window.rows";
+	/**
+	 * 'a2.scroll.spill.dir' - directory of temporary files of emulated scrollable result sets.
+	 *  Files are readable and writable only by owner where file system supports POSIX permissions.
+	 *  Default - java.io.tmpdir
+	 */
+	public static final String A2_SCROLL_SPILL_DIR = "a2.scroll.spill.dir";
 	/**
 	 *  Oracle JDBC Prefix
 	 */
@@ -69,9 +197,26 @@ public class OraForwardUrlParser {
 	private String url;
 	private int dbType = OraForwardUtils.POSTGRESQL;
 	private String mappingUrl = null;
-	private boolean yamlStore = true;
+	private String mappingFileType = A2_MAPPING_FILE_TYPE_YAML;
 	private String driverMode = A2_DRIVER_MODE_FORWARD;
 	private String probeFileName;
+	private int probeQueueSize = OraForwardWarehouse.DEFAULT_QUEUE_SIZE;
+	private int probeBatchSize = OraForwardWarehouse.DEFAULT_BATCH_SIZE;
+	private int probeBatchWait = OraForwardWarehouse.DEFAULT_BATCH_WAIT;
+	private int probeMaxStatements = OraForwardWarehouse.DEFAULT_MAX_STATEMENTS;
+	private long mappingReloadInterval = 0;
+	private int translationCacheSize = OraForwardTranslatorCache.DEFAULT_SIZE;
+	private int translationCacheMaxLength = OraForwardTranslatorCache.DEFAULT_MAX_LENGTH;
+	private int chronicleEntries = OraForwardTranslatorChronicle.DEFAULT_ENTRIES;
+	private int chronicleAverageValueSize = OraForwardTranslatorChronicle.DEFAULT_AVERAGE_VALUE_SIZE;
+	private boolean chronicleRecover = false;
+	private int batchRewriteMaxRows = OraForwardBatchRewriter.DEFAULT_MAX_ROWS;
+	private int copyMinRows = 0;
+	private long[] copySqlIds = new long[0];
+	private int streamMinPrefetch = OraForwardConnection.DEFAULT_STREAM_MIN_PREFETCH;
+	private int metaDataCacheTtl = OraForwardConnection.DEFAULT_METADATA_CACHE_TTL;
+	private int scrollWindowRows = OraForwardConnection.DEFAULT_SCROLL_WINDOW_ROWS;
+	private Path scrollSpillDir = null;
 
 	public OraForwardUrlParser(final String sourceUrl) throws SQLException {
 		if (sourceUrl.substring(ORA_PREFIX.length()).contains("TNS_ADMIN=")) {
@@ -89,15 +234,19 @@ public class OraForwardUrlParser {
 					if (param.startsWith(A2_MAPPING_FILE_URL)) {
 						mappingUrl = parseParamValue(A2_MAPPING_FILE_URL, param);
 					} else if (param.startsWith(A2_MAPPING_FILE_TYPE)) {
-						final String mappingFileType = parseParamValue(A2_MAPPING_FILE_TYPE, param);
-						if ("yaml".equals(mappingFileType)) {
-							yamlStore = true;
-						} else if ("chronicle".equals(mappingFileType)) {
-							yamlStore = false;
+						final String fileType = parseParamValue(A2_MAPPING_FILE_TYPE, param);
+						if (A2_MAPPING_FILE_TYPE_YAML.equals(fileType)) {
+							mappingFileType = A2_MAPPING_FILE_TYPE_YAML;
+						} else if (A2_MAPPING_FILE_TYPE_CHRONICLE.equals(fileType)) {
+							mappingFileType = A2_MAPPING_FILE_TYPE_CHRONICLE;
+						} else if (A2_MAPPING_FILE_TYPE_BINARY.equals(fileType)) {
+							mappingFileType = A2_MAPPING_FILE_TYPE_BINARY;
 						} else {
 							throw new SQLException(
-									"For the '" + A2_MAPPING_FILE_TYPE + "' only yaml and chronicle are allowed!");
+									"For the '" + A2_MAPPING_FILE_TYPE + "' only yaml, chronicle and binary are allowed!");
 						}
+					} else if (param.startsWith(A2_MAPPING_RELOAD_INTERVAL)) {
+						mappingReloadInterval = parseIntParamValue(A2_MAPPING_RELOAD_INTERVAL, param);
 					} else if (param.startsWith(A2_BACKING_DRIVER)) {
 						final String backingFileType = parseParamValue(A2_BACKING_DRIVER, param);
 						if ("postgres".equals(backingFileType)) {
@@ -122,6 +271,71 @@ public class OraForwardUrlParser {
 						}
 					} else if (param.startsWith(A2_PROBE_FILE)) {
 						probeFileName = parseParamValue(A2_PROBE_FILE, param);
+					} else if (param.startsWith(A2_PROBE_QUEUE_SIZE)) {
+						probeQueueSize = parseIntParamValue(A2_PROBE_QUEUE_SIZE, param);
+					} else if (param.startsWith(A2_PROBE_BATCH_SIZE)) {
+						probeBatchSize = parseIntParamValue(A2_PROBE_BATCH_SIZE, param);
+					} else if (param.startsWith(A2_PROBE_BATCH_WAIT)) {
+						probeBatchWait = parseIntParamValue(A2_PROBE_BATCH_WAIT, param);
+					} else if (param.startsWith(A2_PROBE_MAX_STATEMENTS)) {
+						probeMaxStatements = parseIntParamValue(A2_PROBE_MAX_STATEMENTS, param);
+					} else if (param.startsWith(A2_TRANSLATION_CACHE_SIZE)) {
+						translationCacheSize = parseIntParamValue(A2_TRANSLATION_CACHE_SIZE, param);
+					} else if (param.startsWith(A2_TRANSLATION_CACHE_MAX_LENGTH)) {
+						translationCacheMaxLength = parseIntParamValue(A2_TRANSLATION_CACHE_MAX_LENGTH, param);
+					} else if (param.startsWith(A2_BATCH_REWRITE_MAX_ROWS)) {
+						batchRewriteMaxRows = parseIntParamValue(A2_BATCH_REWRITE_MAX_ROWS, param);
+					} else if (param.startsWith(A2_COPY_MIN_ROWS)) {
+						copyMinRows = parseIntParamValue(A2_COPY_MIN_ROWS, param);
+					} else if (param.startsWith(A2_COPY_SQL_IDS)) {
+						final String[] sqlIds = parseParamValue(A2_COPY_SQL_IDS, param).split(",");
+						copySqlIds = new long[sqlIds.length];
+						for (int i = 0; i < sqlIds.length; i++) {
+							copySqlIds[i] = OraForwardUtils.parseSqlId(sqlIds[i].trim());
+						}
+						Arrays.sort(copySqlIds);
+					} else if (param.startsWith(A2_STREAM_MIN_PREFETCH)) {
+						streamMinPrefetch = parseIntParamValue(A2_STREAM_MIN_PREFETCH, param);
+					} else if (param.startsWith(A2_METADATA_CACHE_TTL)) {
+						metaDataCacheTtl = parseIntParamValue(A2_METADATA_CACHE_TTL, param);
+					} else if (param.startsWith(A2_SCROLL_WINDOW_ROWS)) {
+						scrollWindowRows = parseIntParamValue(A2_SCROLL_WINDOW_ROWS, param);
+					} else if (param.startsWith(A2_SCROLL_SPILL_DIR)) {
+						final String dir = parseParamValue(A2_SCROLL_SPILL_DIR, param);
+						try {
+							scrollSpillDir = Paths.get(dir);
+						} catch (InvalidPathException ipe) {
+							throw new SQLException(
+									String.format("Unable to parse '%s' parameter! " +
+											"Value '%s' is not a path!", A2_SCROLL_SPILL_DIR, dir), ipe);
+						}
+						if (!Files.isDirectory(scrollSpillDir)) {
+							throw new SQLException(
+									String.format("Value of '%s' parameter must be a directory! " +
+											"'%s' is not a directory!", A2_SCROLL_SPILL_DIR, dir));
+						}
+					} else if (param.startsWith(A2_CHRONICLE_ENTRIES)) {
+						chronicleEntries = parseIntParamValue(A2_CHRONICLE_ENTRIES, param);
+						if (chronicleEntries == 0) {
+							throw new SQLException(
+									String.format("Value of '%s' parameter must be positive!", A2_CHRONICLE_ENTRIES));
+						}
+					} else if (param.startsWith(A2_CHRONICLE_AVERAGE_VALUE_SIZE)) {
+						chronicleAverageValueSize = parseIntParamValue(A2_CHRONICLE_AVERAGE_VALUE_SIZE, param);
+						if (chronicleAverageValueSize == 0) {
+							throw new SQLException(
+									String.format("Value of '%s' parameter must be positive!", A2_CHRONICLE_AVERAGE_VALUE_SIZE));
+						}
+					} else if (param.startsWith(A2_CHRONICLE_RECOVER)) {
+						final String recover = parseParamValue(A2_CHRONICLE_RECOVER, param);
+						if ("true".equalsIgnoreCase(recover)) {
+							chronicleRecover = true;
+						} else if ("false".equalsIgnoreCase(recover)) {
+							chronicleRecover = false;
+						} else {
+							throw new SQLException(
+									"For the '" + A2_CHRONICLE_RECOVER + "' only true and false are allowed!");
+						}
 					} else {
 						if (driverParams == null) {
 							driverParams = new String(param);
@@ -200,6 +414,23 @@ public class OraForwardUrlParser {
 		}
 	}
 
+	private int parseIntParamValue(final String paramName, final String nameValuePair) throws SQLException {
+		final String value = parseParamValue(paramName, nameValuePair);
+		final int result;
+		try {
+			result = Integer.parseInt(value.trim());
+		} catch (NumberFormatException nfe) {
+			throw new SQLException(
+					String.format("Unable to parse '%s' parameter! " +
+							"Value '%s' is not a number!", paramName, value), nfe);
+		}
+		if (result < 0) {
+			throw new SQLException(
+					String.format("Value of '%s' parameter must not be negative!", paramName));
+		}
+		return result;
+	}
+
 	public String getUrl() {
 		return url;
 	}
@@ -213,7 +444,11 @@ public class OraForwardUrlParser {
 	}
 
 	public boolean isYamlStore() {
-		return yamlStore;
+		return A2_MAPPING_FILE_TYPE_YAML.equals(mappingFileType);
+	}
+
+	public String getMappingFileType() {
+		return mappingFileType;
 	}
 
 	public String getDriverMode() {
@@ -224,4 +459,82 @@ public class OraForwardUrlParser {
 		return probeFileName;
 	}
 
+	public int getProbeQueueSize() {
+		return probeQueueSize;
+	}
+
+	public int getProbeBatchSize() {
+		return probeBatchSize;
+	}
+
+	public int getProbeBatchWait() {
+		return probeBatchWait;
+	}
+
+	public int getProbeMaxStatements() {
+		return probeMaxStatements;
+	}
+
+	public long getMappingReloadInterval() {
+		return mappingReloadInterval;
+	}
+
+	public int getTranslationCacheSize() {
+		return translationCacheSize;
+	}
+
+	public int getTranslationCacheMaxLength() {
+		return translationCacheMaxLength;
+	}
+
+	public int getChronicleEntries() {
+		return chronicleEntries;
+	}
+
+	public int getChronicleAverageValueSize() {
+		return chronicleAverageValueSize;
+	}
+
+	public boolean isChronicleRecover() {
+		return chronicleRecover;
+	}
+
+	public int getBatchRewriteMaxRows() {
+		return batchRewriteMaxRows;
+	}
+
+	public int getCopyMinRows() {
+		return copyMinRows;
+	}
+
+	/**
+	 * Returns 64 bit values of sql_id listed in a2.copy.sql.ids
+	 *
+	 * @return sorted array of sql_id values
+	 */
+	public long[] getCopySqlIds() {
+		return copySqlIds;
+	}
+
+	public int getStreamMinPrefetch() {
+		return streamMinPrefetch;
+	}
+
+	public int getMetaDataCacheTtl() {
+		return metaDataCacheTtl;
+	}
+
+	public int getScrollWindowRows() {
+		return scrollWindowRows;
+	}
+
+	/**
+	 * Returns directory of temporary files of emulated scrollable result sets
+	 *
+	 * @return directory, or null when java.io.tmpdir is used
+	 */
+	public Path getScrollSpillDir() {
+		return scrollSpillDir;
+	}
+
 }
@@ -16,16 +16,22 @@ package solutions.a2.oracle.jdbc;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLSyntaxErrorException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,12 +51,19 @@ public class OraForwardUtils {
 	private static final int SQL_ID_END = 12;
 	private static final String ORA_SQL_ID_ALPHABET = "0123456789abcdfghjkmnpqrstuvwxyz";
 	private static final byte NULL_CHAR_BYTE = 0x00;
+	private static final byte[] ORA_SQL_ID_INDEX = new byte['z' + 1];
+	private static final ThreadLocal<SqlIdContext> SQL_ID_CONTEXT = ThreadLocal.withInitial(SqlIdContext::new);
+	private static final Consumer<ByteBuffer> UNMAP = unmapper();
 
 	private static String version = "undefined";
 	private static int versionMajor = 0;
 	private static int versionMinor = 0;
 
 	static {
+		Arrays.fill(ORA_SQL_ID_INDEX, (byte) -1);
+		for (int i = 0; i < ORA_SQL_ID_ALPHABET.length(); i++) {
+			ORA_SQL_ID_INDEX[ORA_SQL_ID_ALPHABET.charAt(i)] = (byte) i;
+		}
 		try (InputStream is = OraForwardUtils.class.getResourceAsStream(PROPS_PATH)) {
 			Properties props = new Properties();
 			props.load(is);
@@ -132,6 +145,16 @@ public class OraForwardUtils {
 	 * @throws IOException
 	 */
 	public static void readSimpleYaml(final BufferedReader reader, final Map<String, String> mappingData) throws IOException {
+		readSimpleYaml(reader, mappingData::put);
+	}
+
+	/**
+	 * 
+	 * @param reader        java.io.BufferedReader pointing to source YAML
+	 * @param consumer      receives sql_id and SQL statement for each entry
+	 * @throws IOException
+	 */
+	public static void readSimpleYaml(final BufferedReader reader, final BiConsumer<String, String> consumer) throws IOException {
 		String line = reader.readLine();
 		while (line != null) {
 			boolean readNextLine = true;
@@ -168,7 +191,7 @@ public class OraForwardUtils {
 					} else {
 						sqlStatement = line.substring(pos); 
 					}
-					mappingData.put(sqlId, sqlStatement);
+					consumer.accept(sqlId, sqlStatement);
 				} else {
 					throw new IOException("Invalid format for YAML file!");
 				}
@@ -189,48 +212,53 @@ public class OraForwardUtils {
 	 * @throws SQLException 
 	 */
 	public static String sql_id(final String sqlText) throws SQLException {
-		try {
-			// Get 32 Hex Characters
-			final String strHex32Hash = getStatementMd5Hash(sqlText);
-			// Obtain MD5 hash, split and reverse Q3 and Q4
-			// Reverse order of each of the 4 pairs of hex characters in Q3 and Q4
-			final String strHexQ3Reverse = strHex32Hash.substring(22, 24) + strHex32Hash.substring(20, 22)
-					+ strHex32Hash.substring(18, 20) + strHex32Hash.substring(16, 18);
-			final String strHexQ4Reverse = strHex32Hash.substring(30, 32) + strHex32Hash.substring(28, 30)
-					+ strHex32Hash.substring(26, 28) + strHex32Hash.substring(24, 26);
-			// assemble lower 16 with reversed q3 and q4
-			final String strHexLower16Assembly = strHexQ3Reverse + strHexQ4Reverse;
-			// convert to 64 bits of binary data
-			String strBinary16Assembly = (new BigInteger(strHexLower16Assembly, 16).toString(2));
+		final SqlIdContext context = SQL_ID_CONTEXT.get();
+		return context.format(context.digest(sqlText));
+	}
 
-			// Left pad with zeros, if the length is less than 64
-			final StringBuilder sbBinary16mAssembly = new StringBuilder();
-			for (int toLefPad = 64 - strBinary16Assembly.length(); toLefPad > 0; toLefPad--) {
-				sbBinary16mAssembly.append('0');
-			}
-			sbBinary16mAssembly.append(strBinary16Assembly);
-			strBinary16Assembly = sbBinary16mAssembly.toString();
+	/**
+	 * Returns the 64 bits of MD5 hash behind Oracle sql_id of a SQL statement,
+	 * i.e. reversed Q3 of the MD5 hash in the upper 32 bits and reversed Q4 in the lower 32 bits
+	 * 
+	 * @param sqlText SQL statement text
+	 * @return 64 bit value which {@link #sql_id(long)} renders as Oracle sql_id
+	 * @throws SQLException 
+	 */
+	public static long sql_id_long(final String sqlText) throws SQLException {
+		return SQL_ID_CONTEXT.get().digest(sqlText);
+	}
+
+	/**
+	 * Renders 64 bit value returned by {@link #sql_id_long(String)} as 13 character Oracle sql_id
+	 * 
+	 * @param sqlIdLong 64 bit value behind Oracle sql_id
+	 * @return Oracle sql_id
+	 */
+	public static String sql_id(final long sqlIdLong) {
+		return SQL_ID_CONTEXT.get().format(sqlIdLong);
+	}
 
-			// Split the 64 bit string into 13 pieces
-			// First split as 4 bit and remaining as 5 bits
-			final StringBuilder sbSQLId = new StringBuilder();
-			for (int i = 0; i < 13; i++) {
-				final String strPartBindaySplit = (i == 0 ? strBinary16Assembly.substring(0, 4)
-						: (i < 12 ? strBinary16Assembly.substring((i * 5) - 1, (i * 5) + 4)
-								: strBinary16Assembly.substring((i * 5) - 1)));
-				// Index position on Alphabet
-				final int intIndexOnAlphabet = Integer.parseInt(strPartBindaySplit, 2);
-				// Stick 13 characters
-				sbSQLId.append(ORA_SQL_ID_ALPHABET.charAt(intIndexOnAlphabet));
+	/**
+	 * Parses 13 character Oracle sql_id back to the 64 bit value returned by {@link #sql_id_long(String)}
+	 * 
+	 * @param sqlId 13 character Oracle sql_id
+	 * @return 64 bit value behind Oracle sql_id
+	 * @throws SQLException when sqlId is not a valid Oracle sql_id
+	 */
+	public static long parseSqlId(final CharSequence sqlId) throws SQLException {
+		if (sqlId.length() != SQL_ID_END + 1) {
+			throw new SQLException(String.format("Invalid SQL_ID '%s'!", sqlId));
+		}
+		long result = 0;
+		for (int i = 0; i <= SQL_ID_END; i++) {
+			final char ch = sqlId.charAt(i);
+			final int index = ch < ORA_SQL_ID_INDEX.length ? ORA_SQL_ID_INDEX[ch] : -1;
+			if (index < 0 || (i == 0 && index > 0x0F)) {
+				throw new SQLException(String.format("Invalid SQL_ID '%s'!", sqlId));
 			}
-			return sbSQLId.toString();
-		} catch (UnsupportedEncodingException e) {
-			throw new SQLException(String.format(
-					"Unable to convert SQL text\n\t'%s'\n\t\tto UTF-8 encoding.", sqlText));
-		} catch (NoSuchAlgorithmException e) {
-			throw new SQLException(String.format(
-					"Unable to init crypto while calculating SQL_ID for '%s'.", sqlText));
+			result = (result << (i == 0 ? 4 : 5)) | index;
 		}
+		return result;
 	}
 
 	/**
@@ -257,47 +285,163 @@ public class OraForwardUtils {
          *  Force Matching Signature: 16194980974160721469
          *  Force Matching Signature Hex: E0C021642D0F363D  
          */
-		try {
-			// Get 32 Hex Characters
-			// Obtain MD5 hash, split and reverse Q4
-			final String strHex32Hash = getStatementMd5Hash(sqlText);
-			// Reverse order of hex characters in Q4
-			String strHexQ4Reverse = strHex32Hash.substring(30, 32) + strHex32Hash.substring(28, 30)
-				+ strHex32Hash.substring(26, 28) + strHex32Hash.substring(24, 26);
-			// convert to 4 bytes of hex to integer
-			return new BigInteger(strHexQ4Reverse, 16);
-		} catch (UnsupportedEncodingException e) {
-			throw new SQLException(String.format(
-					"Unable to convert SQL text\n\t'%s'\n\t\tto UTF-8 encoding.", sqlText));
-		} catch (NoSuchAlgorithmException e) {
-			throw new SQLException(String.format(
-					"Unable to init crypto while calculating HASH_VALUE for '%s'.", sqlText));
+		// hash_value is reversed Q4 of MD5 hash, i.e. lower 32 bits of sql_id value
+		return BigInteger.valueOf(sql_id_long(sqlText) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Per thread state for sql_id calculation: MD5 digest, buffer for UTF-8
+	 * encoded statement text with null terminator and buffer for digest output
+	 */
+	private static class SqlIdContext {
+
+		private static final int INITIAL_SIZE = 0x1000;
+		private static final int MD5_LENGTH = 16;
+
+		private final MessageDigest md;
+		private final byte[] hash = new byte[MD5_LENGTH];
+		private final char[] sqlId = new char[SQL_ID_END + 1];
+		private byte[] buffer = new byte[INITIAL_SIZE];
+
+		SqlIdContext() {
+			try {
+				md = MessageDigest.getInstance("MD5");
+			} catch (NoSuchAlgorithmException nsae) {
+				throw new IllegalStateException("Unable to init crypto for SQL_ID calculation!", nsae);
+			}
+		}
+
+		long digest(final String sqlText) throws SQLException {
+			final int length = encode(sqlText);
+			md.update(buffer, 0, length);
+			try {
+				md.digest(hash, 0, MD5_LENGTH);
+			} catch (DigestException de) {
+				md.reset();
+				throw new SQLException(String.format(
+						"Unable to calculate MD5 digest for SQL_ID of '%s'.", sqlText), de);
+			}
+			// Reverse order of bytes in Q3 and Q4 and assemble them as lower 64 bits
+			return
+					(hash[11] & 0xFFL) << 56 | (hash[10] & 0xFFL) << 48 |
+					(hash[9] & 0xFFL) << 40 | (hash[8] & 0xFFL) << 32 |
+					(hash[15] & 0xFFL) << 24 | (hash[14] & 0xFFL) << 16 |
+					(hash[13] & 0xFFL) << 8 | (hash[12] & 0xFFL);
+		}
+
+		String format(final long value) {
+			// First 4 bits, then twelve 5 bit pieces, each is an index in alphabet
+			sqlId[0] = ORA_SQL_ID_ALPHABET.charAt((int) (value >>> 60));
+			for (int i = 1; i <= SQL_ID_END; i++) {
+				sqlId[i] = ORA_SQL_ID_ALPHABET.charAt((int) (value >>> (60 - i * 5)) & 0x1F);
+			}
+			return new String(sqlId);
+		}
+
+		/**
+		 * Encodes text to UTF-8 with the same replacement of malformed surrogates
+		 * as String.getBytes("UTF-8") and appends null terminator
+		 * 
+		 * @param sqlText SQL statement text
+		 * @return number of bytes in buffer including null terminator
+		 */
+		private int encode(final String sqlText) {
+			final int charCount = sqlText.length();
+			// 3 bytes per char is the maximum for UTF-8 and 1 byte for null terminator
+			final int maxLength = charCount * 3 + 1;
+			if (buffer.length < maxLength) {
+				buffer = new byte[Math.max(maxLength, buffer.length << 1)];
+			}
+			final byte[] bytes = buffer;
+			int pos = 0;
+			int i = 0;
+			// ASCII fast path
+			while (i < charCount) {
+				final char ch = sqlText.charAt(i);
+				if (ch >= 0x80) {
+					break;
+				}
+				bytes[pos++] = (byte) ch;
+				i++;
+			}
+			while (i < charCount) {
+				final char ch = sqlText.charAt(i++);
+				if (ch < 0x80) {
+					bytes[pos++] = (byte) ch;
+				} else if (ch < 0x800) {
+					bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+					bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+				} else if (Character.isSurrogate(ch)) {
+					final char low;
+					if (Character.isHighSurrogate(ch) && i < charCount &&
+							Character.isLowSurrogate(low = sqlText.charAt(i))) {
+						final int codePoint = Character.toCodePoint(ch, low);
+						i++;
+						bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+						bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+						bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+						bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+					} else {
+						// Malformed surrogate is replaced with '?' as in String.getBytes
+						bytes[pos++] = '?';
+					}
+				} else {
+					bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+					bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+					bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+				}
+			}
+			// Null terminator
+			bytes[pos++] = NULL_CHAR_BYTE;
+			return pos;
 		}
 	}
 
-	private static String getStatementMd5Hash(final String sqlText) throws UnsupportedEncodingException, NoSuchAlgorithmException {
-		//final byte[] bytesOfStatement = sqlText.trim().getBytes("UTF-8");
-		final byte[] bytesOfStatement = sqlText.getBytes("UTF-8");
-		// last bucket used for Null Terminator
-		final byte[] bytesOfStatementWithNull = new byte[bytesOfStatement.length + 1];
+	/**
+	 * Releases mapping of memory-mapped buffer, buffer must not be used after this call
+	 *
+	 * @param buffer mapped buffer
+	 */
+	static void unmap(final ByteBuffer buffer) {
+		UNMAP.accept(buffer);
+	}
 
-		// Null terminator is lost or has no effect (Unicode \\u0000, \\U0000 or hex 0x00 or "\0") 
-		// on MD5 digest when you append to String
-		// Hence add the byte value as a last element after cloning
-		System.arraycopy(bytesOfStatement, 0, bytesOfStatementWithNull, 0, bytesOfStatement.length);
-		// add null terminator as last element
-		bytesOfStatementWithNull[bytesOfStatement.length]=NULL_CHAR_BYTE;
+	/**
+	 * Returns function which releases mapping of buffer without waiting for garbage
+	 * collection: Unsafe.invokeCleaner on Java 9 and above, Cleaner of DirectBuffer on Java 8
+	 */
+	private static Consumer<ByteBuffer> unmapper() {
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			final Object unsafe = theUnsafe.get(null);
+			return buffer -> invoke(invokeCleaner, unsafe, buffer);
+		} catch (ReflectiveOperationException | RuntimeException java9) {
+			try {
+				final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+				final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+				return buffer -> {
+					final Object bufferCleaner = invoke(cleanerMethod, buffer);
+					if (bufferCleaner != null) {
+						invoke(clean, bufferCleaner);
+					}
+				};
+			} catch (ReflectiveOperationException | RuntimeException java8) {
+				LOGGER.log(Level.FINE, "Mapped buffers are released by garbage collector", java8);
+				return buffer -> {};
+			}
+		}
+	}
 
-		// get the MD5 digest
-		final MessageDigest md = MessageDigest.getInstance("MD5");
-		final byte[] bytesFromMD5Digest =  md.digest(bytesOfStatementWithNull);
-		
-		// convert the byte to hex format and generate MD5 hash
-		final StringBuilder sbMD5HashHex32 = new StringBuilder(32);
-		for (int i = 0; i < bytesFromMD5Digest.length; i++) {
-			sbMD5HashHex32.append(Integer.toString((bytesFromMD5Digest[i] & 0xff) + 0x100, 16).substring(1));
+	private static Object invoke(final Method method, final Object target, final Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Unable to unmap buffer", e);
+			return null;
 		}
-		return sbMD5HashHex32.toString();
 	}
 
 	protected static SQLFeatureNotSupportedException sqlFeatureNotSupportedException(final String feature) {
@@ -14,122 +14,248 @@
 package solutions.a2.oracle.jdbc;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * 
- * SQL statement warehouse
+ * SQL statement warehouse. Only 64 bit sql_id values of recorded SQL statements are
+ * kept in memory, up to configured maximum, so memory footprint is fixed.
+ * New SQL statements are passed through bounded queue to single writer thread,
+ * which writes them to probe file in batches and flushes once per batch.
+ * When queue is full, SQL statement is counted and is not marked as recorded, so
+ * it is recorded at next execution. When maximum number of SQL statements is reached,
+ * SQL statement is counted and skipped. Caller is never blocked or failed
  * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
  * 
  */
 public class OraForwardWarehouse implements OraForwardTranslateOrRecord {
 
-	private final static int QUEUE_SIZE = 16384;
+	private static final Logger LOGGER = Logger.getLogger(OraForwardWarehouse.class.getName());
+	static final int DEFAULT_QUEUE_SIZE = 16384;
+	static final int DEFAULT_BATCH_SIZE = 256;
+	static final int DEFAULT_BATCH_WAIT = 100;
+	static final int DEFAULT_MAX_STATEMENTS = 1048576;
+	private static final int WRITE_BUFFER_SIZE = 65536;
 
-	private static OraForwardWarehouse instance;
-	private final ConcurrentHashMap<String, String> warehouse;
+	private static volatile OraForwardTranslateOrRecord instance;
+	private final OraForwardLongSet warehouse;
 	private final String probeFileName;
-	private final ThreadPoolExecutor execWrite;
+	private final BlockingQueue<Record> queue;
+	private final int batchSize;
+	private final long batchWaitNanos;
 	private final BufferedWriter writer;
+	private final LongAdder recorded = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder writeFailures = new LongAdder();
 
-	private OraForwardWarehouse(final String probeFileName) throws SQLException {
+	private OraForwardWarehouse(final String probeFileName, final int queueSize,
+			final int batchSize, final int batchWait, final int maxStatements) throws SQLException {
 		this.probeFileName = probeFileName;
-		this.warehouse = new ConcurrentHashMap<>();
-		this.execWrite = new ThreadPoolExecutor(
-				1, 1, 0L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(QUEUE_SIZE));
-		execWrite.setThreadFactory(new DaemonThreadFactory());
-		execWrite.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		this.warehouse = new OraForwardLongSet(maxStatements);
+		this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, 1));
+		this.batchSize = Math.max(batchSize, 1);
+		this.batchWaitNanos = TimeUnit.MILLISECONDS.toNanos(batchWait);
 		try {
-			writer = new BufferedWriter(new FileWriter(probeFileName));
+			writer = new BufferedWriter(
+					new OutputStreamWriter(new FileOutputStream(probeFileName), StandardCharsets.UTF_8),
+					WRITE_BUFFER_SIZE);
 		} catch (IOException ioe) {
 			throw new SQLException(ioe);
 		}
+		final Thread writerThread = new Thread(this::writeLoop, "A2-PROBE-WRITER");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "A2-PROBE-DRAIN"));
 	}
 
-	public static OraForwardWarehouse getInstance(final String probeFileName) throws SQLException {
-		if (instance == null) {
+	/**
+	 * Returns and initialize if needed SQL statement warehouse
+	 * 
+	 * @param probeFileName  name of file to record SQL statements
+	 * @param cacheSize      maximum number of already recorded SQL statements cached in
+	 *                       front of warehouse, 0 disables cache
+	 * @param cacheMaxLength SQL statements longer than this number of characters are not cached
+	 * @param queueSize      maximum number of SQL statements waiting to be written
+	 * @param batchSize      maximum number of SQL statements written and flushed at once
+	 * @param batchWait      maximum time in milliseconds to wait for a batch to fill
+	 * @param maxStatements  maximum number of distinct SQL statements recorded
+	 * @return SQL statement warehouse
+	 * @throws SQLException
+	 */
+	public static OraForwardTranslateOrRecord getInstance(final String probeFileName,
+			final int cacheSize, final int cacheMaxLength,
+			final int queueSize, final int batchSize, final int batchWait,
+			final int maxStatements) throws SQLException {
+		OraForwardTranslateOrRecord warehouse = instance;
+		if (warehouse == null) {
 			synchronized (OraForwardWarehouse.class) {
-				instance = new OraForwardWarehouse(probeFileName);
+				warehouse = instance;
+				if (warehouse == null) {
+					warehouse = OraForwardTranslatorCache.wrap(
+							new OraForwardWarehouse(probeFileName, queueSize, batchSize, batchWait, maxStatements),
+							cacheSize, cacheMaxLength);
+					instance = warehouse;
+				}
 			}
 		}
-		return instance;
+		return warehouse;
 	}
 
 	@Override
 	public String translate(final String sql) throws SQLException {
-		final String sql_id = OraForwardUtils.sql_id(sql);
-		if (warehouse.put(sql_id, sql) == null) {
-			final WriterJob writerJob = new WriterJob(writer, sql_id, sql);
-			execWrite.submit(writerJob);
+		final long sqlId = OraForwardUtils.sql_id_long(sql);
+		switch (warehouse.add(sqlId)) {
+		case OraForwardLongSet.ADDED:
+			if (!queue.offer(new Record(sqlId, sql))) {
+				// Not written, record it at next execution
+				warehouse.remove(sqlId);
+				dropped.increment();
+			}
+			break;
+		case OraForwardLongSet.FULL:
+			skipped.increment();
+			break;
+		default:
+			// Already recorded
 		}
 		return sql;
 	}
 
-	private static class WriterJob implements Runnable {
+	@Override
+	public boolean cacheable(final String sql) throws SQLException {
+		return warehouse.full() || warehouse.contains(OraForwardUtils.sql_id_long(sql));
+	}
 
-		private final BufferedWriter writer;
-		private final String sql_id;
-		private final String sql;
-		
-		WriterJob(final BufferedWriter writer, final String sql_id, final String sql) {
-			this.writer = writer;
-			this.sql_id = sql_id;
-			this.sql = sql;
+	private void writeLoop() {
+		final List<Record> batch = new ArrayList<>(batchSize);
+		while (true) {
+			try {
+				batch.add(queue.take());
+				queue.drainTo(batch, batchSize - batch.size());
+				final long deadline = System.nanoTime() + batchWaitNanos;
+				while (batch.size() < batchSize) {
+					final Record record = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (record == null) {
+						break;
+					}
+					batch.add(record);
+					queue.drainTo(batch, batchSize - batch.size());
+				}
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				write(batch);
+				return;
+			}
+			write(batch);
+			batch.clear();
 		}
+	}
 
-		@Override
-		public void run() {
+	private void drain() {
+		final List<Record> rest = new ArrayList<>(queue.size());
+		queue.drainTo(rest);
+		write(rest);
+	}
+
+	private void write(final List<Record> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		synchronized (writer) {
 			try {
-				OraForwardUtils.write2Yaml(writer, sql_id, sql);
+				for (final Record record : batch) {
+					OraForwardUtils.write2Yaml(writer, OraForwardUtils.sql_id(record.sqlId), record.sql);
+				}
 				writer.flush();
+				recorded.add(batch.size());
+				batches.increment();
 			} catch (IOException ioe) {
-				throw new RuntimeException(ioe);
+				writeFailures.add(batch.size());
+				LOGGER.log(Level.SEVERE,
+						String.format("Unable to write %d SQL statements to probe file '%s'!", batch.size(), probeFileName),
+						ioe);
 			}
 		}
 	}
 
 	/**
-	 * Hands out threads from the wrapped ThreadFactory with setDeamon(true), so the
-	 * threads won't keep the JVM alive when it should otherwise exit.
+	 * Returns number of SQL statements written to probe file
+	 * 
+	 * @return number of SQL statements written
 	 */
-	private static class DaemonThreadFactory implements ThreadFactory {
-		private final ThreadFactory factory;
-
-		/**
-		 * Construct a ThreadFactory with setDeamon(true) using
-		 * Executors.defaultThreadFactory()
-		 */
-		public DaemonThreadFactory() {
-			this(Executors.defaultThreadFactory());
-		}
+	public long getRecorded() {
+		return recorded.sum();
+	}
 
-		/**
-		 * Construct a ThreadFactory with setDeamon(true) wrapping the given factory
-		 *
-		 * @param thread
-		 *              factory to wrap
-		 */
-		public DaemonThreadFactory(ThreadFactory factory) {
-			if (factory == null) {
-				throw new NullPointerException("factory cannot be null");
-			}
-			this.factory = factory;
-		}
+	/**
+	 * Returns number of times new SQL statement was not queued because writer queue
+	 * was full, such SQL statement is queued again at next execution
+	 * 
+	 * @return number of dropped SQL statements
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
 
-		@Override
-		public Thread newThread(Runnable r) {
-			final Thread t = factory.newThread(r);
-			t.setDaemon(true);
-			return t;
+	/**
+	 * Returns number of new SQL statements not recorded because maximum number
+	 * of SQL statements was reached
+	 * 
+	 * @return number of skipped SQL statements
+	 */
+	public long getSkipped() {
+		return skipped.sum();
+	}
+
+	/**
+	 * Returns number of distinct SQL statements seen
+	 * 
+	 * @return number of SQL statements
+	 */
+	public int getStatementCount() {
+		return warehouse.size();
+	}
+
+	/**
+	 * Returns number of batches written to probe file
+	 * 
+	 * @return number of batches
+	 */
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	/**
+	 * Returns number of SQL statements lost because of write errors
+	 * 
+	 * @return number of SQL statements not written
+	 */
+	public long getWriteFailures() {
+		return writeFailures.sum();
+	}
+
+	private static class Record {
+		private final long sqlId;
+		private final String sql;
+
+		Record(final long sqlId, final String sql) {
+			this.sqlId = sqlId;
+			this.sql = sql;
 		}
 	}
-    
+
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *
+ * Command line utilities for mapping files of Oracle JDBC Redirect package
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+public class OraRedirectUtils {
+
+	private static final String YAML2BINARY = "yaml2binary";
+	private static final String YAML2CHRONICLE = "yaml2chronicle";
+
+	public static void main(String[] argv) {
+		if (argv.length == 3 &&
+				(YAML2BINARY.equals(argv[0]) || YAML2CHRONICLE.equals(argv[0]))) {
+			try {
+				final Map<String, String> mappingData = readYaml(argv[1]);
+				if (YAML2BINARY.equals(argv[0])) {
+					OraForwardTranslatorBinary.write(mappingData, new File(argv[2]));
+				} else {
+					OraForwardTranslatorChronicle.write(mappingData, new File(argv[2]));
+				}
+				System.out.println(String.format("%d SQL statements written to '%s'.", mappingData.size(), argv[2]));
+			} catch (IOException | SQLException e) {
+				System.err.println(String.format("Unable to convert '%s' to '%s': %s", argv[1], argv[2], e.getMessage()));
+				System.exit(1);
+			}
+		} else {
+			usage();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Reads mapping or probe YAML file
+	 *
+	 * @param fileName YAML file name
+	 * @return sql_id to SQL statement mapping in file order
+	 * @throws IOException
+	 */
+	static Map<String, String> readYaml(final String fileName) throws IOException {
+		final Map<String, String> mappingData = new LinkedHashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			OraForwardUtils.readSimpleYaml(reader, mappingData);
+		}
+		return mappingData;
+	}
+
+	private static void usage() {
+		System.err.println("Oracle JDBC Redirect Driver utilities " + OraForwardUtils.getVersion());
+		System.err.println("Usage:");
+		System.err.println("\t" + YAML2BINARY + " <source YAML mapping or probe file> <target binary mapping file>");
+		System.err.println("\t" + YAML2CHRONICLE + " <source YAML mapping or probe file> <target Chronicle Map mapping file>");
+	}
+
+}
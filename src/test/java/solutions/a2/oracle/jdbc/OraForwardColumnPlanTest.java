@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Column plan shared by executions of parsed statement
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardColumnPlanTest {
+
+	@Test
+	void sharedPlanIsReused() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final OraForwardColumnPlan plan = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, null);
+		assertSame(plan, parsed.columnPlan());
+		assertSame(plan, OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, null));
+		assertEquals(2, plan.column("NAME"));
+	}
+
+	@Test
+	void planIsRebuiltWhenColumnsChange() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final OraForwardColumnPlan plan = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, null);
+		// Column added, e.g. SELECT * after ALTER TABLE ... ADD
+		final OraForwardColumnPlan added = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP}), parsed, null);
+		assertNotSame(plan, added);
+		assertSame(added, parsed.columnPlan());
+		assertEquals(3, added.column("CREATED"));
+		assertEquals(Types.TIMESTAMP, added.type(3));
+		// Column type changed, e.g. table of other schema in search_path
+		final OraForwardColumnPlan retyped = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.DATE}), parsed, null);
+		assertNotSame(added, retyped);
+		assertEquals(Types.DATE, retyped.type(3));
+		// Column renamed
+		final OraForwardColumnPlan renamed = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "title", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.DATE}), parsed, null);
+		assertNotSame(retyped, renamed);
+		assertEquals(0, renamed.column("NAME"));
+		assertEquals(2, renamed.column("TITLE"));
+	}
+
+	@Test
+	void definedTypeSelectsCodec() throws SQLException {
+		final OraForwardColumnPlan varchar = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.VARCHAR, Types.VARCHAR}), null, null);
+		final OraForwardColumnPlan numeric = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), null, null);
+		assertNotSame(varchar.object(1), numeric.object(1));
+		// defineColumnType(1, Types.VARCHAR) reads NUMERIC column as VARCHAR column
+		final OraForwardColumnPlan defined = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), null,
+				new int[] {0, Types.VARCHAR});
+		assertSame(varchar.object(1), defined.object(1));
+		assertSame(varchar.datum(1), defined.datum(1));
+		assertSame(numeric.object(2), defined.object(2));
+		// Getters still use backend type
+		assertEquals(Types.NUMERIC, defined.type(1));
+		// Defines of columns which are not in result set are ignored
+		final OraForwardColumnPlan beyond = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id"}, new int[] {Types.NUMERIC}), null,
+				new int[] {0, 0, 0, Types.VARCHAR});
+		assertSame(numeric.object(1), beyond.object(1));
+	}
+
+	@Test
+	void planIsRebuiltWhenDefinesChange() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final int[] defines = {0, Types.VARCHAR};
+		final OraForwardColumnPlan plan = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, defines);
+		assertSame(plan, OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed,
+				new int[] {0, Types.VARCHAR}));
+		final OraForwardColumnPlan undefined = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, null);
+		assertNotSame(plan, undefined);
+		assertSame(undefined, parsed.columnPlan());
+		// Statement changes its defines array in place
+		final OraForwardColumnPlan redefined = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, defines);
+		defines[1] = Types.NUMERIC;
+		final OraForwardColumnPlan changed = OraForwardColumnPlan.of(
+				resultSet(new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, defines);
+		assertNotSame(redefined, changed);
+		assertSame(undefined.object(1), changed.object(1));
+		assertNotSame(redefined.object(1), changed.object(1));
+	}
+
+	static OraForwardParsedStatement parsed() {
+		return new OraForwardParsedStatement("select * from t", "select * from t",
+				Collections.emptyMap(), 0, OraForwardUtils.POSTGRESQL);
+	}
+
+	/**
+	 * Returns result set which has only metadata
+	 */
+	static ResultSet resultSet(final String[] labels, final int[] types) {
+		final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				OraForwardColumnPlanTest.class.getClassLoader(),
+				new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getColumnCount":
+						return labels.length;
+					case "getColumnLabel":
+					case "getColumnName":
+						return labels[(Integer) args[0] - 1];
+					case "getColumnType":
+						return types[(Integer) args[0] - 1];
+					case "getColumnTypeName":
+						return types[(Integer) args[0] - 1] == Types.TIMESTAMP ? "timestamp" : "other";
+					default:
+						throw new SQLException(method.getName());
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardColumnPlanTest.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					if ("getMetaData".equals(method.getName())) {
+						return metaData;
+					}
+					throw new SQLException(method.getName());
+				});
+	}
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * DDL statements which drop catalog snapshots
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardDatabaseMetaDataTest {
+
+	@Test
+	void ddlStatements() {
+		assertTrue(OraForwardDatabaseMetaData.isDdl("create table t(id int)"));
+		assertTrue(OraForwardDatabaseMetaData.isDdl("  ALTER TABLE t ADD c int"));
+		assertTrue(OraForwardDatabaseMetaData.isDdl("drop index i"));
+		assertTrue(OraForwardDatabaseMetaData.isDdl("COMMENT ON TABLE t IS 'x'"));
+		assertFalse(OraForwardDatabaseMetaData.isDdl("CREATED"));
+		assertFalse(OraForwardDatabaseMetaData.isDdl("select * from t"));
+		assertFalse(OraForwardDatabaseMetaData.isDdl("UPDATE t SET c = 1"));
+		assertFalse(OraForwardDatabaseMetaData.isDdl("TRUNCATE TABLE t"));
+	}
+
+	@Test
+	void ddlSchema() {
+		assertEquals("SCOTT", OraForwardDatabaseMetaData.ddlSchema("CREATE TABLE scott.emp (id int)"));
+		assertEquals("SCOTT", OraForwardDatabaseMetaData.ddlSchema("create unique index emp_pk on scott . emp(id)"));
+		assertEquals("SCOTT", OraForwardDatabaseMetaData.ddlSchema("CREATE TABLE IF NOT EXISTS \"scott\".emp(id int)"));
+		assertEquals("Scott", OraForwardDatabaseMetaData.ddlSchema("DROP TABLE \"Scott\".\"emp\""));
+		assertEquals("HR", OraForwardDatabaseMetaData.ddlSchema("ALTER TABLE `hr`.emp ADD c int"));
+		assertEquals("SCOTT", OraForwardDatabaseMetaData.ddlSchema("COMMENT ON COLUMN scott.emp.id IS 'id'"));
+		assertEquals("SCOTT", OraForwardDatabaseMetaData.ddlSchema("COMMENT ON TABLE scott.emp IS 'emp'"));
+		// Not qualified or several objects, snapshots of all schemas are dropped
+		assertNull(OraForwardDatabaseMetaData.ddlSchema("CREATE TABLE emp (id int)"));
+		assertNull(OraForwardDatabaseMetaData.ddlSchema("COMMENT ON COLUMN emp.id IS 'id'"));
+		assertNull(OraForwardDatabaseMetaData.ddlSchema("DROP TABLE emp, scott.dept"));
+		assertNull(OraForwardDatabaseMetaData.ddlSchema("DROP TABLE emp"));
+	}
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import oracle.sql.INTERVALDS;
+import oracle.sql.INTERVALYM;
+import oracle.sql.TIMESTAMPTZ;
+
+/**
+ *
+ * Oracle Datum byte codecs against Oracle JDBC datum classes
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardDatumCodecTest {
+
+	private static final String[] INTERVALDS_LITERALS = {
+			"0 0:0:0.0",
+			"1 2:3:4.5",
+			"-1 2:3:4.5",
+			"12 0:0:0.0",
+			"-12 0:0:0.0",
+			"0 23:59:59.0",
+			"0 0:0:0.000000001",
+			"-0 0:0:0.000000001",
+			"-0 0:0:0.5",
+			"-0 0:0:59.999999999",
+			"999999999 23:59:59.999999999",
+			"-999999999 23:59:59.999999999"
+	};
+
+	private static final String[] INTERVALYM_LITERALS = {
+			"0-0", "0-1", "-0-1", "1-11", "-1-11", "999999999-11", "-999999999-11"
+	};
+
+	private static final String[] ZONES = {
+			"Europe/Ljubljana", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe", "UTC",
+			"+05:30", "-08:00", "+00:00"
+	};
+
+	/** Local date and time in zones of {@link #ZONES}, including daylight saving time changes */
+	private static final LocalDateTime[] LOCAL_DATE_TIMES = {
+			LocalDateTime.of(2018, 10, 18, 12, 34, 56, 123_456_789),
+			LocalDateTime.of(2018, 3, 25, 3, 30),
+			LocalDateTime.of(2018, 10, 28, 2, 30),
+			LocalDateTime.of(1970, 1, 1, 0, 0),
+			LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999),
+			LocalDateTime.of(1900, 1, 1, 0, 0),
+			LocalDateTime.of(1600, 2, 29, 0, 0, 0, 1),
+			LocalDateTime.of(1582, 10, 15, 0, 0),
+			LocalDateTime.of(1, 1, 2, 0, 0),
+			LocalDateTime.of(9999, 12, 31, 12, 59, 59, 999_999_999)
+	};
+
+	@Test
+	void intervalDSRoundTrip() throws SQLException {
+		for (final String literal : intervalDSCorpus()) {
+			final INTERVALDS oracle = new INTERVALDS(literal);
+			final byte[] bytes = oracle.toBytes();
+			assertArrayEquals(bytes, OraForwardDatumCodec.intervalDS(
+					OraForwardDatumCodec.intervalSeconds(bytes), OraForwardDatumCodec.intervalNanos(bytes)), literal);
+			final String text = OraForwardDatumCodec.intervalDSString(bytes);
+			assertEquals(oracle.stringValue(), text, literal);
+			assertArrayEquals(bytes, OraForwardDatumCodec.intervalDS(text), literal);
+		}
+	}
+
+	@Test
+	void intervalDSSecondsAreFloored() throws SQLException {
+		final byte[] bytes = new INTERVALDS("-0 0:0:0.5").toBytes();
+		assertEquals(-1, OraForwardDatumCodec.intervalSeconds(bytes));
+		assertEquals(500_000_000, OraForwardDatumCodec.intervalNanos(bytes));
+		final byte[] days = new INTERVALDS("-2 1:0:0.25").toBytes();
+		assertEquals(-2 * 86_400 - 3601, OraForwardDatumCodec.intervalSeconds(days));
+		assertEquals(750_000_000, OraForwardDatumCodec.intervalNanos(days));
+	}
+
+	@Test
+	void intervalDSOutOfRange() {
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalDS(1_000_000_000L * 86_400, 0));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalDS(-1_000_000_000L * 86_400, 0));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalDS("1000000000 0:0:0"));
+	}
+
+	@Test
+	void intervalDSText() throws SQLException {
+		// MariaDB TIME
+		assertEquals("34 22:59:59.0",
+				OraForwardDatumCodec.intervalDSString(OraForwardDatumCodec.intervalDS("838:59:59.000000")));
+		assertEquals("-34 22:59:59.0",
+				OraForwardDatumCodec.intervalDSString(OraForwardDatumCodec.intervalDS("-838:59:59")));
+		assertEquals("-0 0:0:0.5",
+				OraForwardDatumCodec.intervalDSString(OraForwardDatumCodec.intervalDS("-00:00:00.5")));
+		assertEquals("1 2:3:4.123456789",
+				OraForwardDatumCodec.intervalDSString(OraForwardDatumCodec.intervalDS("+1 02:03:04.123456789")));
+		for (final String invalid : new String[] {
+				"", "1", "1:2", "1:2:3:", "1 2:3", "a 1:2:3", "1:2:3.", "1:2:3.x", " 1:2:3", "1 2:3:4 "}) {
+			assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalDS(invalid), invalid);
+		}
+	}
+
+	@Test
+	void intervalYMRoundTrip() throws SQLException {
+		final List<String> corpus = new ArrayList<>(Arrays.asList(INTERVALYM_LITERALS));
+		final Random random = new Random(20181018L);
+		for (int i = 0; i < 1000; i++) {
+			corpus.add((random.nextBoolean() ? "-" : "") + random.nextInt(1_000_000_000) + "-" + (1 + random.nextInt(11)));
+		}
+		for (final String literal : corpus) {
+			final INTERVALYM oracle = new INTERVALYM(literal);
+			final byte[] bytes = oracle.toBytes();
+			assertArrayEquals(bytes,
+					OraForwardDatumCodec.intervalYM(OraForwardDatumCodec.intervalMonths(bytes)), literal);
+			final String text = OraForwardDatumCodec.intervalYMString(bytes);
+			assertEquals(oracle.stringValue(), text, literal);
+			assertArrayEquals(bytes, OraForwardDatumCodec.intervalYM(text), literal);
+		}
+		assertEquals(-23, OraForwardDatumCodec.intervalMonths(new INTERVALYM("-1-11").toBytes()));
+	}
+
+	@Test
+	void intervalYMOutOfRange() {
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalYM(12_000_000_000L));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalYM(-12_000_000_000L));
+		for (final String invalid : new String[] {"", "1", "1-12", "-", "a-1", "1-a", "1000000000-0"}) {
+			assertThrows(SQLException.class, () -> OraForwardDatumCodec.intervalYM(invalid), invalid);
+		}
+	}
+
+	@Test
+	void timestampTZMatchesOracle() throws SQLException {
+		for (final String zone : ZONES) {
+			for (final LocalDateTime local : LOCAL_DATE_TIMES) {
+				final ZonedDateTime value = local.atZone(ZoneId.of(zone));
+				final byte[] bytes = OraForwardDatumCodec.timestampTZ(value.toEpochSecond(), value.getNano(), value.getZone());
+				assertArrayEquals(TIMESTAMPTZ.toBytes(value), bytes, value.toString());
+				assertArrayEquals(TIMESTAMPTZ.toBytes(value.toOffsetDateTime()),
+						OraForwardDatumCodec.timestampTZ(value.toEpochSecond(), value.getNano(), value.getOffset()),
+						value.toString());
+				// UTC date and time always with nanoseconds
+				assertArrayEquals(Arrays.copyOf(OraForwardDatumCodec.timestamp(
+						LocalDateTime.ofEpochSecond(value.toEpochSecond(), value.getNano(), ZoneOffset.UTC)), 11),
+						Arrays.copyOf(bytes, 11), value.toString());
+			}
+		}
+	}
+
+	@Test
+	void timestampTZRoundTrip() throws SQLException {
+		final List<LocalDateTime> locals = new ArrayList<>(Arrays.asList(LOCAL_DATE_TIMES));
+		locals.add(LocalDateTime.of(0, 12, 31, 23, 0));
+		locals.add(LocalDateTime.of(-4711, 1, 1, 12, 0, 0, 500));
+		for (final String zone : ZONES) {
+			for (final LocalDateTime local : locals) {
+				final ZonedDateTime value = local.atZone(ZoneId.of(zone));
+				final byte[] bytes = OraForwardDatumCodec.timestampTZ(value.toEpochSecond(), value.getNano(), value.getZone());
+				assertEquals(value.toEpochSecond(), OraForwardDatumCodec.epochSecond(bytes), value.toString());
+				assertEquals(value.getNano(), OraForwardDatumCodec.timestampNanos(bytes), value.toString());
+				assertEquals(value.getZone(), OraForwardDatumCodec.zone(bytes), value.toString());
+				assertEquals(value.toOffsetDateTime(), OraForwardDatumCodec.offsetDateTime(bytes), value.toString());
+			}
+		}
+	}
+
+	@Test
+	void timestampTZBeforeChrist() throws SQLException {
+		// java.time year 0 is 1 BC, Oracle year -1
+		final byte[] bytes = OraForwardDatumCodec.timestampTZ(
+				LocalDateTime.of(0, 12, 31, 23, 0).toEpochSecond(ZoneOffset.UTC), 0, ZoneOffset.UTC);
+		assertArrayEquals(new byte[] {100, 99, 12, 31, 24, 1, 1, 0, 0, 0, 0, 20, 60}, bytes);
+		assertEquals(OffsetDateTime.of(0, 12, 31, 23, 0, 0, 0, ZoneOffset.UTC), OraForwardDatumCodec.offsetDateTime(bytes));
+		// 4712 BC is the first year of Oracle TIMESTAMP
+		final long first = LocalDateTime.of(-4711, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+		assertArrayEquals(new byte[] {53, 88, 1, 1, 1, 1, 1},
+				Arrays.copyOf(OraForwardDatumCodec.timestampTZ(first, 0, ZoneOffset.UTC), 7));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.timestampTZ(first - 1, 0, ZoneOffset.UTC));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.timestampTZ(
+				LocalDateTime.of(10000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC), 0, ZoneOffset.UTC));
+	}
+
+	@Test
+	void timestampLTZ() throws SQLException {
+		for (final LocalDateTime local : LOCAL_DATE_TIMES) {
+			final long epochSecond = local.toEpochSecond(ZoneOffset.UTC);
+			final byte[] bytes = OraForwardDatumCodec.timestampLTZ(epochSecond, local.getNano());
+			// Without nanoseconds DATE size as Oracle TIMESTAMP
+			assertEquals(local.getNano() == 0 ? 7 : 11, bytes.length, local.toString());
+			assertArrayEquals(OraForwardDatumCodec.timestamp(local), bytes, local.toString());
+			assertEquals(epochSecond, OraForwardDatumCodec.epochSecond(bytes), local.toString());
+			assertEquals(local.getNano(), OraForwardDatumCodec.timestampNanos(bytes), local.toString());
+		}
+		assertArrayEquals(new byte[] {119, -86, 1, 1, 1, 1, 1}, OraForwardDatumCodec.timestampLTZ(0, 0));
+		assertArrayEquals(new byte[] {119, -87, 12, 31, 24, 60, 60, 0, 0, 0, 1}, OraForwardDatumCodec.timestampLTZ(-1, 1));
+		assertThrows(SQLException.class, () -> OraForwardDatumCodec.timestampLTZ(
+				LocalDateTime.of(10000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC), 0));
+	}
+
+	private static List<String> intervalDSCorpus() {
+		final List<String> corpus = new ArrayList<>(Arrays.asList(INTERVALDS_LITERALS));
+		final Random random = new Random(20181018L);
+		for (int i = 0; i < 1000; i++) {
+			final int days = random.nextInt(4) == 0 ? random.nextInt(1_000_000_000) : random.nextInt(100_000);
+			final int nanos = random.nextInt(3) == 0 ? 0 : random.nextInt(1_000_000_000);
+			corpus.add(String.format("%s%d %d:%d:%d.%09d", random.nextBoolean() ? "-" : "", 1 + days,
+					random.nextInt(24), random.nextInt(60), random.nextInt(60), nanos));
+		}
+		return corpus;
+	}
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Rest of streamed forward only result set read into memory
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardDetachedResultSetTest {
+
+	private static final String[] LABELS = {"id", "name", "created"};
+	private static final int[] TYPES = {Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP};
+	private static final LocalDateTime CREATED = LocalDateTime.of(2024, 2, 29, 12, 30, 15, 123_456_000);
+
+	@Test
+	void continuesFromCurrentRow() throws SQLException {
+		final ResultSet backend = resultSet(new Object[][] {
+				{1, "first", Timestamp.valueOf(CREATED)},
+				{2, "second", null},
+				{3, "third", Timestamp.valueOf(CREATED)}});
+		assertTrue(backend.next());
+		assertTrue(backend.next());
+		final ResultSet resultSet = OraForwardDetachedResultSet.detach(backend);
+		assertEquals(ResultSet.TYPE_FORWARD_ONLY, resultSet.getType());
+
+		assertEquals(2, resultSet.getRow());
+		assertEquals("second", resultSet.getString("NAME"));
+		assertEquals(2L, resultSet.getObject(1, Long.class));
+		assertEquals(new BigDecimal(2), resultSet.getObject("id", BigDecimal.class));
+		assertNull(resultSet.getObject(3, LocalDateTime.class));
+		assertTrue(resultSet.wasNull());
+
+		assertTrue(resultSet.next());
+		assertEquals(3, resultSet.getRow());
+		assertEquals("third", resultSet.getNString(2));
+		assertEquals(CREATED, resultSet.getObject(3, LocalDateTime.class));
+		assertEquals(CREATED.atZone(ZoneId.systemDefault()).toInstant().atOffset(ZoneOffset.UTC),
+				resultSet.getObject("created", OffsetDateTime.class));
+		assertThrows(SQLException.class, resultSet::previous);
+		assertThrows(SQLException.class, () -> resultSet.absolute(1));
+
+		assertFalse(resultSet.next());
+		resultSet.close();
+		assertTrue(resultSet.isClosed());
+		assertThrows(SQLException.class, resultSet::next);
+	}
+
+	@Test
+	void beforeFirstRow() throws SQLException {
+		final ResultSet resultSet = OraForwardDetachedResultSet.detach(resultSet(new Object[][] {
+				{1, "first", null},
+				{2, "second", null}}));
+		assertEquals(0, resultSet.getRow());
+		assertTrue(resultSet.next());
+		assertEquals(1, resultSet.getRow());
+		assertEquals(1, resultSet.getInt("id"));
+		assertTrue(resultSet.next());
+		assertFalse(resultSet.next());
+		resultSet.close();
+	}
+
+	/**
+	 * Returns forward only result set of rows
+	 */
+	private static ResultSet resultSet(final Object[][] rows) {
+		final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				OraForwardDetachedResultSetTest.class.getClassLoader(),
+				new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getColumnCount":
+						return LABELS.length;
+					case "getColumnLabel":
+					case "getColumnName":
+						return LABELS[(Integer) args[0] - 1];
+					case "getColumnType":
+						return TYPES[(Integer) args[0] - 1];
+					default:
+						return method.getReturnType() == boolean.class ? (Object) false :
+							method.getReturnType() == int.class ? (Object) 0 : "";
+					}
+				});
+		final int[] row = {0};
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardDetachedResultSetTest.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getMetaData":
+						return metaData;
+					case "next":
+						return ++row[0] <= rows.length;
+					case "getRow":
+						return row[0] <= rows.length ? row[0] : 0;
+					case "findColumn":
+						return Arrays.asList(LABELS).indexOf(((String) args[0]).toLowerCase()) + 1;
+					case "close":
+						return null;
+					case "getObject":
+						return rows[row[0] - 1][(Integer) args[0] - 1];
+					default:
+						throw new SQLException(method.getName());
+					}
+				});
+	}
+
+}
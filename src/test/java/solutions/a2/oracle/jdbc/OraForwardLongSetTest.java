@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Add, remove and capacity limits of sql_id set used by probe mode
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardLongSetTest {
+
+	@Test
+	void addRemoveMarkerValues() {
+		final OraForwardLongSet set = new OraForwardLongSet(8);
+		assertEquals(OraForwardLongSet.ADDED, set.add(0));
+		assertEquals(OraForwardLongSet.ADDED, set.add(-1));
+		assertEquals(OraForwardLongSet.PRESENT, set.add(0));
+		assertTrue(set.remove(0));
+		assertFalse(set.contains(0));
+		assertTrue(set.contains(-1));
+		assertFalse(set.remove(0));
+		assertEquals(1, set.size());
+		// Removed value is added again, e.g. SQL statement dropped by full probe queue
+		assertEquals(OraForwardLongSet.ADDED, set.add(0));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	void neverExceedsMaxSize() {
+		final OraForwardLongSet set = new OraForwardLongSet(4);
+		for (long value = 1; value <= 4; value++) {
+			assertEquals(OraForwardLongSet.ADDED, set.add(value));
+		}
+		assertTrue(set.full());
+		assertEquals(OraForwardLongSet.FULL, set.add(5));
+		assertEquals(OraForwardLongSet.PRESENT, set.add(4));
+	}
+
+	@Test
+	void removedSlotsAreReused() {
+		final OraForwardLongSet set = new OraForwardLongSet(4);
+		// Value dropped by full probe queue and added again at every execution
+		for (int i = 0; i < 1_000; i++) {
+			assertEquals(OraForwardLongSet.ADDED, set.add(7));
+			assertTrue(set.remove(7));
+		}
+		assertFalse(set.full());
+		assertEquals(0, set.size());
+		// Values with the same home slot reuse slot of removed value
+		for (long value = 1; value <= 64; value++) {
+			final long colliding = value << 4;
+			assertEquals(OraForwardLongSet.ADDED, set.add(colliding));
+			assertTrue(set.contains(colliding));
+			assertTrue(set.remove(colliding));
+		}
+		assertFalse(set.full());
+		for (long value = 1; value <= 4; value++) {
+			assertEquals(OraForwardLongSet.ADDED, set.add(value));
+		}
+		assertEquals(4, set.size());
+		assertTrue(set.full());
+		assertEquals(OraForwardLongSet.FULL, set.add(5));
+	}
+
+	@Test
+	void removedSlotsAreBounded() {
+		final OraForwardLongSet set = new OraForwardLongSet(4);
+		int added = 0;
+		for (long value = 1; value <= 64; value++) {
+			if (set.add(value) == OraForwardLongSet.ADDED) {
+				added++;
+				assertTrue(set.remove(value));
+			}
+		}
+		// Removed values with different home slots take new slots, but probing must still end
+		assertTrue(set.full());
+		assertTrue(added < 64);
+		assertFalse(set.contains(65));
+		assertEquals(0, set.size());
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGInterval;
+
+import oracle.sql.INTERVALDS;
+import oracle.sql.INTERVALYM;
+
+/**
+ *
+ * Conversion of Oracle intervals to PostgreSQL PGInterval and back
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardPgUtilsTest {
+
+	/** Oracle INTERVALDS and the same interval after PostgreSQL, which keeps microseconds */
+	private static final String[][] INTERVALDS_ROUND_TRIP = {
+			{"0 0:0:0.0", "0 0:0:0.0"},
+			{"1 2:3:4.5", "1 2:3:4.5"},
+			{"-1 2:3:4.5", "-1 2:3:4.5"},
+			{"999999999 23:59:59.999999", "999999999 23:59:59.999999"},
+			{"-999999999 23:59:59.999999", "-999999999 23:59:59.999999"},
+			{"-0 0:0:0.000000001", "0 0:0:0.0"},
+			{"0 0:0:0.0000005", "0 0:0:0.000001"},
+			{"-0 0:0:0.0000005", "-0 0:0:0.000001"},
+			{"0 0:0:59.9999995", "0 0:1:0.0"},
+			{"-0 0:0:59.9999995", "-0 0:1:0.0"},
+			{"-0 23:59:59.9999995", "-1 0:0:0.0"}
+	};
+
+	@Test
+	void intervalDSFields() {
+		final PGInterval positive = OraForwardPgUtils.pgInterval(new INTERVALDS("1 2:3:4.5"));
+		assertEquals(1, positive.getDays());
+		assertEquals(2, positive.getHours());
+		assertEquals(3, positive.getMinutes());
+		assertEquals(4.5, positive.getSeconds());
+		// PostgreSQL interval has sign of each field
+		final PGInterval negative = OraForwardPgUtils.pgInterval(new INTERVALDS("-1 2:3:4.5"));
+		assertEquals(-1, negative.getDays());
+		assertEquals(-2, negative.getHours());
+		assertEquals(-3, negative.getMinutes());
+		assertEquals(-4, negative.getWholeSeconds());
+		assertEquals(-500_000, negative.getMicroSeconds());
+	}
+
+	@Test
+	void intervalDSRoundTrip() throws SQLException {
+		for (final String[] entry : INTERVALDS_ROUND_TRIP) {
+			final PGInterval interval = OraForwardPgUtils.pgInterval(new INTERVALDS(entry[0]));
+			// Text which pgjdbc sends and receives
+			final INTERVALDS back = OraForwardPgUtils.intervalDS(new PGInterval(interval.getValue()));
+			assertEquals(entry[1], back.stringValue(), entry[0]);
+		}
+	}
+
+	@Test
+	void intervalDSMixedSigns() throws SQLException {
+		assertEquals("-0 1:0:0.5",
+				OraForwardPgUtils.intervalDS(new PGInterval("1 day -25:00:00.5")).stringValue());
+		assertEquals("-0 23:0:0.0",
+				OraForwardPgUtils.intervalDS(new PGInterval("-1 day +1:00:00")).stringValue());
+		assertEquals("-0 0:0:0.5",
+				OraForwardPgUtils.intervalDS(new PGInterval("-00:00:00.5")).stringValue());
+		assertEquals("3 4:5:6.789",
+				OraForwardPgUtils.intervalDS(new PGInterval("3 days 04:05:06.789")).stringValue());
+	}
+
+	@Test
+	void intervalDSOutOfRange() throws SQLException {
+		// Rounded to microseconds the interval has 1000000000 days
+		final PGInterval rounded = OraForwardPgUtils.pgInterval(new INTERVALDS("999999999 23:59:59.9999995"));
+		assertThrows(SQLException.class, () -> OraForwardPgUtils.intervalDS(rounded));
+		assertThrows(SQLException.class, () -> OraForwardPgUtils.intervalDS(new PGInterval("1 mon")));
+		assertNull(OraForwardPgUtils.intervalDS(null));
+	}
+
+	@Test
+	void intervalYMRoundTrip() throws SQLException {
+		for (final String literal : new String[] {"0-0", "0-1", "-0-1", "1-11", "-1-11", "999999999-11", "-999999999-11"}) {
+			final PGInterval interval = OraForwardPgUtils.pgInterval(new INTERVALYM(literal));
+			final INTERVALYM back = OraForwardPgUtils.intervalYM(new PGInterval(interval.getValue()));
+			assertEquals(new INTERVALYM(literal).stringValue(), back.stringValue(), literal);
+		}
+		final PGInterval negative = OraForwardPgUtils.pgInterval(new INTERVALYM("-1-11"));
+		assertEquals(-1, negative.getYears());
+		assertEquals(-11, negative.getMonths());
+		assertThrows(SQLException.class, () -> OraForwardPgUtils.intervalYM(new PGInterval("1 year 1 day")));
+		assertThrows(SQLException.class, () -> OraForwardPgUtils.intervalYM(new PGInterval("00:00:00.000001")));
+		assertNull(OraForwardPgUtils.intervalYM(null));
+	}
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Result set metadata shared by executions of parsed statement
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardResultSetMetaDataTest {
+
+	private static final String SOURCE = "jdbc:postgresql://localhost:5432/db\nscott\n";
+
+	private final List<String> catalogCalls = new ArrayList<>();
+
+	@Test
+	void catalogAttributesAreReadOnFirstUse() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final ResultSetMetaData metaData = OraForwardResultSetMetaData.of(
+				resultSet("t", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, SOURCE);
+		assertEquals(2, metaData.getColumnCount());
+		assertEquals("name", metaData.getColumnLabel(2));
+		assertEquals(Types.NUMERIC, metaData.getColumnType(1));
+		assertEquals(Collections.emptyList(), catalogCalls);
+		assertEquals("t", metaData.getTableName(2));
+		assertEquals(ResultSetMetaData.columnNoNulls, metaData.isNullable(2));
+		assertEquals(1, catalogCalls.size());
+		// Next result set uses shared copy
+		final ResultSetMetaData next = OraForwardResultSetMetaData.of(
+				resultSet("t", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, SOURCE);
+		assertEquals("t", next.getTableName(2));
+		assertEquals(1, catalogCalls.size());
+	}
+
+	@Test
+	void columnsAreCopiedAgainWhenTheyChange() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final ResultSetMetaData metaData = OraForwardResultSetMetaData.of(
+				resultSet("t", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, SOURCE);
+		assertEquals("t", metaData.getTableName(1));
+		// Table of other schema in search_path
+		final ResultSetMetaData other = OraForwardResultSetMetaData.of(
+				resultSet("u", new String[] {"id", "name", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP}), parsed, SOURCE);
+		assertEquals(3, other.getColumnCount());
+		assertEquals("created", other.getColumnLabel(3));
+		assertEquals("u", other.getTableName(1));
+		final ResultSetMetaData retyped = OraForwardResultSetMetaData.of(
+				resultSet("u", new String[] {"id", "name", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.DATE}), parsed, SOURCE);
+		assertEquals(Types.DATE, retyped.getColumnType(3));
+		final ResultSetMetaData renamed = OraForwardResultSetMetaData.of(
+				resultSet("u", new String[] {"id", "title", "created"},
+						new int[] {Types.NUMERIC, Types.VARCHAR, Types.DATE}), parsed, SOURCE);
+		assertEquals("title", renamed.getColumnLabel(2));
+	}
+
+	@Test
+	void sharedOnlyBySameBackendAndUser() throws SQLException {
+		final OraForwardParsedStatement parsed = parsed();
+		final ResultSetMetaData metaData = OraForwardResultSetMetaData.of(
+				resultSet("t", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed, SOURCE);
+		assertEquals("t", metaData.getTableName(1));
+		assertEquals(1, catalogCalls.size());
+		// Same SQL text and columns, but table of other user
+		final ResultSetMetaData other = OraForwardResultSetMetaData.of(
+				resultSet("u", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed,
+				"jdbc:postgresql://localhost:5432/db\nhr\n");
+		assertEquals("u", other.getTableName(1));
+		assertEquals(2, catalogCalls.size());
+		final ResultSetMetaData same = OraForwardResultSetMetaData.of(
+				resultSet("u", new String[] {"id", "name"}, new int[] {Types.NUMERIC, Types.VARCHAR}), parsed,
+				"jdbc:postgresql://localhost:5432/db\nhr\n");
+		assertEquals("u", same.getTableName(1));
+		assertEquals(2, catalogCalls.size());
+	}
+
+	private static OraForwardParsedStatement parsed() {
+		return new OraForwardParsedStatement("select * from t", "select * from t",
+				Collections.emptyMap(), 0, OraForwardUtils.POSTGRESQL);
+	}
+
+	/**
+	 * Returns result set which has only metadata, catalog attributes of metadata are logged
+	 */
+	private ResultSet resultSet(final String table, final String[] labels, final int[] types) {
+		final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				OraForwardResultSetMetaDataTest.class.getClassLoader(),
+				new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					final String name = method.getName();
+					switch (name) {
+					case "getColumnCount":
+						return labels.length;
+					case "getColumnLabel":
+					case "getColumnName":
+						return labels[(Integer) args[0] - 1];
+					case "getColumnType":
+						return types[(Integer) args[0] - 1];
+					case "getColumnTypeName":
+						return Integer.toString(types[(Integer) args[0] - 1]);
+					case "isNullable":
+						catalogCalls.add(name);
+						return ResultSetMetaData.columnNoNulls;
+					case "getTableName":
+					case "getSchemaName":
+					case "getCatalogName":
+					case "getColumnClassName":
+						return table;
+					default:
+						return method.getReturnType() == boolean.class ? (Object) false : (Object) 0;
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardResultSetMetaDataTest.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					if ("getMetaData".equals(method.getName())) {
+						return metaData;
+					}
+					throw new SQLException(method.getName());
+				});
+	}
+
+}
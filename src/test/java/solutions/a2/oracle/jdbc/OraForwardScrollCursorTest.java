@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * Getters of scrollable result set emulated over forward only result set
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardScrollCursorTest {
+
+	private static final String[] LABELS = {"id", "doc", "data", "tags", "link", "extra"};
+	private static final int[] TYPES = {
+			Types.INTEGER, Types.CLOB, Types.BLOB, Types.ARRAY, Types.VARCHAR, Types.OTHER};
+
+	@Test
+	void emulationIsOptIn() throws SQLException {
+		assertEquals(0, new OraForwardUrlParser("jdbc:oracle:thin:@localhost:5432/db").getScrollWindowRows());
+	}
+
+	@Test
+	void lobAndArrayGettersOfEvictedRows() throws SQLException, MalformedURLException {
+		final Array tags = array();
+		final Object extra = new Object();
+		final UUID uuid = UUID.randomUUID();
+		final ResultSet backend = resultSet(new Object[][] {
+				{1L, "first", new byte[] {1, 2}, tags, "https://a2-solutions.eu/", extra},
+				{2L, "second", new byte[] {3}, null, null, uuid},
+				{3L, null, null, null, null, null}});
+		// Window of one row, first row is kept in memory, second row is written to temporary file
+		final ResultSet resultSet = OraForwardScrollCursor.wrap(backend, ResultSet.TYPE_SCROLL_INSENSITIVE,
+				OraForwardColumnPlan.of(backend, null, null), 1, null);
+		assertTrue(resultSet.last());
+		assertNull(resultSet.getClob(2));
+		assertTrue(resultSet.wasNull());
+
+		assertTrue(resultSet.first());
+		final Clob clob = resultSet.getClob("doc");
+		assertEquals("first", clob.getSubString(1, (int) clob.length()));
+		final Blob blob = resultSet.getBlob(3);
+		assertArrayEquals(new byte[] {1, 2}, blob.getBytes(1, (int) blob.length()));
+		assertSame(tags, resultSet.getArray(4));
+		assertSame(tags, resultSet.getObject(4));
+		assertEquals(new URL("https://a2-solutions.eu/"), resultSet.getURL(5));
+		assertSame(extra, resultSet.getObject(6));
+		assertEquals(1, resultSet.getObject(1, Collections.emptyMap()));
+		assertThrows(SQLException.class, () -> resultSet.getSQLXML(2));
+
+		assertTrue(resultSet.next());
+		assertNull(resultSet.getArray(4));
+		assertTrue(resultSet.wasNull());
+		assertEquals(uuid, resultSet.getObject(6));
+		resultSet.close();
+	}
+
+	@Test
+	void spillFileIsOwnerOnly() throws SQLException, IOException {
+		final Path dir = Files.createTempDirectory("a2-scroll-test");
+		try {
+			final ResultSet backend = resultSet(new Object[][] {
+					{1L, "first", null, null, null, null},
+					{2L, "second", null, null, null, null}});
+			final ResultSet resultSet = OraForwardScrollCursor.wrap(backend, ResultSet.TYPE_SCROLL_INSENSITIVE,
+					OraForwardColumnPlan.of(backend, null, null), 1, dir);
+			assertTrue(resultSet.last());
+			final List<Path> files;
+			try (Stream<Path> list = Files.list(dir)) {
+				files = list.collect(Collectors.toList());
+			}
+			assertEquals(1, files.size());
+			if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+				assertEquals(PosixFilePermissions.fromString("rw-------"),
+						Files.getPosixFilePermissions(files.get(0)));
+			}
+			assertTrue(resultSet.first());
+			assertEquals("first", resultSet.getString(2));
+			resultSet.close();
+			assertFalse(Files.exists(files.get(0)));
+		} finally {
+			Files.delete(dir);
+		}
+	}
+
+	private static Array array() {
+		return (Array) Proxy.newProxyInstance(
+				OraForwardScrollCursorTest.class.getClassLoader(),
+				new Class<?>[] {Array.class},
+				(proxy, method, args) -> {
+					throw new SQLException(method.getName());
+				});
+	}
+
+	/**
+	 * Returns forward only result set of rows, values of each row are returned by all getters
+	 */
+	private static ResultSet resultSet(final Object[][] rows) {
+		final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				OraForwardScrollCursorTest.class.getClassLoader(),
+				new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getColumnCount":
+						return LABELS.length;
+					case "getColumnLabel":
+					case "getColumnName":
+						return LABELS[(Integer) args[0] - 1];
+					case "getColumnType":
+						return TYPES[(Integer) args[0] - 1];
+					default:
+						throw new SQLException(method.getName());
+					}
+				});
+		final int[] row = {0};
+		final boolean[] wasNull = {false};
+		return (ResultSet) Proxy.newProxyInstance(
+				OraForwardScrollCursorTest.class.getClassLoader(),
+				new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getMetaData":
+						return metaData;
+					case "next":
+						return ++row[0] <= rows.length;
+					case "wasNull":
+						return wasNull[0];
+					case "findColumn":
+						return Arrays.asList(LABELS).indexOf(args[0]) + 1;
+					case "close":
+						return null;
+					case "getLong":
+					case "getString":
+					case "getBytes":
+					case "getArray":
+					case "getObject":
+						final Object value = rows[row[0] - 1][(Integer) args[0] - 1];
+						wasNull[0] = value == null;
+						return value == null && method.getReturnType() == long.class ? (Object) 0L : value;
+					default:
+						throw new SQLException(method.getName());
+					}
+				});
+	}
+
+}
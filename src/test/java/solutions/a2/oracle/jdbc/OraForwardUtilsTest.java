@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2018-present, A2 Rešitve d.o.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package solutions.a2.oracle.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * sql_id and hash_value against values computed by Oracle Database and against
+ * the string based computation which OraForwardUtils.sql_id used before
+ * @author <a href="mailto:averemee@a2.solutions">Aleksei Veremeev</a>
+ *
+ */
+class OraForwardUtilsTest {
+
+	/** SQL text, sql_id and hash_value from V$SQL */
+	private static final String[][] ORACLE_CORPUS = {
+			{"SELECT 'Ram' ram_stmt FROM dual", "aqth16g98h2jd", "3532130861"},
+			{"select * from dual", "a5ks9fhw2v9s1", "942515969"},
+			{"select sysdate from dual", "7h35uxf5uhmm1", "2343063137"},
+			{"select 1 from dual", "520mkxqpf15q8", "2866845384"}
+	};
+
+	private static final String ALPHABET = "0123456789abcdfghjkmnpqrstuvwxyz";
+
+	@Test
+	void oracleCorpus() throws SQLException {
+		for (final String[] entry : ORACLE_CORPUS) {
+			assertEquals(entry[1], OraForwardUtils.sql_id(entry[0]), entry[0]);
+			assertEquals(new BigInteger(entry[2]), OraForwardUtils.hash_value(entry[0]), entry[0]);
+		}
+	}
+
+	@Test
+	void sameAsStringComputation() throws Exception {
+		for (final String sqlText : corpus()) {
+			final String expected = referenceSqlId(sqlText);
+			assertEquals(expected, OraForwardUtils.sql_id(sqlText), sqlText);
+			final long sqlIdLong = OraForwardUtils.sql_id_long(sqlText);
+			assertEquals(expected, OraForwardUtils.sql_id(sqlIdLong), sqlText);
+			assertEquals(sqlIdLong, OraForwardUtils.parseSqlId(expected), sqlText);
+		}
+	}
+
+	@Test
+	void parseInvalidSqlId() {
+		assertThrows(SQLException.class, () -> OraForwardUtils.parseSqlId("a5ks9fhw2v9s"));
+		assertThrows(SQLException.class, () -> OraForwardUtils.parseSqlId("a5ks9fhw2v9se"));
+		// First character carries only 4 bits
+		assertThrows(SQLException.class, () -> OraForwardUtils.parseSqlId("h5ks9fhw2v9s1"));
+	}
+
+	private static List<String> corpus() {
+		final List<String> corpus = new ArrayList<>();
+		corpus.add("");
+		corpus.add(" ");
+		corpus.add("select :1 from dual");
+		corpus.add("SELECT NAME FROM EMPLOYEES WHERE ID = :ID");
+		corpus.add("insert into t (c) values ('čšž € 日本語 😀')");
+		corpus.add("begin\n\tnull;\nend;");
+		final StringBuilder longText = new StringBuilder("select ");
+		for (int i = 0; i < 2000; i++) {
+			longText.append(i == 0 ? "" : ", ").append("column_").append(i);
+		}
+		// Longer than initial per thread buffer
+		corpus.add(longText.append(" from t").toString());
+		final Random random = new Random(20181018L);
+		for (int i = 0; i < 1000; i++) {
+			final char[] text = new char[random.nextInt(200)];
+			for (int j = 0; j < text.length; j++) {
+				text[j] = (char) (random.nextInt(8) == 0 ? 0x80 + random.nextInt(0x2000) : 0x20 + random.nextInt(0x5F));
+			}
+			corpus.add(new String(text));
+		}
+		return corpus;
+	}
+
+	/**
+	 * sql_id computed with hex and binary strings, as OraForwardUtils.sql_id did before
+	 */
+	private static String referenceSqlId(final String sqlText) throws Exception {
+		final byte[] text = (sqlText + "\0").getBytes(StandardCharsets.UTF_8);
+		final StringBuilder hex = new StringBuilder();
+		for (final byte b : MessageDigest.getInstance("MD5").digest(text)) {
+			hex.append(String.format("%02x", b));
+		}
+		final String md5 = hex.toString();
+		final String lower16 =
+				md5.substring(22, 24) + md5.substring(20, 22) + md5.substring(18, 20) + md5.substring(16, 18) +
+				md5.substring(30, 32) + md5.substring(28, 30) + md5.substring(26, 28) + md5.substring(24, 26);
+		final StringBuilder binary = new StringBuilder(new BigInteger(lower16, 16).toString(2));
+		while (binary.length() < 64) {
+			binary.insert(0, '0');
+		}
+		final StringBuilder sqlId = new StringBuilder();
+		for (int i = 0; i < 13; i++) {
+			final String bits = i == 0 ? binary.substring(0, 4) :
+				i < 12 ? binary.substring(i * 5 - 1, i * 5 + 4) : binary.substring(i * 5 - 1);
+			sqlId.append(ALPHABET.charAt(Integer.parseInt(bits, 2)));
+		}
+		return sqlId.toString();
+	}
+
+}